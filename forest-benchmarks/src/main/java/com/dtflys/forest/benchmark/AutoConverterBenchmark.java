@@ -0,0 +1,58 @@
+package com.dtflys.forest.benchmark;
+
+import com.dtflys.forest.benchmark.model.BenchmarkUser;
+import com.dtflys.forest.config.ForestConfiguration;
+import com.dtflys.forest.converter.auto.DefaultAutoConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DefaultAutoConverter} 按内容推断数据类型并转换的基准测试
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:05
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AutoConverterBenchmark {
+
+    private final static String JSON = "{\"name\":\"foo\",\"age\":18,\"email\":\"foo@forest.com\",\"tags\":[\"a\",\"b\",\"c\"]}";
+
+    private final static String TEXT = "hello forest";
+
+    private DefaultAutoConverter converter;
+
+    @Setup
+    public void setup() {
+        converter = new DefaultAutoConverter(ForestConfiguration.configuration());
+    }
+
+    @Benchmark
+    public BenchmarkUser jsonToObject() {
+        return converter.convertToJavaObject(JSON, BenchmarkUser.class);
+    }
+
+    @Benchmark
+    public Map jsonToMap() {
+        return converter.convertToJavaObject(JSON, Map.class);
+    }
+
+    @Benchmark
+    public String textToString() {
+        return converter.convertToJavaObject(TEXT, String.class);
+    }
+}
@@ -0,0 +1,26 @@
+package com.dtflys.forest.benchmark;
+
+import com.dtflys.forest.annotation.BaseRequest;
+import com.dtflys.forest.annotation.DataObject;
+import com.dtflys.forest.annotation.Get;
+import com.dtflys.forest.annotation.Post;
+import com.dtflys.forest.annotation.Query;
+import com.dtflys.forest.benchmark.model.BenchmarkUser;
+
+/**
+ * 端到端基准测试使用的接口
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:05
+ */
+@BaseRequest(baseURL = "http://127.0.0.1:${port}")
+public interface BenchmarkClient {
+
+    @Get(url = "/hello?id=${0}")
+    String hello(int id);
+
+    @Get(url = "/user", dataType = "json")
+    BenchmarkUser getUser(@Query("name") String name, @Query("age") Integer age);
+
+    @Post(url = "/echo", contentType = "application/json", dataType = "json")
+    BenchmarkUser echoUser(@DataObject BenchmarkUser user);
+}
@@ -0,0 +1,84 @@
+package com.dtflys.forest.benchmark;
+
+import com.dtflys.forest.benchmark.model.BenchmarkUser;
+import com.dtflys.forest.config.ForestConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 通过接口代理发起的端到端请求基准测试
+ * <p>请求发送到进程内的 {@link LoopbackServer}，测量的是
+ * 代理调用、请求构建、请求体编码和响应解码的开销，以及两种后端的差异</p>
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:05
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HttpBackendBenchmark {
+
+    @Param({"okhttp3", "httpclient"})
+    private String backend;
+
+    private LoopbackServer server;
+
+    private ForestConfiguration configuration;
+
+    private BenchmarkClient client;
+
+    private BenchmarkUser user;
+
+    @Setup
+    public void setup() throws Exception {
+        server = new LoopbackServer();
+        server.start();
+        configuration = ForestConfiguration.configuration();
+        configuration.setBackendName(backend);
+        configuration.setLogEnabled(false);
+        configuration.setVariableValue("port", server.getPort());
+        client = configuration.createInstance(BenchmarkClient.class);
+
+        user = new BenchmarkUser();
+        user.setName("foo");
+        user.setAge(18);
+        user.setEmail("foo@forest.com");
+        user.setTags(Arrays.asList("a", "b", "c"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        configuration.close();
+        server.stop();
+    }
+
+    @Benchmark
+    public String getText() {
+        return client.hello(12345);
+    }
+
+    @Benchmark
+    public BenchmarkUser getJson() {
+        return client.getUser("foo", 18);
+    }
+
+    @Benchmark
+    public BenchmarkUser postJson() {
+        return client.echoUser(user);
+    }
+}
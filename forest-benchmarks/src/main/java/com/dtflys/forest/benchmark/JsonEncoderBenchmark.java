@@ -0,0 +1,91 @@
+package com.dtflys.forest.benchmark;
+
+import com.dtflys.forest.benchmark.model.BenchmarkUser;
+import com.dtflys.forest.converter.json.ForestFastjsonConverter;
+import com.dtflys.forest.converter.json.ForestGsonConverter;
+import com.dtflys.forest.converter.json.ForestJacksonConverter;
+import com.dtflys.forest.converter.json.ForestJsonConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 各JSON转换器编码请求体的基准测试
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:05
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonEncoderBenchmark {
+
+    @Param({"jackson", "fastjson", "gson"})
+    private String converterName;
+
+    private ForestJsonConverter converter;
+
+    private BenchmarkUser user;
+
+    private Map<String, Object> map;
+
+    private String json;
+
+    @Setup
+    public void setup() {
+        switch (converterName) {
+            case "jackson":
+                converter = new ForestJacksonConverter();
+                break;
+            case "fastjson":
+                converter = new ForestFastjsonConverter();
+                break;
+            default:
+                converter = new ForestGsonConverter();
+                break;
+        }
+        user = new BenchmarkUser();
+        user.setName("foo");
+        user.setAge(18);
+        user.setEmail("foo@forest.com");
+        user.setTags(Arrays.asList("a", "b", "c"));
+
+        map = new LinkedHashMap<>();
+        map.put("name", "foo");
+        map.put("age", 18);
+        map.put("email", "foo@forest.com");
+        map.put("tags", Arrays.asList("a", "b", "c"));
+
+        json = converter.encodeToString(user);
+    }
+
+    @Benchmark
+    public String encodeObject() {
+        return converter.encodeToString(user);
+    }
+
+    @Benchmark
+    public String encodeMap() {
+        return converter.encodeToString(map);
+    }
+
+    @Benchmark
+    public BenchmarkUser decodeObject() {
+        return converter.convertToJavaObject(json, BenchmarkUser.class);
+    }
+}
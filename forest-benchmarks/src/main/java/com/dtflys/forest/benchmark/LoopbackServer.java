@@ -0,0 +1,88 @@
+package com.dtflys.forest.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 进程内的回环HTTP服务器，用于测量不含网络耗时的端到端请求开销
+ * <ul>
+ *     <li>GET /hello 返回固定的文本</li>
+ *     <li>GET /user 返回固定的JSON对象</li>
+ *     <li>POST /echo 原样返回请求体</li>
+ * </ul>
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:05
+ */
+public class LoopbackServer {
+
+    private final static byte[] HELLO = "hello".getBytes(StandardCharsets.UTF_8);
+
+    private final static byte[] USER = ("{\"name\":\"foo\",\"age\":18,\"email\":\"foo@forest.com\"," +
+            "\"tags\":[\"a\",\"b\",\"c\"]}").getBytes(StandardCharsets.UTF_8);
+
+    private HttpServer server;
+
+    private ExecutorService executor;
+
+    public void start() throws IOException {
+        // 关闭Nagle算法，否则分开写出的响应头和响应体会触发延迟确认，每个请求多出约40ms
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 128);
+        executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        server.setExecutor(executor);
+        server.createContext("/hello", exchange -> write(exchange, "text/plain", HELLO));
+        server.createContext("/user", exchange -> write(exchange, "application/json", USER));
+        server.createContext("/echo", exchange -> {
+            byte[] body = readAll(exchange.getRequestBody());
+            String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+            write(exchange, contentType == null ? "text/plain" : contentType, body);
+        });
+        server.start();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+        }
+    }
+
+    private static void write(HttpExchange exchange, String contentType, byte[] body) throws IOException {
+        readAll(exchange.getRequestBody());
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(200, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        byte[] buffer = new byte[1024];
+        int total = 0;
+        int n;
+        while ((n = in.read(buffer, total, buffer.length - total)) > 0) {
+            total += n;
+            if (total == buffer.length) {
+                byte[] newBuffer = new byte[buffer.length * 2];
+                System.arraycopy(buffer, 0, newBuffer, 0, total);
+                buffer = newBuffer;
+            }
+        }
+        byte[] result = new byte[total];
+        System.arraycopy(buffer, 0, result, 0, total);
+        return result;
+    }
+}
@@ -0,0 +1,103 @@
+package com.dtflys.forest.benchmark;
+
+import com.dtflys.forest.benchmark.model.BenchmarkUser;
+import com.dtflys.forest.config.ForestConfiguration;
+import com.dtflys.forest.config.VariableScope;
+import com.dtflys.forest.mapping.MappingTemplate;
+import com.dtflys.forest.mapping.MappingVariable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MappingTemplate#render(Object[])} 的基准测试
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:05
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingTemplateBenchmark {
+
+    private MappingTemplate constantTemplate;
+
+    private MappingTemplate indexTemplate;
+
+    private MappingTemplate mixedTemplate;
+
+    private MappingTemplate dotTemplate;
+
+    private Object[] args;
+
+    @Setup
+    public void setup() {
+        ForestConfiguration configuration = ForestConfiguration.configuration();
+        Map<String, MappingVariable> variables = new HashMap<>();
+        MappingVariable nameVar = new MappingVariable("name", String.class);
+        nameVar.setIndex(1);
+        variables.put("name", nameVar);
+        MappingVariable userVar = new MappingVariable("user", BenchmarkUser.class);
+        userVar.setIndex(2);
+        variables.put("user", userVar);
+        VariableScope scope = new VariableScope() {
+            @Override
+            public Object getVariableValue(String name) {
+                return null;
+            }
+
+            @Override
+            public MappingVariable getVariable(String name) {
+                return variables.get(name);
+            }
+
+            @Override
+            public ForestConfiguration getConfiguration() {
+                return configuration;
+            }
+        };
+
+        constantTemplate = new MappingTemplate("http://localhost:8080/api/v1/users", scope);
+        indexTemplate = new MappingTemplate("${0}", scope);
+        mixedTemplate = new MappingTemplate("http://localhost:8080/api/v1/users/${0}?name=${name}", scope);
+        dotTemplate = new MappingTemplate("http://localhost:8080/api/v1/users/${user.name}/${user.age}", scope);
+
+        BenchmarkUser user = new BenchmarkUser();
+        user.setName("foo");
+        user.setAge(18);
+        args = new Object[] {12345, "foo", user};
+    }
+
+    @Benchmark
+    public String renderConstant() {
+        return constantTemplate.render(args);
+    }
+
+    @Benchmark
+    public String renderIndex() {
+        return indexTemplate.render(args);
+    }
+
+    @Benchmark
+    public String renderMixed() {
+        return mixedTemplate.render(args);
+    }
+
+    @Benchmark
+    public String renderDot() {
+        return dotTemplate.render(args);
+    }
+}
@@ -0,0 +1,55 @@
+package com.dtflys.forest.benchmark;
+
+import com.dtflys.forest.backend.url.URLBuilder;
+import com.dtflys.forest.config.ForestConfiguration;
+import com.dtflys.forest.http.ForestRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link com.dtflys.forest.backend.url.QueryableURLBuilder#buildUrl(ForestRequest)} 的基准测试
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:05
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class URLBuilderBenchmark {
+
+    @Param({"0", "3", "10"})
+    private int queryCount;
+
+    private URLBuilder urlBuilder;
+
+    private ForestRequest request;
+
+    @Setup
+    public void setup() {
+        urlBuilder = URLBuilder.getQueryableURLBuilder();
+        request = new ForestRequest(ForestConfiguration.configuration());
+        request.setUrl("http://localhost:8080/api/v1/users");
+        request.setCharset("UTF-8");
+        for (int i = 0; i < queryCount; i++) {
+            request.addQuery("param" + i, "value " + i);
+        }
+    }
+
+    @Benchmark
+    public String buildUrl() {
+        return urlBuilder.buildUrl(request);
+    }
+}
@@ -0,0 +1,51 @@
+package com.dtflys.forest.benchmark.model;
+
+import java.util.List;
+
+/**
+ * 基准测试使用的请求/响应对象
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:05
+ */
+public class BenchmarkUser {
+
+    private String name;
+
+    private Integer age;
+
+    private String email;
+
+    private List<String> tags;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Integer getAge() {
+        return age;
+    }
+
+    public void setAge(Integer age) {
+        this.age = age;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+}
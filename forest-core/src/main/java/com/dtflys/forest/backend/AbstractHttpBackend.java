@@ -6,6 +6,7 @@ import com.dtflys.forest.exceptions.ForestRuntimeException;
 import com.dtflys.forest.handler.LifeCycleHandler;
 import com.dtflys.forest.http.ForestRequest;
 import com.dtflys.forest.http.ForestRequestType;
+import com.dtflys.forest.metrics.ForestConnectionPoolMetrics;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -18,7 +19,10 @@ import static com.dtflys.forest.http.ForestRequestType.*;
  */
 public abstract class AbstractHttpBackend implements HttpBackend {
 
-    private volatile boolean initialized = false;
+    /**
+     * 初始化该后端的全局配置，未初始化或已关闭时为 null
+     */
+    private volatile ForestConfiguration configuration;
 
     private final Map<ForestRequestType, HttpExecutorCreator> executorCreatorMap = new HashMap<>();
 
@@ -28,17 +32,64 @@ public abstract class AbstractHttpBackend implements HttpBackend {
         this.connectionManager = connectionManager;
     }
 
+    /**
+     * 用全局配置初始化后端，连接池的大小等设置都取自该配置
+     * <p>一个后端只能属于一个全局配置，已经被其它全局配置初始化的后端不能再次初始化，
+     * 请通过 {@link #forConfiguration(ForestConfiguration)} 获取新的后端</p>
+     * @param configuration 全局配置
+     * @throws ForestRuntimeException 后端已经被其它全局配置初始化
+     */
     @Override
     public void init(ForestConfiguration configuration) {
         synchronized (this) {
-            if (!initialized) {
+            if (this.configuration == null) {
                 this.connectionManager.init(configuration);
                 init();
-                initialized = true;
+                this.configuration = configuration;
+            } else if (this.configuration != configuration) {
+                throw new ForestRuntimeException("[Forest] Http backend \"" + getName()
+                        + "\" has already been initialized by another configuration");
             }
         }
     }
 
+    /**
+     * 获取可以由指定全局配置初始化的后端
+     * <p>后端还未初始化或者就是由该配置初始化时返回自身，否则返回一个同类型的新后端，
+     * 这样每个全局配置都有自己的连接池，关闭一个配置也不会关闭其它配置的连接池</p>
+     * @param configuration 全局配置
+     * @return 后端
+     */
+    public HttpBackend forConfiguration(ForestConfiguration configuration) {
+        synchronized (this) {
+            if (this.configuration == null || this.configuration == configuration) {
+                return this;
+            }
+        }
+        try {
+            return getClass().newInstance();
+        } catch (InstantiationException e) {
+            throw new ForestRuntimeException(e);
+        } catch (IllegalAccessException e) {
+            throw new ForestRuntimeException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (configuration != null) {
+                this.connectionManager.close();
+                configuration = null;
+            }
+        }
+    }
+
+    @Override
+    public ForestConnectionPoolMetrics getConnectionPoolMetrics() {
+        return connectionManager.getPoolMetrics();
+    }
+
     protected abstract HttpExecutor createHeadExecutor(ForestConnectionManager connectionManager, ForestRequest request, LifeCycleHandler lifeCycleHandler);
 
     protected abstract HttpExecutor createGetExecutor(ForestConnectionManager connectionManager, ForestRequest request, LifeCycleHandler lifeCycleHandler);
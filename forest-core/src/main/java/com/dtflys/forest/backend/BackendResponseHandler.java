@@ -9,6 +9,7 @@ import com.dtflys.forest.handler.LifeCycleHandler;
 import com.dtflys.forest.utils.ReflectUtils;
 
 import java.lang.reflect.Type;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
 
 
@@ -42,8 +43,21 @@ public abstract class BackendResponseHandler<R> {
 
 
     public Object handleSuccess(ForestResponse response) {
+        Object resultData = handleSuccessResultType(response);
+        return handleSuccess(resultData, response);
+    }
+
+    /**
+     * 按OnSuccess回调的泛型类型转换响应结果
+     * @param response Forest响应对象
+     * @return 转换后的结果
+     */
+    public Object handleSuccessResultType(ForestResponse response) {
         Type onSuccessGenericType = lifeCycleHandler.getOnSuccessClassGenericType();
-        Object resultData = lifeCycleHandler.handleResultType(request, response, onSuccessGenericType, ReflectUtils.getClassByType(onSuccessGenericType));
+        return lifeCycleHandler.handleResultType(request, response, onSuccessGenericType, ReflectUtils.getClassByType(onSuccessGenericType));
+    }
+
+    public Object handleSuccess(Object resultData, ForestResponse response) {
         return lifeCycleHandler.handleSuccess(resultData, request, response);
     }
 
@@ -57,9 +71,28 @@ public abstract class BackendResponseHandler<R> {
     }
 
 
-    public abstract void handleFuture(
-                     final Future<R> httpResponseFuture,
-                     ForestResponseFactory forestResponseFactory);
+    /**
+     * 处理异步请求的Future
+     * <p>只有方法返回类型可以接收该Future（如 {@link Future}、{@link java.util.concurrent.CompletableFuture}、
+     * {@link java.util.concurrent.CompletionStage}）时才作为方法返回值</p>
+     * @param future 异步请求的Future，在后端回调线程中完成
+     * @param forestResponseFactory Forest响应工厂
+     */
+    public void handleFuture(
+                     final Future<?> future,
+                     ForestResponseFactory forestResponseFactory) {
+        if (future instanceof CompletableFuture) {
+            request.setResponseFuture((CompletableFuture<?>) future);
+        }
+        Type returnType = lifeCycleHandler.getReturnType();
+        if (returnType == null) {
+            return;
+        }
+        Class returnClass = ReflectUtils.getClassByType(returnType);
+        if (returnClass != null && returnClass.isInstance(future)) {
+            lifeCycleHandler.handleResult(future);
+        }
+    }
 
 
 
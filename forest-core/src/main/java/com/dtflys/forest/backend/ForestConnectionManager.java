@@ -1,6 +1,8 @@
 package com.dtflys.forest.backend;
 
 import com.dtflys.forest.config.ForestConfiguration;
+import com.dtflys.forest.metrics.ForestConnectionPoolMetrics;
+import com.dtflys.forest.metrics.NoneConnectionPoolMetrics;
 
 /**
  * @author gongjun[jun.gong@thebeastshop.com]
@@ -9,4 +11,18 @@ import com.dtflys.forest.config.ForestConfiguration;
 public interface ForestConnectionManager {
 
     void init(ForestConfiguration configuration);
+
+    /**
+     * 关闭连接管理器，释放连接池和后台线程等资源，默认不做任何处理
+     */
+    default void close() {
+    }
+
+    /**
+     * 获取连接池状态
+     * @return 连接池状态，默认返回值都为 0 的状态
+     */
+    default ForestConnectionPoolMetrics getPoolMetrics() {
+        return NoneConnectionPoolMetrics.INSTANCE;
+    }
 }
@@ -3,6 +3,8 @@ package com.dtflys.forest.backend;
 import com.dtflys.forest.config.ForestConfiguration;
 import com.dtflys.forest.handler.LifeCycleHandler;
 import com.dtflys.forest.http.ForestRequest;
+import com.dtflys.forest.metrics.ForestConnectionPoolMetrics;
+import com.dtflys.forest.metrics.NoneConnectionPoolMetrics;
 
 /**
  * HTTP后端接口
@@ -17,6 +19,20 @@ public interface HttpBackend {
 
     void init(ForestConfiguration configuration);
 
+    /**
+     * 关闭后端，释放连接池等资源，默认不做任何处理
+     */
+    default void close() {
+    }
+
+    /**
+     * 获取连接池状态
+     * @return 连接池状态，默认返回值都为 0 的状态
+     */
+    default ForestConnectionPoolMetrics getConnectionPoolMetrics() {
+        return NoneConnectionPoolMetrics.INSTANCE;
+    }
+
     interface HttpExecutorCreator {
         HttpExecutor createExecutor(ForestConnectionManager connectionManager, ForestRequest request, LifeCycleHandler lifeCycleHandler);
     }
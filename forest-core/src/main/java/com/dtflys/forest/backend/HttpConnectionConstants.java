@@ -23,4 +23,13 @@ public class HttpConnectionConstants {
      */
     public final static int DEFAULT_READ_TIMEOUT = 10000;
 
+    /**
+     * interval in milliseconds between idle connection evictions
+     */
+    public final static int DEFAULT_EVICT_INTERVAL = 5000;
+    /**
+     * idle time in milliseconds after which a pooled connection is evicted
+     */
+    public final static int DEFAULT_MAX_IDLE_TIME = 60000;
+
 }
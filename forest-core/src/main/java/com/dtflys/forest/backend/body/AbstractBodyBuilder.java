@@ -76,8 +76,7 @@ public abstract class AbstractBodyBuilder<T> implements BodyBuilder<T> {
             if (bodyList.size() == 1) {
                 toJsonObj = bodyList.get(0);
             }
-            String text = jsonConverter.encodeToString(toJsonObj);
-            setStringBody(httpRequest, text, charset, contentType, mergeCharset);
+            setJsonBody(httpRequest, request, jsonConverter, toJsonObj, charset, contentType, mergeCharset);
         }
         else if (mineType.startsWith("multipart/")) {
             List<ForestMultipart> multiparts = request.getMultiparts();
@@ -101,6 +100,15 @@ public abstract class AbstractBodyBuilder<T> implements BodyBuilder<T> {
 
     protected abstract void setStringBody(T httpReq, String text, String charset, String contentType, boolean mergeCharset);
 
+    /**
+     * 设置JSON请求体
+     * <p>默认实现先序列化为字符串，各后端会覆盖为发送时直接写入输出流的请求体</p>
+     */
+    protected void setJsonBody(T httpReq, ForestRequest request, ForestJsonConverter jsonConverter, Object obj, String charset, String contentType, boolean mergeCharset) {
+        String text = jsonConverter.encodeToString(obj);
+        setStringBody(httpReq, text, charset, contentType, mergeCharset);
+    }
+
     protected abstract void setFormBody(T httpReq, ForestRequest request, String charset, String contentType, List<RequestNameValue> nameValueList);
 
     protected abstract void setFileBody(T httpReq, ForestRequest request, String charset, String contentType, List<RequestNameValue> nameValueList,  List<ForestMultipart> multiparts, LifeCycleHandler lifeCycleHandler);
@@ -0,0 +1,198 @@
+package com.dtflys.forest.backend.body;
+
+import com.dtflys.forest.handler.LifeCycleHandler;
+import com.dtflys.forest.http.ForestRequest;
+import com.dtflys.forest.utils.ForestProgress;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 上传文件的请求体内容，写出时同时回调上传进度
+ * <p>较大的文件按区域映射到内存后写出，避免经过堆内存的缓冲区逐块读取，较小的文件直接读取。
+ * 两种后端都只提供输出流（OkHttp的 BufferedSink 也不是Socket通道），无法使用 {@link FileChannel#transferTo(long, long, WritableByteChannel)}
+ * 由内核直接传输</p>
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:21
+ */
+public class FileBodyWriter {
+
+    /**
+     * 每次映射到内存的文件区域大小
+     */
+    private final static long MAPPED_REGION_SIZE = 8 * 1024 * 1024;
+
+    /**
+     * 使用内存映射的最小文件大小
+     */
+    private final static long MIN_MAPPED_SIZE = 1024 * 1024;
+
+    /**
+     * 每次写出的字节数
+     */
+    private final static int WRITE_SIZE = 64 * 1024;
+
+    private final ForestRequest request;
+
+    private final File file;
+
+    private final LifeCycleHandler handler;
+
+    private final long progressStep;
+
+    private long writtenBytes;
+
+    private long currentStep;
+
+    public FileBodyWriter(ForestRequest request, File file, LifeCycleHandler handler) {
+        this.request = request;
+        this.file = file;
+        this.handler = handler;
+        this.progressStep = request.getProgressStep();
+    }
+
+    public long getContentLength() {
+        return file.length();
+    }
+
+    /**
+     * 将文件写出到输出流
+     * @param out 输出流，不会被关闭
+     * @throws IOException 读取文件或写出失败
+     */
+    public void writeTo(final OutputStream out) throws IOException {
+        writeTo(new OutputStreamChannel(out));
+        out.flush();
+    }
+
+    /**
+     * 将文件写出到通道，每次写出都从文件开头重新写出并重新计算进度
+     * @param target 目标通道，不会被关闭
+     * @throws IOException 读取文件或写出失败，文件不存在时为 {@link FileNotFoundException}
+     */
+    public void writeTo(WritableByteChannel target) throws IOException {
+        if (!file.exists()) {
+            throw new FileNotFoundException("File \"" + file.getAbsolutePath() + "\" does not exist");
+        }
+        writtenBytes = 0;
+        currentStep = 0;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            ForestProgress progress = new ForestProgress(request, size);
+            progress.setBegin(true);
+            if (size >= MIN_MAPPED_SIZE) {
+                writeMapped(channel, size, target, progress);
+            } else {
+                writeRead(channel, target, progress);
+            }
+        }
+    }
+
+    private void writeMapped(FileChannel channel, long size, WritableByteChannel target, ForestProgress progress) throws IOException {
+        for (long position = 0; position < size; position += MAPPED_REGION_SIZE) {
+            MappedByteBuffer region = channel.map(
+                    FileChannel.MapMode.READ_ONLY, position, Math.min(MAPPED_REGION_SIZE, size - position));
+            while (region.hasRemaining()) {
+                ByteBuffer slice = region.slice();
+                int count = Math.min(WRITE_SIZE, slice.remaining());
+                slice.limit(count);
+                writeFully(target, slice);
+                region.position(region.position() + count);
+                onWritten(progress, count);
+            }
+        }
+    }
+
+    private void writeRead(FileChannel channel, WritableByteChannel target, ForestProgress progress) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(WRITE_SIZE);
+        int count;
+        while ((count = channel.read(buffer)) != -1) {
+            buffer.flip();
+            writeFully(target, buffer);
+            buffer.clear();
+            onWritten(progress, count);
+        }
+    }
+
+    private static void writeFully(WritableByteChannel target, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            target.write(buffer);
+        }
+    }
+
+    private void onWritten(ForestProgress progress, long count) {
+        if (count <= 0) {
+            return;
+        }
+        // increment current length of written bytes
+        writtenBytes += count;
+        progress.setCurrentBytes(writtenBytes);
+        if (writtenBytes == progress.getTotalBytes()) {
+            // progress is done
+            progress.setDone(true);
+            handler.handleProgress(request, progress);
+            progress.setBegin(false);
+            return;
+        }
+        if (progressStep <= 0) {
+            return;
+        }
+        currentStep += count;
+        while (currentStep >= progressStep) {
+            currentStep = currentStep - progressStep;
+            progress.setDone(false);
+            // invoke progress listener
+            handler.handleProgress(request, progress);
+            progress.setBegin(false);
+        }
+    }
+
+    /**
+     * 写出到输出流的通道，堆外的缓冲区（如内存映射的文件区域）通过一个复用的数组拷贝后写出
+     */
+    private static class OutputStreamChannel implements WritableByteChannel {
+
+        private final OutputStream out;
+
+        private byte[] bytes;
+
+        OutputStreamChannel(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            int count = src.remaining();
+            if (src.hasArray()) {
+                out.write(src.array(), src.arrayOffset() + src.position(), count);
+                src.position(src.limit());
+                return count;
+            }
+            if (bytes == null) {
+                bytes = new byte[WRITE_SIZE];
+            }
+            while (src.hasRemaining()) {
+                int len = Math.min(bytes.length, src.remaining());
+                src.get(bytes, 0, len);
+                out.write(bytes, 0, len);
+            }
+            return count;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
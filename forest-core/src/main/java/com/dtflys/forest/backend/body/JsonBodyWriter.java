@@ -0,0 +1,152 @@
+package com.dtflys.forest.backend.body;
+
+import com.dtflys.forest.converter.json.ForestJsonConverter;
+import org.apache.commons.io.output.CloseShieldOutputStream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * 流式写出的JSON请求体内容
+ * <p>默认使用分块传输编码，发送时由Json转换器直接序列化到连接的输出流，不生成中间字符串和字节数组，每次写出都重新序列化，因此可以重复发送。
+ * 需要 Content-Length 时，第一次获取长度时序列化到不超过 {@link #MAX_BUFFER_SIZE} 字节的缓冲区中，之后的写出直接使用缓冲区的内容，
+ * 请求体只序列化一次，发送的内容与长度一定一致；超过缓冲区大小时放弃计算长度，仍然使用分块传输编码</p>
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:19
+ */
+public class JsonBodyWriter {
+
+    /**
+     * 计算 Content-Length 时缓冲区的最大字节数
+     */
+    public final static int MAX_BUFFER_SIZE = 1024 * 1024;
+
+    private final ForestJsonConverter jsonConverter;
+
+    private final Object obj;
+
+    private final Charset charset;
+
+    private final boolean computeLength;
+
+    private volatile long contentLength = -2;
+
+    /**
+     * 计算长度时序列化得到的内容，超过缓冲区大小或不需要计算长度时为 null
+     */
+    private volatile byte[] content;
+
+    public JsonBodyWriter(ForestJsonConverter jsonConverter, Object obj, Charset charset, boolean computeLength) {
+        this.jsonConverter = jsonConverter;
+        this.obj = obj;
+        this.charset = charset;
+        this.computeLength = computeLength;
+    }
+
+    public Charset getCharset() {
+        return charset;
+    }
+
+    /**
+     * 获取请求体的字节数
+     * @return 字节数，不需要计算长度或请求体超过缓冲区大小时返回 -1
+     * @throws IOException 序列化失败
+     */
+    public long getContentLength() throws IOException {
+        if (!computeLength) {
+            return -1;
+        }
+        if (contentLength == -2) {
+            synchronized (this) {
+                if (contentLength == -2) {
+                    buffer();
+                }
+            }
+        }
+        return contentLength;
+    }
+
+    private void buffer() throws IOException {
+        BoundedOutputStream out = new BoundedOutputStream();
+        try {
+            encodeTo(out);
+        } catch (IOException e) {
+            if (!out.overflowed) {
+                throw e;
+            }
+        }
+        if (out.overflowed) {
+            contentLength = -1;
+            return;
+        }
+        content = out.toByteArray();
+        contentLength = content.length;
+    }
+
+    /**
+     * 将请求体写出到输出流，已经缓冲时直接写出缓冲区的内容，否则重新序列化；输出流不会被关闭
+     * @param out 输出流
+     * @throws IOException 写入失败，序列化失败时也包装为该异常，交由请求的失败处理
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        byte[] bytes = content;
+        if (bytes != null) {
+            out.write(bytes);
+            return;
+        }
+        encodeTo(out);
+    }
+
+    private void encodeTo(OutputStream out) throws IOException {
+        try {
+            jsonConverter.encodeToStream(obj, new CloseShieldOutputStream(out), charset);
+        } catch (RuntimeException e) {
+            throw new IOException("Failed to encode JSON request body", e);
+        }
+    }
+
+    /**
+     * 将请求体序列化为字节数组，只用于需要读取请求体内容的场景
+     * @return 字节数组
+     * @throws IOException 序列化失败
+     */
+    public byte[] toByteArray() throws IOException {
+        byte[] bytes = content;
+        if (bytes != null) {
+            return Arrays.copyOf(bytes, bytes.length);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeTo(out);
+        return out.toByteArray();
+    }
+
+    /**
+     * 超过 {@link #MAX_BUFFER_SIZE} 字节时中止序列化的缓冲区
+     */
+    private static class BoundedOutputStream extends ByteArrayOutputStream {
+
+        private boolean overflowed = false;
+
+        @Override
+        public synchronized void write(int b) {
+            ensureCapacity(1);
+            super.write(b);
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            ensureCapacity(len);
+            super.write(b, off, len);
+        }
+
+        private void ensureCapacity(int len) {
+            if (count + len > MAX_BUFFER_SIZE) {
+                overflowed = true;
+                throw new IllegalStateException("JSON request body exceeds " + MAX_BUFFER_SIZE + " bytes");
+            }
+        }
+    }
+}
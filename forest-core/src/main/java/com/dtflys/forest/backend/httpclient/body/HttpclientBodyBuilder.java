@@ -1,6 +1,7 @@
 package com.dtflys.forest.backend.httpclient.body;
 
 import com.dtflys.forest.backend.body.AbstractBodyBuilder;
+import com.dtflys.forest.backend.body.JsonBodyWriter;
 import com.dtflys.forest.converter.json.ForestJsonConverter;
 import com.dtflys.forest.handler.LifeCycleHandler;
 import com.dtflys.forest.http.ForestRequest;
@@ -12,6 +13,7 @@ import org.apache.http.HttpEntity;
 import org.apache.http.NameValuePair;
 import org.apache.http.client.entity.UrlEncodedFormEntity;
 import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
+import org.apache.http.entity.AbstractHttpEntity;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.entity.mime.HttpMultipartMode;
@@ -33,6 +35,20 @@ public class HttpclientBodyBuilder<T extends HttpEntityEnclosingRequestBase> ext
 
     protected void setStringBody(T httpReq, String text, String charset, String contentType, boolean mergeCharset) {
         StringEntity entity = new StringEntity(text, charset);
+        setContentType(entity, charset, contentType, mergeCharset);
+        httpReq.setEntity(entity);
+    }
+
+    @Override
+    protected void setJsonBody(T httpReq, ForestRequest request, ForestJsonConverter jsonConverter, Object obj, String charset, String contentType, boolean mergeCharset) {
+        JsonBodyWriter bodyWriter = new JsonBodyWriter(jsonConverter, obj, Charset.forName(charset),
+                request.getConfiguration().isJsonBodyContentLength());
+        HttpclientJsonEntity entity = new HttpclientJsonEntity(bodyWriter);
+        setContentType(entity, charset, contentType, mergeCharset);
+        httpReq.setEntity(entity);
+    }
+
+    private void setContentType(AbstractHttpEntity entity, String charset, String contentType, boolean mergeCharset) {
         if (StringUtils.isNotEmpty(charset) && mergeCharset) {
             if (!contentType.contains("charset=")) {
                 contentType = contentType + "; charset=" + charset.toLowerCase();
@@ -43,7 +59,6 @@ public class HttpclientBodyBuilder<T extends HttpEntityEnclosingRequestBase> ext
             entity.setContentEncoding(charset);
         }
         entity.setContentType(contentType);
-        httpReq.setEntity(entity);
     }
 
     protected void setFormBody(T httpReq, ForestRequest request, String charset, String contentType, List<RequestNameValue> nameValueList) {
@@ -0,0 +1,64 @@
+package com.dtflys.forest.backend.httpclient.body;
+
+import com.dtflys.forest.backend.body.JsonBodyWriter;
+import org.apache.http.entity.AbstractHttpEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * 发送时直接序列化到连接中的JSON请求实体
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:19
+ */
+public class HttpclientJsonEntity extends AbstractHttpEntity {
+
+    private final JsonBodyWriter bodyWriter;
+
+    public HttpclientJsonEntity(JsonBodyWriter bodyWriter) {
+        this.bodyWriter = bodyWriter;
+    }
+
+    /**
+     * 发送时才计算长度，创建请求实体时不进行序列化，计算长度时序列化的内容在写出时复用
+     */
+    @Override
+    public boolean isChunked() {
+        return getContentLength() < 0;
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    /**
+     * 获取请求体的字节数
+     * @return 字节数，使用分块传输编码或序列化失败时返回 -1，序列化失败的异常在写出请求体时抛出
+     */
+    @Override
+    public long getContentLength() {
+        try {
+            return bodyWriter.getContentLength();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+        return new ByteArrayInputStream(bodyWriter.toByteArray());
+    }
+
+    @Override
+    public void writeTo(OutputStream outStream) throws IOException {
+        bodyWriter.writeTo(outStream);
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+}
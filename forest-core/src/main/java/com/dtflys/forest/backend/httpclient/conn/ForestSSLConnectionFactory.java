@@ -3,29 +3,40 @@ package com.dtflys.forest.backend.httpclient.conn;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.Socket;
-import javax.net.SocketFactory;
-import javax.net.ssl.*;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.net.ssl.SSLSocketFactory;
 
+import com.dtflys.forest.config.ForestConfiguration;
 import com.dtflys.forest.exceptions.ForestRuntimeException;
 import com.dtflys.forest.http.ForestRequest;
 import com.dtflys.forest.ssl.SSLKeyStore;
 import com.dtflys.forest.ssl.SSLUtils;
 import org.apache.http.HttpHost;
-//import org.apache.http.annotation.ThreadSafe;
+import org.apache.http.client.protocol.HttpClientContext;
 import org.apache.http.conn.socket.LayeredConnectionSocketFactory;
 import org.apache.http.conn.ssl.*;
 import org.apache.http.protocol.HttpContext;
-import org.apache.http.util.Args;
 import org.apache.http.util.TextUtils;
 
-//@ThreadSafe
+/**
+ * HTTPS连接的SocketFactory，注册在连接池的 https 协议上
+ * <p>每个SSL上下文和证书对应一个 {@link LayeredConnectionSocketFactory}，按全局配置、SSL上下文的 {@link SSLSocketFactory} 和证书ID缓存，
+ * 不同全局配置中相同ID的证书、重新注册的相同ID的证书都不会混用。
+ * 发送请求时通过 {@link #setupContext(ForestRequest, HttpContext)} 把请求对应的 SocketFactory 放入 {@link HttpContext}，
+ * 建立连接时再从中取出，因此不依赖发送请求的线程，并且同一个连接池中不同SSL上下文或证书的连接互不复用</p>
+ */
 public class ForestSSLConnectionFactory implements LayeredConnectionSocketFactory {
 
     public static final X509HostnameVerifier BROWSER_COMPATIBLE_HOSTNAME_VERIFIER = new BrowserCompatHostnameVerifier();
 
-//    private final SSLSocketFactory socketfactory;
-    private final static ThreadLocal<ForestRequest> requestLocal = new ThreadLocal<>();
+    /**
+     * {@link HttpContext} 中保存当前请求的 SocketFactory 的属性名
+     */
+    public static final String SOCKET_FACTORY_ATTRIBUTE = "forest.ssl.socket-factory";
+
+    private final Map<Key, LayeredConnectionSocketFactory> socketFactories = new ConcurrentHashMap<>();
+
     private final X509HostnameVerifier hostnameVerifier;
 
     public static org.apache.http.conn.ssl.SSLConnectionSocketFactory getSocketFactory() throws SSLInitializationException {
@@ -49,109 +60,118 @@ public class ForestSSLConnectionFactory implements LayeredConnectionSocketFactor
         this.hostnameVerifier = hostnameVerifier != null?hostnameVerifier:BROWSER_COMPATIBLE_HOSTNAME_VERIFIER;
     }
 
-    protected void prepareSocket(SSLSocket socket) throws IOException {
+    /**
+     * 获取请求的SSL上下文和证书对应的 SocketFactory，第一次获取时创建
+     * @param request Forest请求对象
+     * @return SocketFactory
+     */
+    public LayeredConnectionSocketFactory getSocketFactory(ForestRequest request) {
+        return getSocketFactory(request, getKey(request));
     }
 
-    public Socket createSocket(HttpContext context) throws IOException {
-        return SocketFactory.getDefault().createSocket();
-    }
-
-    public Socket connectSocket(int connectTimeout, Socket socket, HttpHost host, InetSocketAddress remoteAddress, InetSocketAddress localAddress, HttpContext context) throws IOException {
-        System.out.println("current request: " + getCurrentRequest());
-        Args.notNull(host, "HTTP host");
-        Args.notNull(remoteAddress, "Remote address");
-        Socket sock = socket != null?socket:this.createSocket(context);
-        if(localAddress != null) {
-            sock.bind(localAddress);
+    private LayeredConnectionSocketFactory getSocketFactory(ForestRequest request, Key key) {
+        LayeredConnectionSocketFactory socketFactory = socketFactories.get(key);
+        if (socketFactory != null) {
+            return socketFactory;
         }
-
-        try {
-            sock.connect(remoteAddress, connectTimeout);
-        } catch (IOException var11) {
-            try {
-                sock.close();
-            } catch (IOException var10) {
-                ;
+        synchronized (this) {
+            socketFactory = socketFactories.get(key);
+            if (socketFactory == null) {
+                SSLKeyStore keyStore = request.getKeyStore();
+                String[] protocols = keyStore == null ? null : keyStore.getProtocols();
+                String[] cipherSuites = keyStore == null ? null : keyStore.getCipherSuites();
+                socketFactory = new SSLConnectionSocketFactory(
+                        key.sslSocketFactory, protocols, cipherSuites, hostnameVerifier);
+                // 同一个全局配置的SSL上下文重新创建后（如相同ID的证书重新注册），原来的 SocketFactory 不会再被使用
+                socketFactories.keySet().removeIf(k -> k.configuration == key.configuration
+                        && k.keyStoreId.equals(key.keyStoreId));
+                socketFactories.put(key, socketFactory);
             }
-
-            throw var11;
-        }
-
-        if(sock instanceof SSLSocket) {
-            SSLSocket sslsock = (SSLSocket)sock;
-            sslsock.startHandshake();
-            this.verifyHostname(sslsock, host.getHostName());
-            return sock;
-        } else {
-            return this.createLayeredSocket(sock, host.getHostName(), remoteAddress.getPort(), context);
+            return socketFactory;
         }
     }
 
-
-    private ForestRequest getCurrentRequest() {
-        ForestRequest request = requestLocal.get();
-        System.out.println("getCurrentRequest[" + Thread.currentThread().getName() + "][" + requestLocal.hashCode() + "]: " + request);
-        return request;
+    /**
+     * 把请求对应的 SocketFactory 放入上下文
+     * <p>同时把缓存 SocketFactory 的键（全局配置、SSL上下文和证书ID）设为上下文的用户标识，连接池按用户标识区分连接，
+     * 不同证书建立的连接不会被其它证书的请求复用，相同ID的证书重新注册后也不会复用原来的连接。
+     * 用户标识不为 null，否则连接池会把没有证书的请求建立的连接借给任何用户标识的请求</p>
+     * @param request Forest请求对象
+     * @param context 请求上下文
+     */
+    public void setupContext(ForestRequest request, HttpContext context) {
+        Key key = getKey(request);
+        context.setAttribute(SOCKET_FACTORY_ATTRIBUTE, getSocketFactory(request, key));
+        context.setAttribute(HttpClientContext.USER_TOKEN, key);
     }
 
+    private static Key getKey(ForestRequest request) {
+        SSLKeyStore keyStore = request.getKeyStore();
+        return new Key(request.getConfiguration(), SSLUtils.getSSLSocketFactory(request),
+                keyStore == null ? "" : keyStore.getId());
+    }
 
-    public void setCurrentRequest(ForestRequest request) {
-        System.out.println("setCurrentRequest[" + Thread.currentThread().getName() + "][" + requestLocal.hashCode() + "]: " + request);
-        requestLocal.set(request);
+    private LayeredConnectionSocketFactory getSocketFactory(HttpContext context) {
+        Object socketFactory = context == null ? null : context.getAttribute(SOCKET_FACTORY_ATTRIBUTE);
+        if (socketFactory == null) {
+            throw new ForestRuntimeException("SSL socket factory of current request is NULL!");
+        }
+        return (LayeredConnectionSocketFactory) socketFactory;
     }
 
+    @Override
+    public Socket createSocket(HttpContext context) throws IOException {
+        return getSocketFactory(context).createSocket(context);
+    }
 
-    public ForestRequest removeCurrentRequest() {
-        ForestRequest request = requestLocal.get();
-        requestLocal.remove();
-        return request;
+    @Override
+    public Socket connectSocket(int connectTimeout, Socket socket, HttpHost host, InetSocketAddress remoteAddress, InetSocketAddress localAddress, HttpContext context) throws IOException {
+        return getSocketFactory(context).connectSocket(connectTimeout, socket, host, remoteAddress, localAddress, context);
     }
 
+    @Override
+    public Socket createLayeredSocket(Socket socket, String target, int port, HttpContext context) throws IOException {
+        return getSocketFactory(context).createLayeredSocket(socket, target, port, context);
+    }
 
+    public int size() {
+        return socketFactories.size();
+    }
 
-    public Socket createLayeredSocket(Socket socket, String target, int port, HttpContext context) throws IOException {
-        ForestRequest request = getCurrentRequest();
-        if (request == null) {
-            throw new ForestRuntimeException("Current request is NULL!");
+    /**
+     * SocketFactory 的缓存键，同时作为连接池的用户标识
+     */
+    private static class Key {
+        private final ForestConfiguration configuration;
+        private final SSLSocketFactory sslSocketFactory;
+        private final String keyStoreId;
+
+        Key(ForestConfiguration configuration, SSLSocketFactory sslSocketFactory, String keyStoreId) {
+            this.configuration = configuration;
+            this.sslSocketFactory = sslSocketFactory;
+            this.keyStoreId = keyStoreId;
         }
-        SSLSocket sslsock = (SSLSocket) SSLUtils.getSSLSocketFactory(request)
-                .createSocket(socket, target, port, true);
-        if (request != null) {
-            SSLKeyStore keyStore = request.getKeyStore();
-            if (keyStore != null) {
-                String[] protocols = keyStore.getProtocols();
-                String[] cipherSuites = keyStore.getCipherSuites();
-                if (protocols != null) {
-                    sslsock.setEnabledProtocols(protocols);
-                }
-                if (cipherSuites != null) {
-                    sslsock.setEnabledCipherSuites(cipherSuites);
-                }
-            }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key that = (Key) o;
+            return configuration == that.configuration
+                    && sslSocketFactory == that.sslSocketFactory
+                    && keyStoreId.equals(that.keyStoreId);
         }
-        this.prepareSocket(sslsock);
-        sslsock.startHandshake();
-        this.verifyHostname(sslsock, target);
-        return sslsock;
-    }
 
-/*
-    X509HostnameVerifier getHostnameVerifier() {
-        return this.hostnameVerifier;
-    }
-*/
-
-    private void verifyHostname(SSLSocket sslsock, String hostname) throws IOException {
-        try {
-            this.hostnameVerifier.verify(hostname, sslsock);
-        } catch (IOException var6) {
-            try {
-                sslsock.close();
-            } catch (Exception var5) {
-                ;
-            }
+        @Override
+        public int hashCode() {
+            int result = System.identityHashCode(configuration);
+            result = 31 * result + System.identityHashCode(sslSocketFactory);
+            return 31 * result + keyStoreId.hashCode();
+        }
 
-            throw var6;
+        @Override
+        public String toString() {
+            return "forest-ssl:" + keyStoreId + "@" + Integer.toHexString(System.identityHashCode(sslSocketFactory));
         }
     }
 }
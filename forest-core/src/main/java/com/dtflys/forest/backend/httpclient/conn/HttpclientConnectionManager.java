@@ -6,12 +6,14 @@ import com.dtflys.forest.config.ForestConfiguration;
 import com.dtflys.forest.exceptions.ForestRuntimeException;
 import com.dtflys.forest.exceptions.ForestUnsupportException;
 import com.dtflys.forest.http.ForestRequest;
+import com.dtflys.forest.metrics.ForestConnectionPoolMetrics;
 import org.apache.http.Consts;
 import org.apache.http.auth.AuthSchemeProvider;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.config.AuthSchemes;
 import org.apache.http.client.config.CookieSpecs;
 import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.protocol.HttpClientContext;
 import org.apache.http.config.ConnectionConfig;
 import org.apache.http.config.Lookup;
 import org.apache.http.config.Registry;
@@ -23,14 +25,15 @@ import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.HttpClients;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
-import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
 import org.apache.http.impl.nio.client.HttpAsyncClients;
 import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
 import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
 import org.apache.http.nio.reactor.ConnectingIOReactor;
 import org.apache.http.params.BasicHttpParams;
 import org.apache.http.params.HttpParams;
+import org.apache.http.pool.PoolStats;
 
+import java.io.IOException;
 import java.nio.charset.CodingErrorAction;
 import java.security.*;
 
@@ -40,14 +43,26 @@ import java.security.*;
  */
 public class HttpclientConnectionManager implements ForestConnectionManager {
     private HttpParams httpParams;
-    private static PoolingHttpClientConnectionManager tsConnectionManager;
+    private PoolingHttpClientConnectionManager tsConnectionManager;
 
-    private static PoolingNHttpClientConnectionManager asyncConnectionManager;
+    private PoolingNHttpClientConnectionManager asyncConnectionManager;
 
-    private static Lookup<AuthSchemeProvider> authSchemeRegistry;
+    private Lookup<AuthSchemeProvider> authSchemeRegistry;
+
+    /**
+     * 长期存活的异步客户端，只在首次使用时启动一次
+     */
+    private volatile CloseableHttpAsyncClient asyncClient;
+
+    /**
+     * 过期和空闲连接清理线程
+     */
+    private HttpclientIdleConnectionEvictor connectionEvictor;
 
     private final ForestSSLConnectionFactory sslConnectFactory = new ForestSSLConnectionFactory();
 
+    private final ForestConnectionPoolMetrics poolMetrics = new PoolMetrics();
+
     public HttpclientConnectionManager() {
 //        synchronized (HttpclientConnectionManager.class) {
 //            if (tsConnectionManager == null) {
@@ -87,9 +102,9 @@ public class HttpclientConnectionManager implements ForestConnectionManager {
                 supportAsync = false;
             }
             if (supportAsync) {
-                ConnectingIOReactor ioReactor = new DefaultConnectingIOReactor();
                 if (asyncConnectionManager == null) {
                     try {
+                        ConnectingIOReactor ioReactor = new DefaultConnectingIOReactor();
                         ConnectionConfig connectionConfig = ConnectionConfig.custom()
                                 .setMalformedInputAction(CodingErrorAction.IGNORE)
                                 .setUnmappableInputAction(CodingErrorAction.IGNORE)
@@ -112,13 +127,17 @@ public class HttpclientConnectionManager implements ForestConnectionManager {
                     }
                 }
             }
+            connectionEvictor = new HttpclientIdleConnectionEvictor(
+                    tsConnectionManager, asyncConnectionManager,
+                    HttpConnectionConstants.DEFAULT_EVICT_INTERVAL,
+                    HttpConnectionConstants.DEFAULT_MAX_IDLE_TIME);
+            connectionEvictor.start();
         } catch (Throwable th) {
             throw new ForestRuntimeException(th);
         }
     }
 
     public HttpClient getHttpClient(ForestRequest request) {
-        sslConnectFactory.setCurrentRequest(request);
         HttpClientBuilder builder = HttpClients.custom();
         builder.setConnectionManager(tsConnectionManager);
         /*if ("https".equals(request.getProtocol())) {
@@ -169,8 +188,18 @@ public class HttpclientConnectionManager implements ForestConnectionManager {
 */
 
 
-    public void afterConnect() {
-        sslConnectFactory.removeCurrentRequest();
+    /**
+     * 创建同步请求的上下文
+     * <p>HTTPS请求的SSL证书通过上下文传递给 {@link ForestSSLConnectionFactory}，不依赖发送请求的线程</p>
+     * @param request Forest请求对象
+     * @return 请求上下文
+     */
+    public HttpClientContext createHttpContext(ForestRequest request) {
+        HttpClientContext context = HttpClientContext.create();
+        if ("https".equals(request.getProtocol())) {
+            sslConnectFactory.setupContext(request, context);
+        }
+        return context;
     }
 
 
@@ -260,39 +289,138 @@ public class HttpclientConnectionManager implements ForestConnectionManager {
 
 
 
+    /**
+     * 获取共享的异步客户端
+     * <p>客户端在第一次调用时创建并启动，之后所有异步请求都复用同一个客户端，
+     * 请求级别的超时等配置通过 {@link #getAsyncRequestConfig(ForestRequest)} 设置到每个请求上</p>
+     * @param request Forest请求对象
+     * @return 已启动的异步客户端
+     */
     public CloseableHttpAsyncClient getHttpAsyncClient(ForestRequest request) {
         if (asyncConnectionManager == null) {
             throw new ForestUnsupportException("Async forest request is unsupported.");
         }
-
-        HttpAsyncClientBuilder builder = HttpAsyncClients.custom();
-/*
-        if ("https".equals(request.getProtocol())) {
-            try {
-                builder.setSSLContext(getSSLContext(request));
-            } catch (KeyManagementException e) {
-                throw new ForestRuntimeException(e);
-            } catch (NoSuchAlgorithmException e) {
-                throw new ForestRuntimeException(e);
+        CloseableHttpAsyncClient client = asyncClient;
+        if (client == null) {
+            synchronized (this) {
+                client = asyncClient;
+                if (client == null) {
+                    RequestConfig requestConfig = RequestConfig.custom()
+                            .setCookieSpec(CookieSpecs.STANDARD)
+                            .setSocketTimeout(HttpConnectionConstants.DEFAULT_READ_TIMEOUT).build();
+                    client = HttpAsyncClients.custom()
+                            .setConnectionManager(asyncConnectionManager)
+                            .setDefaultAuthSchemeRegistry(authSchemeRegistry)
+                            .setDefaultRequestConfig(requestConfig)
+                            .build();
+                    client.start();
+                    asyncClient = client;
+                }
             }
         }
-*/
+        return client;
+    }
 
+    /**
+     * 获取异步请求级别的配置
+     * @param request Forest请求对象
+     * @return 请求配置
+     */
+    public RequestConfig getAsyncRequestConfig(ForestRequest request) {
         Integer timeout = request.getTimeout();
         if (timeout == null) {
             timeout = request.getConfiguration().getTimeout();
         }
-
-        RequestConfig requestConfig = RequestConfig.custom()
+        return RequestConfig.custom()
                 .setConnectTimeout(timeout)
                 .setCookieSpec(CookieSpecs.STANDARD)
                 .setSocketTimeout(HttpConnectionConstants.DEFAULT_READ_TIMEOUT).build();
+    }
 
-        return builder
-                .setConnectionManager(asyncConnectionManager)
-                .setDefaultAuthSchemeRegistry(authSchemeRegistry)
-                .setDefaultRequestConfig(requestConfig)
-                .build();
+    /**
+     * 关闭连接管理器，停止清理线程并释放同步和异步连接池
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (connectionEvictor != null) {
+                connectionEvictor.shutdown();
+                connectionEvictor = null;
+            }
+            try {
+                if (asyncClient != null) {
+                    // 异步客户端关闭时会同时关闭其持有的异步连接池
+                    asyncClient.close();
+                } else if (asyncConnectionManager != null) {
+                    asyncConnectionManager.shutdown();
+                }
+            } catch (IOException e) {
+                throw new ForestRuntimeException(e);
+            } finally {
+                asyncClient = null;
+                asyncConnectionManager = null;
+                if (tsConnectionManager != null) {
+                    tsConnectionManager.shutdown();
+                    tsConnectionManager = null;
+                }
+            }
+        }
+    }
+
+    @Override
+    public ForestConnectionPoolMetrics getPoolMetrics() {
+        return poolMetrics;
+    }
+
+    /**
+     * 同步和异步连接池的合计状态
+     */
+    private class PoolMetrics implements ForestConnectionPoolMetrics {
+
+        private PoolStats[] getStats() {
+            PoolingHttpClientConnectionManager syncPool = tsConnectionManager;
+            PoolingNHttpClientConnectionManager asyncPool = asyncConnectionManager;
+            return new PoolStats[] {
+                    syncPool == null ? null : syncPool.getTotalStats(),
+                    asyncPool == null ? null : asyncPool.getTotalStats()
+            };
+        }
+
+        @Override
+        public int getLeasedConnections() {
+            int count = 0;
+            for (PoolStats stats : getStats()) {
+                count += stats == null ? 0 : stats.getLeased();
+            }
+            return count;
+        }
+
+        @Override
+        public int getIdleConnections() {
+            int count = 0;
+            for (PoolStats stats : getStats()) {
+                count += stats == null ? 0 : stats.getAvailable();
+            }
+            return count;
+        }
+
+        @Override
+        public int getPendingRequests() {
+            int count = 0;
+            for (PoolStats stats : getStats()) {
+                count += stats == null ? 0 : stats.getPending();
+            }
+            return count;
+        }
+
+        @Override
+        public int getMaxConnections() {
+            int count = 0;
+            for (PoolStats stats : getStats()) {
+                count += stats == null ? 0 : stats.getMax();
+            }
+            return count;
+        }
     }
 
 }
@@ -0,0 +1,68 @@
+package com.dtflys.forest.backend.httpclient.conn;
+
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 定期清理连接池中过期和长时间空闲的连接
+ * @author agent[agent@local]
+ * @since 2026-10-17 14:50
+ */
+public class HttpclientIdleConnectionEvictor extends Thread {
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+
+    private final PoolingNHttpClientConnectionManager asyncConnectionManager;
+
+    private final long evictInterval;
+
+    private final long maxIdleTime;
+
+    private volatile boolean shutdown = false;
+
+    public HttpclientIdleConnectionEvictor(
+            PoolingHttpClientConnectionManager connectionManager,
+            PoolingNHttpClientConnectionManager asyncConnectionManager,
+            long evictInterval,
+            long maxIdleTime) {
+        super("forest-httpclient-connection-evictor");
+        this.connectionManager = connectionManager;
+        this.asyncConnectionManager = asyncConnectionManager;
+        this.evictInterval = evictInterval;
+        this.maxIdleTime = maxIdleTime;
+        setDaemon(true);
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (!shutdown) {
+                synchronized (this) {
+                    wait(evictInterval);
+                }
+                if (shutdown) {
+                    break;
+                }
+                if (connectionManager != null) {
+                    connectionManager.closeExpiredConnections();
+                    connectionManager.closeIdleConnections(maxIdleTime, TimeUnit.MILLISECONDS);
+                }
+                if (asyncConnectionManager != null) {
+                    asyncConnectionManager.closeExpiredConnections();
+                    asyncConnectionManager.closeIdleConnections(maxIdleTime, TimeUnit.MILLISECONDS);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public void shutdown() {
+        shutdown = true;
+        synchronized (this) {
+            notifyAll();
+        }
+    }
+}
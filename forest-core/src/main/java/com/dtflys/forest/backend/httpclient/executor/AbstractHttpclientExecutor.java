@@ -4,6 +4,8 @@ import com.dtflys.forest.backend.AbstractHttpExecutor;
 import com.dtflys.forest.backend.BodyBuilder;
 import com.dtflys.forest.backend.body.NoneBodyBuilder;
 import com.dtflys.forest.backend.httpclient.HttpclientRequestProvider;
+import com.dtflys.forest.backend.httpclient.logging.HttpclientLogEntity;
+import com.dtflys.forest.backend.httpclient.logging.HttpclientRequestLogMessage;
 import com.dtflys.forest.backend.httpclient.body.HttpclientBodyBuilder;
 import com.dtflys.forest.backend.url.URLBuilder;
 import com.dtflys.forest.http.ForestRequest;
@@ -21,14 +23,12 @@ import com.dtflys.forest.backend.httpclient.response.HttpclientForestResponseFac
 import com.dtflys.forest.backend.httpclient.response.HttpclientResponseHandler;
 import com.dtflys.forest.handler.LifeCycleHandler;
 import com.dtflys.forest.exceptions.ForestRuntimeException;
+import com.dtflys.forest.logging.ForestLogger;
 import com.dtflys.forest.mapping.MappingTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.util.Date;
 import java.util.List;
 
@@ -105,88 +105,46 @@ public abstract class AbstractHttpclientExecutor<T extends  HttpRequestBase> ext
     }
 
 
-    protected static void logContent(String content) {
-        log.info("[Forest] " + content);
-    }
-
+    /**
+     * 创建请求日志，有请求体时替换为在写出时捕获日志内容的请求实体
+     * @param retryCount 当前重试次数
+     * @param httpReq Httpclient请求对象
+     */
     public void logRequest(int retryCount, T httpReq) {
-        if (!request.isLogEnable()) return;
-        String requestLine = getLogContentForRequestLine(retryCount, httpReq);
-        String headers = getLogContentForHeaders(httpReq);
-        String body = getLogContentForBody(httpReq);
-        String content = "Request: \n\t" + requestLine;
-        if (StringUtils.isNotEmpty(headers)) {
-            content += "\n\tHeaders: \n" + headers;
+        request.setRequestLogMessage(null);
+        ForestLogger logger = request.getConfiguration().getLogger();
+        if (!logger.isEnabled(request)) {
+            return;
         }
-        if (StringUtils.isNotEmpty(body)) {
-            content += "\n\tBody: " + body;
+        HttpclientRequestLogMessage logMessage = new HttpclientRequestLogMessage(logger, retryCount, httpReq);
+        request.setRequestLogMessage(logMessage);
+        HttpEntity entity = null;
+        if (httpReq instanceof HttpEntityEnclosingRequestBase) {
+            entity = ((HttpEntityEnclosingRequestBase) httpReq).getEntity();
         }
-        logContent(content);
-    }
-
-    public void logResponse(long startTime, ForestResponse response) {
-        if (!request.isLogEnable()) return;
-        long endTime = new Date().getTime();
-        long time = endTime - startTime;
-        logContent("Response: Status = " + response.getStatusCode() + ", Time = " + time + "ms");
-    }
-
-    protected String getLogContentForRequestLine(int retryCount, T httpReq) {
-        if (retryCount == 0) {
-            return httpReq.getRequestLine().toString();
-        }
-        else {
-            return "[Retry: " + retryCount + "] " + httpReq.getRequestLine().toString();
+        if (entity == null) {
+            logMessage.flush();
+            return;
         }
-    }
-
-    protected String getLogContentForHeaders(T httpReq) {
-        StringBuffer buffer = new StringBuffer();
-        Header[] headers = httpReq.getAllHeaders();
-        for (int i = 0; i < headers.length; i++) {
-            Header header = headers[i];
-            buffer.append("\t\t" + header.getName() + ": " + header.getValue());
-            if (i < headers.length - 1) {
-                buffer.append("\n");
+        Header contentType = entity.getContentType();
+        if (contentType != null && contentType.getValue().startsWith("multipart/")) {
+            StringBuilder builder = new StringBuilder("[").append(contentType.getValue());
+            long contentLength = entity.getContentLength();
+            if (contentLength >= 0) {
+                builder.append("; length=").append(contentLength);
             }
+            logMessage.setBodySummary(builder.append("]").toString());
+            logMessage.flush();
+            return;
         }
-        return buffer.toString();
-    }
-
-    protected String getLogContentForBody(T httpReq) {
-        if (!(httpReq instanceof HttpEntityEnclosingRequestBase)) {
-            return null;
-        }
-        try {
-            HttpEntityEnclosingRequestBase entityEnclosingRequest = (HttpEntityEnclosingRequestBase) httpReq;
-            HttpEntity entity = entityEnclosingRequest.getEntity();
-            if (entity.getContentType().getValue().startsWith("multipart/")) {
-                Long contentLength = null;
-                try {
-                    contentLength = entity.getContentLength();
-                } catch (Throwable th) {
-                }
-                String result = "[" + entity.getContentType().getValue();
-                if (contentLength != null) {
-                    result += "; length=" + contentLength;
-                }
-                return result + "]";
-            }
-            InputStream in = entity.getContent();
-            BufferedReader reader = new BufferedReader(new InputStreamReader(in));
-            StringBuffer buffer = new StringBuffer();
-            String line;
-            String body;
-            while ((line = reader.readLine()) != null) {
-                buffer.append(line + " ");
-            }
-            body = buffer.toString();
-            return body;
-        } catch (IOException e) {
-            e.printStackTrace();
+        if (entity instanceof HttpclientLogEntity) {
+            entity = ((HttpclientLogEntity) entity).getWrappedEntity();
         }
-        return null;
+        ((HttpEntityEnclosingRequestBase) httpReq).setEntity(new HttpclientLogEntity(entity, logMessage));
+    }
 
+    public void logResponse(long startTime, ForestResponse response) {
+        request.getConfiguration().getLogger().logResponse(request, startTime, response);
     }
 
 
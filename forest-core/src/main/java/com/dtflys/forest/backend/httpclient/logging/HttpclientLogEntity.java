@@ -0,0 +1,117 @@
+package com.dtflys.forest.backend.httpclient.logging;
+
+import com.dtflys.forest.logging.LogBodyCapture;
+import com.dtflys.forest.logging.RequestLogMessage;
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.HttpEntityWrapper;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+
+/**
+ * 在写出请求体的同时捕获日志内容的请求实体
+ * <p>同步请求通过 {@link #writeTo(OutputStream)} 写出，异步请求通过 {@link #getContent()} 读取，
+ * 两种方式都只把前一部分字节旁路拷贝到 {@link LogBodyCapture}，写出或读取完成后输出请求日志</p>
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:37
+ */
+public class HttpclientLogEntity extends HttpEntityWrapper {
+
+    private final HttpEntity entity;
+
+    private final RequestLogMessage logMessage;
+
+    private final LogBodyCapture capture;
+
+    public HttpclientLogEntity(HttpEntity wrappedEntity, RequestLogMessage logMessage) {
+        super(wrappedEntity);
+        this.entity = wrappedEntity;
+        this.logMessage = logMessage;
+        this.capture = logMessage.captureBody(getCharset(wrappedEntity));
+    }
+
+    public HttpEntity getWrappedEntity() {
+        return entity;
+    }
+
+    private static Charset getCharset(HttpEntity entity) {
+        try {
+            ContentType contentType = ContentType.get(entity);
+            return contentType != null ? contentType.getCharset() : null;
+        } catch (Throwable th) {
+            return null;
+        }
+    }
+
+    @Override
+    public void writeTo(OutputStream outStream) throws IOException {
+        if (logMessage.isLogged()) {
+            super.writeTo(outStream);
+            return;
+        }
+        capture.reset();
+        try {
+            super.writeTo(new FilterOutputStream(outStream) {
+                @Override
+                public void write(int b) throws IOException {
+                    out.write(b);
+                    capture.write(b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                    capture.write(b, off, len);
+                }
+            });
+        } finally {
+            logMessage.flush();
+        }
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+        InputStream in = super.getContent();
+        if (logMessage.isLogged()) {
+            return in;
+        }
+        capture.reset();
+        return new FilterInputStream(in) {
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b < 0) {
+                    logMessage.flush();
+                } else {
+                    capture.write(b);
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int n = super.read(b, off, len);
+                if (n < 0) {
+                    logMessage.flush();
+                } else {
+                    capture.write(b, off, n);
+                }
+                return n;
+            }
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    logMessage.flush();
+                }
+            }
+        };
+    }
+}
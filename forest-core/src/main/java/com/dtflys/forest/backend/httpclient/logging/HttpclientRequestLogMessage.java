@@ -0,0 +1,41 @@
+package com.dtflys.forest.backend.httpclient.logging;
+
+import com.dtflys.forest.logging.ForestLogger;
+import com.dtflys.forest.logging.RequestLogMessage;
+import org.apache.http.Header;
+import org.apache.http.client.methods.HttpRequestBase;
+
+/**
+ * Httpclient后端的请求日志消息
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:37
+ */
+public class HttpclientRequestLogMessage extends RequestLogMessage {
+
+    private final HttpRequestBase httpRequest;
+
+    public HttpclientRequestLogMessage(ForestLogger logger, int retryCount, HttpRequestBase httpRequest) {
+        super(logger, retryCount);
+        this.httpRequest = httpRequest;
+    }
+
+    @Override
+    protected String getRequestLine() {
+        return httpRequest.getRequestLine().toString();
+    }
+
+    @Override
+    protected void appendHeaders(StringBuilder builder) {
+        Header[] headers = httpRequest.getAllHeaders();
+        for (int i = 0; i < headers.length; i++) {
+            Header header = headers[i];
+            builder.append("\t\t")
+                    .append(header.getName())
+                    .append(": ")
+                    .append(header.getValue());
+            if (i < headers.length - 1) {
+                builder.append("\n");
+            }
+        }
+    }
+}
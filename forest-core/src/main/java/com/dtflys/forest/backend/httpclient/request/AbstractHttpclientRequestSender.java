@@ -1,9 +1,17 @@
 package com.dtflys.forest.backend.httpclient.request;
 
 import com.dtflys.forest.backend.httpclient.conn.HttpclientConnectionManager;
+import com.dtflys.forest.circuitbreaker.ForestCircuitBreakerPermit;
 import com.dtflys.forest.http.ForestRequest;
+import com.dtflys.forest.http.ForestResponse;
+import com.dtflys.forest.limiter.ForestAdaptiveLimiter;
+import com.dtflys.forest.metrics.ForestMetrics;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -28,6 +36,64 @@ public abstract class AbstractHttpclientRequestSender implements HttpclientReque
         log.info("[Forest] " + content);
     }
 
+    public void logResponse(long startTime, ForestResponse response) {
+        request.getConfiguration().getLogger().logResponse(request, startTime, response);
+    }
+
+    /**
+     * 记录一次请求的指标
+     */
+    protected void recordMetrics(long startNanos, HttpUriRequest httpRequest, HttpResponse httpResponse,
+                                 ForestResponse response, Throwable error) {
+        long duration = System.nanoTime() - startNanos;
+        // 重试时只暂存结果，调用结束时才记录到熔断器
+        ForestCircuitBreakerPermit circuitBreakerPermit = request.getCircuitBreakerPermit();
+        if (circuitBreakerPermit != null) {
+            circuitBreakerPermit.onAttempt(response, error, duration);
+        }
+        ForestAdaptiveLimiter adaptiveLimiter = request.getAdaptiveLimiter();
+        if (adaptiveLimiter != null) {
+            adaptiveLimiter.onResult(response, error, duration);
+        }
+        recordRequestMetrics(duration, httpRequest, httpResponse, response, error);
+    }
+
+    /**
+     * 记录一次被取消的请求，取消不计入熔断器的失败，也不作为自适应限流的样本
+     */
+    protected void recordCancelled(long startNanos, HttpUriRequest httpRequest, Exception error) {
+        long duration = System.nanoTime() - startNanos;
+        ForestCircuitBreakerPermit circuitBreakerPermit = request.getCircuitBreakerPermit();
+        if (circuitBreakerPermit != null) {
+            circuitBreakerPermit.cancel();
+        }
+        recordRequestMetrics(duration, httpRequest, null, null, error);
+    }
+
+    private void recordRequestMetrics(long duration, HttpUriRequest httpRequest, HttpResponse httpResponse,
+                                      ForestResponse response, Throwable error) {
+        ForestMetrics metrics = request.getConfiguration().getMetrics();
+        if (!metrics.isEnabled()) {
+            return;
+        }
+        long requestBytes = 0;
+        if (httpRequest instanceof HttpEntityEnclosingRequest) {
+            HttpEntity entity = ((HttpEntityEnclosingRequest) httpRequest).getEntity();
+            if (entity != null) {
+                requestBytes = entity.getContentLength();
+            }
+        }
+        long responseBytes = -1;
+        if (httpResponse != null && httpResponse.getEntity() != null) {
+            responseBytes = httpResponse.getEntity().getContentLength();
+        }
+        metrics.recordRequest(request, response, error, duration, requestBytes, responseBytes);
+    }
+
+    protected void recordRetry(int retryCount) {
+        request.getConfiguration().getMetrics().recordRetry(request, retryCount);
+    }
+
 
 
 }
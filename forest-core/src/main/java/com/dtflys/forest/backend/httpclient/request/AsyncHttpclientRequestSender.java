@@ -1,27 +1,34 @@
 package com.dtflys.forest.backend.httpclient.request;
 
 import com.dtflys.forest.backend.httpclient.conn.HttpclientConnectionManager;
+import com.dtflys.forest.backend.httpclient.response.HttpclientForestFuture;
 import com.dtflys.forest.backend.httpclient.response.HttpclientForestResponseFactory;
 import com.dtflys.forest.backend.httpclient.response.HttpclientResponseHandler;
 import com.dtflys.forest.exceptions.ForestNetworkException;
 import com.dtflys.forest.exceptions.ForestRetryException;
+import com.dtflys.forest.exceptions.ForestRuntimeException;
 import com.dtflys.forest.handler.LifeCycleHandler;
 import com.dtflys.forest.http.ForestRequest;
 import com.dtflys.forest.http.ForestResponse;
 import com.dtflys.forest.http.ForestResponseFactory;
+import com.dtflys.forest.retryer.ForestRetryScheduler;
 import org.apache.http.concurrent.FutureCallback;
 import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
 import java.util.concurrent.*;
+import java.util.function.BiConsumer;
 
 /**
  * @author gongjun[jun.gong@thebeastshop.com]
  * @since 2017-07-21 15:49
  */
 public class AsyncHttpclientRequestSender extends AbstractHttpclientRequestSender {
+    private static Logger log = LoggerFactory.getLogger(AsyncHttpclientRequestSender.class);
 
 
     public AsyncHttpclientRequestSender(HttpclientConnectionManager connectionManager, ForestRequest request) {
@@ -30,58 +37,156 @@ public class AsyncHttpclientRequestSender extends AbstractHttpclientRequestSende
 
     @Override
     public void sendRequest(final ForestRequest request, final HttpclientResponseHandler responseHandler, final HttpUriRequest httpRequest, LifeCycleHandler lifeCycleHandler, long startTime, int retryCount)  {
+        sendRequest(request, responseHandler, httpRequest, lifeCycleHandler, startTime, retryCount, null);
+    }
+
+    /**
+     * 发送异步请求
+     * @param retryFuture 重试时沿用首次请求创建的Future，首次请求时为 null
+     */
+    protected void sendRequest(final ForestRequest request, final HttpclientResponseHandler responseHandler, final HttpUriRequest httpRequest, LifeCycleHandler lifeCycleHandler, long startTime, int retryCount,
+                               HttpclientForestFuture<Object, HttpResponse> retryFuture)  {
+        if (retryFuture != null && retryFuture.isCancelled()) {
+            return;
+        }
         final CloseableHttpAsyncClient client = connectionManager.getHttpAsyncClient(request);
-        client.start();
+        if (httpRequest instanceof HttpRequestBase) {
+            ((HttpRequestBase) httpRequest).setConfig(connectionManager.getAsyncRequestConfig(request));
+        }
         final ForestResponseFactory forestResponseFactory = new HttpclientForestResponseFactory();
+        final long startNanos = System.nanoTime();
+        final HttpclientForestFuture<Object, HttpResponse> forestFuture =
+                retryFuture != null ? retryFuture : new HttpclientForestFuture<>();
 
-        final Future<HttpResponse> future = client.execute(httpRequest, new FutureCallback<HttpResponse>() {
+        final Future<HttpResponse> future = execute(request, client, httpRequest, new FutureCallback<HttpResponse>() {
             public void completed(final HttpResponse httpResponse) {
+                // 异步客户端是共享的，回调中抛出的异常不能传播到 I/O 线程
+                try {
+                    onCompleted(httpResponse);
+                } catch (Throwable th) {
+                    log.error("[Forest] Async callback error", th);
+                }
+            }
+
+            private void onCompleted(final HttpResponse httpResponse) {
                 ForestResponse response = forestResponseFactory.createResponse(request, httpResponse, lifeCycleHandler);
+                logResponse(startTime, response);
+                recordMetrics(startNanos, httpRequest, httpResponse, response, null);
                 if (response.isError()) {
                     ForestNetworkException networkException =
                             new ForestNetworkException("", response.getStatusCode(), response);
                     ForestRetryException retryException = new ForestRetryException(
                             networkException,  request, request.getRetryCount(), retryCount);
+                    long delay;
                     try {
-                        request.getRetryer().canRetry(retryException);
+                        delay = request.getRetryer().nextRetryDelay(retryException);
                     } catch (Throwable throwable) {
+                        forestFuture.completeExceptionally(networkException);
                         responseHandler.handleError(response);
                         return;
                     }
-                    sendRequest(request, responseHandler, httpRequest, lifeCycleHandler, startTime, retryCount + 1);
+                    recordRetry(retryCount + 1);
+                    scheduleRetry(delay);
                     return;
                 }
-                responseHandler.handleSuccess(response);
+                // 先完成Future，再执行OnSuccess回调，保证回调中可以看到已完成的Future
+                Object result;
+                if (request.getOnSuccess() != null) {
+                    result = responseHandler.handleSuccessResultType(response);
+                    forestFuture.complete(result);
+                    responseHandler.handleSuccess(result, response);
+                } else {
+                    result = responseHandler.handleSync(
+                            response, response.getStatusCode(), httpResponse.getStatusLine().getReasonPhrase());
+                    forestFuture.complete(result);
+                }
             }
 
             public void failed(final Exception ex) {
-                synchronized (client) {
-                    try {
-                        client.close();
-                    } catch (IOException e) {
-                    }
+                try {
+                    onFailed(ex);
+                } catch (Throwable th) {
+                    log.error("[Forest] Async callback error", th);
+                }
+            }
+
+            private void onFailed(final Exception ex) {
+                if (forestFuture.isCancelled()) {
+                    recordCancelled(startNanos, httpRequest, ex);
+                    return;
                 }
                 ForestResponse response = forestResponseFactory.createResponse(request, null, lifeCycleHandler);
+                logResponse(startTime, response);
                 ForestRetryException retryException = new ForestRetryException(
                         ex,  request, request.getRetryCount(), retryCount);
+                recordMetrics(startNanos, httpRequest, null, response, ex);
+                long delay;
                 try {
-                    request.getRetryer().canRetry(retryException);
+                    delay = request.getRetryer().nextRetryDelay(retryException);
                 } catch (Throwable throwable) {
+                    forestFuture.completeExceptionally(ex);
                     responseHandler.handleError(response, ex);
                     return;
                 }
-                sendRequest(request, responseHandler, httpRequest, lifeCycleHandler, startTime, retryCount + 1);
+                recordRetry(retryCount + 1);
+                scheduleRetry(delay);
             }
 
-            public void cancelled() {
-                synchronized (client) {
-                    try {
-                        client.close();
-                    } catch (IOException e) {
+            /**
+             * 等待时间由重试调度器处理，不阻塞HttpAsyncClient的I/O线程
+             */
+            private void scheduleRetry(long delay) {
+                request.getConfiguration().getRetryScheduler().schedule(new ForestRetryScheduler.Task() {
+                    @Override
+                    public void run() {
+                        try {
+                            sendRequest(request, responseHandler, httpRequest, lifeCycleHandler, startTime, retryCount + 1, forestFuture);
+                        } catch (Throwable th) {
+                            forestFuture.completeExceptionally(th);
+                        }
                     }
+
+                    @Override
+                    public void abort(ForestRuntimeException e) {
+                        forestFuture.completeExceptionally(e);
+                    }
+                }, delay);
+            }
+
+            public void cancelled() {
+                forestFuture.cancel(false);
+            }
+        });
+        forestFuture.setHttpResponseFuture(future);
+        if (forestFuture.isCancelled()) {
+            future.cancel(true);
+        }
+        if (retryFuture == null) {
+            responseHandler.handleFuture(forestFuture, forestResponseFactory);
+        }
+    }
+
+    /**
+     * 发送请求，请求带有对冲策略时通过 {@link HttpclientHedgedCall} 发送
+     */
+    private Future<HttpResponse> execute(ForestRequest request, CloseableHttpAsyncClient client,
+                                         HttpUriRequest httpRequest, final FutureCallback<HttpResponse> callback) {
+        if (request.getHedgingPolicy() == null) {
+            return client.execute(httpRequest, callback);
+        }
+        HttpclientHedgedCall hedgedCall = new HttpclientHedgedCall(request, connectionManager, null, httpRequest);
+        hedgedCall.executeAsync().whenComplete(new BiConsumer<HttpResponse, Throwable>() {
+            @Override
+            public void accept(HttpResponse httpResponse, Throwable error) {
+                if (error == null) {
+                    callback.completed(httpResponse);
+                } else if (error instanceof CancellationException) {
+                    callback.cancelled();
+                } else {
+                    callback.failed(error instanceof Exception ? (Exception) error : new ForestRuntimeException(error));
                 }
             }
         });
-        responseHandler.handleFuture(future, forestResponseFactory);
+        return hedgedCall;
     }
 }
@@ -0,0 +1,144 @@
+package com.dtflys.forest.backend.httpclient.request;
+
+import com.dtflys.forest.backend.httpclient.conn.HttpclientConnectionManager;
+import com.dtflys.forest.hedging.HedgedCall;
+import com.dtflys.forest.http.ForestRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.util.EntityUtils;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Future;
+
+/**
+ * 发送对冲请求的Httpclient调用
+ * <p>对冲请求为首个请求的副本，总是通过共享的异步客户端发送，不占用调用线程；
+ * 同步请求的首个请求仍在调用线程中发送，落后时通过 {@link HttpUriRequest#abort()} 中止。
+ * 异步客户端不使用请求的SSL证书，所以带有SSL证书的同步请求不对冲，见 {@link #isSyncHedgeable(ForestRequest)}</p>
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:07
+ */
+public class HttpclientHedgedCall extends HedgedCall<HttpResponse> {
+
+    private final HttpclientConnectionManager connectionManager;
+
+    /**
+     * 同步客户端，异步请求时为 null
+     */
+    private final HttpClient client;
+
+    private final HttpUriRequest httpRequest;
+
+    private final Future<?>[] futures = new Future<?>[MAX_ATTEMPTS];
+
+    private volatile boolean primaryAborted = false;
+
+    public HttpclientHedgedCall(ForestRequest request, HttpclientConnectionManager connectionManager,
+                                HttpClient client, HttpUriRequest httpRequest) {
+        super(request);
+        this.connectionManager = connectionManager;
+        this.client = client;
+        this.httpRequest = httpRequest;
+    }
+
+    /**
+     * 判断同步请求是否可以对冲
+     * <p>对冲请求通过异步客户端发送，而异步客户端不使用请求的SSL证书，带有SSL证书的请求对冲后会以错误的身份发送</p>
+     * @param request Forest请求对象
+     * @return {@code true} 请求带有对冲策略且没有SSL证书
+     */
+    public static boolean isSyncHedgeable(ForestRequest request) {
+        return request.getHedgingPolicy() != null && request.getKeyStore() == null;
+    }
+
+    /**
+     * 同步发送请求
+     * @return 胜出的响应
+     * @throws IOException 所有请求都失败时最后一个请求的异常
+     */
+    public HttpResponse send() throws IOException {
+        try {
+            return execute();
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            throw new InterruptedIOException();
+        } catch (Exception e) {
+            throw new IOException(e);
+        } finally {
+            if (primaryAborted && httpRequest instanceof HttpRequestBase) {
+                // 被中止的首个请求在重试时还会被再次发送
+                ((HttpRequestBase) httpRequest).reset();
+            }
+        }
+    }
+
+    @Override
+    protected HttpResponse executeAttempt(int attempt) throws Exception {
+        return client.execute(httpRequest, connectionManager.createHttpContext(request));
+    }
+
+    @Override
+    protected void startAttempt(final int attempt) {
+        HttpUriRequest attemptRequest = attempt == 0 ? httpRequest : copyRequest();
+        Future<HttpResponse> future = connectionManager.getHttpAsyncClient(request).execute(
+                attemptRequest, new FutureCallback<HttpResponse>() {
+                    @Override
+                    public void completed(HttpResponse response) {
+                        onAttemptResult(attempt, response, null);
+                    }
+
+                    @Override
+                    public void failed(Exception ex) {
+                        onAttemptResult(attempt, null, ex);
+                    }
+
+                    @Override
+                    public void cancelled() {
+                        onAttemptResult(attempt, null, new CancellationException());
+                    }
+                });
+        futures[attempt] = future;
+        if (isDone()) {
+            future.cancel(true);
+        }
+    }
+
+    private HttpUriRequest copyRequest() {
+        // HttpRequestBase.clone() 与原请求共用中止状态，中止落后的首个请求时会误中止对冲请求，所以重新构建请求
+        RequestBuilder builder = RequestBuilder.copy(httpRequest);
+        if (client != null) {
+            builder.setConfig(connectionManager.getAsyncRequestConfig(request));
+        }
+        return builder.build();
+    }
+
+    @Override
+    protected void cancelAttempt(int attempt) {
+        if (attempt == 0 && client != null) {
+            primaryAborted = true;
+            httpRequest.abort();
+            return;
+        }
+        Future<?> future = futures[attempt];
+        if (future != null) {
+            future.cancel(true);
+        }
+    }
+
+    @Override
+    protected boolean isAcceptable(HttpResponse response) {
+        return response.getStatusLine().getStatusCode() < 500;
+    }
+
+    @Override
+    protected void discard(HttpResponse response) {
+        EntityUtils.consumeQuietly(response.getEntity());
+    }
+}
@@ -59,33 +59,23 @@ public class SyncHttpclientRequestSender extends AbstractHttpclientRequestSender
 
 
 
-    public static void logResponse(ForestRequest request, ForestResponse response) {
-        if (!request.isLogEnable()) return;
-        logContent("Response: Status=" + response.getStatusCode());
-        if (response.isSuccess()) {
-            logContent("Response: Content=" + response.getContent());
-        }
-    }
-
-    public void logResponse(long startTime, ForestResponse response) {
-        if (!request.isLogEnable()) return;
-        long endTime = new Date().getTime();
-        long time = endTime - startTime;
-        logContent("Response: Status = " + response.getStatusCode() + ", Time = " + time + "ms");
-    }
-
-
     @Override
     public void sendRequest(ForestRequest request, HttpclientResponseHandler responseHandler, HttpUriRequest httpRequest, LifeCycleHandler lifeCycleHandler, long startTime, int retryCount)
             throws IOException {
         HttpResponse httpResponse = null;
         ForestResponse response = null;
         client = getHttpClient();
+        long startNanos = System.nanoTime();
         try {
-            httpResponse = client.execute(httpRequest);
+            if (HttpclientHedgedCall.isSyncHedgeable(request)) {
+                httpResponse = new HttpclientHedgedCall(request, connectionManager, client, httpRequest).send();
+            } else {
+                httpResponse = client.execute(httpRequest, connectionManager.createHttpContext(request));
+            }
             ForestResponseFactory forestResponseFactory = new HttpclientForestResponseFactory();
             response = forestResponseFactory.createResponse(request, httpResponse, lifeCycleHandler);
-            logResponse(request, response);
+            logResponse(startTime, response);
+            recordMetrics(startNanos, httpRequest, httpResponse, response, null);
         } catch (IOException e) {
             httpRequest.abort();
             ForestRetryException retryException = new ForestRetryException(
@@ -96,13 +86,15 @@ public class SyncHttpclientRequestSender extends AbstractHttpclientRequestSender
                 ForestResponseFactory forestResponseFactory = new HttpclientForestResponseFactory();
                 response = forestResponseFactory.createResponse(request, httpResponse, lifeCycleHandler);
                 logResponse(startTime, response);
+                recordMetrics(startNanos, httpRequest, httpResponse, response, e);
                 lifeCycleHandler.handleSyncWitchException(request, response, e);
                 return;
             }
+            recordMetrics(startNanos, httpRequest, null, null, e);
+            recordRetry(retryCount + 1);
             startTime = new Date().getTime();
             sendRequest(request, responseHandler, httpRequest, lifeCycleHandler, startTime, retryCount + 1);
-        } finally {
-            connectionManager.afterConnect();
+            return;
         }
 
         if (response.isError()) {
@@ -113,9 +105,16 @@ public class SyncHttpclientRequestSender extends AbstractHttpclientRequestSender
             try {
                 request.getRetryer().canRetry(retryException);
             } catch (Throwable throwable) {
-                responseHandler.handleSync(httpResponse, response);
+                try {
+                    responseHandler.handleSync(httpResponse, response);
+                } finally {
+                    response.finishContent();
+                }
                 return;
             }
+            // 重试前释放本次请求的连接
+            response.finishContent();
+            recordRetry(retryCount + 1);
             sendRequest(request, responseHandler, httpRequest, lifeCycleHandler, startTime, retryCount + 1);
             return;
         }
@@ -129,6 +128,8 @@ public class SyncHttpclientRequestSender extends AbstractHttpclientRequestSender
             else {
                 throw new ForestRuntimeException(ex);
             }
+        } finally {
+            response.finishContent();
         }
     }
 
@@ -60,47 +60,66 @@ public class HttpclientEntity implements HttpEntity {
     @Override
     public InputStream getContent() throws IOException, UnsupportedOperationException {
         if (isStreaming()) {
-            InputStream in = entity.getContent();
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
             if (contentLength < 0) {
                 contentLength = getContentLength();
             }
-            ForestProgress progress = new ForestProgress(request, contentLength);
-            try {
-                byte[] tmp = new byte[4096];
-                progress.setBegin(true);
-                int len;
-                while((len = in.read(tmp)) != -1) {
-                    // increment current length of written bytes
-                    readBytes += len;
-                    progress.setCurrentBytes(readBytes);
-                    if (contentLength >= 0) {
-                        currentStep += len;
-                        if (readBytes == contentLength) {
-                            // progress is done
-                            progress.setDone(true);
-                            handler.handleProgress(request, progress);
-                        } else {
-                            while (currentStep >= progressStep) {
-                                currentStep = currentStep - progressStep;
-                                progress.setDone(false);
-                                // invoke progress listener
-                                handler.handleProgress(request, progress);
-
-                            }
-                        }
+            // 边读取边报告进度，不再预先将整个响应内容缓存到内存中
+            return new ProgressInputStream(entity.getContent());
+        }
+        return entity.getContent();
+    }
+
+    /**
+     * 读取数据时报告进度的输入流
+     */
+    private class ProgressInputStream extends FilterInputStream {
+
+        private final ForestProgress progress = new ForestProgress(request, contentLength);
+
+        ProgressInputStream(InputStream in) {
+            super(in);
+            progress.setBegin(true);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                onRead(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                onRead(n);
+            }
+            return n;
+        }
+
+        private void onRead(int len) {
+            // increment current length of written bytes
+            readBytes += len;
+            progress.setCurrentBytes(readBytes);
+            if (contentLength >= 0) {
+                currentStep += len;
+                if (readBytes == contentLength) {
+                    // progress is done
+                    progress.setDone(true);
+                    handler.handleProgress(request, progress);
+                } else {
+                    while (currentStep >= progressStep) {
+                        currentStep = currentStep - progressStep;
+                        progress.setDone(false);
+                        // invoke progress listener
+                        handler.handleProgress(request, progress);
                     }
-                    progress.setBegin(false);
-                    out.write(tmp, 0, len);
                 }
-                out.flush();
-            } finally {
-                in.close();
             }
-            ByteArrayInputStream stream = new ByteArrayInputStream(out.toByteArray());
-            return stream;
+            progress.setBegin(false);
         }
-        return entity.getContent();
     }
 
     @Override
@@ -1,71 +1,33 @@
 package com.dtflys.forest.backend.httpclient.response;
 
-import com.dtflys.forest.handler.LifeCycleHandler;
-import com.dtflys.forest.http.ForestRequest;
-import com.dtflys.forest.http.ForestResponse;
-import com.dtflys.forest.http.ForestResponseFactory;
-
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 
 /**
+ * Httpclient异步请求的Future
+ * <p>在Httpclient回调线程中完成，可直接作为 {@link CompletableFuture} 或
+ * {@link java.util.concurrent.CompletionStage} 进行组合，取消时同时取消正在进行的请求</p>
  * @author gongjun[jun.gong@thebeastshop.com]
  * @since 2017-08-03 14:53
  */
-public class HttpclientForestFuture<T, R> implements Future<T> {
-    private final ForestRequest request;
-    private final Class<T> innerType;
-    private final LifeCycleHandler lifeCycleHandler;
-    private final Future<R> httpResponseFuture;
-    private final ForestResponseFactory forestResponseFactory;
+public class HttpclientForestFuture<T, R> extends CompletableFuture<T> {
+
+    /**
+     * 当前正在执行的请求的Future，重试时会被替换
+     */
+    private volatile Future<R> httpResponseFuture;
 
-    public HttpclientForestFuture(ForestRequest request,
-                                  Class<T> innerType,
-                                  LifeCycleHandler lifeCycleHandler,
-                                  Future<R> httpResponseFuture,
-                                  ForestResponseFactory forestResponseFactory) {
-        this.request = request;
-        this.innerType = innerType;
-        this.lifeCycleHandler = lifeCycleHandler;
+    public void setHttpResponseFuture(Future<R> httpResponseFuture) {
         this.httpResponseFuture = httpResponseFuture;
-        this.forestResponseFactory = forestResponseFactory;
     }
 
     @Override
     public boolean cancel(boolean mayInterruptIfRunning) {
-        return httpResponseFuture.cancel(mayInterruptIfRunning);
-    }
-
-    @Override
-    public boolean isCancelled() {
-        return httpResponseFuture.isCancelled();
-    }
-
-    @Override
-    public boolean isDone() {
-        return httpResponseFuture.isDone();
-    }
-
-    private T getResult(R httpResponse) throws InterruptedException {
-        if (httpResponse != null && innerType.isAssignableFrom(httpResponse.getClass())) {
-            return (T) httpResponse;
+        boolean cancelled = super.cancel(mayInterruptIfRunning);
+        Future<R> currentFuture = this.httpResponseFuture;
+        if (cancelled && currentFuture != null) {
+            currentFuture.cancel(mayInterruptIfRunning);
         }
-        ForestResponse response = forestResponseFactory.createResponse(request, httpResponse, this.lifeCycleHandler);
-        Object ret = lifeCycleHandler.handleResultType(request, response, innerType, innerType);
-        return (T) ret;
-    }
-
-    @Override
-    public T get() throws InterruptedException, ExecutionException {
-        R httpResponse = httpResponseFuture.get();
-        return getResult(httpResponse);
-    }
-
-    @Override
-    public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
-        R httpResponse = httpResponseFuture.get(timeout, unit);
-        return getResult(httpResponse);
+        return cancelled;
     }
 }
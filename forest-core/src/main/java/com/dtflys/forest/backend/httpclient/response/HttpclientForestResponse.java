@@ -12,8 +12,11 @@ import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.util.EntityUtils;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.net.URLDecoder;
 
 /**
@@ -26,6 +29,10 @@ public class HttpclientForestResponse extends ForestResponse {
 
     private final HttpEntity entity;
 
+    /**
+     * 文本类型的响应内容尚未被读取
+     */
+    private volatile boolean contentReadable;
 
 
     public HttpclientForestResponse(ForestRequest request, HttpResponse httpResponse, HttpEntity entity) {
@@ -47,7 +54,13 @@ public class HttpclientForestResponse extends ForestResponse {
                 } else if (contentType != null) {
                     this.contentEncoding = contentType.getCharset();
                 }
-                this.content = buildContent();
+                if (contentType != null && !contentType.isEmpty()
+                        && !request.isDownloadFile() && contentType.canReadAsString()) {
+                    // 响应内容在第一次调用getContent()或getReader()时才读取
+                    this.contentReadable = true;
+                } else {
+                    this.content = buildContent();
+                }
             }
         } else {
             this.statusCode = 404;
@@ -75,6 +88,57 @@ public class HttpclientForestResponse extends ForestResponse {
         return entity != null;
     }
 
+    private String getEncoding() {
+        String encode = this.contentEncoding;
+        if (StringUtils.isEmpty(encode)) {
+            encode = "UTF-8";
+        }
+        return encode;
+    }
+
+    /**
+     * 关闭响应时直接断开连接，不会像关闭响应内容的输入流那样读取剩余的内容
+     */
+    @Override
+    public void abort() {
+        if (httpResponse instanceof Closeable) {
+            try {
+                ((Closeable) httpResponse).close();
+            } catch (IOException e) {
+                // 连接已经断开
+            }
+            return;
+        }
+        super.abort();
+    }
+
+    @Override
+    public String getContent() {
+        if (contentReadable) {
+            synchronized (this) {
+                if (contentReadable) {
+                    contentReadable = false;
+                    this.content = buildContent();
+                }
+            }
+        }
+        return content;
+    }
+
+    @Override
+    public boolean isStreamable() {
+        return contentReadable;
+    }
+
+    @Override
+    public synchronized Reader getReader() throws Exception {
+        if (contentReadable) {
+            contentReadable = false;
+            return new InputStreamReader(entity.getContent(), getEncoding());
+        }
+        return super.getReader();
+    }
+
     private String buildContent() {
         if (content == null) {
             if (contentType == null || contentType.isEmpty()) {
@@ -83,10 +147,7 @@ public class HttpclientForestResponse extends ForestResponse {
                 InputStream inputStream = null;
                 try {
                     inputStream = entity.getContent();
-                    String encode = this.contentEncoding;
-                    if (StringUtils.isEmpty(encode)) {
-                        encode = "UTF-8";
-                    }
+                    String encode = getEncoding();
                     content = IOUtils.toString(inputStream, encode);
                     content = URLDecoder.decode(content, encode);
                 } catch (IOException e) {
@@ -110,12 +171,14 @@ public class HttpclientForestResponse extends ForestResponse {
     }
 
     @Override
-    public byte[] getByteArray() throws IOException {
+    public synchronized byte[] getByteArray() throws IOException {
+        contentReadable = false;
         return EntityUtils.toByteArray(entity);
     }
 
     @Override
-    public InputStream getInputStream() throws IOException {
+    public synchronized InputStream getInputStream() throws IOException {
+        contentReadable = false;
         return entity.getContent();
     }
 }
@@ -39,6 +39,7 @@ public class HttpclientForestResponseFactory implements ForestResponseFactory<Ht
         if (resultResponse != null) {
             return resultResponse;
         }
+        boolean received = httpResponse != null;
         if (httpResponse == null) {
             httpResponse = new BasicHttpResponse(
                     new BasicStatusLine(
@@ -51,7 +52,10 @@ public class HttpclientForestResponseFactory implements ForestResponseFactory<Ht
                 entity = new HttpclientEntity(request, entity, lifeCycleHandler);
             }
         }
-        HttpclientForestResponse response = new HttpclientForestResponse(request, httpResponse, entity);
+        ForestResponse response = new HttpclientForestResponse(request, httpResponse, entity);
+        if (received && request.getResponseCachePolicy() != null) {
+            response = request.getConfiguration().getResponseCache().onResponse(request, response);
+        }
 //        int statusCode = httpResponse.getStatusLine().getStatusCode();
 //        response.setStatusCode(statusCode);
 //        httpResponse.getAllHeaders();
@@ -1,6 +1,7 @@
 package com.dtflys.forest.backend.okhttp3.body;
 
 import com.dtflys.forest.backend.body.AbstractBodyBuilder;
+import com.dtflys.forest.backend.body.JsonBodyWriter;
 import com.dtflys.forest.converter.json.ForestJsonConverter;
 import com.dtflys.forest.exceptions.ForestRuntimeException;
 import com.dtflys.forest.handler.LifeCycleHandler;
@@ -28,7 +29,22 @@ public abstract class AbstractOkHttp3BodyBuilder extends AbstractBodyBuilder<Req
 
     @Override
     protected void setStringBody(Request.Builder builder, String text, String charset, String contentType, boolean mergeCharset) {
-        MediaType mediaType = MediaType.parse(contentType);
+        MediaType mediaType = getMediaType(charset, contentType, mergeCharset);
+        byte[] bytes = text.getBytes(getCharset(charset));
+
+        RequestBody body = RequestBody.create(mediaType, bytes);
+        setBody(builder, body);
+    }
+
+    @Override
+    protected void setJsonBody(Request.Builder builder, ForestRequest request, ForestJsonConverter jsonConverter, Object obj, String charset, String contentType, boolean mergeCharset) {
+        MediaType mediaType = getMediaType(charset, contentType, mergeCharset);
+        JsonBodyWriter bodyWriter = new JsonBodyWriter(jsonConverter, obj, getCharset(charset),
+                request.getConfiguration().isJsonBodyContentLength());
+        setBody(builder, new OkHttpJsonBody(mediaType, bodyWriter));
+    }
+
+    private Charset getCharset(String charset) {
         Charset cs = DEFAULT_CHARSET;
         if (StringUtils.isNotEmpty(charset)) {
             try {
@@ -37,6 +53,11 @@ public abstract class AbstractOkHttp3BodyBuilder extends AbstractBodyBuilder<Req
                 throw new ForestRuntimeException("[Forest] '" + charset + "' is not a valid charset", th);
             }
         }
+        return cs;
+    }
+
+    private MediaType getMediaType(String charset, String contentType, boolean mergeCharset) {
+        MediaType mediaType = MediaType.parse(contentType);
         if (contentType != null) {
             Charset mtcs = mediaType.charset();
             if (mtcs == null) {
@@ -45,10 +66,7 @@ public abstract class AbstractOkHttp3BodyBuilder extends AbstractBodyBuilder<Req
                 }
             }
         }
-        byte[] bytes = text.getBytes(cs);
-
-        RequestBody body = RequestBody.create(mediaType, bytes);
-        setBody(builder, body);
+        return mediaType;
     }
 
     @Override
@@ -97,15 +115,11 @@ public abstract class AbstractOkHttp3BodyBuilder extends AbstractBodyBuilder<Req
 
     private RequestBody createFileBody(ForestRequest request, ForestMultipart multipart, LifeCycleHandler lifeCycleHandler) {
         MediaType fileMediaType = MediaType.parse(multipart.getContentType());
-        RequestBody wrappedBody, requestBody;
         if (multipart.isFile()) {
-            requestBody = RequestBody.create(fileMediaType, multipart.getFile());
-        } else {
-            requestBody = RequestBody.create(fileMediaType, multipart.getBytes());
+            return new OkHttpFileBody(request, fileMediaType, multipart.getFile(), lifeCycleHandler);
         }
-
-        wrappedBody = new OkHttpMultipartBody(request, requestBody, lifeCycleHandler);
-        return wrappedBody;
+        RequestBody requestBody = RequestBody.create(fileMediaType, multipart.getBytes());
+        return new OkHttpMultipartBody(request, requestBody, lifeCycleHandler);
     }
 
 }
@@ -0,0 +1,43 @@
+package com.dtflys.forest.backend.okhttp3.body;
+
+import com.dtflys.forest.backend.body.FileBodyWriter;
+import com.dtflys.forest.handler.LifeCycleHandler;
+import com.dtflys.forest.http.ForestRequest;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * OkHttp后端上传文件的请求体，文件内容直接写入 {@link BufferedSink} 的缓冲区，同时回调上传进度
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:21
+ */
+public class OkHttpFileBody extends RequestBody {
+
+    private final MediaType mediaType;
+
+    private final FileBodyWriter bodyWriter;
+
+    public OkHttpFileBody(ForestRequest request, MediaType mediaType, File file, LifeCycleHandler handler) {
+        this.mediaType = mediaType;
+        this.bodyWriter = new FileBodyWriter(request, file, handler);
+    }
+
+    @Override
+    public MediaType contentType() {
+        return mediaType;
+    }
+
+    @Override
+    public long contentLength() {
+        return bodyWriter.getContentLength();
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+        bodyWriter.writeTo(sink);
+    }
+}
@@ -0,0 +1,40 @@
+package com.dtflys.forest.backend.okhttp3.body;
+
+import com.dtflys.forest.backend.body.JsonBodyWriter;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+
+import java.io.IOException;
+
+/**
+ * 发送时直接序列化到连接中的JSON请求体
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:19
+ */
+public class OkHttpJsonBody extends RequestBody {
+
+    private final MediaType mediaType;
+
+    private final JsonBodyWriter bodyWriter;
+
+    public OkHttpJsonBody(MediaType mediaType, JsonBodyWriter bodyWriter) {
+        this.mediaType = mediaType;
+        this.bodyWriter = bodyWriter;
+    }
+
+    @Override
+    public MediaType contentType() {
+        return mediaType;
+    }
+
+    @Override
+    public long contentLength() throws IOException {
+        return bodyWriter.getContentLength();
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+        bodyWriter.writeTo(sink.outputStream());
+    }
+}
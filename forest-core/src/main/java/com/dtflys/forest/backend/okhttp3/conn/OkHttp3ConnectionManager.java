@@ -6,15 +6,21 @@ import com.dtflys.forest.config.ForestConfiguration;
 import com.dtflys.forest.exceptions.ForestRuntimeException;
 import com.dtflys.forest.handler.LifeCycleHandler;
 import com.dtflys.forest.http.ForestRequest;
+import com.dtflys.forest.metrics.ForestConnectionPoolMetrics;
 import com.dtflys.forest.ssl.*;
 import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.OkHttpClient;
+import okhttp3.Request;
 import okhttp3.Response;
 
 import javax.net.ssl.SSLSocketFactory;
 import javax.net.ssl.TrustManagerFactory;
 import javax.net.ssl.X509TrustManager;
 import java.security.KeyStore;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -26,7 +32,19 @@ public class OkHttp3ConnectionManager implements ForestConnectionManager {
     /**
      * connection pool
      */
-    private ConnectionPool pool;
+    private volatile ConnectionPool pool;
+
+    /**
+     * 所有客户端共享的基础客户端，派生的客户端共用其连接池和调度器
+     */
+    private volatile OkHttpClient baseClient;
+
+    /**
+     * 按超时时间、SSL证书和SSL协议缓存的客户端
+     */
+    private final ConcurrentMap<ClientKey, OkHttpClient> clientCache = new ConcurrentHashMap<>();
+
+    private final ForestConnectionPoolMetrics poolMetrics = new PoolMetrics();
 
     public OkHttp3ConnectionManager() {
     }
@@ -55,38 +73,167 @@ public class OkHttp3ConnectionManager implements ForestConnectionManager {
         return null;
     }
 
+    /**
+     * 获取与请求配置对应的共享客户端
+     * <p>进度回调等与单次请求相关的状态通过 {@link Request#tag(Class)} 传递，客户端本身不持有请求对象</p>
+     * @param request Forest请求对象
+     * @param lifeCycleHandler 生命周期处理器
+     * @return OkHttp客户端
+     */
     public OkHttpClient getClient(ForestRequest request, LifeCycleHandler lifeCycleHandler) {
         Integer timeout = request.getTimeout();
         if (timeout == null) {
             timeout = request.getConfiguration().getTimeout();
         }
+        boolean https = "https".equals(request.getProtocol());
+        SSLKeyStore sslKeyStore = https ? request.getKeyStore() : null;
+        String keyStoreId = sslKeyStore == null ? null : sslKeyStore.getId();
+        String sslProtocol = https ? request.getConfiguration().getSslProtocol() : null;
+        ClientKey key = new ClientKey(timeout, https, keyStoreId, sslProtocol);
+        OkHttpClient client = clientCache.get(key);
+        if (client != null) {
+            return client;
+        }
+        return clientCache.computeIfAbsent(key, k -> createClient(request, k));
+    }
 
-        OkHttpClient.Builder builder = new OkHttpClient.Builder()
-                .connectionPool(pool)
-                .connectTimeout(timeout, TimeUnit.MILLISECONDS)
-                .readTimeout(timeout, TimeUnit.MILLISECONDS);
+    private OkHttpClient createClient(ForestRequest request, ClientKey key) {
+        OkHttpClient.Builder builder = getBaseClient(request.getConfiguration()).newBuilder()
+                .connectTimeout(key.timeout, TimeUnit.MILLISECONDS)
+                .readTimeout(key.timeout, TimeUnit.MILLISECONDS);
 
-        if ("https".equals(request.getProtocol())) {
+        if (key.https) {
             SSLSocketFactory sslSocketFactory = SSLUtils.getSSLSocketFactory(request);
 
             builder
                     .sslSocketFactory(sslSocketFactory, getX509TrustManager(request))
                     .hostnameVerifier(TrustAllHostnameVerifier.DEFAULT);
         }
-
-        // add default interceptor
-        builder.addNetworkInterceptor(chain -> {
-            Response response = chain.proceed(chain.request());
-            return response.newBuilder()
-                    .body(new OkHttpResponseBody(request, response.body(), lifeCycleHandler))
-                    .build();
-        });
-
         return builder.build();
     }
 
+    private OkHttpClient getBaseClient(ForestConfiguration configuration) {
+        if (baseClient == null) {
+            synchronized (this) {
+                if (baseClient == null) {
+                    if (pool == null) {
+                        pool = new ConnectionPool();
+                    }
+                    Dispatcher dispatcher = new Dispatcher();
+                    Integer maxConnections = configuration.getMaxConnections();
+                    if (maxConnections != null && maxConnections > 0) {
+                        dispatcher.setMaxRequests(maxConnections);
+                    }
+                    Integer maxRouteConnections = configuration.getMaxRouteConnections();
+                    if (maxRouteConnections != null && maxRouteConnections > 0) {
+                        dispatcher.setMaxRequestsPerHost(maxRouteConnections);
+                    }
+                    baseClient = new OkHttpClient.Builder()
+                            .connectionPool(pool)
+                            .dispatcher(dispatcher)
+                            // add default interceptor
+                            .addNetworkInterceptor(chain -> {
+                                Request okRequest = chain.request();
+                                Response response = chain.proceed(okRequest);
+                                ForestRequest request = okRequest.tag(ForestRequest.class);
+                                LifeCycleHandler lifeCycleHandler = okRequest.tag(LifeCycleHandler.class);
+                                if (request == null || lifeCycleHandler == null || response.body() == null) {
+                                    return response;
+                                }
+                                return response.newBuilder()
+                                        .body(new OkHttpResponseBody(request, response.body(), lifeCycleHandler))
+                                        .build();
+                            })
+                            .build();
+                }
+            }
+        }
+        return baseClient;
+    }
+
     @Override
     public void init(ForestConfiguration configuration) {
-        pool = new ConnectionPool();
+        getBaseClient(configuration);
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            clientCache.clear();
+            if (baseClient != null) {
+                baseClient.dispatcher().executorService().shutdown();
+                baseClient.connectionPool().evictAll();
+                baseClient = null;
+                pool = null;
+            }
+        }
+    }
+
+    @Override
+    public ForestConnectionPoolMetrics getPoolMetrics() {
+        return poolMetrics;
+    }
+
+    /**
+     * 连接池和调度器的状态
+     */
+    private class PoolMetrics implements ForestConnectionPoolMetrics {
+
+        @Override
+        public int getLeasedConnections() {
+            ConnectionPool connectionPool = pool;
+            if (connectionPool == null) {
+                return 0;
+            }
+            return connectionPool.connectionCount() - connectionPool.idleConnectionCount();
+        }
+
+        @Override
+        public int getIdleConnections() {
+            ConnectionPool connectionPool = pool;
+            return connectionPool == null ? 0 : connectionPool.idleConnectionCount();
+        }
+
+        @Override
+        public int getPendingRequests() {
+            OkHttpClient client = baseClient;
+            return client == null ? 0 : client.dispatcher().queuedCallsCount();
+        }
+
+        @Override
+        public int getMaxConnections() {
+            OkHttpClient client = baseClient;
+            return client == null ? 0 : client.dispatcher().getMaxRequests();
+        }
+    }
+
+    private static class ClientKey {
+        private final int timeout;
+        private final boolean https;
+        private final String keyStoreId;
+        private final String sslProtocol;
+
+        ClientKey(int timeout, boolean https, String keyStoreId, String sslProtocol) {
+            this.timeout = timeout;
+            this.https = https;
+            this.keyStoreId = keyStoreId;
+            this.sslProtocol = sslProtocol;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ClientKey)) return false;
+            ClientKey that = (ClientKey) o;
+            return timeout == that.timeout
+                    && https == that.https
+                    && Objects.equals(keyStoreId, that.keyStoreId)
+                    && Objects.equals(sslProtocol, that.sslProtocol);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(timeout, https, keyStoreId, sslProtocol);
+        }
     }
 }
@@ -3,27 +3,31 @@ package com.dtflys.forest.backend.okhttp3.executor;
 import com.dtflys.forest.backend.BodyBuilder;
 import com.dtflys.forest.backend.HttpExecutor;
 import com.dtflys.forest.backend.url.URLBuilder;
+import com.dtflys.forest.circuitbreaker.ForestCircuitBreakerPermit;
 import com.dtflys.forest.exceptions.ForestRetryException;
 import com.dtflys.forest.http.ForestRequest;
 import com.dtflys.forest.http.ForestResponse;
+import com.dtflys.forest.limiter.ForestAdaptiveLimiter;
 import com.dtflys.forest.utils.RequestNameValue;
 import com.dtflys.forest.utils.StringUtils;
 import okhttp3.*;
+import okhttp3.internal.http.HttpMethod;
 import com.dtflys.forest.backend.okhttp3.conn.OkHttp3ConnectionManager;
+import com.dtflys.forest.backend.okhttp3.logging.OkHttp3LogRequestBody;
+import com.dtflys.forest.backend.okhttp3.logging.OkHttp3RequestLogMessage;
 import com.dtflys.forest.backend.okhttp3.response.OkHttp3ForestResponseFactory;
 import com.dtflys.forest.backend.okhttp3.response.OkHttp3ResponseFuture;
 import com.dtflys.forest.backend.okhttp3.response.OkHttp3ResponseHandler;
 import com.dtflys.forest.converter.json.ForestJsonConverter;
 import com.dtflys.forest.exceptions.ForestNetworkException;
+import com.dtflys.forest.exceptions.ForestRuntimeException;
 import com.dtflys.forest.handler.LifeCycleHandler;
+import com.dtflys.forest.logging.ForestLogger;
 import com.dtflys.forest.mapping.MappingTemplate;
-import okio.BufferedSink;
-import okio.Okio;
-import okio.Sink;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.dtflys.forest.metrics.ForestMetrics;
+import com.dtflys.forest.retryer.ForestRetryScheduler;
 
-import java.io.*;
+import java.io.IOException;
 import java.util.Date;
 import java.util.List;
 
@@ -34,121 +38,117 @@ import java.util.List;
  */
 public abstract class AbstractOkHttp3Executor implements HttpExecutor {
 
-    private final static Logger log = LoggerFactory.getLogger(AbstractOkHttp3Executor.class);
-
     protected final ForestRequest request;
 
     private final OkHttp3ConnectionManager connectionManager;
 
     private final OkHttp3ResponseHandler okHttp3ResponseHandler;
 
-    protected String getLogContentForRequestLine(int retryCount, Request okRequest) {
-        HttpUrl url = okRequest.url();
-        String scheme = url.scheme().toUpperCase();
-        String uri = url.uri().toString();
-        String method = okRequest.method();
-        String httpline = method + " " + uri + " " + scheme;
-        if (retryCount == 0) {
-            return httpline;
-        }
-        else {
-            return "[Retry: " + retryCount + "] " + httpline;
-        }
-    }
-
-    protected String getLogContentForHeaders(Request okRequest) {
-        StringBuffer buffer = new StringBuffer();
-        Headers headers = okRequest.headers();
-        for (int i = 0; i < headers.size(); i++) {
-            String name = headers.name(i);
-            String value = headers.value(i);
-            buffer.append("\t\t" + name + ": " + value);
-            if (i < headers.size() - 1) {
-                buffer.append("\n");
-            }
+    /**
+     * 创建请求日志，有请求体时替换为在写出时捕获日志内容的请求体
+     * @param retryCount 当前重试次数
+     * @param okRequest OkHttp请求对象
+     * @return 实际发送的OkHttp请求对象
+     */
+    public Request logRequest(int retryCount, Request okRequest) {
+        request.setRequestLogMessage(null);
+        ForestLogger logger = request.getConfiguration().getLogger();
+        if (!logger.isEnabled(request)) {
+            return okRequest;
         }
-        return buffer.toString();
-    }
-
-
-    protected String getLogContentForBody(Request okRequest) {
+        OkHttp3RequestLogMessage logMessage = new OkHttp3RequestLogMessage(logger, retryCount, okRequest);
+        request.setRequestLogMessage(logMessage);
         RequestBody requestBody = okRequest.body();
         if (requestBody == null) {
-            return null;
-        }
-        if (requestBody instanceof MultipartBody) {
-            MultipartBody multipartBody = (MultipartBody) requestBody;
-            String contentType = multipartBody.type().toString();
-            String boundary = multipartBody.boundary();
-            Long contentLength = null;
-            try {
-                contentLength = multipartBody.contentLength();
-            } catch (IOException e) {
-            }
-            String result = "[" + contentType +"; boundary=" + boundary ;
-            if (contentLength != null) {
-                result += "; length=" + contentLength;
-            }
-            return result + "]";
+            logMessage.flush();
+            return okRequest;
         }
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        Sink sink = Okio.sink(out);
-        BufferedSink bufferedSink = Okio.buffer(sink);
-        try {
-            requestBody.writeTo(bufferedSink);
-        } catch (IOException e) {
-            e.printStackTrace();
-        } finally {
+        // multipart 请求体和 GET 等通过反射设置的请求体只输出摘要
+        if (requestBody instanceof MultipartBody
+                || !HttpMethod.permitsRequestBody(okRequest.method())) {
+            long contentLength = -1;
             try {
-                bufferedSink.close();
+                contentLength = requestBody.contentLength();
             } catch (IOException e) {
-                e.printStackTrace();
             }
-        }
-        InputStream inputStream = new ByteArrayInputStream(out.toByteArray());
-        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream));
-        StringBuffer buffer = new StringBuffer();
-        String line;
-        String body;
-        try {
-            while ((line = reader.readLine()) != null) {
-                buffer.append(line + " ");
+            if (contentLength != 0) {
+                StringBuilder builder = new StringBuilder("[")
+                        .append(requestBody.contentType());
+                if (requestBody instanceof MultipartBody) {
+                    builder.append("; boundary=").append(((MultipartBody) requestBody).boundary());
+                }
+                if (contentLength > 0) {
+                    builder.append("; length=").append(contentLength);
+                }
+                logMessage.setBodySummary(builder.append("]").toString());
             }
-            body = buffer.toString();
-            return body;
-        } catch (IOException ex) {
-            ex.printStackTrace();
+            logMessage.flush();
+            return okRequest;
         }
-        return null;
+        return okRequest.newBuilder()
+                .method(okRequest.method(), new OkHttp3LogRequestBody(requestBody, logMessage))
+                .build();
     }
 
+    public void logResponse(long startTime,  ForestResponse response) {
+        request.getConfiguration().getLogger().logResponse(request, startTime, response);
+    }
 
+    /**
+     * 记录一次请求的指标
+     */
+    protected void recordMetrics(long startNanos, Request okRequest, Response okResponse,
+                                 ForestResponse response, Throwable error) {
+        long duration = System.nanoTime() - startNanos;
+        // 重试时只暂存结果，调用结束时才记录到熔断器
+        ForestCircuitBreakerPermit circuitBreakerPermit = request.getCircuitBreakerPermit();
+        if (circuitBreakerPermit != null) {
+            circuitBreakerPermit.onAttempt(response, error, duration);
+        }
+        ForestAdaptiveLimiter adaptiveLimiter = request.getAdaptiveLimiter();
+        if (adaptiveLimiter != null) {
+            adaptiveLimiter.onResult(response, error, duration);
+        }
+        recordRequestMetrics(duration, okRequest, okResponse, response, error);
+    }
 
-    protected static void logContent(String content) {
-        log.info("[Forest] " + content);
+    /**
+     * 记录一次被取消的请求，取消不计入熔断器的失败，也不作为自适应限流的样本
+     */
+    protected void recordCancelled(long startNanos, Request okRequest, IOException error) {
+        long duration = System.nanoTime() - startNanos;
+        ForestCircuitBreakerPermit circuitBreakerPermit = request.getCircuitBreakerPermit();
+        if (circuitBreakerPermit != null) {
+            circuitBreakerPermit.cancel();
+        }
+        recordRequestMetrics(duration, okRequest, null, null, error);
     }
 
-    public void logRequest(int retryCount,  Request okRequest) {
-        if (!request.isLogEnable()) return;
-        okRequest.url().uri().toString();
-        String requestLine = getLogContentForRequestLine(retryCount, okRequest);
-        String headers = getLogContentForHeaders(okRequest);
-        String body = getLogContentForBody(okRequest);
-        String content = "Request: \n\t" + requestLine;
-        if (StringUtils.isNotEmpty(headers)) {
-            content += "\n\tHeaders: \n" + headers;
+    private void recordRequestMetrics(long duration, Request okRequest, Response okResponse,
+                                      ForestResponse response, Throwable error) {
+        ForestMetrics metrics = request.getConfiguration().getMetrics();
+        if (!metrics.isEnabled()) {
+            return;
         }
-        if (StringUtils.isNotEmpty(body)) {
-            content += "\n\tBody: " + body;
+        long requestBytes = -1;
+        RequestBody requestBody = okRequest.body();
+        if (requestBody == null) {
+            requestBytes = 0;
+        } else {
+            try {
+                requestBytes = requestBody.contentLength();
+            } catch (IOException e) {
+            }
+        }
+        long responseBytes = -1;
+        if (okResponse != null && okResponse.body() != null) {
+            responseBytes = okResponse.body().contentLength();
         }
-        logContent(content);
+        metrics.recordRequest(request, response, error, duration, requestBytes, responseBytes);
     }
 
-    public void logResponse(long startTime,  ForestResponse response) {
-        if (!request.isLogEnable()) return;
-        long endTime = new Date().getTime();
-        long time = endTime - startTime;
-        logContent("Response: Status = " + response.getStatusCode() + ", Time = " + time + "ms");
+    protected void recordRetry(int retryCount) {
+        request.getConfiguration().getMetrics().recordRetry(request, retryCount);
     }
 
     protected AbstractOkHttp3Executor(ForestRequest request, OkHttp3ConnectionManager connectionManager, OkHttp3ResponseHandler okHttp3ResponseHandler) {
@@ -195,37 +195,65 @@ public abstract class AbstractOkHttp3Executor implements HttpExecutor {
     }
 
     public void execute(final LifeCycleHandler lifeCycleHandler, int retryCount) {
+        execute(lifeCycleHandler, retryCount, null);
+    }
+
+    /**
+     * 执行请求
+     * @param lifeCycleHandler 生命周期处理器
+     * @param retryCount 当前重试次数
+     * @param retryFuture 重试时沿用首次请求创建的Future，首次请求时为 null
+     */
+    protected void execute(final LifeCycleHandler lifeCycleHandler, int retryCount, OkHttp3ResponseFuture retryFuture) {
+        if (retryFuture != null && retryFuture.isCancelled()) {
+            return;
+        }
         OkHttpClient okHttpClient = getClient(request, lifeCycleHandler);
         URLBuilder urlBuilder = getURLBuilder();
         String url = urlBuilder.buildUrl(request);
-        Request.Builder builder = new Request.Builder().url(url);
+        Request.Builder builder = new Request.Builder()
+                .url(url)
+                .tag(ForestRequest.class, request)
+                .tag(LifeCycleHandler.class, lifeCycleHandler);
         prepareMethod(builder);
         prepareHeaders(builder);
         prepareBody(builder, lifeCycleHandler);
 
-        final Request okRequest = builder.build();
+        final Request okRequest = logRequest(retryCount, builder.build());
         Call call = okHttpClient.newCall(okRequest);
+        if (request.getHedgingPolicy() != null) {
+            call = new OkHttp3HedgedCall(request, call);
+        }
         final OkHttp3ForestResponseFactory factory = new OkHttp3ForestResponseFactory();
-        logRequest(0, okRequest);
         Date startDate = new Date();
         long startTime = startDate.getTime();
+        final long startNanos = System.nanoTime();
         if (request.isAsync()) {
-            final OkHttp3ResponseFuture future = new OkHttp3ResponseFuture();
+            final OkHttp3ResponseFuture future = retryFuture != null ? retryFuture : new OkHttp3ResponseFuture();
+            future.setCall(call);
             call.enqueue(new Callback() {
                 @Override
                 public void onFailure(Call call, IOException e) {
+                    if (future.isCancelled()) {
+                        recordCancelled(startNanos, okRequest, e);
+                        return;
+                    }
                     ForestRetryException retryException = new ForestRetryException(
                             e, request, request.getRetryCount(), retryCount);
+                    long delay;
                     try {
-                        request.getRetryer().canRetry(retryException);
+                        delay = request.getRetryer().nextRetryDelay(retryException);
                     } catch (Throwable throwable) {
                         future.failed(e);
                         ForestResponse response = factory.createResponse(request, null, lifeCycleHandler);
                         logResponse(startTime, response);
+                        recordMetrics(startNanos, okRequest, null, response, e);
                         lifeCycleHandler.handleError(request, response, e);
                         return;
                     }
-                    execute(lifeCycleHandler, retryCount + 1);
+                    recordMetrics(startNanos, okRequest, null, null, e);
+                    recordRetry(retryCount + 1);
+                    scheduleRetry(lifeCycleHandler, retryCount + 1, future, delay);
 /*
                     future.failed(e);
                     ForestResponse response = factory.createResponse(request, null, lifeCycleHandler);
@@ -238,17 +266,26 @@ public abstract class AbstractOkHttp3Executor implements HttpExecutor {
                 public void onResponse(Call call, Response okResponse) throws IOException {
                     ForestResponse response = factory.createResponse(request, okResponse, lifeCycleHandler);
                     logResponse(startTime, response);
+                    recordMetrics(startNanos, okRequest, okResponse, response, null);
                     Object result = null;
-                    if (response.isSuccess()) {
-                        if (request.getOnSuccess() != null) {
-                            result = okHttp3ResponseHandler.handleSuccess(response);
-                        }
-                        else {
-                            result = okHttp3ResponseHandler.handleSync(okResponse, response);
+                    try {
+                        if (response.isSuccess()) {
+                            if (request.getOnSuccess() != null) {
+                                // 先完成Future，再执行OnSuccess回调，保证回调中可以看到已完成的Future
+                                result = okHttp3ResponseHandler.handleSuccessResultType(response);
+                                future.completed(result);
+                                okHttp3ResponseHandler.handleSuccess(result, response);
+                            }
+                            else {
+                                result = okHttp3ResponseHandler.handleSync(okResponse, response);
+                                future.completed(result);
+                            }
+                        } else {
+                            retryOrDoError(response, okResponse, future, lifeCycleHandler, retryCount, startTime);
                         }
-                        future.completed(result);
-                    } else {
-                        retryOrDoError(response, okResponse, future, lifeCycleHandler, retryCount, startTime);
+                    } finally {
+                        response.finishContent();
+                    }
 /*
                         ForestNetworkException networkException =
                                 new ForestNetworkException(okResponse.message(), okResponse.code(), response);
@@ -263,10 +300,11 @@ public abstract class AbstractOkHttp3Executor implements HttpExecutor {
                         }
                         execute(lifeCycleHandler, retryCount + 1);
 */
-                    }
                 }
             });
-            okHttp3ResponseHandler.handleFuture(future, factory);
+            if (retryFuture == null) {
+                okHttp3ResponseHandler.handleFuture(future, factory);
+            }
         }
         else {
             Response okResponse = null;
@@ -280,19 +318,27 @@ public abstract class AbstractOkHttp3Executor implements HttpExecutor {
                 } catch (Throwable throwable) {
                     ForestResponse response = factory.createResponse(request, null, lifeCycleHandler);
                     logResponse(startTime, response);
+                    recordMetrics(startNanos, okRequest, null, response, e);
                     lifeCycleHandler.handleError(request, response, e);
                     return;
                 }
+                recordMetrics(startNanos, okRequest, null, null, e);
+                recordRetry(retryCount + 1);
                 execute(lifeCycleHandler, retryCount + 1);
                 return;
             }
             ForestResponse response = factory.createResponse(request, okResponse, lifeCycleHandler);
             logResponse(startTime, response);
-            if (response.isError()) {
-                retryOrDoError(response, okResponse, null, lifeCycleHandler, retryCount, startTime);
-                return;
+            recordMetrics(startNanos, okRequest, okResponse, response, null);
+            try {
+                if (response.isError()) {
+                    retryOrDoError(response, okResponse, null, lifeCycleHandler, retryCount, startTime);
+                    return;
+                }
+                okHttp3ResponseHandler.handleSync(okResponse, response);
+            } finally {
+                response.finishContent();
             }
-            okHttp3ResponseHandler.handleSync(okResponse, response);
         }
     }
 
@@ -305,8 +351,13 @@ public abstract class AbstractOkHttp3Executor implements HttpExecutor {
                 new ForestNetworkException(okResponse.message(), okResponse.code(), response);
         ForestRetryException retryException = new ForestRetryException(
                 networkException, request, request.getRetryCount(), retryCount);
+        long delay = 0;
         try {
-            request.getRetryer().canRetry(retryException);
+            if (future != null) {
+                delay = request.getRetryer().nextRetryDelay(retryException);
+            } else {
+                request.getRetryer().canRetry(retryException);
+            }
         } catch (Throwable throwable) {
             if (future != null) {
                 future.failed(new ForestNetworkException(okResponse.message(), okResponse.code(), response));
@@ -315,7 +366,36 @@ public abstract class AbstractOkHttp3Executor implements HttpExecutor {
             okHttp3ResponseHandler.handleSync(okResponse, response);
             return;
         }
-        execute(lifeCycleHandler, retryCount + 1);
+        // 重试前释放本次请求的连接
+        response.finishContent();
+        recordRetry(retryCount + 1);
+        if (future != null) {
+            scheduleRetry(lifeCycleHandler, retryCount + 1, future, delay);
+        } else {
+            execute(lifeCycleHandler, retryCount + 1, null);
+        }
+    }
+
+    /**
+     * 异步请求的重试，等待时间由重试调度器处理，不阻塞OkHttp的回调线程
+     */
+    private void scheduleRetry(final LifeCycleHandler lifeCycleHandler, final int retryCount,
+                               final OkHttp3ResponseFuture future, long delay) {
+        request.getConfiguration().getRetryScheduler().schedule(new ForestRetryScheduler.Task() {
+            @Override
+            public void run() {
+                try {
+                    execute(lifeCycleHandler, retryCount, future);
+                } catch (Throwable th) {
+                    future.failed(th instanceof Exception ? (Exception) th : new ForestRuntimeException(th));
+                }
+            }
+
+            @Override
+            public void abort(ForestRuntimeException e) {
+                future.failed(e);
+            }
+        }, delay);
     }
 
     @Override
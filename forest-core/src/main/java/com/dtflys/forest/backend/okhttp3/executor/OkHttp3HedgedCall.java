@@ -0,0 +1,167 @@
+package com.dtflys.forest.backend.okhttp3.executor;
+
+import com.dtflys.forest.hedging.HedgedCall;
+import com.dtflys.forest.http.ForestRequest;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Request;
+import okhttp3.Response;
+import okio.Timeout;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+
+/**
+ * 发送对冲请求的OkHttp调用，对冲请求为首个请求的克隆，落后的请求通过 {@link Call#cancel()} 取消
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:07
+ */
+public class OkHttp3HedgedCall implements Call {
+
+    private final ForestRequest request;
+
+    private final Call call;
+
+    private final Call[] calls = new Call[HedgedCall.MAX_ATTEMPTS];
+
+    private final AtomicBoolean executed = new AtomicBoolean(false);
+
+    private final HedgedCall<Response> hedgedCall;
+
+    public OkHttp3HedgedCall(ForestRequest request, Call call) {
+        this.request = request;
+        this.call = call;
+        this.calls[0] = call;
+        this.hedgedCall = new HedgedCall<Response>(request) {
+
+            @Override
+            protected Response executeAttempt(int attempt) throws Exception {
+                return call.execute();
+            }
+
+            @Override
+            protected void startAttempt(final int attempt) {
+                Call attemptCall = attempt == 0 ? call : call.clone();
+                calls[attempt] = attemptCall;
+                attemptCall.enqueue(new Callback() {
+                    @Override
+                    public void onFailure(Call c, IOException e) {
+                        onAttemptResult(attempt, null, e);
+                    }
+
+                    @Override
+                    public void onResponse(Call c, Response response) {
+                        onAttemptResult(attempt, response, null);
+                    }
+                });
+                if (isDone()) {
+                    attemptCall.cancel();
+                }
+            }
+
+            @Override
+            protected void cancelAttempt(int attempt) {
+                Call attemptCall = calls[attempt];
+                if (attemptCall != null) {
+                    attemptCall.cancel();
+                }
+            }
+
+            @Override
+            protected boolean isAcceptable(Response response) {
+                return response.code() < 500;
+            }
+
+            @Override
+            protected void discard(Response response) {
+                response.close();
+            }
+        };
+    }
+
+    @Override
+    public Request request() {
+        return call.request();
+    }
+
+    @Override
+    public Response execute() throws IOException {
+        if (!executed.compareAndSet(false, true)) {
+            throw new IllegalStateException("Already Executed");
+        }
+        try {
+            return hedgedCall.execute();
+        } catch (InterruptedException e) {
+            throw new InterruptedIOException();
+        } catch (CancellationException e) {
+            throw toIOException(e);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw toIOException(e);
+        }
+    }
+
+    @Override
+    public void enqueue(final Callback responseCallback) {
+        if (!executed.compareAndSet(false, true)) {
+            throw new IllegalStateException("Already Executed");
+        }
+        hedgedCall.executeAsync().whenComplete(new BiConsumer<Response, Throwable>() {
+            @Override
+            public void accept(Response response, Throwable error) {
+                if (error != null) {
+                    responseCallback.onFailure(OkHttp3HedgedCall.this, toIOException(error));
+                    return;
+                }
+                try {
+                    responseCallback.onResponse(OkHttp3HedgedCall.this, response);
+                } catch (IOException e) {
+                    // 与OkHttp一致，回调已经开始处理响应，不再通知失败
+                }
+            }
+        });
+    }
+
+    private static IOException toIOException(Throwable error) {
+        if (error instanceof IOException) {
+            return (IOException) error;
+        }
+        if (error instanceof CancellationException) {
+            return new IOException("Canceled");
+        }
+        return new IOException(error);
+    }
+
+    @Override
+    public void cancel() {
+        hedgedCall.cancel(true);
+    }
+
+    @Override
+    public boolean isExecuted() {
+        return executed.get();
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return hedgedCall.isCancelled();
+    }
+
+    @Override
+    public Timeout timeout() {
+        return call.timeout();
+    }
+
+    @Override
+    public Call clone() {
+        return new OkHttp3HedgedCall(request, call.clone());
+    }
+
+    public boolean isHedged() {
+        return hedgedCall.isHedged();
+    }
+}
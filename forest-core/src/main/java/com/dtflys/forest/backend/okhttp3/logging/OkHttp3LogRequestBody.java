@@ -0,0 +1,80 @@
+package com.dtflys.forest.backend.okhttp3.logging;
+
+import com.dtflys.forest.logging.LogBodyCapture;
+import com.dtflys.forest.logging.RequestLogMessage;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.ForwardingSink;
+import okio.Okio;
+
+import java.io.IOException;
+
+/**
+ * 在写出请求体的同时捕获日志内容的请求体
+ * <p>请求体只写出一次，写出的字节被旁路拷贝到 {@link LogBodyCapture}，达到上限后只计数；写出完成后输出请求日志</p>
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:37
+ */
+public class OkHttp3LogRequestBody extends RequestBody {
+
+    private final RequestBody requestBody;
+
+    private final RequestLogMessage logMessage;
+
+    private final LogBodyCapture capture;
+
+    public OkHttp3LogRequestBody(RequestBody requestBody, RequestLogMessage logMessage) {
+        this.requestBody = requestBody;
+        this.logMessage = logMessage;
+        MediaType mediaType = requestBody.contentType();
+        this.capture = logMessage.captureBody(mediaType != null ? mediaType.charset() : null);
+    }
+
+    @Override
+    public MediaType contentType() {
+        return requestBody.contentType();
+    }
+
+    @Override
+    public long contentLength() throws IOException {
+        return requestBody.contentLength();
+    }
+
+    @Override
+    public boolean isDuplex() {
+        return requestBody.isDuplex();
+    }
+
+    @Override
+    public boolean isOneShot() {
+        return requestBody.isOneShot();
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+        if (logMessage.isLogged()) {
+            requestBody.writeTo(sink);
+            return;
+        }
+        capture.reset();
+        BufferedSink teeSink = Okio.buffer(new ForwardingSink(sink) {
+            @Override
+            public void write(Buffer source, long byteCount) throws IOException {
+                long captured = Math.min(byteCount, capture.remaining());
+                if (captured > 0) {
+                    source.copyTo(capture, 0, captured);
+                }
+                capture.countRest(byteCount, captured);
+                super.write(source, byteCount);
+            }
+        });
+        try {
+            requestBody.writeTo(teeSink);
+            teeSink.emit();
+        } finally {
+            logMessage.flush();
+        }
+    }
+}
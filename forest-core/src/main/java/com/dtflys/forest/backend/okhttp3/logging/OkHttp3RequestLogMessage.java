@@ -0,0 +1,42 @@
+package com.dtflys.forest.backend.okhttp3.logging;
+
+import com.dtflys.forest.logging.ForestLogger;
+import com.dtflys.forest.logging.RequestLogMessage;
+import okhttp3.Headers;
+import okhttp3.HttpUrl;
+import okhttp3.Request;
+
+/**
+ * OkHttp3后端的请求日志消息
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:37
+ */
+public class OkHttp3RequestLogMessage extends RequestLogMessage {
+
+    private final Request okRequest;
+
+    public OkHttp3RequestLogMessage(ForestLogger logger, int retryCount, Request okRequest) {
+        super(logger, retryCount);
+        this.okRequest = okRequest;
+    }
+
+    @Override
+    protected String getRequestLine() {
+        HttpUrl url = okRequest.url();
+        return okRequest.method() + " " + url.uri().toString() + " " + url.scheme().toUpperCase();
+    }
+
+    @Override
+    protected void appendHeaders(StringBuilder builder) {
+        Headers headers = okRequest.headers();
+        for (int i = 0; i < headers.size(); i++) {
+            builder.append("\t\t")
+                    .append(headers.name(i))
+                    .append(": ")
+                    .append(headers.value(i));
+            if (i < headers.size() - 1) {
+                builder.append("\n");
+            }
+        }
+    }
+}
@@ -12,6 +12,7 @@ import okhttp3.ResponseBody;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Reader;
 import java.net.URLDecoder;
 import java.nio.charset.Charset;
 import java.util.HashMap;
@@ -27,6 +28,11 @@ public class OkHttp3ForestResponse extends ForestResponse {
 
     private final ResponseBody body;
 
+    /**
+     * 文本类型的响应内容尚未被读取
+     */
+    private volatile boolean contentReadable;
+
 
     public OkHttp3ForestResponse(ForestRequest request, Response okResponse) {
         super(request);
@@ -53,11 +59,8 @@ public class OkHttp3ForestResponse extends ForestResponse {
                 if (contentType == null || contentType.isEmpty()) {
                     content = null;
                 } else if (!request.isDownloadFile() && contentType.canReadAsString()) {
-                    try {
-                        this.content = body.string();
-                    } catch (IOException e) {
-                        throw new ForestRuntimeException(e);
-                    }
+                    // 响应内容在第一次调用getContent()或getReader()时才读取
+                    this.contentReadable = true;
                 } else {
                     StringBuilder builder = new StringBuilder();
                     builder.append("[content-type: ")
@@ -100,12 +103,45 @@ public class OkHttp3ForestResponse extends ForestResponse {
     }
 
     @Override
-    public byte[] getByteArray() throws Exception {
+    public String getContent() {
+        if (contentReadable) {
+            synchronized (this) {
+                if (contentReadable) {
+                    contentReadable = false;
+                    try {
+                        this.content = body.string();
+                    } catch (IOException e) {
+                        throw new ForestRuntimeException(e);
+                    }
+                }
+            }
+        }
+        return content;
+    }
+
+    @Override
+    public boolean isStreamable() {
+        return contentReadable;
+    }
+
+    @Override
+    public synchronized Reader getReader() throws Exception {
+        if (contentReadable) {
+            contentReadable = false;
+            return body.charStream();
+        }
+        return super.getReader();
+    }
+
+    @Override
+    public synchronized byte[] getByteArray() throws Exception {
+        contentReadable = false;
         return body.bytes();
     }
 
     @Override
-    public InputStream getInputStream() throws Exception {
+    public synchronized InputStream getInputStream() throws Exception {
+        contentReadable = false;
         return body.byteStream();
     }
 
@@ -15,6 +15,9 @@ public class OkHttp3ForestResponseFactory implements ForestResponseFactory<Respo
     @Override
     public ForestResponse createResponse(ForestRequest request, Response res, LifeCycleHandler lifeCycleHandler) {
         ForestResponse response = new OkHttp3ForestResponse(request, res);
+        if (res != null && request.getResponseCachePolicy() != null) {
+            response = request.getConfiguration().getResponseCache().onResponse(request, response);
+        }
         return response;
     }
 }
@@ -1,109 +1,43 @@
 package com.dtflys.forest.backend.okhttp3.response;
 
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
+import okhttp3.Call;
+
+import java.util.concurrent.CompletableFuture;
 
 /**
+ * OkHttp3异步请求的Future
+ * <p>在OkHttp回调线程中完成，可直接作为 {@link CompletableFuture} 或
+ * {@link java.util.concurrent.CompletionStage} 进行组合，取消时同时取消正在进行的请求</p>
  * @author gongjun[jun.gong@thebeastshop.com]
  * @since 2018-02-28 18:10
  */
-public class OkHttp3ResponseFuture implements Future<Object> {
-
-    private volatile boolean cancelled;
-    private volatile boolean completed;
-    private volatile Object result;
-    private volatile Exception ex;
-
-
-    @Override
-    public boolean isCancelled() {
-        return cancelled;
-    }
-
-    @Override
-    public boolean isDone() {
-        return completed;
-    }
-
-    private Object getResult() throws ExecutionException {
-        if (this.ex != null) {
-            throw new ExecutionException(this.ex);
-        }
-        return this.result;
-    }
-
-
-    @Override
-    public synchronized Object get() throws InterruptedException, ExecutionException {
-        while (!this.completed) {
-            wait();
-        }
-        return getResult();
-    }
+public class OkHttp3ResponseFuture extends CompletableFuture<Object> {
 
-    @Override
-    public Object get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
-        final long msecs = unit.toMillis(timeout);
-        final long startTime = (msecs <= 0) ? 0 : System.currentTimeMillis();
-        long waitTime = msecs;
-        if (this.completed) {
-            return getResult();
-        } else if (waitTime <= 0) {
-            throw new TimeoutException();
-        } else {
-            for (;;) {
-                synchronized (this) {
-                    wait(waitTime);
-                    if (this.completed) {
-                        return getResult();
-                    } else {
-                        waitTime = msecs - (System.currentTimeMillis() - startTime);
-                        if (waitTime <= 0) {
-                            throw new TimeoutException();
-                        }
-                    }
-                }
-            }
-        }
+    /**
+     * 当前正在执行的请求，重试时会被替换
+     */
+    private volatile Call call;
 
+    public void setCall(Call call) {
+        this.call = call;
     }
 
     public boolean completed(final Object response) {
-        synchronized(this) {
-            if (this.completed) {
-                return false;
-            }
-            this.completed = true;
-            this.result = response;
-            notifyAll();
-        }
-        return true;
+        return complete(response);
     }
 
     public boolean failed(final Exception exception) {
-        synchronized(this) {
-            if (this.completed) {
-                return false;
-            }
-            this.completed = true;
-            this.ex = exception;
-            notifyAll();
-        }
-        return true;
+        return completeExceptionally(exception);
     }
 
+    @Override
     public boolean cancel(final boolean mayInterruptIfRunning) {
-        synchronized(this) {
-            if (this.completed) {
-                return false;
-            }
-            this.completed = true;
-            this.cancelled = true;
-            notifyAll();
+        boolean cancelled = super.cancel(mayInterruptIfRunning);
+        Call currentCall = this.call;
+        if (cancelled && currentCall != null) {
+            currentCall.cancel();
         }
-        return true;
+        return cancelled;
     }
 
     public boolean cancel() {
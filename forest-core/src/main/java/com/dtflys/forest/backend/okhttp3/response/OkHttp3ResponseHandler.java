@@ -3,12 +3,9 @@ package com.dtflys.forest.backend.okhttp3.response;
 import com.dtflys.forest.backend.BackendResponseHandler;
 import com.dtflys.forest.http.ForestRequest;
 import com.dtflys.forest.http.ForestResponse;
-import com.dtflys.forest.http.ForestResponseFactory;
 import okhttp3.Response;
 import com.dtflys.forest.handler.LifeCycleHandler;
 
-import java.util.concurrent.Future;
-
 
 /**
  * @author gongjun[jun.gong@thebeastshop.com]
@@ -26,10 +23,5 @@ public class OkHttp3ResponseHandler extends BackendResponseHandler<Object> {
         return handleSync(response, statusCode, msg);
     }
 
-    @Override
-    public void handleFuture(Future<Object> httpResponseFuture, ForestResponseFactory forestResponseFactory) {
-        lifeCycleHandler.handleResult(httpResponseFuture);
-    }
-
 
 }
@@ -3,12 +3,11 @@ package com.dtflys.forest.backend.url;
 import com.dtflys.forest.converter.json.ForestJsonConverter;
 import com.dtflys.forest.http.ForestRequest;
 import com.dtflys.forest.mapping.MappingTemplate;
-import com.dtflys.forest.utils.RequestNameValue;
 import com.dtflys.forest.utils.StringUtils;
 
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
-import java.util.List;
+import java.util.Map;
 
 /**
  * 带查询参数的URL构造器
@@ -20,36 +19,38 @@ public class QueryableURLBuilder extends URLBuilder {
     @Override
     public String buildUrl(ForestRequest request) {
         String url = request.getUrl();
-        List<RequestNameValue> data = request.getQueryNameValueList();
-        StringBuilder paramBuilder = new StringBuilder();
+        Map<String, Object> query = request.getQueryMap();
+        if (query.isEmpty()) {
+            return url;
+        }
         ForestJsonConverter jsonConverter = request.getConfiguration().getJsonConverter();
-        for (int i = 0; i < data.size(); i++) {
-            RequestNameValue nameValue = data.get(i);
-            if (!nameValue.isInQuery()) {
+        String charset = request.getCharset();
+        // 直接在URL后追加查询参数，避免中间列表和字符串的创建
+        StringBuilder builder = null;
+        for (Map.Entry<String, Object> entry : query.entrySet()) {
+            Object queryValue = entry.getValue();
+            if (queryValue == null) {
                 continue;
             }
-            paramBuilder.append(nameValue.getName());
-            String value = MappingTemplate.getParameterValue(jsonConverter, nameValue.getValue());
-            paramBuilder.append('=');
-            if (StringUtils.isNotEmpty(value) && request.getCharset() != null) {
-                String encodedValue = null;
+            if (builder == null) {
+                builder = new StringBuilder(url.length() + 16 * query.size());
+                builder.append(url).append('?');
+            } else {
+                builder.append('&');
+            }
+            builder.append(entry.getKey()).append('=');
+            String value = MappingTemplate.getParameterValue(jsonConverter, queryValue);
+            if (StringUtils.isNotEmpty(value) && charset != null) {
                 try {
-                    encodedValue = URLEncoder.encode(value, request.getCharset());
+                    builder.append(URLEncoder.encode(value, charset));
                 } catch (UnsupportedEncodingException e) {
                 }
-                if (encodedValue != null) {
-                    paramBuilder.append(encodedValue);
-                }
-            }
-            if (i < data.size() - 1) {
-                paramBuilder.append('&');
             }
         }
-        String query = paramBuilder.toString();
-        if (StringUtils.isNotEmpty(query)) {
-            return url + "?" + query;
+        if (builder == null) {
+            return url;
         }
-        return url;
+        return builder.toString();
     }
 
 }
@@ -0,0 +1,24 @@
+package com.dtflys.forest.bulkhead;
+
+/**
+ * 异步请求进入舱壁的结果
+ * @author agent[agent@local]
+ * @since 2026-10-17 16:03
+ */
+public enum BulkheadAdmission {
+
+    /**
+     * 已获得许可，立即执行
+     */
+    ACQUIRED,
+
+    /**
+     * 许可已用完，进入等待队列，获得许可后执行
+     */
+    QUEUED,
+
+    /**
+     * 许可和等待队列都已满，请求被拒绝
+     */
+    REJECTED
+}
@@ -0,0 +1,168 @@
+package com.dtflys.forest.bulkhead;
+
+import com.dtflys.forest.exceptions.ForestBulkheadFullException;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Forest舱壁
+ * <p>限制一个接口或方法同时进行中的请求数量，使缓慢的下游服务只能占用有限的连接和线程</p>
+ * <p>同步请求最多等待 maxWaitTime 毫秒获取许可；异步请求不阻塞调用线程，许可用完时进入等待队列，
+ * 由释放许可的线程依次执行，队列已满时拒绝</p>
+ * @author agent[agent@local]
+ * @since 2026-10-17 16:03
+ */
+public class ForestBulkhead {
+
+    /**
+     * 当前线程中正在执行的队列任务，避免释放许可时递归执行后续任务
+     */
+    private final static ThreadLocal<Deque<Runnable>> DRAINING = new ThreadLocal<>();
+
+    private final String name;
+
+    private final int maxConcurrentCalls;
+
+    private final int maxQueueSize;
+
+    private final long maxWaitTime;
+
+    private final Deque<Runnable> queue = new ArrayDeque<>();
+
+    private int activeCalls = 0;
+
+    public ForestBulkhead(String name, int maxConcurrentCalls, int maxQueueSize, long maxWaitTime) {
+        this.name = name;
+        this.maxConcurrentCalls = Math.max(maxConcurrentCalls, 1);
+        this.maxQueueSize = Math.max(maxQueueSize, 0);
+        this.maxWaitTime = Math.max(maxWaitTime, 0);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    public long getMaxWaitTime() {
+        return maxWaitTime;
+    }
+
+    /**
+     * 获取当前的并发上限
+     * @return 并发上限
+     */
+    public int getLimit() {
+        return maxConcurrentCalls;
+    }
+
+    /**
+     * 同步请求获取许可，最多等待 maxWaitTime 毫秒
+     * @return {@code true} 获得许可，{@code false} 超时未获得许可
+     * @throws InterruptedException 等待时线程被中断
+     */
+    public synchronized boolean tryAcquire() throws InterruptedException {
+        if (activeCalls < getLimit()) {
+            activeCalls++;
+            return true;
+        }
+        if (maxWaitTime <= 0) {
+            return false;
+        }
+        long deadline = System.currentTimeMillis() + maxWaitTime;
+        while (activeCalls >= getLimit()) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return false;
+            }
+            wait(remaining);
+        }
+        activeCalls++;
+        return true;
+    }
+
+    /**
+     * 异步请求获取许可，许可用完时将任务放入等待队列
+     * @param task 获得许可后需要执行的任务，只在返回 {@link BulkheadAdmission#QUEUED} 时由舱壁执行
+     * @return 进入舱壁的结果
+     */
+    public synchronized BulkheadAdmission acquireOrEnqueue(Runnable task) {
+        if (activeCalls < getLimit() && queue.isEmpty()) {
+            activeCalls++;
+            return BulkheadAdmission.ACQUIRED;
+        }
+        if (queue.size() < maxQueueSize) {
+            queue.addLast(task);
+            return BulkheadAdmission.QUEUED;
+        }
+        return BulkheadAdmission.REJECTED;
+    }
+
+    /**
+     * 从等待队列中移除尚未执行的任务
+     * @param task 任务
+     * @return {@code true} 移除成功，{@code false} 任务已经开始执行或不在队列中
+     */
+    public synchronized boolean remove(Runnable task) {
+        return queue.remove(task);
+    }
+
+    /**
+     * 释放许可，等待队列不为空时许可直接转交给队首任务并在当前线程执行
+     * <p>并发上限是动态的，上限降低后不再转交许可直到进行中的请求数低于上限，上限提高后一次转交多个许可</p>
+     */
+    public void release() {
+        Deque<Runnable> tasks = null;
+        synchronized (this) {
+            activeCalls--;
+            while (activeCalls < getLimit() && !queue.isEmpty()) {
+                activeCalls++;
+                if (tasks == null) {
+                    tasks = new ArrayDeque<>();
+                }
+                tasks.addLast(queue.pollFirst());
+            }
+            if (tasks == null) {
+                notifyAll();
+                return;
+            }
+        }
+        Deque<Runnable> draining = DRAINING.get();
+        if (draining != null) {
+            draining.addAll(tasks);
+            return;
+        }
+        DRAINING.set(tasks);
+        try {
+            Runnable next;
+            while ((next = tasks.pollFirst()) != null) {
+                next.run();
+            }
+        } finally {
+            DRAINING.remove();
+        }
+    }
+
+    /**
+     * 创建请求被拒绝时抛出的异常
+     * @return 异常对象
+     */
+    public ForestBulkheadFullException createRejectedException() {
+        return new ForestBulkheadFullException(this);
+    }
+
+    public synchronized int getActiveCalls() {
+        return activeCalls;
+    }
+
+    public synchronized int getQueueSize() {
+        return queue.size();
+    }
+}
@@ -0,0 +1,50 @@
+package com.dtflys.forest.bulkhead;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+/**
+ * 舱壁中的异步请求返回给调用方的Future
+ * <p>在实际请求的Future完成且舱壁许可释放后完成；取消时从队列中移除尚未执行的请求，或取消正在进行的请求</p>
+ * @author agent[agent@local]
+ * @since 2026-10-17 16:03
+ */
+public class ForestBulkheadFuture extends CompletableFuture<Object> {
+
+    private final ForestBulkhead bulkhead;
+
+    private volatile Runnable task;
+
+    private volatile Future<?> delegate;
+
+    public ForestBulkheadFuture(ForestBulkhead bulkhead) {
+        this.bulkhead = bulkhead;
+    }
+
+    public void setTask(Runnable task) {
+        this.task = task;
+    }
+
+    public void setDelegate(Future<?> delegate) {
+        this.delegate = delegate;
+        if (isCancelled()) {
+            delegate.cancel(true);
+        }
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        boolean cancelled = super.cancel(mayInterruptIfRunning);
+        if (cancelled) {
+            Runnable currentTask = this.task;
+            Future<?> currentDelegate = this.delegate;
+            if (currentTask != null && bulkhead.remove(currentTask)) {
+                return true;
+            }
+            if (currentDelegate != null) {
+                currentDelegate.cancel(mayInterruptIfRunning);
+            }
+        }
+        return cancelled;
+    }
+}
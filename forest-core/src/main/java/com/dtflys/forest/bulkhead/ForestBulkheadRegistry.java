@@ -0,0 +1,60 @@
+package com.dtflys.forest.bulkhead;
+
+import com.dtflys.forest.extensions.Bulkhead;
+import com.dtflys.forest.reflection.ForestMethod;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 舱壁注册表，每个全局配置一个
+ * <p>接口上的舱壁由接口中的所有方法共享，名称为接口类名；方法上的舱壁名称为 接口类名#方法名</p>
+ * @author agent[agent@local]
+ * @since 2026-10-17 16:03
+ */
+public class ForestBulkheadRegistry {
+
+    private final Map<String, ForestBulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    private final Map<ForestMethod, ForestBulkhead> methodBulkheads = new ConcurrentHashMap<>();
+
+    /**
+     * 为方法注册舱壁，同名的舱壁只创建一次
+     * @param method Forest方法
+     * @param name 舱壁名称
+     * @param annotation 舱壁注解
+     * @return 舱壁
+     */
+    public ForestBulkhead register(ForestMethod method, String name, Bulkhead annotation) {
+        ForestBulkhead bulkhead = bulkheads.get(name);
+        if (bulkhead == null) {
+            bulkhead = new ForestBulkhead(
+                    name, annotation.maxConcurrentCalls(), annotation.maxQueueSize(), annotation.maxWaitTime());
+            ForestBulkhead existing = bulkheads.putIfAbsent(name, bulkhead);
+            if (existing != null) {
+                bulkhead = existing;
+            }
+        }
+        methodBulkheads.put(method, bulkhead);
+        return bulkhead;
+    }
+
+    /**
+     * 获取方法的舱壁
+     * @param method Forest方法
+     * @return 舱壁，方法和接口上都没有舱壁注解时返回 null
+     */
+    public ForestBulkhead getBulkhead(ForestMethod method) {
+        return methodBulkheads.get(method);
+    }
+
+    public ForestBulkhead getBulkhead(String name) {
+        return bulkheads.get(name);
+    }
+
+    public Collection<ForestBulkhead> getBulkheads() {
+        return Collections.unmodifiableCollection(bulkheads.values());
+    }
+}
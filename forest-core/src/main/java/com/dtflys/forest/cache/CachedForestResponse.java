@@ -0,0 +1,90 @@
+package com.dtflys.forest.cache;
+
+import com.dtflys.forest.backend.ContentType;
+import com.dtflys.forest.exceptions.ForestRuntimeException;
+import com.dtflys.forest.http.ForestHeaderMap;
+import com.dtflys.forest.http.ForestRequest;
+import com.dtflys.forest.http.ForestResponse;
+import com.dtflys.forest.utils.StringUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+
+/**
+ * 由缓存的响应体构造的响应，用于缓存命中、重新验证后（304）以及刚被写入缓存的响应
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:11
+ */
+public class CachedForestResponse<T> extends ForestResponse<T> {
+
+    private final byte[] bytes;
+
+    /**
+     * 文本类型的响应内容尚未转换为字符串
+     */
+    private volatile boolean contentReadable;
+
+    public CachedForestResponse(ForestRequest request, int statusCode, ForestHeaderMap headers, byte[] bytes) {
+        super(request);
+        this.statusCode = statusCode;
+        this.headers = headers;
+        this.bytes = bytes;
+        this.contentLength = bytes == null ? 0 : bytes.length;
+        String type = headers.getValue("Content-Type");
+        if (StringUtils.isNotEmpty(type)) {
+            this.contentType = new ContentType(type);
+            this.contentEncoding = contentType.getCharset();
+        }
+        if (contentType == null || contentType.isEmpty()) {
+            this.content = null;
+        } else if (!request.isDownloadFile() && contentType.canReadAsString()) {
+            this.contentReadable = true;
+        } else {
+            StringBuilder builder = new StringBuilder();
+            builder.append("[content-type: ")
+                    .append(contentType);
+            if (contentEncoding != null) {
+                builder.append("; encoding: ")
+                        .append(contentEncoding);
+            }
+            builder.append("; length: ")
+                    .append(contentLength)
+                    .append("]");
+            this.content = builder.toString();
+        }
+    }
+
+    @Override
+    public String getContent() {
+        if (contentReadable) {
+            synchronized (this) {
+                if (contentReadable) {
+                    contentReadable = false;
+                    String encoding = StringUtils.isEmpty(contentEncoding) ? "UTF-8" : contentEncoding;
+                    try {
+                        this.content = new String(bytes, encoding);
+                    } catch (UnsupportedEncodingException e) {
+                        throw new ForestRuntimeException(e);
+                    }
+                }
+            }
+        }
+        return content;
+    }
+
+    @Override
+    public boolean isReceivedResponseData() {
+        return bytes != null;
+    }
+
+    @Override
+    public byte[] getByteArray() {
+        return bytes;
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return bytes == null ? null : new ByteArrayInputStream(bytes);
+    }
+}
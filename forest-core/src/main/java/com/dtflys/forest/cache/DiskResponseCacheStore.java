@@ -0,0 +1,161 @@
+package com.dtflys.forest.cache;
+
+import com.dtflys.forest.exceptions.ForestRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * 磁盘上的响应缓存，每个条目一个文件，文件名为缓存键的SHA-256摘要，文件格式见 {@link ForestCacheEntry#writeTo}
+ * <p>读取时更新文件的修改时间，总字节数超出上限时按修改时间从旧到新淘汰</p>
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:11
+ */
+public class DiskResponseCacheStore implements ForestResponseCacheStore {
+
+    private final static Logger log = LoggerFactory.getLogger(DiskResponseCacheStore.class);
+
+    private final static String SUFFIX = ".cache";
+
+    private final File directory;
+
+    private final long maxSize;
+
+    private long size = 0;
+
+    public DiskResponseCacheStore(File directory, long maxSize) {
+        this.directory = directory;
+        this.maxSize = maxSize;
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new ForestRuntimeException("Can not create cache directory: " + directory);
+        }
+        for (File file : listFiles()) {
+            size += file.length();
+        }
+    }
+
+    private File[] listFiles() {
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(SUFFIX));
+        return files == null ? new File[0] : files;
+    }
+
+    private File getFile(String key) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(key.getBytes(StandardCharsets.UTF_8));
+            StringBuilder builder = new StringBuilder(hash.length * 2 + SUFFIX.length());
+            for (byte b : hash) {
+                builder.append(Character.forDigit((b >> 4) & 0xF, 16))
+                        .append(Character.forDigit(b & 0xF, 16));
+            }
+            return new File(directory, builder.append(SUFFIX).toString());
+        } catch (NoSuchAlgorithmException e) {
+            throw new ForestRuntimeException(e);
+        }
+    }
+
+    @Override
+    public synchronized ForestCacheEntry get(String key) {
+        File file = getFile(key);
+        if (!file.exists()) {
+            return null;
+        }
+        try {
+            byte[] bytes = Files.readAllBytes(file.toPath());
+            ForestCacheEntry entry = ForestCacheEntry.readFrom(
+                    new DataInputStream(new ByteArrayInputStream(bytes)), bytes.length);
+            if (!key.equals(entry.getKey())) {
+                return null;
+            }
+            file.setLastModified(System.currentTimeMillis());
+            return entry;
+        } catch (IOException e) {
+            log.warn("[Forest] Discard unreadable cache file " + file, e);
+            deleteFile(file);
+            return null;
+        }
+    }
+
+    @Override
+    public synchronized void put(ForestCacheEntry entry) {
+        File file = getFile(entry.getKey());
+        File tmpFile = new File(directory, file.getName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)))) {
+            entry.writeTo(out);
+        } catch (IOException e) {
+            log.warn("[Forest] Failed to write cache file " + file, e);
+            tmpFile.delete();
+            return;
+        }
+        long oldLength = file.length();
+        try {
+            Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.warn("[Forest] Failed to write cache file " + file, e);
+            tmpFile.delete();
+            return;
+        }
+        size += file.length() - oldLength;
+        if (size > maxSize) {
+            evict(file);
+        }
+    }
+
+    private void evict(File keep) {
+        File[] files = listFiles();
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (File file : files) {
+            if (size <= maxSize) {
+                return;
+            }
+            if (!file.equals(keep)) {
+                deleteFile(file);
+            }
+        }
+        if (size > maxSize) {
+            deleteFile(keep);
+        }
+    }
+
+    private void deleteFile(File file) {
+        long length = file.length();
+        if (file.delete()) {
+            size -= length;
+        }
+    }
+
+    @Override
+    public synchronized void remove(String key) {
+        deleteFile(getFile(key));
+    }
+
+    @Override
+    public synchronized void clear() {
+        for (File file : listFiles()) {
+            deleteFile(file);
+        }
+    }
+
+    @Override
+    public synchronized int size() {
+        return listFiles().length;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+}
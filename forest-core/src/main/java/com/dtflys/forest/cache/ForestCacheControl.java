@@ -0,0 +1,135 @@
+package com.dtflys.forest.cache;
+
+import com.dtflys.forest.http.ForestHeaderMap;
+import com.dtflys.forest.utils.StringUtils;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * 解析后的 Cache-Control 头
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:11
+ */
+public class ForestCacheControl {
+
+    private boolean noStore;
+
+    private boolean noCache;
+
+    private boolean privateOnly;
+
+    private boolean publicCacheable;
+
+    /**
+     * max-age 秒数，没有时为 -1
+     */
+    private long maxAge = -1;
+
+    /**
+     * s-maxage 秒数，没有时为 -1
+     */
+    private long sMaxAge = -1;
+
+    public static ForestCacheControl parse(ForestHeaderMap headers) {
+        ForestCacheControl cacheControl = new ForestCacheControl();
+        for (String value : headers.getValues("Cache-Control")) {
+            cacheControl.parseDirectives(value);
+        }
+        if (headers.getValue("Cache-Control") == null && "no-cache".equalsIgnoreCase(headers.getValue("Pragma"))) {
+            cacheControl.noCache = true;
+        }
+        return cacheControl;
+    }
+
+    private void parseDirectives(String value) {
+        if (value == null) {
+            return;
+        }
+        for (String directive : value.split(",")) {
+            directive = directive.trim();
+            int eq = directive.indexOf('=');
+            String name = (eq < 0 ? directive : directive.substring(0, eq)).trim().toLowerCase();
+            String argument = eq < 0 ? null : directive.substring(eq + 1).trim();
+            if ("no-store".equals(name)) {
+                noStore = true;
+            } else if ("no-cache".equals(name)) {
+                noCache = true;
+            } else if ("private".equals(name)) {
+                privateOnly = true;
+            } else if ("public".equals(name)) {
+                publicCacheable = true;
+            } else if ("max-age".equals(name)) {
+                maxAge = parseSeconds(argument);
+            } else if ("s-maxage".equals(name)) {
+                sMaxAge = parseSeconds(argument);
+            }
+        }
+    }
+
+    /**
+     * 解析秒数，无法解析时返回 -1
+     */
+    public static long parseSeconds(String value) {
+        if (StringUtils.isEmpty(value)) {
+            return -1;
+        }
+        if (value.length() > 1 && value.charAt(0) == '"') {
+            value = value.substring(1, value.length() - 1);
+        }
+        try {
+            return Math.max(0, Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * 解析HTTP日期（如 Expires、Date、Last-Modified）
+     * @param value 日期字符串
+     * @return 毫秒时间戳，无法解析时返回 -1
+     */
+    public static long parseHttpDate(String value) {
+        if (StringUtils.isEmpty(value)) {
+            return -1;
+        }
+        try {
+            return ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+
+    public boolean isNoStore() {
+        return noStore;
+    }
+
+    public boolean isNoCache() {
+        return noCache;
+    }
+
+    public boolean isPrivate() {
+        return privateOnly;
+    }
+
+    public boolean isPublic() {
+        return publicCacheable;
+    }
+
+    /**
+     * 响应是否明确允许共享缓存（带有 public 或 s-maxage）
+     * @return {@code true} 允许共享
+     */
+    public boolean isShared() {
+        return publicCacheable || sMaxAge >= 0;
+    }
+
+    public long getMaxAge() {
+        return maxAge;
+    }
+
+    public long getSMaxAge() {
+        return sMaxAge;
+    }
+}
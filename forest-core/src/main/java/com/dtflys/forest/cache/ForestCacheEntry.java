@@ -0,0 +1,403 @@
+package com.dtflys.forest.cache;
+
+import com.dtflys.forest.http.ForestHeader;
+import com.dtflys.forest.http.ForestHeaderMap;
+import com.dtflys.forest.http.ForestRequest;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 缓存的HTTP响应，可以通过 {@link #writeTo(DataOutput)} 和 {@link #readFrom(DataInput)} 保存到磁盘
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:11
+ */
+public class ForestCacheEntry {
+
+    /**
+     * 磁盘格式的标识和版本，格式变化时修改
+     */
+    private final static int FORMAT_VERSION = 0x46430001;
+
+    private final String key;
+
+    private final int statusCode;
+
+    private final String[] headerNames;
+
+    private final String[] headerValues;
+
+    private final byte[] body;
+
+    /**
+     * 响应的 Vary 头所列出的请求头在缓存时的值
+     */
+    private final LinkedHashMap<String, String> varyHeaders;
+
+    /**
+     * 收到响应的时间（毫秒）
+     */
+    private final long responseTime;
+
+    /**
+     * 过期时间（毫秒），不晚于 responseTime 时每次使用前都要重新验证
+     */
+    private final long expiresAt;
+
+    private ForestCacheEntry(String key, int statusCode, String[] headerNames, String[] headerValues, byte[] body,
+                             LinkedHashMap<String, String> varyHeaders, long responseTime, long expiresAt) {
+        this.key = key;
+        this.statusCode = statusCode;
+        this.headerNames = headerNames;
+        this.headerValues = headerValues;
+        this.body = body;
+        this.varyHeaders = varyHeaders;
+        this.responseTime = responseTime;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * 根据响应创建缓存条目
+     * @param key 缓存键
+     * @param request Forest请求对象
+     * @param statusCode 响应状态码
+     * @param headers 响应头
+     * @param body 响应体
+     * @param responseTime 收到响应的时间（毫秒）
+     * @param defaultMaxAge 响应没有指定过期时间时的缓存秒数
+     * @return 缓存条目，响应不能缓存时返回 null
+     */
+    public static ForestCacheEntry create(String key, ForestRequest request, int statusCode, ForestHeaderMap headers,
+                                          byte[] body, long responseTime, long defaultMaxAge) {
+        if (!isStorable(request, headers, responseTime, defaultMaxAge)) {
+            return null;
+        }
+        LinkedHashMap<String, String> varyHeaders = new LinkedHashMap<>();
+        for (String name : getVaryHeaderNames(headers)) {
+            varyHeaders.put(name.toLowerCase(), request.getHeaderValue(name));
+        }
+        List<String> names = new ArrayList<>(headers.size());
+        List<String> values = new ArrayList<>(headers.size());
+        for (Iterator<ForestHeader> it = headers.headerIterator(); it.hasNext(); ) {
+            ForestHeader header = it.next();
+            names.add(header.getName());
+            values.add(header.getValue());
+        }
+        return new ForestCacheEntry(key, statusCode,
+                names.toArray(new String[0]), values.toArray(new String[0]), body, varyHeaders, responseTime,
+                computeExpiresAt(ForestCacheControl.parse(headers), headers, responseTime, defaultMaxAge));
+    }
+
+    /**
+     * 根据响应头判断响应是否可以缓存，用于在读取响应体之前排除不能缓存的响应
+     * <p>带有 no-store、private 或 Vary: * 的响应不能缓存；既不新鲜，也没有 ETag 和 Last-Modified 的响应无法重新验证，也不缓存。
+     * 带有身份凭证（Authorization 或 Cookie）的请求，只有响应带有 public 或 s-maxage 时才缓存</p>
+     * @param request Forest请求对象
+     * @param headers 响应头
+     * @param responseTime 收到响应的时间（毫秒）
+     * @param defaultMaxAge 响应没有指定过期时间时的缓存秒数
+     * @return {@code true} 可以缓存
+     */
+    public static boolean isStorable(ForestRequest request, ForestHeaderMap headers,
+                                     long responseTime, long defaultMaxAge) {
+        ForestCacheControl cacheControl = ForestCacheControl.parse(headers);
+        if (cacheControl.isNoStore() || cacheControl.isPrivate() || getVaryHeaderNames(headers) == null) {
+            return false;
+        }
+        if (hasCredentials(request) && !cacheControl.isShared()) {
+            return false;
+        }
+        return computeExpiresAt(cacheControl, headers, responseTime, defaultMaxAge) > responseTime
+                || headers.getValue("ETag") != null
+                || headers.getValue("Last-Modified") != null;
+    }
+
+    /**
+     * 判断请求是否带有身份凭证，这类请求的响应可能因人而异
+     * @param request Forest请求对象
+     * @return {@code true} 请求头中有 Authorization 或 Cookie
+     */
+    public static boolean hasCredentials(ForestRequest request) {
+        return request.getHeaderValue("Authorization") != null || request.getHeaderValue("Cookie") != null;
+    }
+
+    /**
+     * 获取 Vary 头列出的请求头名称
+     * @return 请求头名称列表，Vary 为 * 时返回 null
+     */
+    private static List<String> getVaryHeaderNames(ForestHeaderMap headers) {
+        List<String> names = new ArrayList<>(2);
+        for (String vary : headers.getValues("Vary")) {
+            for (String name : vary.split(",")) {
+                name = name.trim();
+                if ("*".equals(name)) {
+                    return null;
+                }
+                if (!name.isEmpty()) {
+                    names.add(name);
+                }
+            }
+        }
+        return names;
+    }
+
+    private static long computeExpiresAt(ForestCacheControl cacheControl, ForestHeaderMap headers,
+                                         long responseTime, long defaultMaxAge) {
+        if (cacheControl.isNoCache()) {
+            return responseTime;
+        }
+        long age = Math.max(0, ForestCacheControl.parseSeconds(headers.getValue("Age")));
+        if (cacheControl.getMaxAge() >= 0) {
+            return responseTime + (cacheControl.getMaxAge() - age) * 1000;
+        }
+        long expires = ForestCacheControl.parseHttpDate(headers.getValue("Expires"));
+        if (expires >= 0) {
+            long date = ForestCacheControl.parseHttpDate(headers.getValue("Date"));
+            // 以服务端的 Date 为基准计算，避免客户端与服务端的时钟偏差
+            return date >= 0 ? responseTime + expires - date : expires;
+        }
+        if (headers.getValue("Expires") != null) {
+            // 无法解析的 Expires 视为已过期
+            return responseTime;
+        }
+        return responseTime + Math.max(0, defaultMaxAge) * 1000;
+    }
+
+    /**
+     * 收到 304 Not Modified 后，用新的响应头更新缓存条目
+     * @param notModifiedHeaders 304响应的响应头
+     * @param responseTime 收到304响应的时间（毫秒）
+     * @param defaultMaxAge 响应没有指定过期时间时的缓存秒数
+     * @return 更新后的缓存条目
+     */
+    public ForestCacheEntry revalidated(ForestHeaderMap notModifiedHeaders, long responseTime, long defaultMaxAge) {
+        ForestHeaderMap headers = getHeaders();
+        for (Iterator<ForestHeader> it = notModifiedHeaders.headerIterator(); it.hasNext(); ) {
+            ForestHeader header = it.next();
+            String name = header.getName();
+            if ("Content-Length".equalsIgnoreCase(name) || "Content-Encoding".equalsIgnoreCase(name)
+                    || "Transfer-Encoding".equalsIgnoreCase(name)) {
+                continue;
+            }
+            headers.setHeader(name, header.getValue());
+        }
+        List<String> names = new ArrayList<>(headers.size());
+        List<String> values = new ArrayList<>(headers.size());
+        for (Iterator<ForestHeader> it = headers.headerIterator(); it.hasNext(); ) {
+            ForestHeader header = it.next();
+            names.add(header.getName());
+            values.add(header.getValue());
+        }
+        return new ForestCacheEntry(key, statusCode,
+                names.toArray(new String[0]), values.toArray(new String[0]), body, varyHeaders, responseTime,
+                computeExpiresAt(ForestCacheControl.parse(headers), headers, responseTime, defaultMaxAge));
+    }
+
+    /**
+     * 判断缓存条目是否适用于请求（请求的 Vary 头与缓存时一致，
+     * 带有身份凭证的请求只能使用带有 public 或 s-maxage 的缓存）
+     * @param request Forest请求对象
+     * @return {@code true} 适用
+     */
+    public boolean matches(ForestRequest request) {
+        if (hasCredentials(request) && !ForestCacheControl.parse(getHeaders()).isShared()) {
+            return false;
+        }
+        for (Map.Entry<String, String> entry : varyHeaders.entrySet()) {
+            String value = request.getHeaderValue(entry.getKey());
+            if (value == null ? entry.getValue() != null : !value.equals(entry.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 判断缓存条目在指定时间是否仍然新鲜，新鲜的条目可以不经重新验证直接使用
+     * @param now 当前时间（毫秒）
+     * @return {@code true} 新鲜
+     */
+    public boolean isFresh(long now) {
+        return now < expiresAt;
+    }
+
+    /**
+     * 是否可以通过条件请求（If-None-Match、If-Modified-Since）重新验证
+     * @return {@code true} 可以重新验证
+     */
+    public boolean canRevalidate() {
+        return getETag() != null || getLastModified() != null;
+    }
+
+    public ForestHeaderMap getHeaders() {
+        ForestHeaderMap headers = new ForestHeaderMap();
+        for (int i = 0; i < headerNames.length; i++) {
+            headers.addHeader(headerNames[i], headerValues[i]);
+        }
+        return headers;
+    }
+
+    private String getHeaderValue(String name) {
+        for (int i = 0; i < headerNames.length; i++) {
+            if (headerNames[i].equalsIgnoreCase(name)) {
+                return headerValues[i];
+            }
+        }
+        return null;
+    }
+
+    public String getETag() {
+        return getHeaderValue("ETag");
+    }
+
+    public String getLastModified() {
+        return getHeaderValue("Last-Modified");
+    }
+
+    public String getContentType() {
+        return getHeaderValue("Content-Type");
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public long getResponseTime() {
+        return responseTime;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * 按固定格式写出条目：格式版本、缓存键、状态码、响应头、Vary 请求头、收到响应的时间、过期时间、响应体
+     * @param out 输出
+     * @throws IOException 写出失败
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(FORMAT_VERSION);
+        writeString(out, key);
+        out.writeInt(statusCode);
+        out.writeInt(headerNames.length);
+        for (int i = 0; i < headerNames.length; i++) {
+            writeString(out, headerNames[i]);
+            writeString(out, headerValues[i]);
+        }
+        out.writeInt(varyHeaders.size());
+        for (Map.Entry<String, String> entry : varyHeaders.entrySet()) {
+            writeString(out, entry.getKey());
+            writeString(out, entry.getValue());
+        }
+        out.writeLong(responseTime);
+        out.writeLong(expiresAt);
+        writeBytes(out, body);
+    }
+
+    /**
+     * 读取 {@link #writeTo(DataOutput)} 写出的条目
+     * @param in 输入
+     * @param maxLength 输入的总字节数，用于校验读到的长度
+     * @return 缓存条目
+     * @throws IOException 读取失败或格式不正确
+     */
+    public static ForestCacheEntry readFrom(DataInput in, int maxLength) throws IOException {
+        if (in.readInt() != FORMAT_VERSION) {
+            throw new IOException("Unknown cache entry format");
+        }
+        String key = readString(in, maxLength);
+        if (key == null) {
+            throw new IOException("Malformed cache entry");
+        }
+        int statusCode = in.readInt();
+        int headerCount = readLength(in, maxLength);
+        String[] headerNames = new String[headerCount];
+        String[] headerValues = new String[headerCount];
+        for (int i = 0; i < headerCount; i++) {
+            headerNames[i] = readString(in, maxLength);
+            headerValues[i] = readString(in, maxLength);
+            if (headerNames[i] == null) {
+                throw new IOException("Malformed cache entry");
+            }
+        }
+        int varyCount = readLength(in, maxLength);
+        LinkedHashMap<String, String> varyHeaders = new LinkedHashMap<>();
+        for (int i = 0; i < varyCount; i++) {
+            varyHeaders.put(readString(in, maxLength), readString(in, maxLength));
+        }
+        long responseTime = in.readLong();
+        long expiresAt = in.readLong();
+        byte[] body = readBytes(in, maxLength);
+        return new ForestCacheEntry(key, statusCode, headerNames, headerValues, body,
+                varyHeaders, responseTime, expiresAt);
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        writeBytes(out, value == null ? null : value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String readString(DataInput in, int maxLength) throws IOException {
+        byte[] bytes = readBytes(in, maxLength);
+        return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 写出字节数组，长度为 -1 表示 null
+     */
+    private static void writeBytes(DataOutput out, byte[] bytes) throws IOException {
+        if (bytes == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(DataInput in, int maxLength) throws IOException {
+        int length = in.readInt();
+        if (length == -1) {
+            return null;
+        }
+        if (length < 0 || length > maxLength) {
+            throw new IOException("Malformed cache entry");
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    private static int readLength(DataInput in, int maxLength) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > maxLength) {
+            throw new IOException("Malformed cache entry");
+        }
+        return length;
+    }
+
+    /**
+     * 估算条目占用的字节数
+     * @return 字节数
+     */
+    public long getSize() {
+        long size = body == null ? 0 : body.length;
+        for (int i = 0; i < headerNames.length; i++) {
+            size += headerNames[i].length() + (headerValues[i] == null ? 0 : headerValues[i].length());
+        }
+        return size;
+    }
+}
@@ -0,0 +1,79 @@
+package com.dtflys.forest.cache;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 调用结果缓存的后台刷新线程池
+ * <p>每个全局配置一个，该配置下所有 {@link ForestResultCache} 共用，队列满或已经关闭时放弃刷新</p>
+ * @author agent[agent@local]
+ * @since 2026-10-17 18:03
+ */
+public class ForestCacheRefreshExecutor {
+
+    private final static AtomicInteger THREAD_COUNT = new AtomicInteger(0);
+
+    private final static int THREADS = 4;
+
+    private final static int QUEUE_SIZE = 1000;
+
+    private volatile ThreadPoolExecutor executor;
+
+    private volatile boolean closed = false;
+
+    /**
+     * 提交刷新任务
+     * @param task 刷新任务
+     * @return {@code true} 已提交，{@code false} 队列已满或线程池已经关闭，任务不会执行
+     */
+    public boolean execute(Runnable task) {
+        ThreadPoolExecutor executor = getExecutor();
+        if (executor == null) {
+            return false;
+        }
+        try {
+            executor.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    private ThreadPoolExecutor getExecutor() {
+        if (executor == null) {
+            synchronized (this) {
+                if (executor == null && !closed) {
+                    ThreadPoolExecutor threadPool = new ThreadPoolExecutor(THREADS, THREADS, 60, TimeUnit.SECONDS,
+                            new LinkedBlockingQueue<Runnable>(QUEUE_SIZE), new ThreadFactory() {
+                        @Override
+                        public Thread newThread(Runnable runnable) {
+                            Thread thread = new Thread(runnable, "forest-cache-refresh-" + THREAD_COUNT.incrementAndGet());
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                    });
+                    threadPool.allowCoreThreadTimeOut(true);
+                    executor = threadPool;
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * 关闭线程池，还未执行的刷新任务被丢弃，缓存继续返回旧的结果
+     */
+    public void close() {
+        synchronized (this) {
+            closed = true;
+            if (executor != null) {
+                executor.shutdownNow();
+                executor = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.dtflys.forest.cache;
+
+import com.dtflys.forest.backend.url.URLBuilder;
+import com.dtflys.forest.config.ForestConfiguration;
+import com.dtflys.forest.exceptions.ForestRuntimeException;
+import com.dtflys.forest.extensions.ResponseCache;
+import com.dtflys.forest.http.ForestRequest;
+import com.dtflys.forest.http.ForestRequestType;
+import com.dtflys.forest.http.ForestResponse;
+import com.dtflys.forest.http.HttpStatus;
+import com.dtflys.forest.reflection.ForestMethod;
+import com.dtflys.forest.utils.StringUtils;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 位于HTTP后端之上的响应缓存，每个全局配置一个，按 Cache-Control、Expires、ETag 和 Last-Modified 缓存GET请求的响应
+ * <p>新鲜的缓存在 {@link ForestRequest#execute} 中直接返回，不经过后端；过期的缓存通过 If-None-Match、If-Modified-Since
+ * 重新验证，服务端返回 304 时沿用缓存的响应体。同一个URL上成功的非GET请求会使缓存失效。</p>
+ * <p>带有 private 的响应不缓存；带有 Authorization 或 Cookie 的请求，只缓存和使用带有 public 或 s-maxage 的响应</p>
+ * <p>先查内存缓存，再查磁盘缓存，磁盘缓存命中后放回内存缓存</p>
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:11
+ */
+public class ForestResponseCache {
+
+    private final ForestConfiguration configuration;
+
+    private final ForestResponseCacheConfig config;
+
+    private final MemoryResponseCacheStore memoryStore;
+
+    /**
+     * 磁盘缓存，未配置缓存目录时为 null
+     */
+    private final DiskResponseCacheStore diskStore;
+
+    private final Map<ForestMethod, ForestResponseCachePolicy> methodPolicies = new ConcurrentHashMap<>();
+
+    public ForestResponseCache(ForestConfiguration configuration, ForestResponseCacheConfig config) {
+        this.configuration = configuration;
+        this.config = config;
+        this.memoryStore = new MemoryResponseCacheStore(config.getMemoryMaxSize(), config.getMemoryMaxEntries());
+        if (StringUtils.isNotEmpty(config.getDiskDirectory())) {
+            this.diskStore = new DiskResponseCacheStore(new File(config.getDiskDirectory()), config.getDiskMaxSize());
+        } else {
+            this.diskStore = null;
+        }
+    }
+
+    /**
+     * 为方法注册缓存策略
+     * @param method Forest方法
+     * @param name 策略名称
+     * @param annotation 响应缓存注解
+     * @return 缓存策略，注解未启用缓存时返回 null
+     */
+    public ForestResponseCachePolicy register(ForestMethod method, String name, ResponseCache annotation) {
+        if (!annotation.enabled()) {
+            methodPolicies.remove(method);
+            return null;
+        }
+        ForestResponseCachePolicy policy = new ForestResponseCachePolicy(name, annotation.defaultMaxAge());
+        methodPolicies.put(method, policy);
+        return policy;
+    }
+
+    /**
+     * 获取方法的缓存策略
+     * @param method Forest方法
+     * @return 缓存策略，方法和接口上都没有启用缓存时返回 null
+     */
+    public ForestResponseCachePolicy getPolicy(ForestMethod method) {
+        return methodPolicies.get(method);
+    }
+
+    /**
+     * 获取请求的缓存键，由GET和带查询参数的完整URL组成，非GET请求得到的是同一个URL上GET请求的缓存键
+     * @param request Forest请求对象
+     * @return 缓存键
+     */
+    public String getKey(ForestRequest request) {
+        return ForestRequestType.GET.getName() + " " + URLBuilder.getQueryableURLBuilder().buildUrl(request);
+    }
+
+    /**
+     * 判断请求是否可以使用缓存，只有GET请求可以，文件下载请求和请求头带有 no-store 的请求除外
+     * @param request Forest请求对象
+     * @return {@code true} 可以使用缓存
+     */
+    public static boolean isCacheable(ForestRequest request) {
+        if (request.getType() != ForestRequestType.GET || request.isDownloadFile()) {
+            return false;
+        }
+        String cacheControl = request.getHeaderValue("Cache-Control");
+        return cacheControl == null || !cacheControl.toLowerCase().contains("no-store");
+    }
+
+    /**
+     * 查找请求对应的缓存
+     * <p>请求头带有 Cache-Control: no-cache 时不返回新鲜的缓存，而是强制重新验证</p>
+     * @param request Forest请求对象
+     * @return 缓存条目，不存在或不适用于请求时返回 null
+     */
+    public ForestCacheEntry lookup(ForestRequest request) {
+        String key = getKey(request);
+        ForestCacheEntry entry = memoryStore.get(key);
+        if (entry == null && diskStore != null) {
+            entry = diskStore.get(key);
+            if (entry != null) {
+                memoryStore.put(entry);
+            }
+        }
+        if (entry == null || !entry.matches(request)) {
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * 判断缓存条目是否可以不经重新验证直接返回
+     * @param request Forest请求对象
+     * @param entry 缓存条目
+     * @return {@code true} 可以直接返回
+     */
+    public boolean isFresh(ForestRequest request, ForestCacheEntry entry) {
+        String cacheControl = request.getHeaderValue("Cache-Control");
+        if (cacheControl != null && cacheControl.toLowerCase().contains("no-cache")) {
+            return false;
+        }
+        return entry.isFresh(System.currentTimeMillis());
+    }
+
+    /**
+     * 为过期的缓存设置条件请求头，请求头中已经有条件请求头时不覆盖
+     * @param request Forest请求对象
+     * @param entry 过期的缓存条目
+     */
+    public void prepareRevalidation(ForestRequest request, ForestCacheEntry entry) {
+        if (!entry.canRevalidate()) {
+            return;
+        }
+        if (entry.getETag() != null && request.getHeaderValue("If-None-Match") == null) {
+            request.addHeader("If-None-Match", entry.getETag());
+        }
+        if (entry.getLastModified() != null && request.getHeaderValue("If-Modified-Since") == null) {
+            request.addHeader("If-Modified-Since", entry.getLastModified());
+        }
+        request.setRevalidatingCacheEntry(entry);
+    }
+
+    /**
+     * 由HTTP后端在创建响应后调用
+     * <ul>
+     *     <li>304 且正在重新验证缓存时，更新缓存并返回缓存的响应</li>
+     *     <li>可以缓存的 200 响应，读取响应体后写入缓存，返回由响应体构造的响应</li>
+     *     <li>非GET请求成功时，使同一个URL的缓存失效</li>
+     * </ul>
+     * @param request Forest请求对象
+     * @param response 后端创建的响应
+     * @return 交给后续处理的响应
+     */
+    public ForestResponse onResponse(ForestRequest request, ForestResponse response) {
+        ForestResponseCachePolicy policy = request.getResponseCachePolicy();
+        if (policy == null || response == null) {
+            return response;
+        }
+        int statusCode = response.getStatusCode();
+        long now = System.currentTimeMillis();
+        if (request.getType() != ForestRequestType.GET) {
+            if (statusCode >= HttpStatus.OK && statusCode < HttpStatus.BAD_REQUEST) {
+                remove(getKey(request));
+            }
+            return response;
+        }
+        ForestCacheEntry revalidating = request.getRevalidatingCacheEntry();
+        if (statusCode == HttpStatus.NOT_MODIFIED && revalidating != null) {
+            release(response);
+            ForestCacheEntry entry = revalidating.revalidated(response.getHeaders(), now, policy.getDefaultMaxAge());
+            put(entry);
+            configuration.getMetrics().recordResponseCache(request, ResponseCacheResult.REVALIDATED);
+            return new CachedForestResponse(
+                    request, entry.getStatusCode(), entry.getHeaders(), entry.getBody());
+        }
+        if (statusCode != HttpStatus.OK || !isCacheable(request) || !response.isReceivedResponseData()) {
+            return response;
+        }
+        if (getContentLength(response) > config.getMaxEntrySize()
+                || !ForestCacheEntry.isStorable(request, response.getHeaders(), now, policy.getDefaultMaxAge())) {
+            return response;
+        }
+        byte[] body;
+        try {
+            body = response.getByteArray();
+        } catch (Exception e) {
+            throw new ForestRuntimeException(e);
+        }
+        if (body == null) {
+            return response;
+        }
+        if (body.length <= config.getMaxEntrySize()) {
+            ForestCacheEntry entry = ForestCacheEntry.create(
+                    getKey(request), request, statusCode, response.getHeaders(), body, now, policy.getDefaultMaxAge());
+            if (entry != null) {
+                put(entry);
+            }
+        }
+        return new CachedForestResponse(request, statusCode, response.getHeaders(), body);
+    }
+
+    private long getContentLength(ForestResponse response) {
+        long contentLength = response.getContentLength();
+        if (contentLength > 0) {
+            return contentLength;
+        }
+        String value = response.getHeaderValue("Content-Length");
+        if (StringUtils.isEmpty(value)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * 释放没有响应体的304响应的连接
+     */
+    private void release(ForestResponse response) {
+        if (!response.isReceivedResponseData()) {
+            return;
+        }
+        try {
+            InputStream in = response.getInputStream();
+            if (in != null) {
+                in.close();
+            }
+        } catch (Exception e) {
+        }
+    }
+
+    public void put(ForestCacheEntry entry) {
+        memoryStore.put(entry);
+        if (diskStore != null) {
+            diskStore.put(entry);
+        }
+    }
+
+    public void remove(String key) {
+        memoryStore.remove(key);
+        if (diskStore != null) {
+            diskStore.remove(key);
+        }
+    }
+
+    public void clear() {
+        memoryStore.clear();
+        if (diskStore != null) {
+            diskStore.clear();
+        }
+    }
+
+    public MemoryResponseCacheStore getMemoryStore() {
+        return memoryStore;
+    }
+
+    public DiskResponseCacheStore getDiskStore() {
+        return diskStore;
+    }
+}
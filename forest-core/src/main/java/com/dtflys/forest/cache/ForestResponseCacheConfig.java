@@ -0,0 +1,81 @@
+package com.dtflys.forest.cache;
+
+/**
+ * HTTP响应缓存的存储配置
+ * <p>是否缓存由接口或方法上的 {@link com.dtflys.forest.extensions.ResponseCache} 注解决定，
+ * 这里只配置缓存的存储：内存中的LRU缓存，以及可选的磁盘缓存</p>
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:11
+ */
+public class ForestResponseCacheConfig {
+
+    /**
+     * 内存缓存中响应体的最大总字节数
+     */
+    private long memoryMaxSize = 10 * 1024 * 1024;
+
+    /**
+     * 内存缓存的最大条目数
+     */
+    private int memoryMaxEntries = 1000;
+
+    /**
+     * 磁盘缓存的目录，为空时不启用磁盘缓存
+     */
+    private String diskDirectory;
+
+    /**
+     * 磁盘缓存的最大总字节数
+     */
+    private long diskMaxSize = 100 * 1024 * 1024;
+
+    /**
+     * 单个响应体的最大字节数，超过时不缓存
+     */
+    private long maxEntrySize = 1024 * 1024;
+
+    public long getMemoryMaxSize() {
+        return memoryMaxSize;
+    }
+
+    public ForestResponseCacheConfig setMemoryMaxSize(long memoryMaxSize) {
+        this.memoryMaxSize = memoryMaxSize;
+        return this;
+    }
+
+    public int getMemoryMaxEntries() {
+        return memoryMaxEntries;
+    }
+
+    public ForestResponseCacheConfig setMemoryMaxEntries(int memoryMaxEntries) {
+        this.memoryMaxEntries = memoryMaxEntries;
+        return this;
+    }
+
+    public String getDiskDirectory() {
+        return diskDirectory;
+    }
+
+    public ForestResponseCacheConfig setDiskDirectory(String diskDirectory) {
+        this.diskDirectory = diskDirectory;
+        return this;
+    }
+
+    public long getDiskMaxSize() {
+        return diskMaxSize;
+    }
+
+    public ForestResponseCacheConfig setDiskMaxSize(long diskMaxSize) {
+        this.diskMaxSize = diskMaxSize;
+        return this;
+    }
+
+    public long getMaxEntrySize() {
+        return maxEntrySize;
+    }
+
+    public ForestResponseCacheConfig setMaxEntrySize(long maxEntrySize) {
+        this.maxEntrySize = maxEntrySize;
+        return this;
+    }
+}
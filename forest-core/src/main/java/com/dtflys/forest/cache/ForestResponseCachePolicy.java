@@ -0,0 +1,29 @@
+package com.dtflys.forest.cache;
+
+/**
+ * 接口或方法的响应缓存策略
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:11
+ */
+public class ForestResponseCachePolicy {
+
+    private final String name;
+
+    /**
+     * 响应没有 Cache-Control: max-age 或 Expires 时的缓存秒数
+     */
+    private final long defaultMaxAge;
+
+    public ForestResponseCachePolicy(String name, long defaultMaxAge) {
+        this.name = name;
+        this.defaultMaxAge = defaultMaxAge;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getDefaultMaxAge() {
+        return defaultMaxAge;
+    }
+}
@@ -0,0 +1,39 @@
+package com.dtflys.forest.cache;
+
+/**
+ * HTTP响应缓存的存储
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:11
+ */
+public interface ForestResponseCacheStore {
+
+    /**
+     * 获取缓存条目
+     * @param key 缓存键
+     * @return 缓存条目，不存在时返回 null
+     */
+    ForestCacheEntry get(String key);
+
+    /**
+     * 保存缓存条目，覆盖同一个键的已有条目
+     * @param entry 缓存条目
+     */
+    void put(ForestCacheEntry entry);
+
+    /**
+     * 删除缓存条目
+     * @param key 缓存键
+     */
+    void remove(String key);
+
+    /**
+     * 清空缓存
+     */
+    void clear();
+
+    /**
+     * 获取缓存的条目数
+     * @return 条目数
+     */
+    int size();
+}
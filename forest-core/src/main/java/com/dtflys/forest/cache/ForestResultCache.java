@@ -0,0 +1,252 @@
+package com.dtflys.forest.cache;
+
+import com.dtflys.forest.exceptions.ForestRuntimeException;
+import com.dtflys.forest.mapping.MappingTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * 方法调用结果的缓存，每个带有 {@link com.dtflys.forest.extensions.CacheResult} 注解的方法一个
+ * <p>命中时直接返回已解码的结果，不构建请求、不访问网络、不解码响应。相同的键同时未命中时只调用一次，其它调用等待其结果。
+ * 过期后的 staleWhileRevalidate 毫秒内仍然返回旧的结果，同时在后台线程中刷新</p>
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:14
+ */
+public class ForestResultCache {
+
+    private final static Logger log = LoggerFactory.getLogger(ForestResultCache.class);
+
+    /**
+     * 后台刷新的线程池，由全局配置持有，放弃刷新时继续返回旧的结果
+     */
+    private final ForestCacheRefreshExecutor refreshExecutor;
+
+    private final String name;
+
+    /**
+     * 缓存键模板，为 null 时以全部参数作为缓存键
+     */
+    private final MappingTemplate keyTemplate;
+
+    private final long ttl;
+
+    private final int maxSize;
+
+    private final long staleWhileRevalidate;
+
+    private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Map<Object, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+
+    /**
+     * @param refreshExecutor 后台刷新的线程池
+     * @param name 缓存名称
+     * @param keyTemplate 缓存键模板，为 null 时以全部参数作为缓存键
+     * @param ttl 结果的有效时间（毫秒）
+     * @param maxSize 最大条目数，超出时淘汰最近最少使用的条目
+     * @param staleWhileRevalidate 过期后仍可返回旧结果的时间（毫秒）
+     */
+    public ForestResultCache(ForestCacheRefreshExecutor refreshExecutor, String name, MappingTemplate keyTemplate,
+                             long ttl, int maxSize, long staleWhileRevalidate) {
+        this.refreshExecutor = refreshExecutor;
+        this.name = name;
+        this.keyTemplate = keyTemplate;
+        this.ttl = ttl;
+        this.maxSize = maxSize;
+        this.staleWhileRevalidate = Math.max(0, staleWhileRevalidate);
+    }
+
+    /**
+     * 获取调用结果，未命中时通过 loader 发送请求并缓存其结果，结果为 null 或抛出异常时不缓存
+     * @param args 调用参数
+     * @param loader 发送请求并返回结果
+     * @return 调用结果
+     */
+    public Object get(Object[] args, Supplier<Object> loader) {
+        Object key = getKey(args);
+        long now = System.currentTimeMillis();
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry != null) {
+            if (now < entry.expiresAt) {
+                return entry.value;
+            }
+            if (now < entry.expiresAt + staleWhileRevalidate) {
+                refresh(key, entry, loader);
+                return entry.value;
+            }
+        }
+        return load(key, loader);
+    }
+
+    private Object getKey(Object[] args) {
+        if (keyTemplate != null) {
+            return keyTemplate.render(args);
+        }
+        return new ArgumentsKey(args);
+    }
+
+    private Object load(Object key, Supplier<Object> loader) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = loading.putIfAbsent(key, future);
+        if (existing != null) {
+            return await(existing);
+        }
+        try {
+            Object value = loader.get();
+            put(key, value);
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, future);
+        }
+    }
+
+    private Object await(CompletableFuture<Object> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ForestRuntimeException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new ForestRuntimeException(cause);
+        }
+    }
+
+    private void refresh(final Object key, final Entry entry, final Supplier<Object> loader) {
+        if (!entry.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        boolean submitted = refreshExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    load(key, loader);
+                } catch (Throwable th) {
+                    log.warn("[Forest] Failed to refresh cached result of " + name, th);
+                } finally {
+                    // 结果为 null 时不会替换旧的条目，也要允许下次调用再次刷新
+                    entry.refreshing.set(false);
+                }
+            }
+        });
+        if (!submitted) {
+            entry.refreshing.set(false);
+        }
+    }
+
+    private void put(Object key, Object value) {
+        if (value == null) {
+            return;
+        }
+        Entry entry = new Entry(value, System.currentTimeMillis() + ttl);
+        synchronized (entries) {
+            entries.put(key, entry);
+            Iterator<Object> it = entries.keySet().iterator();
+            while (entries.size() > maxSize && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * 删除参数对应的缓存结果
+     * @param args 调用参数
+     */
+    public void evict(Object... args) {
+        Object key = getKey(args);
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getTtl() {
+        return ttl;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getStaleWhileRevalidate() {
+        return staleWhileRevalidate;
+    }
+
+    private static class Entry {
+
+        private final Object value;
+
+        private final long expiresAt;
+
+        private final AtomicBoolean refreshing = new AtomicBoolean(false);
+
+        private Entry(Object value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * 以全部参数作为缓存键，数组参数按内容比较
+     */
+    private static class ArgumentsKey {
+
+        private final Object[] args;
+
+        private final int hashCode;
+
+        private ArgumentsKey(Object[] args) {
+            this.args = args == null ? new Object[0] : args.clone();
+            this.hashCode = Arrays.deepHashCode(this.args);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof ArgumentsKey && Arrays.deepEquals(args, ((ArgumentsKey) obj).args);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.dtflys.forest.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 内存中的响应缓存，按最近最少使用（LRU）淘汰，同时限制条目数和总字节数
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:11
+ */
+public class MemoryResponseCacheStore implements ForestResponseCacheStore {
+
+    private final long maxSize;
+
+    private final int maxEntries;
+
+    private final LinkedHashMap<String, ForestCacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long size = 0;
+
+    public MemoryResponseCacheStore(long maxSize, int maxEntries) {
+        this.maxSize = maxSize;
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public synchronized ForestCacheEntry get(String key) {
+        return entries.get(key);
+    }
+
+    @Override
+    public synchronized void put(ForestCacheEntry entry) {
+        long entrySize = entry.getSize();
+        if (entrySize > maxSize || maxEntries <= 0) {
+            remove(entry.getKey());
+            return;
+        }
+        ForestCacheEntry old = entries.put(entry.getKey(), entry);
+        if (old != null) {
+            size -= old.getSize();
+        }
+        size += entrySize;
+        Iterator<Map.Entry<String, ForestCacheEntry>> it = entries.entrySet().iterator();
+        while ((size > maxSize || entries.size() > maxEntries) && it.hasNext()) {
+            ForestCacheEntry eldest = it.next().getValue();
+            size -= eldest.getSize();
+            it.remove();
+        }
+    }
+
+    @Override
+    public synchronized void remove(String key) {
+        ForestCacheEntry old = entries.remove(key);
+        if (old != null) {
+            size -= old.getSize();
+        }
+    }
+
+    @Override
+    public synchronized void clear() {
+        entries.clear();
+        size = 0;
+    }
+
+    @Override
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * 获取缓存条目的总字节数
+     * @return 字节数
+     */
+    public synchronized long getTotalSize() {
+        return size;
+    }
+}
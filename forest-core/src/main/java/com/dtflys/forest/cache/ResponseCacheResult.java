@@ -0,0 +1,29 @@
+package com.dtflys.forest.cache;
+
+/**
+ * 响应缓存的查找结果
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:11
+ */
+public enum ResponseCacheResult {
+
+    /**
+     * 命中新鲜的缓存，不发送请求
+     */
+    HIT,
+
+    /**
+     * 没有可用的缓存
+     */
+    MISS,
+
+    /**
+     * 缓存已过期，发送条件请求重新验证
+     */
+    STALE,
+
+    /**
+     * 重新验证后服务端返回 304，沿用缓存的响应体
+     */
+    REVALIDATED
+}
@@ -0,0 +1,19 @@
+package com.dtflys.forest.circuitbreaker;
+
+/**
+ * 熔断器的划分方式
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:54
+ */
+public enum CircuitBreakerKeyType {
+
+    /**
+     * 每个主机（协议 + 主机名 + 端口）一个熔断器
+     */
+    HOST,
+
+    /**
+     * 每个接口方法一个熔断器，重载的方法按参数类型区分
+     */
+    METHOD
+}
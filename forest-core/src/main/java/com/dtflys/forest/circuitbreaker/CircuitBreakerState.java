@@ -0,0 +1,24 @@
+package com.dtflys.forest.circuitbreaker;
+
+/**
+ * 熔断器状态
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:54
+ */
+public enum CircuitBreakerState {
+
+    /**
+     * 关闭：请求正常发送，并统计失败率和慢请求比例
+     */
+    CLOSED,
+
+    /**
+     * 打开：请求直接失败，不再访问后端
+     */
+    OPEN,
+
+    /**
+     * 半开：只放行有限数量的探测请求，全部成功后关闭，任意失败后重新打开
+     */
+    HALF_OPEN
+}
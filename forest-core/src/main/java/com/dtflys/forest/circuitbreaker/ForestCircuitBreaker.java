@@ -0,0 +1,194 @@
+package com.dtflys.forest.circuitbreaker;
+
+import com.dtflys.forest.config.ForestConfiguration;
+import com.dtflys.forest.http.ForestResponse;
+
+/**
+ * Forest熔断器
+ * <p>关闭状态下在固定大小的滑动窗口中统计最近请求的失败率和慢请求比例，任一比例达到阈值后打开；
+ * 打开状态下请求直接失败，等待 openDuration 后进入半开状态；
+ * 半开状态下只放行 halfOpenProbes 个探测请求，全部成功后关闭，任意一个失败或过慢则重新打开</p>
+ * <p>网络异常和 5xx 响应视为失败</p>
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:54
+ */
+public class ForestCircuitBreaker {
+
+    private final String name;
+
+    private final ForestConfiguration configuration;
+
+    private final ForestCircuitBreakerConfig config;
+
+    private final boolean[] failures;
+
+    private final boolean[] slows;
+
+    private int index = 0;
+
+    private int size = 0;
+
+    private int failureCount = 0;
+
+    private int slowCount = 0;
+
+    private volatile CircuitBreakerState state = CircuitBreakerState.CLOSED;
+
+    private long stateChangedAt = System.currentTimeMillis();
+
+    private int probesIssued = 0;
+
+    private int probesSucceeded = 0;
+
+    public ForestCircuitBreaker(String name, ForestConfiguration configuration, ForestCircuitBreakerConfig config) {
+        this.name = name;
+        this.configuration = configuration;
+        this.config = config;
+        int windowSize = Math.max(config.getWindowSize(), 1);
+        this.failures = new boolean[windowSize];
+        this.slows = new boolean[windowSize];
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public CircuitBreakerState getState() {
+        return state;
+    }
+
+    /**
+     * 请求发送前获取许可
+     * @return {@code true} 允许发送请求，{@code false} 熔断器打开，请求应直接失败
+     */
+    public synchronized boolean tryAcquire() {
+        long now = System.currentTimeMillis();
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (now - stateChangedAt < config.getOpenDuration()) {
+                    return false;
+                }
+                transitionTo(CircuitBreakerState.HALF_OPEN, now);
+                probesIssued = 1;
+                return true;
+            default:
+                // 探测请求长时间没有结果（如被拦截器中止）时重新放行探测请求，避免一直停留在半开状态
+                if (probesIssued >= config.getHalfOpenProbes()
+                        && now - stateChangedAt >= config.getOpenDuration()) {
+                    stateChangedAt = now;
+                    probesIssued = 0;
+                    probesSucceeded = 0;
+                }
+                if (probesIssued < config.getHalfOpenProbes()) {
+                    probesIssued++;
+                    return true;
+                }
+                return false;
+        }
+    }
+
+    /**
+     * 记录一次实际发出的请求的结果
+     * @param response Forest响应对象，网络错误时可能为 null
+     * @param error 网络异常，请求成功返回响应时为 null
+     * @param durationNanos 请求耗时（纳秒）
+     */
+    public void onResult(ForestResponse response, Throwable error, long durationNanos) {
+        boolean failure = error != null || response == null || response.getStatusCode() >= 500;
+        onResult(failure, durationNanos / 1000000L);
+    }
+
+    /**
+     * 记录一次实际发出的请求的结果
+     * @param failure 是否失败
+     * @param durationMillis 请求耗时（毫秒）
+     */
+    public synchronized void onResult(boolean failure, long durationMillis) {
+        long slowCallDuration = config.getSlowCallDuration();
+        boolean slow = slowCallDuration > 0 && durationMillis >= slowCallDuration;
+        long now = System.currentTimeMillis();
+        switch (state) {
+            case CLOSED:
+                record(failure, slow);
+                if (size >= Math.max(config.getMinimumCalls(), 1)
+                        && (failureCount * 100 >= config.getFailureRateThreshold() * size
+                        || (slowCallDuration > 0 && slowCount * 100 >= config.getSlowCallRateThreshold() * size))) {
+                    transitionTo(CircuitBreakerState.OPEN, now);
+                }
+                break;
+            case HALF_OPEN:
+                if (failure || slow) {
+                    transitionTo(CircuitBreakerState.OPEN, now);
+                } else if (++probesSucceeded >= config.getHalfOpenProbes()) {
+                    transitionTo(CircuitBreakerState.CLOSED, now);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * 已获得许可的请求被取消，没有结果可记录时释放其占用的探测名额
+     */
+    public synchronized void release() {
+        if (state == CircuitBreakerState.HALF_OPEN && probesIssued > 0) {
+            probesIssued--;
+        }
+    }
+
+    private void record(boolean failure, boolean slow) {
+        if (size == failures.length) {
+            if (failures[index]) {
+                failureCount--;
+            }
+            if (slows[index]) {
+                slowCount--;
+            }
+        } else {
+            size++;
+        }
+        failures[index] = failure;
+        slows[index] = slow;
+        if (failure) {
+            failureCount++;
+        }
+        if (slow) {
+            slowCount++;
+        }
+        index = (index + 1) % failures.length;
+    }
+
+    private void transitionTo(CircuitBreakerState newState, long now) {
+        CircuitBreakerState oldState = state;
+        state = newState;
+        stateChangedAt = now;
+        probesIssued = 0;
+        probesSucceeded = 0;
+        if (newState == CircuitBreakerState.CLOSED) {
+            index = 0;
+            size = 0;
+            failureCount = 0;
+            slowCount = 0;
+        }
+        configuration.getMetrics().recordCircuitBreakerStateChange(this, oldState, newState);
+    }
+
+    /**
+     * 获取当前窗口中的失败率（百分比），窗口为空时返回 0
+     * @return 失败率
+     */
+    public synchronized float getFailureRate() {
+        return size == 0 ? 0 : failureCount * 100f / size;
+    }
+
+    /**
+     * 获取当前窗口中的慢请求比例（百分比），窗口为空时返回 0
+     * @return 慢请求比例
+     */
+    public synchronized float getSlowCallRate() {
+        return size == 0 ? 0 : slowCount * 100f / size;
+    }
+}
@@ -0,0 +1,135 @@
+package com.dtflys.forest.circuitbreaker;
+
+/**
+ * 熔断器配置
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:54
+ */
+public class ForestCircuitBreakerConfig {
+
+    /**
+     * 是否启用熔断器，默认不启用
+     */
+    private boolean enabled = false;
+
+    /**
+     * 熔断器的划分方式，默认按主机划分
+     */
+    private CircuitBreakerKeyType keyType = CircuitBreakerKeyType.HOST;
+
+    /**
+     * 滑动窗口大小，即统计最近多少次请求的结果
+     */
+    private int windowSize = 100;
+
+    /**
+     * 窗口中至少有多少次请求后才开始计算失败率
+     */
+    private int minimumCalls = 20;
+
+    /**
+     * 失败率阈值（百分比），达到后打开熔断器
+     */
+    private int failureRateThreshold = 50;
+
+    /**
+     * 慢请求的耗时阈值（毫秒），为 0 时不统计慢请求
+     */
+    private long slowCallDuration = 0;
+
+    /**
+     * 慢请求比例阈值（百分比），达到后打开熔断器
+     */
+    private int slowCallRateThreshold = 100;
+
+    /**
+     * 熔断器打开后等待多久（毫秒）进入半开状态
+     */
+    private long openDuration = 30000;
+
+    /**
+     * 半开状态下放行的探测请求数量
+     */
+    private int halfOpenProbes = 5;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public ForestCircuitBreakerConfig setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        return this;
+    }
+
+    public CircuitBreakerKeyType getKeyType() {
+        return keyType;
+    }
+
+    public ForestCircuitBreakerConfig setKeyType(CircuitBreakerKeyType keyType) {
+        this.keyType = keyType;
+        return this;
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    public ForestCircuitBreakerConfig setWindowSize(int windowSize) {
+        this.windowSize = windowSize;
+        return this;
+    }
+
+    public int getMinimumCalls() {
+        return minimumCalls;
+    }
+
+    public ForestCircuitBreakerConfig setMinimumCalls(int minimumCalls) {
+        this.minimumCalls = minimumCalls;
+        return this;
+    }
+
+    public int getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    public ForestCircuitBreakerConfig setFailureRateThreshold(int failureRateThreshold) {
+        this.failureRateThreshold = failureRateThreshold;
+        return this;
+    }
+
+    public long getSlowCallDuration() {
+        return slowCallDuration;
+    }
+
+    public ForestCircuitBreakerConfig setSlowCallDuration(long slowCallDuration) {
+        this.slowCallDuration = slowCallDuration;
+        return this;
+    }
+
+    public int getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+
+    public ForestCircuitBreakerConfig setSlowCallRateThreshold(int slowCallRateThreshold) {
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        return this;
+    }
+
+    public long getOpenDuration() {
+        return openDuration;
+    }
+
+    public ForestCircuitBreakerConfig setOpenDuration(long openDuration) {
+        this.openDuration = openDuration;
+        return this;
+    }
+
+    public int getHalfOpenProbes() {
+        return halfOpenProbes;
+    }
+
+    public ForestCircuitBreakerConfig setHalfOpenProbes(int halfOpenProbes) {
+        this.halfOpenProbes = halfOpenProbes;
+        return this;
+    }
+}
@@ -0,0 +1,82 @@
+package com.dtflys.forest.circuitbreaker;
+
+import com.dtflys.forest.http.ForestResponse;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 一次调用从熔断器获得的许可
+ * <p>重试时每次请求的结果都只暂存为最后一次的结果，调用结束（不再重试）时才记录到熔断器，
+ * 一次调用无论重试多少次都只计为一个结果；没有任何请求结果（被拦截器中止、被取消）时释放许可，
+ * 半开状态下不会一直占用探测名额</p>
+ * @author agent[agent@local]
+ * @since 2026-10-17 18:40
+ */
+public class ForestCircuitBreakerPermit {
+
+    private final ForestCircuitBreaker circuitBreaker;
+
+    private final AtomicBoolean finished = new AtomicBoolean(false);
+
+    private boolean attempted = false;
+
+    private ForestResponse response;
+
+    private Throwable error;
+
+    private long durationNanos;
+
+    public ForestCircuitBreakerPermit(ForestCircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    public ForestCircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * 暂存一次实际发出的请求的结果，覆盖之前重试的结果
+     * @param response Forest响应对象，网络错误时可能为 null
+     * @param error 网络异常，请求成功返回响应时为 null
+     * @param durationNanos 请求耗时（纳秒）
+     */
+    public synchronized void onAttempt(ForestResponse response, Throwable error, long durationNanos) {
+        this.attempted = true;
+        this.response = response;
+        this.error = error;
+        this.durationNanos = durationNanos;
+    }
+
+    /**
+     * 调用结束，将最后一次请求的结果记录到熔断器，没有请求结果时释放许可
+     * <p>只有第一次调用 {@link #finish()} 或 {@link #cancel()} 有效</p>
+     */
+    public void finish() {
+        if (!finished.compareAndSet(false, true)) {
+            return;
+        }
+        ForestResponse lastResponse;
+        Throwable lastError;
+        long lastDuration;
+        synchronized (this) {
+            if (!attempted) {
+                circuitBreaker.release();
+                return;
+            }
+            lastResponse = response;
+            lastError = error;
+            lastDuration = durationNanos;
+        }
+        circuitBreaker.onResult(lastResponse, lastError, lastDuration);
+    }
+
+    /**
+     * 调用被取消，取消不计入熔断器的结果，只释放许可
+     * <p>只有第一次调用 {@link #finish()} 或 {@link #cancel()} 有效</p>
+     */
+    public void cancel() {
+        if (finished.compareAndSet(false, true)) {
+            circuitBreaker.release();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.dtflys.forest.circuitbreaker;
+
+import com.dtflys.forest.config.ForestConfiguration;
+import com.dtflys.forest.http.ForestRequest;
+import com.dtflys.forest.reflection.ForestMethod;
+import com.dtflys.forest.utils.URLUtils;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 熔断器注册表，每个全局配置一个，按主机或接口方法创建和缓存熔断器
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:54
+ */
+public class ForestCircuitBreakerRegistry {
+
+    private final ForestConfiguration configuration;
+
+    private final Map<String, ForestCircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    public ForestCircuitBreakerRegistry(ForestConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    /**
+     * 获取请求对应的熔断器
+     * @param request Forest请求对象
+     * @return 熔断器，未启用熔断器或无法确定熔断器名称时返回 null
+     */
+    public ForestCircuitBreaker getCircuitBreaker(ForestRequest request) {
+        ForestCircuitBreakerConfig config = configuration.getCircuitBreakerConfig();
+        if (config == null || !config.isEnabled()) {
+            return null;
+        }
+        String name = getName(config.getKeyType(), request);
+        if (name == null) {
+            return null;
+        }
+        ForestCircuitBreaker circuitBreaker = circuitBreakers.get(name);
+        if (circuitBreaker == null) {
+            circuitBreaker = new ForestCircuitBreaker(name, configuration, config);
+            ForestCircuitBreaker existing = circuitBreakers.putIfAbsent(name, circuitBreaker);
+            if (existing != null) {
+                circuitBreaker = existing;
+            }
+        }
+        return circuitBreaker;
+    }
+
+    private String getName(CircuitBreakerKeyType keyType, ForestRequest request) {
+        ForestMethod method = request.getMethod();
+        if (keyType == CircuitBreakerKeyType.METHOD && method != null) {
+            return getMethodKey(method.getMethod());
+        }
+        return URLUtils.getHostKey(request.getUrl());
+    }
+
+    /**
+     * 按方法划分时的熔断器名称，包含参数类型，重载的方法各自使用不同的熔断器
+     * @param method 接口方法
+     * @return 接口类名#方法名(参数类型,...)
+     */
+    public static String getMethodKey(Method method) {
+        StringBuilder builder = new StringBuilder()
+                .append(method.getDeclaringClass().getName())
+                .append('#')
+                .append(method.getName())
+                .append('(');
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(parameterTypes[i].getTypeName());
+        }
+        return builder.append(')').toString();
+    }
+
+    /**
+     * 根据名称获取已创建的熔断器
+     * @param name 熔断器名称，按主机划分时为 协议://主机名:端口，按方法划分时为 接口类名#方法名(参数类型,...)
+     * @return 熔断器，不存在时返回 null
+     */
+    public ForestCircuitBreaker getCircuitBreaker(String name) {
+        return circuitBreakers.get(name);
+    }
+
+    public Collection<ForestCircuitBreaker> getCircuitBreakers() {
+        return Collections.unmodifiableCollection(circuitBreakers.values());
+    }
+}
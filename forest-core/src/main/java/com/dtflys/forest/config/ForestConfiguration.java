@@ -25,6 +25,21 @@
 package com.dtflys.forest.config;
 
 
+import com.dtflys.forest.bulkhead.ForestBulkheadRegistry;
+import com.dtflys.forest.cache.ForestCacheRefreshExecutor;
+import com.dtflys.forest.cache.ForestResponseCache;
+import com.dtflys.forest.cache.ForestResponseCacheConfig;
+import com.dtflys.forest.circuitbreaker.ForestCircuitBreakerConfig;
+import com.dtflys.forest.circuitbreaker.ForestCircuitBreakerRegistry;
+import com.dtflys.forest.hedging.ForestHedgingRegistry;
+import com.dtflys.forest.limiter.ForestAdaptiveLimitConfig;
+import com.dtflys.forest.limiter.ForestAdaptiveLimiterRegistry;
+import com.dtflys.forest.logging.ForestLogger;
+import com.dtflys.forest.metrics.ForestMetrics;
+import com.dtflys.forest.metrics.NoneForestMetrics;
+import com.dtflys.forest.download.ForestDownloadExecutor;
+import com.dtflys.forest.retryer.ForestRetryScheduler;
+import com.dtflys.forest.retryer.RetryBudget;
 import com.dtflys.forest.converter.auto.DefaultAutoConverter;
 import com.dtflys.forest.converter.binary.DefaultBinaryConverter;
 import com.dtflys.forest.converter.text.DefaultTextConverter;
@@ -33,10 +48,13 @@ import com.dtflys.forest.interceptor.InterceptorFactory;
 import com.dtflys.forest.proxy.ProxyFactory;
 import com.dtflys.forest.retryer.BackOffRetryer;
 import com.dtflys.forest.retryer.Retryer;
+import com.dtflys.forest.ssl.ForestSSLContextCache;
 import com.dtflys.forest.ssl.SSLKeyStore;
 import com.dtflys.forest.ssl.SSLUtils;
 import com.dtflys.forest.utils.ForestDataType;
 import com.dtflys.forest.utils.RequestNameValue;
+import com.dtflys.forest.utils.URLUtils;
+import com.dtflys.forest.backend.AbstractHttpBackend;
 import com.dtflys.forest.backend.HttpBackendSelector;
 import com.dtflys.forest.converter.ForestConverter;
 import com.dtflys.forest.converter.json.JSONConverterSelector;
@@ -44,6 +62,7 @@ import com.dtflys.forest.converter.json.ForestJsonConverter;
 import com.dtflys.forest.converter.xml.ForestJaxbConverter;
 import com.dtflys.forest.converter.xml.ForestXmlConverter;
 import com.dtflys.forest.exceptions.ForestRuntimeException;
+import com.dtflys.forest.http.ForestRequest;
 import com.dtflys.forest.backend.HttpBackend;
 import com.dtflys.forest.filter.Filter;
 import com.dtflys.forest.filter.JSONFilter;
@@ -53,6 +72,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * global configuration
@@ -114,11 +134,95 @@ public class ForestConfiguration implements Serializable {
      */
     private String sslProtocol = SSLUtils.TLSv1_2;
 
+    /**
+     * SSL客户端会话缓存的最大会话数，为 null 时使用JDK的默认值
+     */
+    private Integer sslSessionCacheSize;
+
+    /**
+     * SSL客户端会话的超时时间（秒），为 null 时使用JDK的默认值
+     */
+    private Integer sslSessionTimeout;
+
+    private final ForestSSLContextCache sslContextCache = new ForestSSLContextCache(this);
+
     /**
      * Enable log forest request info
      */
     private boolean logEnabled = true;
 
+    /**
+     * 请求日志输出器
+     */
+    private final ForestLogger logger = new ForestLogger();
+
+    /**
+     * 异步请求的重试调度器
+     */
+    private final ForestRetryScheduler retryScheduler = new ForestRetryScheduler();
+
+    /**
+     * 分段下载的最大线程数，所有分段下载共用
+     */
+    private int maxDownloadThreads = 64;
+
+    /**
+     * 分段下载的线程池
+     */
+    private final ForestDownloadExecutor downloadExecutor = new ForestDownloadExecutor(this);
+
+    /**
+     * 调用结果缓存的后台刷新线程池
+     */
+    private final ForestCacheRefreshExecutor cacheRefreshExecutor = new ForestCacheRefreshExecutor();
+
+    /**
+     * 重试预算中每个请求存入的令牌数
+     */
+    private double retryBudgetRatio = 0.1;
+
+    /**
+     * 重试预算的令牌桶容量
+     */
+    private int retryBudgetMaxTokens = 10;
+
+    /**
+     * 是否按主机分别计算重试预算
+     */
+    private boolean retryBudgetPerHost = false;
+
+    private final Map<String, RetryBudget> retryBudgets = new ConcurrentHashMap<>();
+
+    /**
+     * 熔断器配置
+     */
+    private ForestCircuitBreakerConfig circuitBreakerConfig = new ForestCircuitBreakerConfig();
+
+    private final ForestCircuitBreakerRegistry circuitBreakerRegistry = new ForestCircuitBreakerRegistry(this);
+
+    private final ForestBulkheadRegistry bulkheadRegistry = new ForestBulkheadRegistry();
+
+    private final ForestHedgingRegistry hedgingRegistry = new ForestHedgingRegistry();
+
+    /**
+     * 按主机的自适应并发限流配置
+     */
+    private ForestAdaptiveLimitConfig adaptiveLimitConfig = new ForestAdaptiveLimitConfig();
+
+    private final ForestAdaptiveLimiterRegistry adaptiveLimiterRegistry = new ForestAdaptiveLimiterRegistry(this);
+
+    /**
+     * HTTP响应缓存的存储配置
+     */
+    private ForestResponseCacheConfig responseCacheConfig = new ForestResponseCacheConfig();
+
+    private volatile ForestResponseCache responseCache;
+
+    /**
+     * 是否为流式写出的JSON请求体计算 Content-Length，为 false 时使用分块传输编码
+     */
+    private boolean jsonBodyContentLength = false;
+
     /**
      * Enable cache of request interface instance
      */
@@ -148,6 +252,11 @@ public class ForestConfiguration implements Serializable {
 
     private Map<String, SSLKeyStore> sslKeyStores = new HashMap<>();
 
+    /**
+     * 请求指标收集器
+     */
+    private ForestMetrics metrics = NoneForestMetrics.INSTANCE;
+
     private ForestConfiguration() {
     }
 
@@ -192,7 +301,17 @@ public class ForestConfiguration implements Serializable {
         return this;
     }
 
+    /**
+     * 设置HTTP后端
+     * <p>已经被其它全局配置使用的后端不会被共享，而是换成同类型的新后端，
+     * 连接池按当前配置的设置创建，关闭当前配置时也只会关闭自己的后端</p>
+     * @param backend HTTP后端
+     * @return 当前配置
+     */
     public ForestConfiguration setBackend(HttpBackend backend) {
+        if (backend instanceof AbstractHttpBackend) {
+            backend = ((AbstractHttpBackend) backend).forConfiguration(this);
+        }
         if (backend != null) {
             backend.init(this);
             log.info("[Forest] Http Backend: " + backend.getName());
@@ -223,6 +342,40 @@ public class ForestConfiguration implements Serializable {
         return backend;
     }
 
+    /**
+     * 关闭配置，释放HTTP后端的连接池和后台线程
+     */
+    public void close() {
+        synchronized (this) {
+            if (backend != null) {
+                backend.close();
+            }
+            logger.close();
+            retryScheduler.close();
+            downloadExecutor.close();
+            cacheRefreshExecutor.close();
+            sslContextCache.clear();
+        }
+    }
+
+    public ForestMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * 设置请求指标收集器，为 null 时不收集指标
+     * @param metrics 指标收集器
+     * @return 当前配置
+     */
+    public ForestConfiguration setMetrics(ForestMetrics metrics) {
+        if (metrics == null) {
+            metrics = NoneForestMetrics.INSTANCE;
+        }
+        metrics.bind(this);
+        this.metrics = metrics;
+        return this;
+    }
+
     public InterceptorFactory getInterceptorFactory() {
         if (interceptorFactory == null) {
             synchronized (this) {
@@ -334,6 +487,48 @@ public class ForestConfiguration implements Serializable {
         this.sslProtocol = sslProtocol;
     }
 
+    public boolean isJsonBodyContentLength() {
+        return jsonBodyContentLength;
+    }
+
+    /**
+     * 设置是否为JSON请求体计算 Content-Length
+     * <p>JSON请求体默认使用分块传输编码，发送时直接序列化到连接中。服务端不支持分块传输编码时可以开启，
+     * 开启后请求体先序列化到有大小上限的缓冲区中再发送，超过上限时仍然使用分块传输编码</p>
+     * @param jsonBodyContentLength 是否计算 Content-Length
+     */
+    public void setJsonBodyContentLength(boolean jsonBodyContentLength) {
+        this.jsonBodyContentLength = jsonBodyContentLength;
+    }
+
+    public Integer getSslSessionCacheSize() {
+        return sslSessionCacheSize;
+    }
+
+    /**
+     * 设置SSL客户端会话缓存的最大会话数，修改后在下一次发送HTTPS请求时生效
+     * @param sslSessionCacheSize 最大会话数，0 表示不限制
+     */
+    public void setSslSessionCacheSize(Integer sslSessionCacheSize) {
+        this.sslSessionCacheSize = sslSessionCacheSize;
+    }
+
+    public Integer getSslSessionTimeout() {
+        return sslSessionTimeout;
+    }
+
+    /**
+     * 设置SSL客户端会话的超时时间，修改后在下一次发送HTTPS请求时生效
+     * @param sslSessionTimeout 超时时间（秒），0 表示不超时
+     */
+    public void setSslSessionTimeout(Integer sslSessionTimeout) {
+        this.sslSessionTimeout = sslSessionTimeout;
+    }
+
+    public ForestSSLContextCache getSslContextCache() {
+        return sslContextCache;
+    }
+
     public boolean isLogEnabled() {
         return logEnabled;
     }
@@ -342,6 +537,185 @@ public class ForestConfiguration implements Serializable {
         this.logEnabled = logEnabled;
     }
 
+    public ForestLogger getLogger() {
+        return logger;
+    }
+
+    public ForestRetryScheduler getRetryScheduler() {
+        return retryScheduler;
+    }
+
+    public int getMaxDownloadThreads() {
+        return maxDownloadThreads;
+    }
+
+    /**
+     * 设置分段下载的最大线程数，需要在第一次分段下载之前设置
+     * @param maxDownloadThreads 最大线程数
+     */
+    public void setMaxDownloadThreads(int maxDownloadThreads) {
+        this.maxDownloadThreads = maxDownloadThreads;
+    }
+
+    public ForestDownloadExecutor getDownloadExecutor() {
+        return downloadExecutor;
+    }
+
+    public ForestCacheRefreshExecutor getCacheRefreshExecutor() {
+        return cacheRefreshExecutor;
+    }
+
+    public double getRetryBudgetRatio() {
+        return retryBudgetRatio;
+    }
+
+    /**
+     * 设置重试预算中每个请求存入的令牌数，如 0.1 表示重试最多增加 10% 的请求量
+     * <p>只对之后新创建的重试预算生效</p>
+     * @param retryBudgetRatio 令牌数
+     */
+    public void setRetryBudgetRatio(double retryBudgetRatio) {
+        this.retryBudgetRatio = retryBudgetRatio;
+    }
+
+    public int getRetryBudgetMaxTokens() {
+        return retryBudgetMaxTokens;
+    }
+
+    /**
+     * 设置重试预算的令牌桶容量，即允许的突发重试次数
+     * <p>只对之后新创建的重试预算生效</p>
+     * @param retryBudgetMaxTokens 令牌桶容量
+     */
+    public void setRetryBudgetMaxTokens(int retryBudgetMaxTokens) {
+        this.retryBudgetMaxTokens = retryBudgetMaxTokens;
+    }
+
+    public boolean isRetryBudgetPerHost() {
+        return retryBudgetPerHost;
+    }
+
+    public void setRetryBudgetPerHost(boolean retryBudgetPerHost) {
+        this.retryBudgetPerHost = retryBudgetPerHost;
+    }
+
+    public ForestCircuitBreakerConfig getCircuitBreakerConfig() {
+        return circuitBreakerConfig;
+    }
+
+    /**
+     * 设置熔断器配置，为 null 时不启用熔断器
+     * <p>已创建的熔断器沿用原有的配置对象</p>
+     * @param circuitBreakerConfig 熔断器配置
+     */
+    public void setCircuitBreakerConfig(ForestCircuitBreakerConfig circuitBreakerConfig) {
+        this.circuitBreakerConfig = circuitBreakerConfig;
+    }
+
+    public ForestCircuitBreakerRegistry getCircuitBreakerRegistry() {
+        return circuitBreakerRegistry;
+    }
+
+    public ForestBulkheadRegistry getBulkheadRegistry() {
+        return bulkheadRegistry;
+    }
+
+    public ForestHedgingRegistry getHedgingRegistry() {
+        return hedgingRegistry;
+    }
+
+    public ForestAdaptiveLimitConfig getAdaptiveLimitConfig() {
+        return adaptiveLimitConfig;
+    }
+
+    /**
+     * 设置按主机的自适应并发限流配置，为 null 时不启用
+     * <p>已创建的限流器沿用原有的配置</p>
+     * @param adaptiveLimitConfig 自适应并发限流配置
+     */
+    public void setAdaptiveLimitConfig(ForestAdaptiveLimitConfig adaptiveLimitConfig) {
+        this.adaptiveLimitConfig = adaptiveLimitConfig;
+    }
+
+    public ForestAdaptiveLimiterRegistry getAdaptiveLimiterRegistry() {
+        return adaptiveLimiterRegistry;
+    }
+
+    public ForestResponseCacheConfig getResponseCacheConfig() {
+        return responseCacheConfig;
+    }
+
+    /**
+     * 设置HTTP响应缓存的存储配置，需要在响应缓存创建（第一次创建带有缓存注解的接口实例）之前设置
+     * @param responseCacheConfig 响应缓存的存储配置
+     */
+    public void setResponseCacheConfig(ForestResponseCacheConfig responseCacheConfig) {
+        this.responseCacheConfig = responseCacheConfig;
+    }
+
+    /**
+     * 获取HTTP响应缓存，第一次调用时按存储配置创建
+     * @return 响应缓存
+     */
+    public ForestResponseCache getResponseCache() {
+        if (responseCache == null) {
+            synchronized (this) {
+                if (responseCache == null) {
+                    responseCache = new ForestResponseCache(this, responseCacheConfig);
+                }
+            }
+        }
+        return responseCache;
+    }
+
+    /**
+     * 获取请求对应的重试预算，默认整个全局配置共用一个，开启 retryBudgetPerHost 后每个主机一个
+     * @param request Forest请求对象
+     * @return 重试预算
+     */
+    public RetryBudget getRetryBudget(ForestRequest request) {
+        String key = "";
+        if (retryBudgetPerHost) {
+            String hostKey = URLUtils.getHostKey(request.getUrl());
+            if (hostKey != null) {
+                key = hostKey;
+            }
+        }
+        RetryBudget budget = retryBudgets.get(key);
+        if (budget == null) {
+            budget = new RetryBudget(retryBudgetRatio, retryBudgetMaxTokens);
+            RetryBudget existing = retryBudgets.putIfAbsent(key, budget);
+            if (existing != null) {
+                budget = existing;
+            }
+        }
+        return budget;
+    }
+
+    public int getLogBodyMaxBytes() {
+        return logger.getBodyMaxBytes();
+    }
+
+    /**
+     * 设置请求体日志最多输出的字节数，超出部分只记录总字节数
+     * @param logBodyMaxBytes 最大字节数
+     */
+    public void setLogBodyMaxBytes(int logBodyMaxBytes) {
+        logger.setBodyMaxBytes(logBodyMaxBytes);
+    }
+
+    public boolean isLogAsync() {
+        return logger.isAsync();
+    }
+
+    /**
+     * 设置是否在单独的日志线程中输出请求日志
+     * @param logAsync {@code true} 异步输出
+     */
+    public void setLogAsync(boolean logAsync) {
+        logger.setAsync(logAsync);
+    }
+
     public boolean isCacheEnabled() {
         return cacheEnabled;
     }
@@ -2,6 +2,7 @@ package com.dtflys.forest.converter.json;
 
 import com.alibaba.fastjson.JSON;
 import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.JSONReader;
 import com.alibaba.fastjson.TypeReference;
 import com.alibaba.fastjson.parser.ParserConfig;
 import com.alibaba.fastjson.serializer.SerializeConfig;
@@ -10,10 +11,16 @@ import com.alibaba.fastjson.util.FieldInfo;
 import com.alibaba.fastjson.util.TypeUtils;
 import com.dtflys.forest.exceptions.ForestRuntimeException;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.nio.charset.Charset;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -95,6 +102,16 @@ public class ForestFastjsonConverter implements ForestJsonConverter {
 
     }
 
+    @Override
+    public <T> T convertToJavaObject(Reader source, Type targetType) {
+        try {
+            JSONReader reader = new JSONReader(source);
+            return reader.readObject(targetType);
+        } catch (Throwable th) {
+            throw new ForestRuntimeException(th);
+        }
+    }
+
     public <T> T convertToJavaObject(String source, TypeReference<T> typeReference) {
         try {
             return JSON.parseObject(source, typeReference);
@@ -117,6 +134,24 @@ public class ForestFastjsonConverter implements ForestJsonConverter {
         }
     }
 
+    @Override
+    public void encodeToStream(Object obj, OutputStream out, Charset charset) throws IOException {
+        Writer writer = new OutputStreamWriter(out, charset);
+        try {
+            if (serializerFeature == null) {
+                JSON.writeJSONStringTo(obj, writer);
+            } else {
+                JSON.writeJSONStringTo(obj, writer, serializerFeature);
+            }
+        } catch (Throwable th) {
+            if (th.getCause() instanceof IOException) {
+                throw (IOException) th.getCause();
+            }
+            throw new ForestRuntimeException(th);
+        }
+        writer.flush();
+    }
+
     @Override
     public Map<String, Object> convertObjectToMap(Object obj) {
         if (nameField == null && nameMethod == null) {
@@ -3,9 +3,15 @@ package com.dtflys.forest.converter.json;
 import com.dtflys.forest.exceptions.ForestRuntimeException;
 import com.google.gson.*;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
+import java.nio.charset.Charset;
 import java.util.*;
 
 /**
@@ -48,6 +54,28 @@ public class ForestGsonConverter implements ForestJsonConverter {
     }
 
 
+    @Override
+    public <T> T convertToJavaObject(Reader source, Type targetType) {
+        try {
+            if (targetType instanceof Class) {
+                Class targetClass = (Class) targetType;
+                if (Map.class.isAssignableFrom(targetClass)) {
+                    JsonParser jsonParser = new JsonParser();
+                    return (T) toMap(jsonParser.parse(source).getAsJsonObject());
+                }
+                if (List.class.isAssignableFrom(targetClass)) {
+                    JsonParser jsonParser = new JsonParser();
+                    return (T) toList(jsonParser.parse(source).getAsJsonArray());
+                }
+            }
+            Gson gson = new Gson();
+            return gson.fromJson(source, targetType);
+        } catch (Throwable th) {
+            throw new ForestRuntimeException(th);
+        }
+    }
+
+
     private static Map<String, Object> toMap(JsonObject json){
         Map<String, Object> map = new HashMap<String, Object>();
         Set<Map.Entry<String, JsonElement>> entrySet = json.entrySet();
@@ -135,6 +163,23 @@ public class ForestGsonConverter implements ForestJsonConverter {
         return gson.toJson(obj);
     }
 
+    @Override
+    public void encodeToStream(Object obj, OutputStream out, Charset charset) throws IOException {
+        Writer writer = new OutputStreamWriter(out, charset);
+        try {
+            Gson gson = new Gson();
+            gson.toJson(obj, writer);
+        } catch (JsonIOException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new ForestRuntimeException(e);
+        } catch (Throwable th) {
+            throw new ForestRuntimeException(th);
+        }
+        writer.flush();
+    }
+
     @Override
     public Map<String, Object> convertObjectToMap(Object obj) {
         Gson gson = new Gson();
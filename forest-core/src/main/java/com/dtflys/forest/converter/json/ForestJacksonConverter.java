@@ -1,12 +1,20 @@
 package com.dtflys.forest.converter.json;
 
 import com.dtflys.forest.exceptions.ForestRuntimeException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
 import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -41,6 +49,15 @@ public class ForestJacksonConverter implements ForestJsonConverter {
 
     }
 
+    @Override
+    public <T> T convertToJavaObject(Reader source, Type targetType) {
+        try {
+            return mapper.readValue(source, mapper.getTypeFactory().constructType(targetType));
+        } catch (IOException e) {
+            throw new ForestRuntimeException(e);
+        }
+    }
+
     public <T> T convertToJavaObject(String source, Class<?> parametrized, Class<?> ...parameterClasses) {
         try {
             JavaType javaType = mapper.getTypeFactory().constructParametricType(parametrized, parameterClasses);
@@ -69,6 +86,26 @@ public class ForestJacksonConverter implements ForestJsonConverter {
         }
     }
 
+    @Override
+    public void encodeToStream(Object obj, OutputStream out, Charset charset) throws IOException {
+        try {
+            if (StandardCharsets.UTF_8.equals(charset)) {
+                // UTF-8 由Jackson直接编码为字节
+                mapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValue(out, obj);
+                return;
+            }
+            Writer writer = new OutputStreamWriter(out, charset);
+            mapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValue(writer, obj);
+            writer.flush();
+        } catch (JsonProcessingException e) {
+            throw new ForestRuntimeException(e);
+        } catch (IOException e) {
+            throw e;
+        } catch (Throwable th) {
+            throw new ForestRuntimeException(th);
+        }
+    }
+
     @Override
     public Map<String, Object> convertObjectToMap(Object obj) {
         return mapper.convertValue(obj, LinkedHashMap.class);
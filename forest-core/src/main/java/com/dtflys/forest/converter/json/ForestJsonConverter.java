@@ -2,7 +2,14 @@ package com.dtflys.forest.converter.json;
 
 import com.dtflys.forest.converter.ForestConverter;
 import com.dtflys.forest.converter.ForestEncoder;
+import com.dtflys.forest.exceptions.ForestRuntimeException;
+import org.apache.commons.io.IOUtils;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
 import java.util.Map;
 
 /**
@@ -13,4 +20,31 @@ import java.util.Map;
 public interface ForestJsonConverter extends ForestConverter<String>, ForestEncoder {
 
     Map<String, Object> convertObjectToMap(Object obj);
+
+    /**
+     * 从字符流中直接反序列化，不生成完整的中间字符串
+     * <p>默认实现先将字符流读取为字符串，各Json实现类会覆盖为流式解析</p>
+     * @param source 字符流，由调用方负责关闭
+     * @param targetType 目标类型
+     * @return 反序列化后的对象
+     */
+    default <T> T convertToJavaObject(Reader source, Type targetType) {
+        try {
+            return convertToJavaObject(IOUtils.toString(source), targetType);
+        } catch (IOException e) {
+            throw new ForestRuntimeException(e);
+        }
+    }
+
+    /**
+     * 将对象序列化后直接写入字节流，不生成完整的中间字符串
+     * <p>默认实现先序列化为字符串，各Json实现类会覆盖为流式写出</p>
+     * @param obj 要序列化的对象
+     * @param out 字节流，由调用方负责关闭
+     * @param charset 字符集
+     * @throws IOException 写入字节流失败
+     */
+    default void encodeToStream(Object obj, OutputStream out, Charset charset) throws IOException {
+        out.write(encodeToString(obj).getBytes(charset));
+    }
 }
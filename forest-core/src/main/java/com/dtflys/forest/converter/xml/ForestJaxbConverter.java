@@ -1,12 +1,14 @@
 package com.dtflys.forest.converter.xml;
 
 import com.dtflys.forest.exceptions.ForestRuntimeException;
+import com.dtflys.forest.utils.ReflectUtils;
 import com.dtflys.forest.utils.StringUtils;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
 import javax.xml.bind.Unmarshaller;
+import java.io.Reader;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.lang.reflect.Type;
@@ -51,6 +53,17 @@ public class ForestJaxbConverter implements ForestXmlConverter {
     }
 
 
+    @Override
+    public <T> T convertToJavaObject(Reader source, Type targetType) {
+        try {
+            JAXBContext jaxbContext = JAXBContext.newInstance(ReflectUtils.getClassByType(targetType));
+            return (T) createUnmarshaller(jaxbContext).unmarshal(source);
+        } catch (JAXBException e) {
+            throw new ForestRuntimeException(e);
+        }
+    }
+
+
     public Marshaller createMarshaller(JAXBContext jaxbContext, String encoding) {
         try {
             Marshaller marshaller = jaxbContext.createMarshaller();
@@ -2,6 +2,12 @@ package com.dtflys.forest.converter.xml;
 
 import com.dtflys.forest.converter.ForestConverter;
 import com.dtflys.forest.converter.ForestEncoder;
+import com.dtflys.forest.exceptions.ForestRuntimeException;
+import org.apache.commons.io.IOUtils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Type;
 
 /**
  * Xml消息转化接口
@@ -10,5 +16,19 @@ import com.dtflys.forest.converter.ForestEncoder;
  */
 public interface ForestXmlConverter extends ForestConverter<String>, ForestEncoder {
 
+    /**
+     * 从字符流中直接反序列化，不生成完整的中间字符串
+     * <p>默认实现先将字符流读取为字符串，各Xml实现类会覆盖为流式解析</p>
+     * @param source 字符流，由调用方负责关闭
+     * @param targetType 目标类型
+     * @return 反序列化后的对象
+     */
+    default <T> T convertToJavaObject(Reader source, Type targetType) {
+        try {
+            return convertToJavaObject(IOUtils.toString(source), targetType);
+        } catch (IOException e) {
+            throw new ForestRuntimeException(e);
+        }
+    }
 
 }
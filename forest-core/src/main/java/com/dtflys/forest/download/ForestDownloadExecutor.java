@@ -0,0 +1,73 @@
+package com.dtflys.forest.download;
+
+import com.dtflys.forest.config.ForestConfiguration;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 分段下载的线程池
+ * <p>每个全局配置共用一个线程池，线程数不超过 {@link ForestConfiguration#getMaxDownloadThreads()}，
+ * 线程全部被占用时不再排队，由发起下载的线程自己下载剩余的段</p>
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:49
+ */
+public class ForestDownloadExecutor {
+
+    private final static AtomicInteger THREAD_COUNT = new AtomicInteger(0);
+
+    private final ForestConfiguration configuration;
+
+    private volatile ThreadPoolExecutor executor;
+
+    public ForestDownloadExecutor(ForestConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    /**
+     * 提交下载任务
+     * @param task 下载任务
+     * @return 任务的Future
+     * @throws RejectedExecutionException 线程已全部被占用，或线程池已经关闭
+     */
+    public <T> Future<T> submit(Callable<T> task) {
+        return getExecutor().submit(task);
+    }
+
+    private ThreadPoolExecutor getExecutor() {
+        if (executor == null) {
+            synchronized (this) {
+                if (executor == null) {
+                    executor = new ThreadPoolExecutor(0, configuration.getMaxDownloadThreads(), 60, TimeUnit.SECONDS,
+                            new SynchronousQueue<Runnable>(), new ThreadFactory() {
+                        @Override
+                        public Thread newThread(Runnable runnable) {
+                            Thread thread = new Thread(runnable, "forest-download-" + THREAD_COUNT.incrementAndGet());
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                    });
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * 关闭线程池，正在下载的段会被中断
+     */
+    public void close() {
+        synchronized (this) {
+            if (executor != null) {
+                executor.shutdownNow();
+                executor = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,532 @@
+package com.dtflys.forest.download;
+
+import com.dtflys.forest.callback.OnProgress;
+import com.dtflys.forest.exceptions.ForestRuntimeException;
+import com.dtflys.forest.http.ForestRequest;
+import com.dtflys.forest.http.ForestResponse;
+import com.dtflys.forest.http.HttpStatus;
+import com.dtflys.forest.reflection.NoneLifeCycleHandler;
+import com.dtflys.forest.retryer.NoneRetryer;
+import com.dtflys.forest.utils.ForestProgress;
+import com.dtflys.forest.utils.StringUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 分段并发下载文件
+ * <p>第一个请求只请求文件开头的一段（Range: bytes=0-...），服务端返回 206 时根据 Content-Range 得到文件的总大小，
+ * 剩余部分按段通过多个 Range 请求并发下载，第一段由当前线程继续从第一个请求的响应中读取，读完后和其它线程一起下载剩余的段。
+ * 文件预先分配好大小，每一段都通过 {@link FileChannel#write(ByteBuffer, long)} 写入各自的位置，
+ * 某一段失败时从该段已写入的位置开始重试，所有段的下载进度汇总为一个 {@link ForestProgress}。
+ * 其余段的请求通过 If-Range 请求头带上第一个响应的 ETag（或 Last-Modified），
+ * 文件在下载过程中发生变化时（服务端返回 200 或 Content-Range 中的总大小不同）整个下载失败，不会拼接出损坏的文件</p>
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:26
+ */
+public class ForestRangeDownloader {
+
+    private final static Pattern CONTENT_RANGE_PATTERN = Pattern.compile("^bytes\\s+(\\d+)-(\\d+)/(\\d+|\\*)$");
+
+    /**
+     * 每次读取和写入的字节数
+     */
+    private final static int BUFFER_SIZE = 64 * 1024;
+
+    private final ForestRequest<?> request;
+
+    private final File file;
+
+    private final int threads;
+
+    private final long chunkSize;
+
+    private final int chunkRetryCount;
+
+    private final OnProgress onProgress;
+
+    private final long progressStep;
+
+    private ForestProgress progress;
+
+    /**
+     * 文件的总字节数
+     */
+    private long total;
+
+    /**
+     * 第一个响应中文件版本的标识（ETag 或 Last-Modified），作为其余段请求的 If-Range 请求头，没有时为 null
+     */
+    private String validator;
+
+    private long writtenBytes;
+
+    private long currentStep;
+
+    /**
+     * 某一段最终失败后，其它段不再继续下载
+     */
+    private volatile boolean cancelled;
+
+    /**
+     * 某一段发现文件已经变化时的异常，无论先后都优先于其它段的网络异常抛出
+     */
+    private volatile ForestRuntimeException changedError;
+
+    /**
+     * @param request 第一个请求，其它段的请求复制它的URL、请求头等信息
+     * @param file 保存的文件
+     * @param threads 并发数（包括当前线程）
+     * @param chunkSize 第一段的字节数，也是其它段的最小字节数
+     * @param chunkRetryCount 每一段的最大重试次数
+     * @param onProgress 汇总的下载进度回调，可以为 null
+     */
+    public ForestRangeDownloader(ForestRequest<?> request, File file, int threads, long chunkSize,
+                                 int chunkRetryCount, OnProgress onProgress) {
+        this.request = request;
+        this.file = file;
+        this.threads = threads;
+        this.chunkSize = chunkSize;
+        this.chunkRetryCount = chunkRetryCount;
+        this.onProgress = onProgress;
+        this.progressStep = request.getProgressStep();
+    }
+
+    /**
+     * 第一个请求的 Range 请求头
+     * @param chunkSize 第一段的字节数
+     * @return Range 请求头的值
+     */
+    public static String getFirstRange(long chunkSize) {
+        return "bytes=0-" + (chunkSize - 1);
+    }
+
+    /**
+     * 解析 Content-Range 响应头
+     * @param contentRange Content-Range 响应头的值
+     * @return 依次为开始位置、结束位置（包含）、总字节数，总字节数未知时为 -1，格式错误时返回 null
+     */
+    public static long[] parseContentRange(String contentRange) {
+        if (StringUtils.isBlank(contentRange)) {
+            return null;
+        }
+        Matcher matcher = CONTENT_RANGE_PATTERN.matcher(contentRange.trim());
+        if (!matcher.matches()) {
+            return null;
+        }
+        String total = matcher.group(3);
+        return new long[] {
+                Long.parseLong(matcher.group(1)),
+                Long.parseLong(matcher.group(2)),
+                "*".equals(total) ? -1 : Long.parseLong(total)};
+    }
+
+    /**
+     * 下载文件，第一段的内容从第一个请求的响应中读取
+     * @param response 第一个请求的响应，状态码为 206
+     * @param in 第一个请求的响应内容，读取结束后关闭
+     * @throws IOException 写入文件失败，或某一段重试后仍然失败
+     */
+    public void download(ForestResponse response, InputStream in) throws IOException {
+        String contentRange = response.getHeaderValue("Content-Range");
+        long[] range = parseContentRange(contentRange);
+        if (range == null || range[0] != 0 || range[2] < 0) {
+            response.abort();
+            throw new ForestRuntimeException("[Forest] can not download file by ranges, Content-Range: " + contentRange);
+        }
+        total = range[2];
+        validator = getValidator(response);
+        progress = new ForestProgress(request, total);
+        progress.setBegin(true);
+        boolean completed = false;
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            randomAccessFile.setLength(total);
+            FileChannel channel = randomAccessFile.getChannel();
+            Queue<Part> parts = split(range[1] + 1, total);
+            List<Future<?>> futures = new ArrayList<>();
+            ForestDownloadExecutor executor = request.getConfiguration().getDownloadExecutor();
+            for (int i = Math.min(threads - 1, parts.size()); i > 0; i--) {
+                try {
+                    futures.add(executor.submit(new PartsTask(channel, parts)));
+                } catch (RejectedExecutionException e) {
+                    // 下载线程已全部被占用，剩余的段由当前线程下载
+                    break;
+                }
+            }
+            Throwable error = null;
+            try {
+                Part first = new Part(0, range[1]);
+                int retried = 0;
+                try {
+                    copy(channel, first, response, in);
+                } catch (IOException e) {
+                    if (chunkRetryCount <= 0) {
+                        throw e;
+                    }
+                    retried = 1;
+                }
+                if (!first.isFinished() && !cancelled) {
+                    downloadPart(channel, first, retried);
+                }
+                downloadParts(channel, parts);
+            } catch (Throwable th) {
+                cancelled = true;
+                error = th;
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    cancelled = true;
+                    if (error == null) {
+                        error = e;
+                    }
+                } catch (ExecutionException e) {
+                    if (error == null) {
+                        error = e.getCause();
+                    }
+                }
+            }
+            if (changedError != null) {
+                // 其它段在取消前后出现的网络异常（如连接被重置）不能掩盖文件已经变化的原因
+                error = changedError;
+            }
+            if (error instanceof IOException) {
+                throw (IOException) error;
+            }
+            if (error instanceof RuntimeException) {
+                throw (RuntimeException) error;
+            }
+            if (error != null) {
+                throw new ForestRuntimeException(error);
+            }
+            completed = true;
+        } finally {
+            if (!completed) {
+                // 预先分配了大小的文件看起来是完整的，下载失败时删除
+                file.delete();
+            }
+        }
+    }
+
+    /**
+     * 获取响应中文件版本的标识，If-Range 只能使用强 ETag，没有时使用 Last-Modified
+     */
+    private static String getValidator(ForestResponse response) {
+        String etag = response.getHeaderValue("ETag");
+        if (StringUtils.isNotBlank(etag) && !etag.startsWith("W/")) {
+            return etag;
+        }
+        String lastModified = response.getHeaderValue("Last-Modified");
+        return StringUtils.isNotBlank(lastModified) ? lastModified : null;
+    }
+
+    /**
+     * 把第一段之后的部分分为不超过并发数的段，每段不小于 chunkSize
+     */
+    private Queue<Part> split(long start, long total) {
+        Queue<Part> parts = new ConcurrentLinkedQueue<>();
+        long remaining = total - start;
+        if (remaining <= 0) {
+            return parts;
+        }
+        long partSize = Math.max(chunkSize, (remaining + threads - 1) / threads);
+        for (long position = start; position < total; position += partSize) {
+            parts.add(new Part(position, Math.min(position + partSize, total) - 1));
+        }
+        return parts;
+    }
+
+    private void downloadParts(FileChannel channel, Queue<Part> parts) throws IOException {
+        Part part;
+        while (!cancelled && (part = parts.poll()) != null) {
+            downloadPart(channel, part, 0);
+        }
+    }
+
+    /**
+     * 下载一段，失败时从已写入的位置开始重试
+     * <p>重试间隔与 {@link com.dtflys.forest.retryer.BackOffRetryer} 相同，不超过请求的最大重试间隔</p>
+     */
+    private void downloadPart(FileChannel channel, Part part, int retried) throws IOException {
+        for (int retryCount = retried; !cancelled; retryCount++) {
+            if (retryCount > 0) {
+                sleep(retryCount - 1);
+            }
+            try {
+                fetch(channel, part);
+                return;
+            } catch (RangeChangedException e) {
+                // 文件已经变化，重试也无法得到同一个版本的内容
+                ForestRuntimeException changed = new ForestRuntimeException(
+                        "[Forest] file \"" + file.getName() + "\" changed during download", e);
+                synchronized (this) {
+                    if (changedError == null) {
+                        changedError = changed;
+                    }
+                }
+                cancelled = true;
+                throw changed;
+            } catch (IOException | RuntimeException e) {
+                if (cancelled) {
+                    return;
+                }
+                if (retryCount >= chunkRetryCount) {
+                    throw new ForestRuntimeException("[Forest] failed to download bytes " + part.position + "-" + part.end
+                            + " of file \"" + file.getName() + "\", retry count: " + retryCount, e);
+                }
+            }
+        }
+    }
+
+    private void sleep(int retryCount) {
+        long interval = (long) Math.pow(2.0, retryCount) * 1000;
+        long maxRetryInterval = request.getMaxRetryInterval();
+        if (interval > maxRetryInterval) {
+            interval = maxRetryInterval;
+        }
+        if (interval <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(interval);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ForestRuntimeException(e);
+        }
+    }
+
+    private void fetch(FileChannel channel, Part part) throws IOException {
+        PartLifeCycleHandler handler = new PartLifeCycleHandler(channel, part);
+        ForestRequest partRequest = createPartRequest(part);
+        partRequest.execute(request.getConfiguration().getBackend(), handler);
+        if (handler.error != null) {
+            throw handler.error;
+        }
+        if (!part.isFinished() && !cancelled) {
+            throw new IOException("[Forest] response of range " + part.getRange() + " ended at byte " + part.position);
+        }
+    }
+
+    /**
+     * 复制第一个请求的URL、请求头等信息，不经过拦截器（第一个请求已经执行过拦截器）、舱壁和重试器
+     */
+    private ForestRequest createPartRequest(Part part) {
+        ForestRequest partRequest = new ForestRequest(request.getConfiguration(), request.getArguments());
+        partRequest.setUrl(request.getUrl())
+                .setType(request.getType())
+                .setCharset(request.getCharset())
+                .setTimeout(request.getTimeout())
+                .setKeyStore(request.getKeyStore())
+                .setLogEnable(request.isLogEnable())
+                .setMethod(request.getMethod());
+        for (Map.Entry<String, Object> entry : request.getQueryMap().entrySet()) {
+            partRequest.addQuery(entry.getKey(), entry.getValue());
+        }
+        partRequest.addData(request.getDataNameValueList());
+        partRequest.addHeaders(request.getHeaderNameValueList());
+        partRequest.addHeader("Range", part.getRange());
+        if (validator != null) {
+            partRequest.addHeader("If-Range", validator);
+        }
+        partRequest.setDownloadFile(true);
+        partRequest.setRetryer(new NoneRetryer(partRequest));
+        return partRequest;
+    }
+
+    /**
+     * 把响应内容写入文件中该段的位置，读完该段后关闭输入流；未读完（失败或已取消）时放弃响应，不再读取剩余的内容
+     */
+    private void copy(FileChannel channel, Part part, ForestResponse response, InputStream in) throws IOException {
+        try {
+            byte[] bytes = new byte[BUFFER_SIZE];
+            while (!part.isFinished() && !cancelled) {
+                int len = in.read(bytes, 0, (int) Math.min(bytes.length, part.end - part.position + 1));
+                if (len == -1) {
+                    return;
+                }
+                ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, len);
+                long position = part.position;
+                while (buffer.hasRemaining()) {
+                    position += channel.write(buffer, position);
+                }
+                part.position = position;
+                onWritten(len);
+            }
+        } finally {
+            if (part.isFinished()) {
+                in.close();
+            } else {
+                response.abort();
+            }
+        }
+    }
+
+    private synchronized void onWritten(long count) {
+        writtenBytes += count;
+        if (onProgress == null) {
+            return;
+        }
+        progress.setCurrentBytes(writtenBytes);
+        if (writtenBytes == progress.getTotalBytes()) {
+            // progress is done
+            progress.setDone(true);
+            onProgress.onProgress(progress);
+            progress.setBegin(false);
+            return;
+        }
+        if (progressStep <= 0) {
+            return;
+        }
+        currentStep += count;
+        while (currentStep >= progressStep) {
+            currentStep = currentStep - progressStep;
+            progress.setDone(false);
+            // invoke progress listener
+            onProgress.onProgress(progress);
+            progress.setBegin(false);
+        }
+    }
+
+    /**
+     * 文件的一段，position 为下一个要写入的位置
+     */
+    private static class Part {
+
+        private final long end;
+
+        private volatile long position;
+
+        Part(long start, long end) {
+            this.position = start;
+            this.end = end;
+        }
+
+        boolean isFinished() {
+            return position > end;
+        }
+
+        String getRange() {
+            return "bytes=" + position + "-" + end;
+        }
+    }
+
+    /**
+     * 某一段的响应与第一个响应不是同一个版本的文件
+     */
+    private static class RangeChangedException extends IOException {
+
+        RangeChangedException(String message) {
+            super(message);
+        }
+    }
+
+    private class PartsTask implements Callable<Object> {
+
+        private final FileChannel channel;
+
+        private final Queue<Part> parts;
+
+        PartsTask(FileChannel channel, Queue<Part> parts) {
+            this.channel = channel;
+            this.parts = parts;
+        }
+
+        @Override
+        public Object call() throws Exception {
+            try {
+                downloadParts(channel, parts);
+            } catch (IOException | RuntimeException e) {
+                cancelled = true;
+                throw e;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 同步执行一段的请求，在响应的回调中把响应内容写入文件
+     */
+    private class PartLifeCycleHandler extends NoneLifeCycleHandler {
+
+        private final FileChannel channel;
+
+        private final Part part;
+
+        private IOException error;
+
+        PartLifeCycleHandler(FileChannel channel, Part part) {
+            this.channel = channel;
+            this.part = part;
+        }
+
+        @Override
+        public Object handleSync(ForestRequest request, ForestResponse response) {
+            error = checkResponse(response);
+            if (error != null) {
+                response.abort();
+                return null;
+            }
+            try {
+                copy(channel, part, response, response.getInputStream());
+            } catch (IOException e) {
+                error = e;
+            } catch (Exception e) {
+                error = new IOException(e);
+            }
+            return null;
+        }
+
+        /**
+         * 检查响应是否为该段在同一个版本的文件中的内容
+         * @return 不是时返回对应的异常
+         */
+        private IOException checkResponse(ForestResponse response) {
+            if (response.getStatusCode() == HttpStatus.OK) {
+                // If-Range 不匹配时服务端返回整个新版本的文件
+                return new RangeChangedException("[Forest] range " + part.getRange() + " responded with the whole file");
+            }
+            if (response.getStatusCode() != HttpStatus.PARTIAL_CONTENT) {
+                return new IOException("[Forest] range " + part.getRange() + " responded with status " + response.getStatusCode());
+            }
+            String contentRange = response.getHeaderValue("Content-Range");
+            long[] range = parseContentRange(contentRange);
+            if (range == null || range[2] != total) {
+                return new RangeChangedException("[Forest] range " + part.getRange()
+                        + " responded with Content-Range: " + contentRange + ", expected total bytes: " + total);
+            }
+            if (range[0] != part.position) {
+                return new IOException("[Forest] range " + part.getRange()
+                        + " responded with Content-Range: " + contentRange);
+            }
+            return null;
+        }
+
+        @Override
+        public Object handleSyncWitchException(ForestRequest request, ForestResponse response, Exception ex) {
+            error = ex instanceof IOException ? (IOException) ex : new IOException(ex);
+            return null;
+        }
+
+        @Override
+        public void handleError(ForestRequest request, ForestResponse response, Throwable ex) {
+            error = ex instanceof IOException ? (IOException) ex : new IOException(ex);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.dtflys.forest.exceptions;
+
+import com.dtflys.forest.bulkhead.ForestBulkhead;
+
+/**
+ * 舱壁的许可和等待队列都已用完时请求被拒绝抛出的异常，此时请求不会被发送到后端
+ * @author agent[agent@local]
+ * @since 2026-10-17 16:03
+ */
+public class ForestBulkheadFullException extends ForestRuntimeException {
+
+    private final String bulkheadName;
+
+    public ForestBulkheadFullException(ForestBulkhead bulkhead) {
+        this("Bulkhead '" + bulkhead.getName() + "' is full", bulkhead);
+    }
+
+    protected ForestBulkheadFullException(String message, ForestBulkhead bulkhead) {
+        super(message);
+        this.bulkheadName = bulkhead.getName();
+    }
+
+    public String getBulkheadName() {
+        return bulkheadName;
+    }
+}
@@ -0,0 +1,22 @@
+package com.dtflys.forest.exceptions;
+
+import com.dtflys.forest.circuitbreaker.ForestCircuitBreaker;
+
+/**
+ * 熔断器打开时请求直接失败抛出的异常，此时请求不会被发送到后端
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:54
+ */
+public class ForestCircuitBreakerOpenException extends ForestRuntimeException {
+
+    private final String circuitBreakerName;
+
+    public ForestCircuitBreakerOpenException(ForestCircuitBreaker circuitBreaker) {
+        super("Circuit breaker '" + circuitBreaker.getName() + "' is " + circuitBreaker.getState());
+        this.circuitBreakerName = circuitBreaker.getName();
+    }
+
+    public String getCircuitBreakerName() {
+        return circuitBreakerName;
+    }
+}
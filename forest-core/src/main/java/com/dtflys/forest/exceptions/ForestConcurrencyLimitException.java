@@ -0,0 +1,22 @@
+package com.dtflys.forest.exceptions;
+
+import com.dtflys.forest.limiter.ForestAdaptiveLimiter;
+
+/**
+ * 请求超出主机的自适应并发上限且无法排队时抛出的异常，此时请求不会被发送到后端
+ * @author agent[agent@local]
+ * @since 2026-10-17 16:11
+ */
+public class ForestConcurrencyLimitException extends ForestBulkheadFullException {
+
+    private final int limit;
+
+    public ForestConcurrencyLimitException(ForestAdaptiveLimiter limiter, int limit) {
+        super("Concurrency limit " + limit + " of '" + limiter.getName() + "' is reached", limiter);
+        this.limit = limit;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+}
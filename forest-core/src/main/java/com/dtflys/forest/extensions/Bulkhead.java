@@ -0,0 +1,37 @@
+package com.dtflys.forest.extensions;
+
+import com.dtflys.forest.annotation.MethodLifeCycle;
+import com.dtflys.forest.lifecycles.bulkhead.BulkheadLifeCycle;
+
+import java.lang.annotation.*;
+
+/**
+ * Bulkhead which limits the concurrent calls of an interface or a method.
+ * On an interface, all the methods of the interface share one bulkhead;
+ * on a method, the method has its own bulkhead.
+ */
+@Documented
+@MethodLifeCycle(BulkheadLifeCycle.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Bulkhead {
+
+    /**
+     * Max concurrent calls
+     * @return
+     */
+    int maxConcurrentCalls();
+
+    /**
+     * Max count of async calls waiting in the queue when all the permits are in use,
+     * the calls beyond the queue will be rejected
+     * @return
+     */
+    int maxQueueSize() default 0;
+
+    /**
+     * Max time (milliseconds) that a sync call would wait for a permit, 0 means rejecting immediately
+     * @return
+     */
+    long maxWaitTime() default 0;
+}
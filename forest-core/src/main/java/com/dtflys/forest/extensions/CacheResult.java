@@ -0,0 +1,46 @@
+package com.dtflys.forest.extensions;
+
+import com.dtflys.forest.annotation.MethodLifeCycle;
+import com.dtflys.forest.lifecycles.cache.CacheResultLifeCycle;
+
+import java.lang.annotation.*;
+
+/**
+ * Cache the decoded result of a method by its arguments.
+ * On a hit, the cached result is returned without building the request, sending it or decoding the response.
+ * Null results and exceptions are not cached. Methods returning void, futures or streams can not be cached.
+ * On an interface, it applies to all the methods that can be cached, each method with its own cache;
+ * on a method, it overrides the one on the interface.
+ */
+@Documented
+@MethodLifeCycle(CacheResultLifeCycle.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface CacheResult {
+
+    /**
+     * Template of the cache key over the arguments, e.g. "${0}:${1}",
+     * empty means all the arguments make up the key
+     * @return
+     */
+    String key() default "";
+
+    /**
+     * Time to live (milliseconds) of the cached results
+     * @return
+     */
+    long ttl() default 60000;
+
+    /**
+     * Max count of cached results, the least recently used ones are evicted beyond it
+     * @return
+     */
+    int maxSize() default 1000;
+
+    /**
+     * Time (milliseconds) after expiration during which the stale result is still returned
+     * while it is refreshed in background, 0 means disabled
+     * @return
+     */
+    long staleWhileRevalidate() default 0;
+}
@@ -23,4 +23,25 @@ public @interface DownloadFile {
      * @return
      */
     String filename() default "";
+
+    /**
+     * Count of concurrent Range requests downloading the file, 1 means downloading it with a single request.
+     * When it is greater than 1, the first request only asks for the first chunk of a GET resource,
+     * and the rest of the file is split into ranges downloaded concurrently if the server responds with 206 Partial Content,
+     * otherwise the file is downloaded from the whole response as usual
+     * @return
+     */
+    int threads() default 1;
+
+    /**
+     * Bytes of the first chunk, and the minimum bytes of each range
+     * @return
+     */
+    long chunkSize() default 4 * 1024 * 1024;
+
+    /**
+     * Max retry count of each range, a retry resumes from the last byte written by the range
+     * @return
+     */
+    int chunkRetryCount() default 3;
 }
@@ -0,0 +1,44 @@
+package com.dtflys.forest.extensions;
+
+import com.dtflys.forest.annotation.MethodLifeCycle;
+import com.dtflys.forest.lifecycles.hedging.HedgingLifeCycle;
+
+import java.lang.annotation.*;
+
+/**
+ * Request hedging for idempotent requests (GET, HEAD and OPTIONS).
+ * When no response arrives within the hedging delay, a duplicate request is sent,
+ * the first successful response wins and the other request is cancelled.
+ * On an interface, all the methods of the interface share one hedging policy;
+ * on a method, the method has its own policy. Requests of other HTTP methods are never hedged.
+ */
+@Documented
+@MethodLifeCycle(HedgingLifeCycle.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Hedging {
+
+    /**
+     * Fixed hedging delay (milliseconds), 0 means using the observed latency percentile
+     * @return
+     */
+    long delay() default 0;
+
+    /**
+     * Latency percentile used as the hedging delay when no fixed delay is set
+     * @return
+     */
+    double percentile() default 95;
+
+    /**
+     * Tokens deposited by each request into the hedging budget, e.g. 0.1 means hedging adds at most 10% of the requests
+     * @return
+     */
+    double budgetRatio() default 0.1;
+
+    /**
+     * Capacity of the hedging budget, which is also the count of hedges allowed in a burst
+     * @return
+     */
+    int budgetMaxTokens() default 10;
+}
@@ -0,0 +1,33 @@
+package com.dtflys.forest.extensions;
+
+import com.dtflys.forest.annotation.MethodLifeCycle;
+import com.dtflys.forest.lifecycles.cache.ResponseCacheLifeCycle;
+
+import java.lang.annotation.*;
+
+/**
+ * HTTP response cache honoring Cache-Control, Expires, ETag and Last-Modified.
+ * Fresh responses of GET requests are returned without sending requests,
+ * stale ones are revalidated with If-None-Match / If-Modified-Since.
+ * Successful requests of other HTTP methods invalidate the cached response of the same URL.
+ * On an interface, it applies to all the methods of the interface; on a method, it overrides the one on the interface.
+ */
+@Documented
+@MethodLifeCycle(ResponseCacheLifeCycle.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface ResponseCache {
+
+    /**
+     * Enable the response cache, set false on a method to disable the cache enabled on its interface
+     * @return
+     */
+    boolean enabled() default true;
+
+    /**
+     * Freshness lifetime (seconds) of responses without Cache-Control max-age or Expires,
+     * 0 means such responses are always revalidated
+     * @return
+     */
+    long defaultMaxAge() default 0;
+}
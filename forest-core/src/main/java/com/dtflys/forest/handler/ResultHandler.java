@@ -1,6 +1,9 @@
 package com.dtflys.forest.handler;
 
+import com.dtflys.forest.backend.ContentType;
 import com.dtflys.forest.converter.ForestConverter;
+import com.dtflys.forest.converter.json.ForestJsonConverter;
+import com.dtflys.forest.converter.xml.ForestXmlConverter;
 import com.dtflys.forest.exceptions.ForestHandlerException;
 import com.dtflys.forest.http.ForestRequest;
 import com.dtflys.forest.http.ForestResponse;
@@ -9,8 +12,10 @@ import com.dtflys.forest.utils.ReflectUtils;
 
 import java.io.File;
 import java.io.InputStream;
+import java.io.Reader;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Future;
 
 /**
@@ -39,6 +44,8 @@ public class ResultHandler {
                     return null;
                 }
                 if (ForestResponse.class.isAssignableFrom(resultClass)) {
+                    // 响应对象会返回给调用方，需要保留响应内容字符串，不进行流式解码
+                    response.getContent();
                     if (resultType instanceof ParameterizedType) {
                         ParameterizedType parameterizedType = (ParameterizedType) resultType;
                         Class rowClass = (Class) parameterizedType.getRawType();
@@ -51,11 +58,11 @@ public class ResultHandler {
                     }
                     return response;
                 }
-                if (Future.class.isAssignableFrom(resultClass)) {
+                if (Future.class.isAssignableFrom(resultClass) || CompletionStage.class.isAssignableFrom(resultClass)) {
                     if (resultType instanceof ParameterizedType) {
                         ParameterizedType parameterizedType = (ParameterizedType) resultType;
                         Class rowClass = (Class) parameterizedType.getRawType();
-                        if (Future.class.isAssignableFrom(rowClass)) {
+                        if (Future.class.isAssignableFrom(rowClass) || CompletionStage.class.isAssignableFrom(rowClass)) {
                             Type realType = parameterizedType.getActualTypeArguments()[0];
                             Class realClass = ReflectUtils.getClassByType(parameterizedType.getActualTypeArguments()[0]);
                             return getResult(request, response, realType, realClass);
@@ -75,6 +82,18 @@ public class ResultHandler {
                     ForestConverter converter = request.getConfiguration().getConverter(ForestDataType.JSON);
                     return converter.convertToJavaObject(attFile, resultClass);
                 }
+                if (InputStream.class.isAssignableFrom(resultClass)) {
+                    return response.getInputStream();
+                }
+                if (result == null && !CharSequence.class.isAssignableFrom(resultClass)
+                        && isStreamDecodable(request, response)) {
+                    ForestConverter converter = getStreamConverter(request, response);
+                    if (converter != null) {
+                        try (Reader reader = response.getReader()) {
+                            return decodeStream(converter, reader, resultType);
+                        }
+                    }
+                }
                 String responseText = null;
                 if (result != null && CharSequence.class.isAssignableFrom(result.getClass())) {
                     responseText = result.toString();
@@ -86,9 +105,6 @@ public class ResultHandler {
                 if (CharSequence.class.isAssignableFrom(resultClass)) {
                     return responseText;
                 }
-                if (InputStream.class.isAssignableFrom(resultClass)) {
-                    return response.getInputStream();
-                }
 
                 if (request.getDecoder() != null) {
                     return request.getDecoder().convertToJavaObject(responseText, resultType);
@@ -108,4 +124,46 @@ public class ResultHandler {
         return null;
     }
 
+    /**
+     * 是否可以直接从响应流中解码
+     * <p>只有在没有其他地方需要读取响应内容字符串时（成功响应、无OnSuccess回调、无自定义拦截器）才进行流式解码</p>
+     */
+    protected boolean isStreamDecodable(ForestRequest request, ForestResponse response) {
+        return response.isStreamable()
+                && response.isSuccess()
+                && request.getOnSuccess() == null
+                && !request.getInterceptorChain().hasCustomInterceptor();
+    }
+
+    /**
+     * 获取支持流式解码的转换器
+     * @return 转换器，不支持流式解码时返回 null
+     */
+    private ForestConverter getStreamConverter(ForestRequest request, ForestResponse response) {
+        ForestConverter converter = request.getDecoder();
+        if (converter == null) {
+            ForestDataType dataType = request.getDataType();
+            if (dataType == ForestDataType.AUTO) {
+                // 自动类型时只对Json响应进行流式解码，其他类型仍由自动转换器判断
+                ContentType contentType = response.getContentType();
+                if (contentType == null || !contentType.isJson()) {
+                    return null;
+                }
+                dataType = ForestDataType.JSON;
+            }
+            converter = request.getConfiguration().getConverterMap().get(dataType);
+        }
+        if (converter instanceof ForestJsonConverter || converter instanceof ForestXmlConverter) {
+            return converter;
+        }
+        return null;
+    }
+
+    private Object decodeStream(ForestConverter converter, Reader reader, Type resultType) {
+        if (converter instanceof ForestJsonConverter) {
+            return ((ForestJsonConverter) converter).convertToJavaObject(reader, resultType);
+        }
+        return ((ForestXmlConverter) converter).convertToJavaObject(reader, resultType);
+    }
+
 }
@@ -0,0 +1,124 @@
+package com.dtflys.forest.hedging;
+
+import com.dtflys.forest.http.ForestRequestType;
+import com.dtflys.forest.retryer.RetryBudget;
+
+import java.util.Arrays;
+
+/**
+ * 对冲策略
+ * <p>对冲等待时间为固定值，或者是最近 {@link #WINDOW_SIZE} 次请求耗时的百分位数，
+ * 样本不足 {@link #MIN_SAMPLES} 个时不对冲。对冲请求从令牌桶预算中扣除，避免下游变慢时请求量被成倍放大</p>
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:07
+ */
+public class ForestHedgingPolicy {
+
+    public final static int WINDOW_SIZE = 256;
+
+    public final static int MIN_SAMPLES = 20;
+
+    /**
+     * 每记录多少个样本重新计算一次百分位数
+     */
+    private final static int RECOMPUTE_INTERVAL = 16;
+
+    private final String name;
+
+    private final long delay;
+
+    private final double percentile;
+
+    private final RetryBudget budget;
+
+    private final long[] samples = new long[WINDOW_SIZE];
+
+    private long sampleCount = 0;
+
+    private volatile long percentileDelay = -1;
+
+    public ForestHedgingPolicy(String name, long delay, double percentile, double budgetRatio, int budgetMaxTokens) {
+        this.name = name;
+        this.delay = delay;
+        this.percentile = Math.min(Math.max(percentile, 0), 100);
+        this.budget = new RetryBudget(budgetRatio, budgetMaxTokens);
+    }
+
+    /**
+     * 判断请求类型是否可以对冲，只有幂等的 GET、HEAD、OPTIONS 请求可以对冲
+     * @param type 请求类型
+     * @return {@code true} 可以对冲
+     */
+    public static boolean isHedgeable(ForestRequestType type) {
+        return type == ForestRequestType.GET
+                || type == ForestRequestType.HEAD
+                || type == ForestRequestType.OPTIONS;
+    }
+
+    /**
+     * 获取对冲等待时间
+     * @return 毫秒数，样本不足而无法确定时返回 -1
+     */
+    public long getHedgeDelay() {
+        if (delay > 0) {
+            return delay;
+        }
+        return percentileDelay;
+    }
+
+    /**
+     * 记录一次请求的耗时，使用固定等待时间时忽略
+     * @param durationNanos 耗时（纳秒）
+     */
+    public void recordLatency(long durationNanos) {
+        if (delay > 0) {
+            return;
+        }
+        long[] window = null;
+        synchronized (this) {
+            samples[(int) (sampleCount % WINDOW_SIZE)] = durationNanos;
+            sampleCount++;
+            if (sampleCount >= MIN_SAMPLES
+                    && (sampleCount == MIN_SAMPLES || sampleCount % RECOMPUTE_INTERVAL == 0)) {
+                window = Arrays.copyOf(samples, (int) Math.min(sampleCount, WINDOW_SIZE));
+            }
+        }
+        if (window != null) {
+            Arrays.sort(window);
+            int index = (int) Math.ceil(percentile / 100 * window.length) - 1;
+            long nanos = window[Math.min(Math.max(index, 0), window.length - 1)];
+            percentileDelay = Math.max(1, (nanos + 999999) / 1000000);
+        }
+    }
+
+    /**
+     * 发送一个新请求时存入令牌
+     */
+    public void onCall() {
+        budget.deposit();
+    }
+
+    /**
+     * 发送对冲请求前取出一个令牌
+     * @return {@code true} 取出成功，可以对冲
+     */
+    public boolean tryHedge() {
+        return budget.tryWithdraw();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getDelay() {
+        return delay;
+    }
+
+    public double getPercentile() {
+        return percentile;
+    }
+
+    public RetryBudget getBudget() {
+        return budget;
+    }
+}
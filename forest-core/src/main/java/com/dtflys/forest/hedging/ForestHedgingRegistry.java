@@ -0,0 +1,60 @@
+package com.dtflys.forest.hedging;
+
+import com.dtflys.forest.extensions.Hedging;
+import com.dtflys.forest.reflection.ForestMethod;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 对冲策略注册表，每个全局配置一个
+ * <p>接口上的对冲策略由接口中的所有方法共享，名称为接口类名；方法上的对冲策略名称为 接口类名#方法名</p>
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:07
+ */
+public class ForestHedgingRegistry {
+
+    private final Map<String, ForestHedgingPolicy> policies = new ConcurrentHashMap<>();
+
+    private final Map<ForestMethod, ForestHedgingPolicy> methodPolicies = new ConcurrentHashMap<>();
+
+    /**
+     * 为方法注册对冲策略，同名的策略只创建一次
+     * @param method Forest方法
+     * @param name 策略名称
+     * @param annotation 对冲注解
+     * @return 对冲策略
+     */
+    public ForestHedgingPolicy register(ForestMethod method, String name, Hedging annotation) {
+        ForestHedgingPolicy policy = policies.get(name);
+        if (policy == null) {
+            policy = new ForestHedgingPolicy(name, annotation.delay(), annotation.percentile(),
+                    annotation.budgetRatio(), annotation.budgetMaxTokens());
+            ForestHedgingPolicy existing = policies.putIfAbsent(name, policy);
+            if (existing != null) {
+                policy = existing;
+            }
+        }
+        methodPolicies.put(method, policy);
+        return policy;
+    }
+
+    /**
+     * 获取方法的对冲策略
+     * @param method Forest方法
+     * @return 对冲策略，方法和接口上都没有对冲注解时返回 null
+     */
+    public ForestHedgingPolicy getPolicy(ForestMethod method) {
+        return methodPolicies.get(method);
+    }
+
+    public ForestHedgingPolicy getPolicy(String name) {
+        return policies.get(name);
+    }
+
+    public Collection<ForestHedgingPolicy> getPolicies() {
+        return Collections.unmodifiableCollection(policies.values());
+    }
+}
@@ -0,0 +1,312 @@
+package com.dtflys.forest.hedging;
+
+import com.dtflys.forest.http.ForestRequest;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 对冲调用，由各个后端实现具体的请求发送和取消
+ * <p>首个请求在对冲等待时间内没有返回时再发送一个相同的请求，先返回的可接受的响应胜出，另一个请求被取消；
+ * 不可接受的响应（如 5xx）或网络异常会等待仍在进行中的请求，所有请求都失败时返回最后一个结果</p>
+ * <p>每个返回了响应的请求都会记录耗时，包括落败和迟到的请求；被取消的请求记录取消时已经等待的时间，
+ * 避免只记录胜出的较快请求而使百分位数对冲等待时间越来越短</p>
+ * @param <R> 后端的原始响应类型
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:07
+ */
+public abstract class HedgedCall<R> implements Future<R> {
+
+    public final static int MAX_ATTEMPTS = 2;
+
+    protected final ForestRequest request;
+
+    private final ForestHedgingPolicy policy;
+
+    private final CompletableFuture<R> result = new CompletableFuture<>();
+
+    private final long[] startNanos = new long[MAX_ATTEMPTS];
+
+    private final boolean[] finished = new boolean[MAX_ATTEMPTS];
+
+    private final boolean[] recorded = new boolean[MAX_ATTEMPTS];
+
+    private int started = 0;
+
+    private boolean decided = false;
+
+    private R fallback;
+
+    private ScheduledFuture<?> hedgeTask;
+
+    public HedgedCall(ForestRequest request) {
+        this.request = request;
+        this.policy = request.getHedgingPolicy();
+    }
+
+    /**
+     * 在当前线程中同步发送请求
+     * @param attempt 第几个请求，从 0 开始
+     * @return 原始响应
+     * @throws Exception 网络异常
+     */
+    protected abstract R executeAttempt(int attempt) throws Exception;
+
+    /**
+     * 异步发送请求，完成后必须调用 {@link #onAttemptResult(int, Object, Exception)}
+     * @param attempt 第几个请求，从 0 开始
+     */
+    protected abstract void startAttempt(int attempt);
+
+    /**
+     * 取消正在进行的请求
+     * @param attempt 第几个请求，从 0 开始
+     */
+    protected abstract void cancelAttempt(int attempt);
+
+    /**
+     * 判断响应是否可以直接作为结果返回
+     * @param response 原始响应
+     * @return {@code true} 可以返回
+     */
+    protected abstract boolean isAcceptable(R response);
+
+    /**
+     * 丢弃未被采用的响应，释放其连接
+     * @param response 原始响应
+     */
+    protected abstract void discard(R response);
+
+    /**
+     * 同步执行，首个请求在当前线程中发送，对冲请求异步发送
+     * @return 胜出的原始响应
+     * @throws Exception 所有请求都失败时最后一个请求的异常
+     */
+    public R execute() throws Exception {
+        begin();
+        try {
+            R response = executeAttempt(0);
+            onAttemptResult(0, response, null);
+        } catch (Exception e) {
+            onAttemptResult(0, null, e);
+        }
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw e;
+        } catch (InterruptedException e) {
+            cancel(true);
+            throw e;
+        }
+    }
+
+    /**
+     * 异步执行，所有请求都异步发送
+     * @return 完成时返回胜出的原始响应的Future
+     */
+    public CompletableFuture<R> executeAsync() {
+        begin();
+        try {
+            startAttempt(0);
+        } catch (Exception e) {
+            onAttemptResult(0, null, e);
+        }
+        return result;
+    }
+
+    private void begin() {
+        synchronized (this) {
+            started = 1;
+            startNanos[0] = System.nanoTime();
+        }
+        policy.onCall();
+        long delay = policy.getHedgeDelay();
+        if (delay < 0) {
+            return;
+        }
+        ScheduledFuture<?> task;
+        try {
+            task = request.getConfiguration().getRetryScheduler().getExecutor().schedule(new Runnable() {
+                @Override
+                public void run() {
+                    hedge();
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // 调度器已经关闭，不再对冲，结果由首个请求决定
+            return;
+        }
+        synchronized (this) {
+            if (!decided) {
+                hedgeTask = task;
+                return;
+            }
+        }
+        task.cancel(false);
+    }
+
+    private void hedge() {
+        int attempt;
+        synchronized (this) {
+            if (decided || started >= MAX_ATTEMPTS || !policy.tryHedge()) {
+                return;
+            }
+            attempt = started++;
+            startNanos[attempt] = System.nanoTime();
+        }
+        try {
+            startAttempt(attempt);
+        } catch (Exception e) {
+            onAttemptResult(attempt, null, e);
+        }
+    }
+
+    /**
+     * 一个请求完成时调用
+     * @param attempt 第几个请求，从 0 开始
+     * @param response 原始响应，失败时为 null
+     * @param error 网络异常，成功时为 null
+     */
+    protected void onAttemptResult(int attempt, R response, Exception error) {
+        R discarded;
+        int cancelled = -1;
+        ScheduledFuture<?> task;
+        int attempts;
+        long latency = -1;
+        long cancelledLatency = -1;
+        synchronized (this) {
+            finished[attempt] = true;
+            if (error == null && !recorded[attempt]) {
+                recorded[attempt] = true;
+                latency = System.nanoTime() - startNanos[attempt];
+            }
+            if (decided) {
+                discarded = response;
+                task = null;
+                attempts = 0;
+            } else {
+                boolean acceptable = error == null && isAcceptable(response);
+                int inflight = getInflightAttempt();
+                if (!acceptable && inflight >= 0) {
+                    // 等待仍在进行中的请求，保留本次响应作为所有请求都失败时的结果
+                    discarded = fallback;
+                    fallback = response;
+                    task = null;
+                    attempts = 0;
+                } else {
+                    decided = true;
+                    discarded = fallback;
+                    fallback = null;
+                    cancelled = inflight;
+                    task = hedgeTask;
+                    attempts = started;
+                    if (cancelled >= 0) {
+                        // 被取消的请求的实际耗时不会短于已经等待的时间
+                        recorded[cancelled] = true;
+                        cancelledLatency = System.nanoTime() - startNanos[cancelled];
+                    }
+                }
+            }
+        }
+        if (latency >= 0) {
+            policy.recordLatency(latency);
+        }
+        if (cancelledLatency >= 0) {
+            policy.recordLatency(cancelledLatency);
+        }
+        if (task != null) {
+            task.cancel(false);
+        }
+        if (cancelled >= 0) {
+            cancelAttempt(cancelled);
+        }
+        if (discarded != null) {
+            discard(discarded);
+        }
+        if (attempts == 0) {
+            return;
+        }
+        if (attempts > 1) {
+            request.getConfiguration().getMetrics().recordHedge(request, attempt > 0);
+        }
+        if (error == null) {
+            result.complete(response);
+        } else {
+            result.completeExceptionally(error);
+        }
+    }
+
+    private int getInflightAttempt() {
+        for (int i = 0; i < started; i++) {
+            if (!finished[i]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 是否发送了对冲请求
+     * @return {@code true} 发送了对冲请求
+     */
+    public synchronized boolean isHedged() {
+        return started > 1;
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        R discarded;
+        ScheduledFuture<?> task;
+        int attempts;
+        synchronized (this) {
+            if (decided) {
+                return false;
+            }
+            decided = true;
+            discarded = fallback;
+            fallback = null;
+            task = hedgeTask;
+            attempts = started;
+        }
+        if (task != null) {
+            task.cancel(false);
+        }
+        result.cancel(mayInterruptIfRunning);
+        for (int i = 0; i < attempts; i++) {
+            cancelAttempt(i);
+        }
+        if (discarded != null) {
+            discard(discarded);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return result.isCancelled();
+    }
+
+    @Override
+    public boolean isDone() {
+        return result.isDone();
+    }
+
+    @Override
+    public R get() throws InterruptedException, ExecutionException {
+        return result.get();
+    }
+
+    @Override
+    public R get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+        return result.get(timeout, unit);
+    }
+}
@@ -24,15 +24,29 @@
 
 package com.dtflys.forest.http;
 
+import com.dtflys.forest.bulkhead.ForestBulkhead;
+import com.dtflys.forest.bulkhead.ForestBulkheadFuture;
+import com.dtflys.forest.cache.CachedForestResponse;
+import com.dtflys.forest.cache.ForestCacheEntry;
+import com.dtflys.forest.cache.ForestResponseCache;
+import com.dtflys.forest.cache.ForestResponseCachePolicy;
+import com.dtflys.forest.cache.ResponseCacheResult;
 import com.dtflys.forest.callback.OnProgress;
+import com.dtflys.forest.circuitbreaker.ForestCircuitBreaker;
+import com.dtflys.forest.circuitbreaker.ForestCircuitBreakerPermit;
 import com.dtflys.forest.converter.ForestConverter;
+import com.dtflys.forest.hedging.ForestHedgingPolicy;
 import com.dtflys.forest.interceptor.InterceptorAttributes;
+import com.dtflys.forest.limiter.ForestAdaptiveLimiter;
+import com.dtflys.forest.logging.RequestLogMessage;
 import com.dtflys.forest.multipart.ForestMultipart;
+import com.dtflys.forest.reflection.ForestMethod;
 import com.dtflys.forest.retryer.Retryer;
 import com.dtflys.forest.ssl.SSLKeyStore;
 import com.dtflys.forest.callback.OnError;
 import com.dtflys.forest.callback.OnSuccess;
 import com.dtflys.forest.config.ForestConfiguration;
+import com.dtflys.forest.exceptions.ForestCircuitBreakerOpenException;
 import com.dtflys.forest.exceptions.ForestRuntimeException;
 import com.dtflys.forest.backend.HttpBackend;
 import com.dtflys.forest.backend.HttpExecutor;
@@ -40,11 +54,15 @@ import com.dtflys.forest.handler.LifeCycleHandler;
 import com.dtflys.forest.interceptor.Interceptor;
 import com.dtflys.forest.interceptor.InterceptorChain;
 import com.dtflys.forest.utils.ForestDataType;
+import com.dtflys.forest.utils.ReflectUtils;
 import com.dtflys.forest.utils.RequestNameValue;
 import com.dtflys.forest.utils.StringUtils;
 
 import java.io.InputStream;
+import java.lang.reflect.Type;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
 
 import static com.dtflys.forest.mapping.MappingParameter.*;
 
@@ -58,6 +76,11 @@ public class ForestRequest<T> {
 
     private final ForestConfiguration configuration;
 
+    /**
+     * 发起请求的接口方法，不是通过接口方法发起的请求为 null
+     */
+    private ForestMethod method;
+
     private String protocol;
 
     private String url;
@@ -118,6 +141,46 @@ public class ForestRequest<T> {
 
     private boolean logEnable = true;
 
+    /**
+     * 当前这次发送的请求日志，还未输出时会在收到响应后输出
+     */
+    private volatile RequestLogMessage requestLogMessage;
+
+    /**
+     * 本次请求从熔断器获得的许可，未启用熔断器时为 null
+     */
+    private volatile ForestCircuitBreakerPermit circuitBreakerPermit;
+
+    /**
+     * 请求所属的舱壁，没有舱壁注解时为 null
+     */
+    private ForestBulkhead bulkhead;
+
+    /**
+     * 本次请求所属主机的自适应并发限流器，未启用时为 null
+     */
+    private volatile ForestAdaptiveLimiter adaptiveLimiter;
+
+    /**
+     * 请求的对冲策略，没有对冲注解或请求不是幂等的时为 null
+     */
+    private ForestHedgingPolicy hedgingPolicy;
+
+    /**
+     * 请求的响应缓存策略，没有响应缓存注解时为 null
+     */
+    private ForestResponseCachePolicy responseCachePolicy;
+
+    /**
+     * 正在通过条件请求重新验证的缓存条目
+     */
+    private volatile ForestCacheEntry revalidatingCacheEntry;
+
+    /**
+     * 异步请求的Future，在请求（包括重试）结束后完成
+     */
+    private volatile CompletableFuture<?> responseFuture;
+
     private SSLKeyStore keyStore;
 
     public ForestRequest(ForestConfiguration configuration, Object[] arguments) {
@@ -605,6 +668,82 @@ public class ForestRequest<T> {
         return this;
     }
 
+    public RequestLogMessage getRequestLogMessage() {
+        return requestLogMessage;
+    }
+
+    public ForestRequest setRequestLogMessage(RequestLogMessage requestLogMessage) {
+        this.requestLogMessage = requestLogMessage;
+        return this;
+    }
+
+    public ForestCircuitBreaker getCircuitBreaker() {
+        ForestCircuitBreakerPermit permit = circuitBreakerPermit;
+        return permit == null ? null : permit.getCircuitBreaker();
+    }
+
+    public ForestCircuitBreakerPermit getCircuitBreakerPermit() {
+        return circuitBreakerPermit;
+    }
+
+    public ForestBulkhead getBulkhead() {
+        return bulkhead;
+    }
+
+    public ForestRequest setBulkhead(ForestBulkhead bulkhead) {
+        this.bulkhead = bulkhead;
+        return this;
+    }
+
+    public ForestAdaptiveLimiter getAdaptiveLimiter() {
+        return adaptiveLimiter;
+    }
+
+    public ForestHedgingPolicy getHedgingPolicy() {
+        return hedgingPolicy;
+    }
+
+    public ForestRequest setHedgingPolicy(ForestHedgingPolicy hedgingPolicy) {
+        this.hedgingPolicy = hedgingPolicy;
+        return this;
+    }
+
+    public ForestResponseCachePolicy getResponseCachePolicy() {
+        return responseCachePolicy;
+    }
+
+    public ForestRequest setResponseCachePolicy(ForestResponseCachePolicy responseCachePolicy) {
+        this.responseCachePolicy = responseCachePolicy;
+        return this;
+    }
+
+    public ForestCacheEntry getRevalidatingCacheEntry() {
+        return revalidatingCacheEntry;
+    }
+
+    public ForestRequest setRevalidatingCacheEntry(ForestCacheEntry revalidatingCacheEntry) {
+        this.revalidatingCacheEntry = revalidatingCacheEntry;
+        return this;
+    }
+
+    public CompletableFuture<?> getResponseFuture() {
+        return responseFuture;
+    }
+
+    public ForestRequest setResponseFuture(CompletableFuture<?> responseFuture) {
+        this.responseFuture = responseFuture;
+        return this;
+    }
+
+    public ForestMethod getMethod() {
+        return method;
+    }
+
+    public ForestRequest setMethod(ForestMethod method) {
+        this.method = method;
+        return this;
+    }
+
     public SSLKeyStore getKeyStore() {
         return keyStore;
     }
@@ -620,6 +759,93 @@ public class ForestRequest<T> {
      * @param lifeCycleHandler
      */
     public void execute(HttpBackend backend, LifeCycleHandler lifeCycleHandler) {
+        if (responseCachePolicy != null && ForestResponseCache.isCacheable(this) && respondFromCache(lifeCycleHandler)) {
+            return;
+        }
+        ForestAdaptiveLimiter adaptiveLimiter = configuration.getAdaptiveLimiterRegistry().getLimiter(this);
+        this.adaptiveLimiter = adaptiveLimiter;
+        if (bulkhead == null && adaptiveLimiter == null) {
+            doExecute(backend, lifeCycleHandler);
+            return;
+        }
+        ForestBulkhead[] bulkheads;
+        if (bulkhead == null) {
+            bulkheads = new ForestBulkhead[] {adaptiveLimiter};
+        } else if (adaptiveLimiter == null) {
+            bulkheads = new ForestBulkhead[] {bulkhead};
+        } else {
+            bulkheads = new ForestBulkhead[] {bulkhead, adaptiveLimiter};
+        }
+        if (async) {
+            CompletableFuture<?> future = executeAsyncInBulkheads(bulkheads, 0, backend, lifeCycleHandler);
+            if (future instanceof ForestBulkheadFuture) {
+                // 调用方得到的是最外层舱壁的Future，保证Future完成时所有许可都已经释放
+                Class returnClass = ReflectUtils.getClassByType(lifeCycleHandler.getReturnType());
+                if (returnClass != null && returnClass.isInstance(future)) {
+                    lifeCycleHandler.handleResult(future);
+                }
+            }
+        } else {
+            executeSyncInBulkheads(bulkheads, 0, backend, lifeCycleHandler);
+        }
+    }
+
+    /**
+     * 查找响应缓存，缓存新鲜时直接以缓存的响应结束请求，不经过舱壁、熔断器、拦截器的beforeExecute和后端
+     * <p>缓存过期时设置条件请求头，由后端发送请求重新验证</p>
+     * @return {@code true} 已经以缓存的响应结束请求
+     */
+    private boolean respondFromCache(LifeCycleHandler lifeCycleHandler) {
+        ForestResponseCache cache = configuration.getResponseCache();
+        ForestCacheEntry entry = cache.lookup(this);
+        if (entry == null) {
+            configuration.getMetrics().recordResponseCache(this, ResponseCacheResult.MISS);
+            return false;
+        }
+        if (!cache.isFresh(this, entry)) {
+            configuration.getMetrics().recordResponseCache(this, ResponseCacheResult.STALE);
+            cache.prepareRevalidation(this, entry);
+            return false;
+        }
+        configuration.getMetrics().recordResponseCache(this, ResponseCacheResult.HIT);
+        ForestResponse response = new CachedForestResponse(
+                this, entry.getStatusCode(), entry.getHeaders(), entry.getBody());
+        if (!async) {
+            lifeCycleHandler.handleSync(this, response);
+            return true;
+        }
+        // 与后端的异步请求一致：先把Future交给调用方，再完成Future，最后执行OnSuccess回调
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        this.responseFuture = future;
+        Class returnClass = ReflectUtils.getClassByType(lifeCycleHandler.getReturnType());
+        if (returnClass != null && returnClass.isInstance(future)) {
+            lifeCycleHandler.handleResult(future);
+        }
+        try {
+            if (onSuccess != null) {
+                Type onSuccessType = lifeCycleHandler.getOnSuccessClassGenericType();
+                Object result = lifeCycleHandler.handleResultType(
+                        this, response, onSuccessType, ReflectUtils.getClassByType(onSuccessType));
+                future.complete(result);
+                lifeCycleHandler.handleSuccess(result, this, response);
+            } else {
+                future.complete(lifeCycleHandler.handleSync(this, response));
+            }
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return true;
+    }
+
+    private void doExecute(HttpBackend backend, LifeCycleHandler lifeCycleHandler) {
+        ForestCircuitBreaker circuitBreaker = configuration.getCircuitBreakerRegistry().getCircuitBreaker(this);
+        if (circuitBreaker != null && !circuitBreaker.tryAcquire()) {
+            configuration.getMetrics().recordCircuitBreakerRejected(this, circuitBreaker);
+            reject(new ForestCircuitBreakerOpenException(circuitBreaker), lifeCycleHandler);
+            return;
+        }
+        ForestCircuitBreakerPermit permit = circuitBreaker == null ? null : new ForestCircuitBreakerPermit(circuitBreaker);
+        this.circuitBreakerPermit = permit;
         HttpExecutor executor  = backend.createExecutor(this, lifeCycleHandler);
         if (executor != null) {
             if (interceptorChain.beforeExecute(this)) {
@@ -629,8 +855,166 @@ public class ForestRequest<T> {
                     throw e;
                 } finally {
                     executor.close();
+                    if (permit != null) {
+                        finishOnComplete(permit);
+                    }
+                }
+                return;
+            }
+        }
+        // 请求被拦截器中止，没有发送，释放熔断器的许可
+        if (permit != null) {
+            permit.cancel();
+        }
+    }
+
+    /**
+     * 同步请求在后端执行完时结束熔断器的许可，异步请求在Future完成时结束，取消的请求只释放许可
+     */
+    private void finishOnComplete(final ForestCircuitBreakerPermit permit) {
+        final CompletableFuture<?> future = async ? responseFuture : null;
+        if (future == null) {
+            permit.finish();
+            return;
+        }
+        future.whenComplete(new BiConsumer<Object, Throwable>() {
+            @Override
+            public void accept(Object result, Throwable throwable) {
+                if (future.isCancelled()) {
+                    permit.cancel();
+                } else {
+                    permit.finish();
                 }
             }
+        });
+    }
+
+    /**
+     * 同步请求依次获取各层舱壁（接口舱壁、主机限流器）的许可
+     */
+    private void executeSyncInBulkheads(ForestBulkhead[] bulkheads, int index,
+                                        HttpBackend backend, LifeCycleHandler lifeCycleHandler) {
+        if (index == bulkheads.length) {
+            doExecute(backend, lifeCycleHandler);
+            return;
+        }
+        ForestBulkhead bulkhead = bulkheads[index];
+        boolean acquired;
+        try {
+            acquired = bulkhead.tryAcquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            configuration.getMetrics().recordBulkheadRejected(this, bulkhead);
+            reject(bulkhead.createRejectedException(), lifeCycleHandler);
+            return;
+        }
+        try {
+            executeSyncInBulkheads(bulkheads, index + 1, backend, lifeCycleHandler);
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * 异步请求依次进入各层舱壁，许可在内层请求的Future完成后释放
+     * <p>许可用完时请求进入舱壁的等待队列，请求在其它请求释放许可时开始执行；
+     * 两种情况下都立即返回一个 {@link ForestBulkheadFuture}</p>
+     * @return 请求的Future，请求被拒绝时为已失败的Future，请求被拦截器中止时为 null
+     */
+    private CompletableFuture<?> executeAsyncInBulkheads(final ForestBulkhead[] bulkheads, final int index,
+                                                         final HttpBackend backend,
+                                                         final LifeCycleHandler lifeCycleHandler) {
+        if (index == bulkheads.length) {
+            doExecute(backend, lifeCycleHandler);
+            return responseFuture;
+        }
+        final ForestBulkhead bulkhead = bulkheads[index];
+        final ForestBulkheadFuture bulkheadFuture = new ForestBulkheadFuture(bulkhead);
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                if (bulkheadFuture.isDone()) {
+                    bulkhead.release();
+                    return;
+                }
+                CompletableFuture<?> future;
+                try {
+                    future = executeAsyncInBulkheads(bulkheads, index + 1, backend, lifeCycleHandler);
+                } catch (Throwable th) {
+                    bulkhead.release();
+                    bulkheadFuture.completeExceptionally(th);
+                    return;
+                }
+                releaseOnComplete(bulkhead, bulkheadFuture, future);
+            }
+        };
+        bulkheadFuture.setTask(task);
+        switch (bulkhead.acquireOrEnqueue(task)) {
+            case ACQUIRED:
+                CompletableFuture<?> future;
+                try {
+                    future = executeAsyncInBulkheads(bulkheads, index + 1, backend, lifeCycleHandler);
+                } catch (RuntimeException | Error e) {
+                    bulkhead.release();
+                    throw e;
+                }
+                releaseOnComplete(bulkhead, bulkheadFuture, future);
+                return bulkheadFuture;
+            case QUEUED:
+                return bulkheadFuture;
+            default:
+                configuration.getMetrics().recordBulkheadRejected(this, bulkhead);
+                reject(bulkhead.createRejectedException(), lifeCycleHandler);
+                return responseFuture;
+        }
+    }
+
+    private void releaseOnComplete(final ForestBulkhead bulkhead, final ForestBulkheadFuture bulkheadFuture,
+                                   CompletableFuture<?> future) {
+        if (future == null) {
+            // 请求被拦截器中止，没有发送
+            bulkhead.release();
+            bulkheadFuture.complete(null);
+            return;
+        }
+        bulkheadFuture.setDelegate(future);
+        future.whenComplete(new BiConsumer<Object, Throwable>() {
+            @Override
+            public void accept(Object result, Throwable throwable) {
+                bulkhead.release();
+                if (throwable != null) {
+                    bulkheadFuture.completeExceptionally(throwable);
+                } else {
+                    bulkheadFuture.complete(result);
+                }
+            }
+        });
+    }
+
+    /**
+     * 熔断器打开、舱壁已满或超出自适应并发上限时不访问后端，直接以对应的异常结束请求
+     * <p>异步请求返回已失败的Future，同步请求和OnError回调与网络错误时的处理方式一致</p>
+     */
+    private void reject(ForestRuntimeException exception, LifeCycleHandler lifeCycleHandler) {
+        ForestResponse response = new SyntheticForestResponse(this, HttpStatus.SERVICE_UNAVAILABLE, null);
+        if (!async) {
+            lifeCycleHandler.handleError(this, response, exception);
+            return;
+        }
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        future.completeExceptionally(exception);
+        this.responseFuture = future;
+        Class returnClass = ReflectUtils.getClassByType(lifeCycleHandler.getReturnType());
+        if (returnClass != null && returnClass.isInstance(future)) {
+            lifeCycleHandler.handleResult(future);
+        }
+        try {
+            lifeCycleHandler.handleError(this, response, exception);
+        } catch (ForestRuntimeException e) {
+            // 异步请求的异常已经通过Future返回
         }
     }
 
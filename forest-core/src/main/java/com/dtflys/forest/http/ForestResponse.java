@@ -28,6 +28,8 @@ package com.dtflys.forest.http;
 import com.dtflys.forest.backend.ContentType;
 
 import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
 import java.util.List;
 
 /**
@@ -110,6 +112,52 @@ public abstract class ForestResponse<T> {
 
     public abstract InputStream getInputStream() throws Exception;
 
+    /**
+     * 响应内容是否可以直接以字符流读取
+     * <p>响应内容尚未被读取为字符串时返回 true，此时可通过 {@link #getReader()} 直接解码，
+     * 解码后 {@link #getContent()} 将不再包含响应内容</p>
+     * @return {@code true}: 可以流式读取, {@code false}: 不能流式读取
+     */
+    public boolean isStreamable() {
+        return false;
+    }
+
+    /**
+     * 获取响应内容的字符流
+     * @return 字符流，由调用方负责关闭
+     * @throws Exception 读取失败时抛出
+     */
+    public Reader getReader() throws Exception {
+        String text = getContent();
+        if (text == null) {
+            return null;
+        }
+        return new StringReader(text);
+    }
+
+    /**
+     * 放弃尚未读取完的响应内容，关闭响应
+     * <p>用于不再需要响应内容的场景（如分段下载时响应的不是所请求的内容），后端能够直接断开连接时不会读取剩余的内容</p>
+     */
+    public void abort() {
+        try {
+            InputStream in = getInputStream();
+            if (in != null) {
+                in.close();
+            }
+        } catch (Exception e) {
+            // 响应内容已经不可读取
+        }
+    }
+
+    /**
+     * 结束响应内容的读取
+     * <p>响应内容既未被读取为字符串，也未被流式读取时，在此读取为字符串并释放连接</p>
+     */
+    public void finishContent() {
+        getContent();
+    }
+
     public ForestHeader getHeader(String name) {
         return headers.getHeader(name);
     }
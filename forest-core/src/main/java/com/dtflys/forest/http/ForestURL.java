@@ -0,0 +1,263 @@
+package com.dtflys.forest.http;
+
+import com.dtflys.forest.exceptions.ForestRuntimeException;
+import com.dtflys.forest.utils.RequestNameValue;
+
+import java.util.List;
+
+import static com.dtflys.forest.mapping.MappingParameter.TARGET_QUERY;
+
+/**
+ * 预先拆分好的URL
+ * <p>将URL拆分为协议、主机、端口、路径和查询参数，不依赖 {@link java.net.URL}，
+ * 对于不含变量的URL模板可以在方法初始化时解析一次，之后每次调用直接复用；
+ * 协议、主机和端口为常量的URL模板可以在初始化时解析出这一部分，每次调用通过 {@link #resolve(String)} 只拆分路径和查询参数</p>
+ * @author agent[agent@local]
+ * @since 2026-10-17 14:59
+ */
+public class ForestURL {
+
+    private final static String[] EMPTY_ARRAY = new String[0];
+
+    /**
+     * 协议，如 http, https
+     */
+    private final String protocol;
+
+    /**
+     * 原始URL中协议、主机和端口部分的字符串，即路径之前的部分
+     */
+    private final String origin;
+
+    /**
+     * 主机名
+     */
+    private final String host;
+
+    /**
+     * 端口，未指定时为 -1
+     */
+    private final int port;
+
+    /**
+     * 路径
+     */
+    private final String path;
+
+    /**
+     * 不带查询参数的URL，由协议、主机、端口和路径组成
+     */
+    private final String url;
+
+    /**
+     * 查询参数名
+     */
+    private final String[] queryNames;
+
+    /**
+     * 查询参数值，没有等号的参数值为 null
+     */
+    private final String[] queryValues;
+
+    private ForestURL(String origin, String protocol, String host, int port, String path,
+                      String[] queryNames, String[] queryValues) {
+        this.origin = origin;
+        this.protocol = protocol;
+        this.host = host;
+        this.port = port;
+        this.path = path;
+        this.queryNames = queryNames;
+        this.queryValues = queryValues;
+        StringBuilder builder = new StringBuilder(protocol.length() + host.length() + path.length() + 9);
+        builder.append(protocol).append("://").append(host);
+        if (port != 80 && port > -1) {
+            builder.append(':').append(port);
+        }
+        builder.append(path);
+        this.url = builder.toString();
+    }
+
+    /**
+     * 解析URL字符串
+     * @param url URL字符串，必须带有协议
+     * @return 拆分好的URL
+     */
+    public static ForestURL parse(String url) {
+        int len = url.length();
+        int schemeEnd = url.indexOf("://");
+        if (schemeEnd <= 0) {
+            throw new ForestRuntimeException("no protocol: " + url);
+        }
+        String protocol = url.substring(0, schemeEnd).toLowerCase();
+
+        // 主机和端口
+        int authorityStart = schemeEnd + 3;
+        int authorityEnd = authorityStart;
+        while (authorityEnd < len) {
+            if (isAuthorityEnd(url.charAt(authorityEnd))) {
+                break;
+            }
+            authorityEnd++;
+        }
+        int hostStart = url.lastIndexOf('@', authorityEnd - 1);
+        hostStart = hostStart < authorityStart ? authorityStart : hostStart + 1;
+        // IPv6地址中的冒号不是端口分隔符
+        int hostEnd = hostStart;
+        if (hostStart < authorityEnd && url.charAt(hostStart) == '[') {
+            int bracketEnd = url.indexOf(']', hostStart);
+            if (bracketEnd > 0 && bracketEnd < authorityEnd) {
+                hostEnd = bracketEnd;
+            }
+        }
+        int portSep = -1;
+        for (int i = authorityEnd - 1; i > hostEnd; i--) {
+            if (url.charAt(i) == ':') {
+                portSep = i;
+                break;
+            }
+        }
+        String host;
+        int port = -1;
+        if (portSep > 0) {
+            host = url.substring(hostStart, portSep);
+            if (portSep + 1 < authorityEnd) {
+                try {
+                    port = Integer.parseInt(url.substring(portSep + 1, authorityEnd));
+                } catch (NumberFormatException e) {
+                    throw new ForestRuntimeException("invalid port: " + url);
+                }
+            }
+        } else {
+            host = url.substring(hostStart, authorityEnd);
+        }
+
+        return parsePathAndQuery(url, url.substring(0, authorityEnd), protocol, host, port);
+    }
+
+    /**
+     * 解析URL，URL路径之前的部分与当前URL完全相同时直接复用已经解析的协议、主机和端口，只拆分路径和查询参数
+     * @param url URL字符串
+     * @return 拆分好的URL
+     */
+    public ForestURL resolve(String url) {
+        int authorityEnd = origin.length();
+        if (url.startsWith(origin)
+                && (url.length() == authorityEnd || isAuthorityEnd(url.charAt(authorityEnd)))) {
+            return parsePathAndQuery(url, origin, protocol, host, port);
+        }
+        return parse(url);
+    }
+
+    private static boolean isAuthorityEnd(char ch) {
+        return ch == '/' || ch == '?' || ch == '#';
+    }
+
+    private static ForestURL parsePathAndQuery(String url, String origin, String protocol, String host, int port) {
+        int len = url.length();
+        int authorityEnd = origin.length();
+        // 路径
+        int pathEnd = authorityEnd;
+        while (pathEnd < len) {
+            char ch = url.charAt(pathEnd);
+            if (ch == '?' || ch == '#') {
+                break;
+            }
+            pathEnd++;
+        }
+        String path = url.substring(authorityEnd, pathEnd);
+
+        // 查询参数
+        String[] queryNames = EMPTY_ARRAY;
+        String[] queryValues = EMPTY_ARRAY;
+        if (pathEnd < len && url.charAt(pathEnd) == '?') {
+            int queryStart = pathEnd + 1;
+            int queryEnd = url.indexOf('#', queryStart);
+            if (queryEnd < 0) {
+                queryEnd = len;
+            }
+            int count = 0;
+            for (int i = queryStart; i < queryEnd; i++) {
+                if (url.charAt(i) == '&') {
+                    count++;
+                }
+            }
+            queryNames = new String[count + 1];
+            queryValues = new String[count + 1];
+            int n = 0;
+            int paramStart = queryStart;
+            while (paramStart <= queryEnd) {
+                int paramEnd = url.indexOf('&', paramStart);
+                if (paramEnd < 0 || paramEnd > queryEnd) {
+                    paramEnd = queryEnd;
+                }
+                if (paramEnd > paramStart) {
+                    int eq = url.indexOf('=', paramStart);
+                    if (eq >= 0 && eq < paramEnd) {
+                        queryNames[n] = url.substring(paramStart, eq);
+                        queryValues[n] = url.substring(eq + 1, paramEnd);
+                    } else {
+                        queryNames[n] = url.substring(paramStart, paramEnd);
+                    }
+                    n++;
+                }
+                paramStart = paramEnd + 1;
+            }
+            if (n < queryNames.length) {
+                String[] names = new String[n];
+                String[] values = new String[n];
+                System.arraycopy(queryNames, 0, names, 0, n);
+                System.arraycopy(queryValues, 0, values, 0, n);
+                queryNames = names;
+                queryValues = values;
+            }
+        }
+        return new ForestURL(origin, protocol, host, port, path, queryNames, queryValues);
+    }
+
+    /**
+     * 将URL中的查询参数添加到请求参数列表中
+     * @param nameValueList 请求参数列表
+     */
+    public void addQueryTo(List<RequestNameValue> nameValueList) {
+        for (int i = 0; i < queryNames.length; i++) {
+            nameValueList.add(new RequestNameValue(queryNames[i], queryValues[i], TARGET_QUERY));
+        }
+    }
+
+    public String getProtocol() {
+        return protocol;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public int getQuerySize() {
+        return queryNames.length;
+    }
+
+    public String getQueryName(int index) {
+        return queryNames[index];
+    }
+
+    public String getQueryValue(int index) {
+        return queryValues[index];
+    }
+
+    @Override
+    public String toString() {
+        return url;
+    }
+}
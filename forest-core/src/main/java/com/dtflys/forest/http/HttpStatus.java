@@ -95,6 +95,8 @@ public class HttpStatus {
 
     public static final int FAILED_DEPENDENCY = 424;
 
+    public static final int TOO_MANY_REQUESTS = 429;
+
     // --- 5xx Server Error ---
 
     public static final int INTERNAL_SERVER_ERROR = 500;
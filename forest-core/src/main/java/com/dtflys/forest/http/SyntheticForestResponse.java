@@ -0,0 +1,37 @@
+package com.dtflys.forest.http;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+/**
+ * 不经过HTTP后端直接构造的响应
+ * <p>用于熔断等不实际发送请求的场景</p>
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:54
+ */
+public class SyntheticForestResponse<T> extends ForestResponse<T> {
+
+    private final byte[] bytes;
+
+    public SyntheticForestResponse(ForestRequest request, int statusCode, byte[] bytes) {
+        super(request);
+        this.statusCode = statusCode;
+        this.bytes = bytes;
+        this.contentLength = bytes == null ? 0 : bytes.length;
+    }
+
+    @Override
+    public boolean isReceivedResponseData() {
+        return bytes != null;
+    }
+
+    @Override
+    public byte[] getByteArray() {
+        return bytes;
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return bytes == null ? null : new ByteArrayInputStream(bytes);
+    }
+}
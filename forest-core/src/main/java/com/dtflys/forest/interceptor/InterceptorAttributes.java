@@ -8,7 +8,7 @@ import java.util.Map;
 /**
  * 拦截器属性类，用于封装通过注解传入的拦截器属性
  */
-public class InterceptorAttributes {
+public class InterceptorAttributes implements Cloneable {
 
     private final Class interceptorClass;
 
@@ -56,4 +56,15 @@ public class InterceptorAttributes {
     public Class getInterceptorClass() {
         return interceptorClass;
     }
+
+    /**
+     * 复制拦截器属性，属性模板共享，已渲染的属性值独立
+     * @return 新的拦截器属性对象
+     */
+    @Override
+    public InterceptorAttributes clone() {
+        InterceptorAttributes newAttributes = new InterceptorAttributes(interceptorClass, attributeTemplates);
+        newAttributes.attributes.putAll(attributes);
+        return newAttributes;
+    }
 }
@@ -3,6 +3,9 @@ package com.dtflys.forest.interceptor;
 import com.dtflys.forest.exceptions.ForestRuntimeException;
 import com.dtflys.forest.http.ForestRequest;
 import com.dtflys.forest.http.ForestResponse;
+import com.dtflys.forest.lifecycles.BaseAnnotationLifeCycle;
+import com.dtflys.forest.lifecycles.MethodAnnotationLifeCycle;
+import com.dtflys.forest.lifecycles.ParameterAnnotationLifeCycle;
 import com.dtflys.forest.reflection.ForestMethod;
 import com.dtflys.forest.utils.ForestProgress;
 
@@ -26,6 +29,22 @@ public class InterceptorChain implements Interceptor {
         return interceptors.size();
     }
 
+    /**
+     * 是否包含用户定义的拦截器
+     * <p>注解生命周期处理器（如 {@link MethodAnnotationLifeCycle}）不计算在内</p>
+     * @return {@code true}: 包含, {@code false}: 不包含
+     */
+    public synchronized boolean hasCustomInterceptor() {
+        for (Interceptor interceptor : interceptors) {
+            if (!(interceptor instanceof MethodAnnotationLifeCycle)
+                    && !(interceptor instanceof ParameterAnnotationLifeCycle)
+                    && !(interceptor instanceof BaseAnnotationLifeCycle)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public void onInvokeMethod(ForestRequest request, ForestMethod method, Object[] args) {
         Iterator<Interceptor> iter = interceptors.iterator();
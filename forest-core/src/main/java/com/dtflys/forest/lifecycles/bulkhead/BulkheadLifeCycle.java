@@ -0,0 +1,34 @@
+package com.dtflys.forest.lifecycles.bulkhead;
+
+import com.dtflys.forest.bulkhead.ForestBulkhead;
+import com.dtflys.forest.extensions.Bulkhead;
+import com.dtflys.forest.http.ForestRequest;
+import com.dtflys.forest.lifecycles.MethodAnnotationLifeCycle;
+import com.dtflys.forest.reflection.ForestMethod;
+
+/**
+ * 舱壁注解的生命周期，方法上的注解优先于接口上的注解
+ * @author agent[agent@local]
+ * @since 2026-10-17 16:03
+ */
+public class BulkheadLifeCycle implements MethodAnnotationLifeCycle<Bulkhead, Object> {
+
+    @Override
+    public void onMethodInitialized(ForestMethod method, Bulkhead annotation) {
+        Bulkhead methodAnnotation = method.getMethod().getAnnotation(Bulkhead.class);
+        if (methodAnnotation != null && methodAnnotation != annotation) {
+            return;
+        }
+        String name = method.getMethod().getDeclaringClass().getName();
+        if (methodAnnotation != null) {
+            name += "#" + method.getMethodName();
+        }
+        method.getConfiguration().getBulkheadRegistry().register(method, name, annotation);
+    }
+
+    @Override
+    public void onInvokeMethod(ForestRequest request, ForestMethod method, Object[] args) {
+        ForestBulkhead bulkhead = method.getConfiguration().getBulkheadRegistry().getBulkhead(method);
+        request.setBulkhead(bulkhead);
+    }
+}
@@ -0,0 +1,57 @@
+package com.dtflys.forest.lifecycles.cache;
+
+import com.dtflys.forest.cache.ForestResultCache;
+import com.dtflys.forest.exceptions.ForestRuntimeException;
+import com.dtflys.forest.extensions.CacheResult;
+import com.dtflys.forest.http.ForestRequest;
+import com.dtflys.forest.lifecycles.MethodAnnotationLifeCycle;
+import com.dtflys.forest.mapping.MappingTemplate;
+import com.dtflys.forest.reflection.ForestMethod;
+import com.dtflys.forest.utils.StringUtils;
+
+import java.io.InputStream;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Future;
+
+/**
+ * 结果缓存注解的生命周期，方法上的注解优先于接口上的注解
+ * <p>缓存在方法初始化时创建并设置到 {@link ForestMethod} 上，由 {@link ForestMethod#invoke(Object[])} 在构建请求之前查找</p>
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:14
+ */
+public class CacheResultLifeCycle implements MethodAnnotationLifeCycle<CacheResult, Object> {
+
+    @Override
+    public void onMethodInitialized(ForestMethod method, CacheResult annotation) {
+        CacheResult methodAnnotation = method.getMethod().getAnnotation(CacheResult.class);
+        if (methodAnnotation != null && methodAnnotation != annotation) {
+            return;
+        }
+        Class returnClass = method.getMethod().getReturnType();
+        if (!isCacheable(returnClass)) {
+            if (methodAnnotation != null) {
+                throw new ForestRuntimeException("[Forest] result of method \"" + method.getMethodName()
+                        + "\" can not be cached, because its return type is " + returnClass.getName());
+            }
+            return;
+        }
+        String name = method.getMethod().getDeclaringClass().getName() + "#" + method.getMethodName();
+        MappingTemplate keyTemplate = null;
+        if (StringUtils.isNotEmpty(annotation.key())) {
+            keyTemplate = method.makeTemplate(annotation.key());
+        }
+        method.setResultCache(new ForestResultCache(method.getConfiguration().getCacheRefreshExecutor(),
+                name, keyTemplate, annotation.ttl(), annotation.maxSize(), annotation.staleWhileRevalidate()));
+    }
+
+    private boolean isCacheable(Class returnClass) {
+        return returnClass != void.class
+                && !Future.class.isAssignableFrom(returnClass)
+                && !CompletionStage.class.isAssignableFrom(returnClass)
+                && !InputStream.class.isAssignableFrom(returnClass);
+    }
+
+    @Override
+    public void onInvokeMethod(ForestRequest request, ForestMethod method, Object[] args) {
+    }
+}
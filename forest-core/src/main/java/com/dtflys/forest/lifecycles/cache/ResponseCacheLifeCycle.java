@@ -0,0 +1,34 @@
+package com.dtflys.forest.lifecycles.cache;
+
+import com.dtflys.forest.cache.ForestResponseCachePolicy;
+import com.dtflys.forest.extensions.ResponseCache;
+import com.dtflys.forest.http.ForestRequest;
+import com.dtflys.forest.lifecycles.MethodAnnotationLifeCycle;
+import com.dtflys.forest.reflection.ForestMethod;
+
+/**
+ * 响应缓存注解的生命周期，方法上的注解优先于接口上的注解
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:11
+ */
+public class ResponseCacheLifeCycle implements MethodAnnotationLifeCycle<ResponseCache, Object> {
+
+    @Override
+    public void onMethodInitialized(ForestMethod method, ResponseCache annotation) {
+        ResponseCache methodAnnotation = method.getMethod().getAnnotation(ResponseCache.class);
+        if (methodAnnotation != null && methodAnnotation != annotation) {
+            return;
+        }
+        String name = method.getMethod().getDeclaringClass().getName();
+        if (methodAnnotation != null) {
+            name += "#" + method.getMethodName();
+        }
+        method.getConfiguration().getResponseCache().register(method, name, annotation);
+    }
+
+    @Override
+    public void onInvokeMethod(ForestRequest request, ForestMethod method, Object[] args) {
+        ForestResponseCachePolicy policy = method.getConfiguration().getResponseCache().getPolicy(method);
+        request.setResponseCachePolicy(policy);
+    }
+}
@@ -1,10 +1,14 @@
 package com.dtflys.forest.lifecycles.file;
 
+import com.dtflys.forest.callback.OnProgress;
 import com.dtflys.forest.converter.ForestConverter;
+import com.dtflys.forest.download.ForestRangeDownloader;
 import com.dtflys.forest.exceptions.ForestRuntimeException;
 import com.dtflys.forest.extensions.DownloadFile;
 import com.dtflys.forest.http.ForestRequest;
+import com.dtflys.forest.http.ForestRequestType;
 import com.dtflys.forest.http.ForestResponse;
+import com.dtflys.forest.http.HttpStatus;
 import com.dtflys.forest.reflection.ForestMethod;
 import com.dtflys.forest.lifecycles.MethodAnnotationLifeCycle;
 import com.dtflys.forest.utils.ForestDataType;
@@ -26,6 +30,17 @@ public class DownloadLifeCycle implements MethodAnnotationLifeCycle<DownloadFile
         Type resultType = method.getReturnType();
         addAttribute(request, "resultType", resultType);
         request.setDownloadFile(true);
+        if (isRangeDownload(request)) {
+            // 第一个请求只请求第一段，服务端支持时再并发请求其余的段
+            Long chunkSize = getAttribute(request, "chunkSize", Long.class);
+            request.addHeader("Range", ForestRangeDownloader.getFirstRange(chunkSize));
+            request.addHeader("Accept-Encoding", "identity");
+        }
+    }
+
+    private boolean isRangeDownload(ForestRequest request) {
+        Integer threads = getAttributeAsInteger(request, "threads");
+        return threads != null && threads > 1 && request.getType() == ForestRequestType.GET;
     }
 
     @Override
@@ -55,7 +70,11 @@ public class DownloadLifeCycle implements MethodAnnotationLifeCycle<DownloadFile
         String path = dir.getPath() + File.separator + filename;
         File file = new File(path);
         try {
-            FileUtils.copyInputStreamToFile(in, file);
+            if (isRangeDownload(request) && response.getStatusCode() == HttpStatus.PARTIAL_CONTENT) {
+                downloadByRanges(request, response, in, file);
+            } else {
+                FileUtils.copyInputStreamToFile(in, file);
+            }
             request.addAttachment("file", file);
             if (resultType != null) {
                 ForestConverter converter = request.getConfiguration().getConverterMap().get(ForestDataType.AUTO);
@@ -65,6 +84,20 @@ public class DownloadLifeCycle implements MethodAnnotationLifeCycle<DownloadFile
         } catch (IOException e) {
             throw new ForestRuntimeException(e);
         }
+    }
 
+    private void downloadByRanges(ForestRequest request, ForestResponse response, InputStream in, File file) throws IOException {
+        int threads = getAttributeAsInteger(request, "threads");
+        long chunkSize = getAttribute(request, "chunkSize", Long.class);
+        int chunkRetryCount = getAttributeAsInteger(request, "chunkRetryCount");
+        OnProgress onProgress = request.getOnProgress();
+        // 第一段响应本身的进度只是其中一段，由分段下载汇总所有段的进度后再回调
+        request.setOnProgress(null);
+        try {
+            new ForestRangeDownloader(request, file, threads, chunkSize, chunkRetryCount, onProgress)
+                    .download(response, in);
+        } finally {
+            request.setOnProgress(onProgress);
+        }
     }
 }
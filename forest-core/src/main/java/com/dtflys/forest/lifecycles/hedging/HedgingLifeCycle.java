@@ -0,0 +1,36 @@
+package com.dtflys.forest.lifecycles.hedging;
+
+import com.dtflys.forest.extensions.Hedging;
+import com.dtflys.forest.hedging.ForestHedgingPolicy;
+import com.dtflys.forest.http.ForestRequest;
+import com.dtflys.forest.lifecycles.MethodAnnotationLifeCycle;
+import com.dtflys.forest.reflection.ForestMethod;
+
+/**
+ * 对冲请求注解的生命周期，方法上的注解优先于接口上的注解，只有幂等的请求才会被对冲
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:07
+ */
+public class HedgingLifeCycle implements MethodAnnotationLifeCycle<Hedging, Object> {
+
+    @Override
+    public void onMethodInitialized(ForestMethod method, Hedging annotation) {
+        Hedging methodAnnotation = method.getMethod().getAnnotation(Hedging.class);
+        if (methodAnnotation != null && methodAnnotation != annotation) {
+            return;
+        }
+        String name = method.getMethod().getDeclaringClass().getName();
+        if (methodAnnotation != null) {
+            name += "#" + method.getMethodName();
+        }
+        method.getConfiguration().getHedgingRegistry().register(method, name, annotation);
+    }
+
+    @Override
+    public void onInvokeMethod(ForestRequest request, ForestMethod method, Object[] args) {
+        ForestHedgingPolicy policy = method.getConfiguration().getHedgingRegistry().getPolicy(method);
+        if (policy != null && ForestHedgingPolicy.isHedgeable(request.getType())) {
+            request.setHedgingPolicy(policy);
+        }
+    }
+}
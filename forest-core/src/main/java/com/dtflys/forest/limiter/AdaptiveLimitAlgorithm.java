@@ -0,0 +1,19 @@
+package com.dtflys.forest.limiter;
+
+/**
+ * 自适应并发上限算法
+ * @author agent[agent@local]
+ * @since 2026-10-17 16:11
+ */
+public enum AdaptiveLimitAlgorithm {
+
+    /**
+     * 加性增、乘性减：请求成功且并发接近上限时上限加一，请求失败或超时时上限按比例缩小
+     */
+    AIMD,
+
+    /**
+     * TCP Vegas风格：根据当前RTT与无负载RTT估算下游排队的请求数，排队少时增大上限，排队多时减小上限
+     */
+    VEGAS
+}
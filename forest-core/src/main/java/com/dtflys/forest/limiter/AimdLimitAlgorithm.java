@@ -0,0 +1,45 @@
+package com.dtflys.forest.limiter;
+
+/**
+ * AIMD并发上限算法
+ * <p>请求被丢弃或耗时超过 timeout 时上限乘以 backoffRatio；
+ * 其余请求在进行中的请求数超过上限一半时上限加一，避免在流量很小时无限增大</p>
+ * @author agent[agent@local]
+ * @since 2026-10-17 16:11
+ */
+public class AimdLimitAlgorithm implements ForestLimitAlgorithm {
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final double backoffRatio;
+
+    private final long timeoutNanos;
+
+    private volatile int limit;
+
+    public AimdLimitAlgorithm(ForestAdaptiveLimitConfig config) {
+        this.minLimit = Math.max(config.getMinLimit(), 1);
+        this.maxLimit = Math.max(config.getMaxLimit(), minLimit);
+        this.backoffRatio = config.getBackoffRatio();
+        this.timeoutNanos = config.getTimeout() * 1000000L;
+        this.limit = Math.min(Math.max(config.getInitialLimit(), minLimit), maxLimit);
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public synchronized void onSample(long rttNanos, int inflight, boolean dropped) {
+        int currentLimit = limit;
+        if (dropped || (timeoutNanos > 0 && rttNanos > timeoutNanos)) {
+            currentLimit = (int) (currentLimit * backoffRatio);
+        } else if (inflight * 2 >= currentLimit) {
+            currentLimit++;
+        }
+        limit = Math.min(Math.max(currentLimit, minLimit), maxLimit);
+    }
+}
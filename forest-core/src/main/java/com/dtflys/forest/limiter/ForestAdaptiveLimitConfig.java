@@ -0,0 +1,135 @@
+package com.dtflys.forest.limiter;
+
+/**
+ * 自适应并发限流配置
+ * @author agent[agent@local]
+ * @since 2026-10-17 16:11
+ */
+public class ForestAdaptiveLimitConfig {
+
+    /**
+     * 是否启用自适应并发限流
+     */
+    private boolean enabled = false;
+
+    /**
+     * 并发上限算法
+     */
+    private AdaptiveLimitAlgorithm algorithm = AdaptiveLimitAlgorithm.AIMD;
+
+    /**
+     * 初始并发上限
+     */
+    private int initialLimit = 20;
+
+    /**
+     * 最小并发上限
+     */
+    private int minLimit = 1;
+
+    /**
+     * 最大并发上限
+     */
+    private int maxLimit = 200;
+
+    /**
+     * 超出并发上限的异步请求最多排队的数量，超出后拒绝
+     */
+    private int maxQueueSize = 0;
+
+    /**
+     * 超出并发上限的同步请求最多等待的时间（毫秒），0 表示立即拒绝
+     */
+    private long maxWaitTime = 0;
+
+    /**
+     * AIMD算法中上限缩小的比例
+     */
+    private double backoffRatio = 0.9;
+
+    /**
+     * AIMD算法中耗时超过该值（毫秒）的请求视为被丢弃，0 表示不按耗时判断
+     */
+    private long timeout = 0;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public ForestAdaptiveLimitConfig setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        return this;
+    }
+
+    public AdaptiveLimitAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public ForestAdaptiveLimitConfig setAlgorithm(AdaptiveLimitAlgorithm algorithm) {
+        this.algorithm = algorithm;
+        return this;
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public ForestAdaptiveLimitConfig setInitialLimit(int initialLimit) {
+        this.initialLimit = initialLimit;
+        return this;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public ForestAdaptiveLimitConfig setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+        return this;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public ForestAdaptiveLimitConfig setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+        return this;
+    }
+
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    public ForestAdaptiveLimitConfig setMaxQueueSize(int maxQueueSize) {
+        this.maxQueueSize = maxQueueSize;
+        return this;
+    }
+
+    public long getMaxWaitTime() {
+        return maxWaitTime;
+    }
+
+    public ForestAdaptiveLimitConfig setMaxWaitTime(long maxWaitTime) {
+        this.maxWaitTime = maxWaitTime;
+        return this;
+    }
+
+    public double getBackoffRatio() {
+        return backoffRatio;
+    }
+
+    public ForestAdaptiveLimitConfig setBackoffRatio(double backoffRatio) {
+        this.backoffRatio = backoffRatio;
+        return this;
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+
+    public ForestAdaptiveLimitConfig setTimeout(long timeout) {
+        this.timeout = timeout;
+        return this;
+    }
+}
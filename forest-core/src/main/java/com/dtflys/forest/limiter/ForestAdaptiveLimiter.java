@@ -0,0 +1,51 @@
+package com.dtflys.forest.limiter;
+
+import com.dtflys.forest.bulkhead.ForestBulkhead;
+import com.dtflys.forest.exceptions.ForestBulkheadFullException;
+import com.dtflys.forest.exceptions.ForestConcurrencyLimitException;
+import com.dtflys.forest.http.ForestResponse;
+import com.dtflys.forest.http.HttpStatus;
+
+/**
+ * 自适应并发限流器
+ * <p>并发上限由 {@link ForestLimitAlgorithm} 根据每次实际发出的请求的耗时和结果动态调整，
+ * 超出上限的请求与 {@link ForestBulkhead} 一样排队或被拒绝</p>
+ * @author agent[agent@local]
+ * @since 2026-10-17 16:11
+ */
+public class ForestAdaptiveLimiter extends ForestBulkhead {
+
+    private final ForestLimitAlgorithm algorithm;
+
+    public ForestAdaptiveLimiter(String name, ForestLimitAlgorithm algorithm, int maxQueueSize, long maxWaitTime) {
+        super(name, Integer.MAX_VALUE, maxQueueSize, maxWaitTime);
+        this.algorithm = algorithm;
+    }
+
+    @Override
+    public int getLimit() {
+        return algorithm.getLimit();
+    }
+
+    public ForestLimitAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    @Override
+    public ForestBulkheadFullException createRejectedException() {
+        return new ForestConcurrencyLimitException(this, getLimit());
+    }
+
+    /**
+     * 记录一次实际发出的请求的结果
+     * @param response Forest响应对象，网络错误时可能为 null
+     * @param error 网络异常，请求成功返回响应时为 null
+     * @param durationNanos 请求耗时（纳秒）
+     */
+    public void onResult(ForestResponse response, Throwable error, long durationNanos) {
+        boolean dropped = error != null || response == null
+                || response.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS
+                || response.getStatusCode() == HttpStatus.SERVICE_UNAVAILABLE;
+        algorithm.onSample(durationNanos, getActiveCalls(), dropped);
+    }
+}
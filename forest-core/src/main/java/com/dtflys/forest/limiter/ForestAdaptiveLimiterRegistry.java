@@ -0,0 +1,73 @@
+package com.dtflys.forest.limiter;
+
+import com.dtflys.forest.config.ForestConfiguration;
+import com.dtflys.forest.http.ForestRequest;
+import com.dtflys.forest.utils.URLUtils;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 自适应并发限流器注册表，每个全局配置一个，按主机创建和缓存限流器
+ * @author agent[agent@local]
+ * @since 2026-10-17 16:11
+ */
+public class ForestAdaptiveLimiterRegistry {
+
+    private final ForestConfiguration configuration;
+
+    private final Map<String, ForestAdaptiveLimiter> limiters = new ConcurrentHashMap<>();
+
+    public ForestAdaptiveLimiterRegistry(ForestConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    /**
+     * 获取请求对应的限流器
+     * @param request Forest请求对象
+     * @return 限流器，未启用自适应限流或无法确定主机时返回 null
+     */
+    public ForestAdaptiveLimiter getLimiter(ForestRequest request) {
+        ForestAdaptiveLimitConfig config = configuration.getAdaptiveLimitConfig();
+        if (config == null || !config.isEnabled()) {
+            return null;
+        }
+        String name = URLUtils.getHostKey(request.getUrl());
+        if (name == null) {
+            return null;
+        }
+        ForestAdaptiveLimiter limiter = limiters.get(name);
+        if (limiter == null) {
+            limiter = new ForestAdaptiveLimiter(
+                    name, createAlgorithm(config), config.getMaxQueueSize(), config.getMaxWaitTime());
+            ForestAdaptiveLimiter existing = limiters.putIfAbsent(name, limiter);
+            if (existing != null) {
+                return existing;
+            }
+            configuration.getMetrics().bindAdaptiveLimiter(limiter);
+        }
+        return limiter;
+    }
+
+    private ForestLimitAlgorithm createAlgorithm(ForestAdaptiveLimitConfig config) {
+        if (config.getAlgorithm() == AdaptiveLimitAlgorithm.VEGAS) {
+            return new VegasLimitAlgorithm(config);
+        }
+        return new AimdLimitAlgorithm(config);
+    }
+
+    /**
+     * 根据主机获取已创建的限流器
+     * @param name 协议://主机名:端口
+     * @return 限流器，不存在时返回 null
+     */
+    public ForestAdaptiveLimiter getLimiter(String name) {
+        return limiters.get(name);
+    }
+
+    public Collection<ForestAdaptiveLimiter> getLimiters() {
+        return Collections.unmodifiableCollection(limiters.values());
+    }
+}
@@ -0,0 +1,23 @@
+package com.dtflys.forest.limiter;
+
+/**
+ * 并发上限算法，根据每次请求的耗时和结果调整并发上限
+ * @author agent[agent@local]
+ * @since 2026-10-17 16:11
+ */
+public interface ForestLimitAlgorithm {
+
+    /**
+     * 获取当前的并发上限
+     * @return 并发上限
+     */
+    int getLimit();
+
+    /**
+     * 记录一次请求的结果
+     * @param rttNanos 请求耗时（纳秒）
+     * @param inflight 请求结束时正在进行中的请求数
+     * @param dropped 请求是否因下游过载而失败（网络异常、超时、429或503响应）
+     */
+    void onSample(long rttNanos, int inflight, boolean dropped);
+}
@@ -0,0 +1,67 @@
+package com.dtflys.forest.limiter;
+
+/**
+ * TCP Vegas风格的并发上限算法
+ * <p>以观察到的最小RTT作为无负载RTT，用 limit * (1 - rttNoLoad / rtt) 估算下游排队的请求数：
+ * 排队数小于 log10(limit) 时快速增大上限，小于 3 * log10(limit) 时缓慢增大，
+ * 大于 6 * log10(limit) 时减小；请求被丢弃时按 log10(limit) 减小</p>
+ * <p>每 {@link #PROBE_SAMPLES} 次请求重新测量一次无负载RTT，以适应下游RTT的长期变化</p>
+ * @author agent[agent@local]
+ * @since 2026-10-17 16:11
+ */
+public class VegasLimitAlgorithm implements ForestLimitAlgorithm {
+
+    public final static int PROBE_SAMPLES = 1000;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private volatile int limit;
+
+    private long rttNoLoad = 0;
+
+    private int samples = 0;
+
+    public VegasLimitAlgorithm(ForestAdaptiveLimitConfig config) {
+        this.minLimit = Math.max(config.getMinLimit(), 1);
+        this.maxLimit = Math.max(config.getMaxLimit(), minLimit);
+        this.limit = Math.min(Math.max(config.getInitialLimit(), minLimit), maxLimit);
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public synchronized void onSample(long rttNanos, int inflight, boolean dropped) {
+        if (rttNanos <= 0) {
+            return;
+        }
+        if (++samples >= PROBE_SAMPLES) {
+            samples = 0;
+            rttNoLoad = rttNanos;
+        } else if (rttNoLoad == 0 || rttNanos < rttNoLoad) {
+            rttNoLoad = rttNanos;
+        }
+        int currentLimit = limit;
+        int log = Math.max(1, (int) Math.log10(currentLimit));
+        if (dropped) {
+            currentLimit -= log;
+        } else if (inflight * 2 < currentLimit) {
+            // 请求量不足以检验当前上限，保持不变
+            return;
+        } else {
+            int queueSize = (int) Math.ceil(currentLimit * (1 - (double) rttNoLoad / rttNanos));
+            if (queueSize <= log) {
+                currentLimit += 6 * log;
+            } else if (queueSize < 3 * log) {
+                currentLimit += log;
+            } else if (queueSize > 6 * log) {
+                currentLimit -= log;
+            }
+        }
+        limit = Math.min(Math.max(currentLimit, minLimit), maxLimit);
+    }
+}
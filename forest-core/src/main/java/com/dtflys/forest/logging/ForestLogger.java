@@ -0,0 +1,138 @@
+package com.dtflys.forest.logging;
+
+import com.dtflys.forest.http.ForestRequest;
+import com.dtflys.forest.http.ForestResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Forest请求日志输出器，两种后端共用
+ * <ul>
+ *     <li>只有请求开启日志并且SLF4J的INFO级别可用时才会创建日志消息</li>
+ *     <li>日志消息在输出时才拼接文本，请求体只捕获前 bodyMaxBytes 个字节</li>
+ *     <li>开启异步日志后由单独的日志线程输出，队列满时退回到请求线程输出</li>
+ * </ul>
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:37
+ */
+public class ForestLogger {
+
+    private final static Logger log = LoggerFactory.getLogger(ForestLogger.class);
+
+    /**
+     * 默认的请求体日志最大字节数
+     */
+    public final static int DEFAULT_BODY_MAX_BYTES = 1024;
+
+    /**
+     * 异步日志队列的最大长度
+     */
+    private final static int ASYNC_QUEUE_CAPACITY = 1024;
+
+    private final static AtomicInteger THREAD_COUNT = new AtomicInteger(0);
+
+    private volatile int bodyMaxBytes = DEFAULT_BODY_MAX_BYTES;
+
+    private volatile boolean async = false;
+
+    private volatile ThreadPoolExecutor executor;
+
+    public int getBodyMaxBytes() {
+        return bodyMaxBytes;
+    }
+
+    public void setBodyMaxBytes(int bodyMaxBytes) {
+        this.bodyMaxBytes = bodyMaxBytes;
+    }
+
+    public boolean isAsync() {
+        return async;
+    }
+
+    public void setAsync(boolean async) {
+        this.async = async;
+    }
+
+    /**
+     * 判断请求是否需要输出日志
+     * @param request Forest请求对象
+     * @return {@code true} 需要输出日志
+     */
+    public boolean isEnabled(ForestRequest request) {
+        return request.isLogEnable() && log.isInfoEnabled();
+    }
+
+    /**
+     * 输出日志，message 的 toString 在真正输出时才会被调用
+     * @param message 日志消息
+     */
+    public void info(final Object message) {
+        if (!async) {
+            log.info("[Forest] {}", message);
+            return;
+        }
+        getExecutor().execute(new Runnable() {
+            @Override
+            public void run() {
+                log.info("[Forest] {}", message);
+            }
+        });
+    }
+
+    /**
+     * 输出响应日志，同时补充输出还未输出的请求日志
+     * @param request Forest请求对象
+     * @param startTime 请求开始时间
+     * @param response Forest响应对象
+     */
+    public void logResponse(ForestRequest request, long startTime, ForestResponse response) {
+        RequestLogMessage requestLogMessage = request.getRequestLogMessage();
+        if (requestLogMessage != null) {
+            requestLogMessage.flush();
+        }
+        if (!isEnabled(request)) {
+            return;
+        }
+        long time = System.currentTimeMillis() - startTime;
+        info(new ResponseLogMessage(response, time, bodyMaxBytes));
+    }
+
+    private ThreadPoolExecutor getExecutor() {
+        if (executor == null) {
+            synchronized (this) {
+                if (executor == null) {
+                    executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                            new LinkedBlockingQueue<Runnable>(ASYNC_QUEUE_CAPACITY),
+                            new ThreadFactory() {
+                                @Override
+                                public Thread newThread(Runnable runnable) {
+                                    Thread thread = new Thread(runnable, "forest-log-" + THREAD_COUNT.incrementAndGet());
+                                    thread.setDaemon(true);
+                                    return thread;
+                                }
+                            },
+                            new ThreadPoolExecutor.CallerRunsPolicy());
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * 关闭异步日志线程，已提交的日志会继续输出
+     */
+    public void close() {
+        synchronized (this) {
+            if (executor != null) {
+                executor.shutdown();
+                executor = null;
+            }
+        }
+    }
+}
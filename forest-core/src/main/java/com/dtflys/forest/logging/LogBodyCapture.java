@@ -0,0 +1,114 @@
+package com.dtflys.forest.logging;
+
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * 请求体日志捕获器
+ * <p>作为请求体写出时的旁路输出（tee），只保留前 maxBytes 个字节，其余字节只计数不保存；
+ * 写出请求体的线程与重试时重置、输出日志的线程可能不同，所有读写都在同一把锁下进行</p>
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:37
+ */
+public class LogBodyCapture extends OutputStream {
+
+    private final int maxBytes;
+
+    private byte[] buffer;
+
+    private int size = 0;
+
+    private long totalBytes = 0;
+
+    public LogBodyCapture(int maxBytes) {
+        this.maxBytes = Math.max(maxBytes, 0);
+    }
+
+    /**
+     * 还可以保存的字节数
+     * @return 剩余容量
+     */
+    public synchronized int remaining() {
+        return maxBytes - size;
+    }
+
+    @Override
+    public synchronized void write(int b) {
+        if (size < maxBytes) {
+            ensureCapacity(size + 1);
+            buffer[size++] = (byte) b;
+        }
+        totalBytes++;
+    }
+
+    @Override
+    public synchronized void write(byte[] b, int off, int len) {
+        int n = Math.min(len, remaining());
+        if (n > 0) {
+            ensureCapacity(size + n);
+            System.arraycopy(b, off, buffer, size, n);
+            size += n;
+        }
+        totalBytes += len;
+    }
+
+    /**
+     * 写入由调用方自行保存的字节，只计入已保存的部分
+     * <p>用于 {@link okio.Buffer#copyTo(OutputStream, long, long)} 这类只拷贝前一部分内容的场景</p>
+     * @param byteCount 本次实际写出的总字节数
+     * @param captured 本次已通过 write 保存的字节数
+     */
+    public synchronized void countRest(long byteCount, long captured) {
+        totalBytes += byteCount - captured;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (buffer == null) {
+            buffer = new byte[Math.min(Math.max(capacity, 256), maxBytes)];
+        } else if (capacity > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.min(Math.max(capacity, buffer.length << 1), maxBytes));
+        }
+    }
+
+    /**
+     * 重新开始捕获，重试时请求体会被再次写出
+     */
+    public synchronized void reset() {
+        size = 0;
+        totalBytes = 0;
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public synchronized boolean isTruncated() {
+        return totalBytes > size;
+    }
+
+    /**
+     * 将已捕获的内容转换为单行日志文本
+     * @param charset 字符集
+     * @return 日志文本
+     */
+    public synchronized String toLogString(Charset charset) {
+        StringBuilder builder = new StringBuilder(size + 32);
+        if (size > 0) {
+            String text = new String(buffer, 0, size, charset);
+            for (int i = 0; i < text.length(); i++) {
+                char ch = text.charAt(i);
+                if (ch == '\r') {
+                    continue;
+                }
+                builder.append(ch == '\n' ? ' ' : ch);
+            }
+        }
+        if (isTruncated()) {
+            builder.append("...[")
+                    .append(totalBytes)
+                    .append(" bytes]");
+        }
+        return builder.toString();
+    }
+}
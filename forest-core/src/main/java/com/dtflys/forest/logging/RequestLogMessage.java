@@ -0,0 +1,103 @@
+package com.dtflys.forest.logging;
+
+import com.dtflys.forest.utils.StringUtils;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 请求日志消息
+ * <p>只保存对后端请求对象的引用和请求体捕获器，日志文本在真正输出时才会拼接</p>
+ * <p>有请求体的请求在请求体写出完成后输出日志，没有请求体或请求体未写出时在收到响应或出错时输出，每条消息只输出一次</p>
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:37
+ */
+public abstract class RequestLogMessage {
+
+    private final ForestLogger logger;
+
+    private final int retryCount;
+
+    private final AtomicBoolean logged = new AtomicBoolean(false);
+
+    private volatile LogBodyCapture bodyCapture;
+
+    private volatile String bodySummary;
+
+    private volatile Charset charset;
+
+    protected RequestLogMessage(ForestLogger logger, int retryCount) {
+        this.logger = logger;
+        this.retryCount = retryCount;
+    }
+
+    /**
+     * 获取请求行，如: GET http://localhost/hello HTTP
+     * @return 请求行
+     */
+    protected abstract String getRequestLine();
+
+    /**
+     * 拼接请求头，每个请求头一行
+     * @param builder 日志文本
+     */
+    protected abstract void appendHeaders(StringBuilder builder);
+
+    /**
+     * 创建请求体捕获器
+     * @param charset 请求体字符集，为 null 时使用 UTF-8
+     * @return 请求体捕获器
+     */
+    public LogBodyCapture captureBody(Charset charset) {
+        this.charset = charset;
+        this.bodyCapture = new LogBodyCapture(logger.getBodyMaxBytes());
+        return bodyCapture;
+    }
+
+    /**
+     * 设置不需要捕获内容的请求体摘要，如文件上传时的 multipart 请求体
+     * @param bodySummary 请求体摘要
+     */
+    public void setBodySummary(String bodySummary) {
+        this.bodySummary = bodySummary;
+    }
+
+    /**
+     * 输出日志，重复调用时只输出一次
+     */
+    public void flush() {
+        if (logged.compareAndSet(false, true)) {
+            logger.info(this);
+        }
+    }
+
+    public boolean isLogged() {
+        return logged.get();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(256);
+        builder.append("Request: \n\t");
+        if (retryCount > 0) {
+            builder.append("[Retry: ").append(retryCount).append("] ");
+        }
+        builder.append(getRequestLine());
+        int length = builder.length();
+        builder.append("\n\tHeaders: \n");
+        int headersStart = builder.length();
+        appendHeaders(builder);
+        if (builder.length() == headersStart) {
+            builder.setLength(length);
+        }
+        String body = bodySummary;
+        if (body == null && bodyCapture != null) {
+            body = bodyCapture.toLogString(charset != null ? charset : StandardCharsets.UTF_8);
+        }
+        if (StringUtils.isNotEmpty(body)) {
+            builder.append("\n\tBody: ").append(body);
+        }
+        return builder.toString();
+    }
+}
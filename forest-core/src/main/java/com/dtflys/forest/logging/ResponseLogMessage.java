@@ -0,0 +1,45 @@
+package com.dtflys.forest.logging;
+
+import com.dtflys.forest.http.ForestResponse;
+
+/**
+ * 响应日志消息
+ * <p>不会为了输出日志而读取响应体，只有响应内容已经在内存中时才输出前 maxBytes 个字符</p>
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:37
+ */
+public class ResponseLogMessage {
+
+    private final int statusCode;
+
+    private final long time;
+
+    private final String content;
+
+    public ResponseLogMessage(ForestResponse response, long time, int maxBytes) {
+        this.statusCode = response.getStatusCode();
+        this.time = time;
+        String content = null;
+        if (response.isSuccess() && !response.isStreamable()) {
+            content = response.getContent();
+            if (content != null && content.length() > maxBytes) {
+                content = content.substring(0, Math.max(maxBytes, 0)) + "...[" + content.length() + " chars]";
+            }
+        }
+        this.content = content;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(64);
+        builder.append("Response: Status = ")
+                .append(statusCode)
+                .append(", Time = ")
+                .append(time)
+                .append("ms");
+        if (content != null) {
+            builder.append(", Content = ").append(content);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,253 @@
+package com.dtflys.forest.mapping;
+
+import com.dtflys.forest.exceptions.ForestRuntimeException;
+import com.dtflys.forest.utils.StringUtils;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * 模板表达式中对象属性和方法的访问器
+ * <p>按 (类, 属性名/方法名, 参数个数) 缓存，首次访问时解析方法并生成调用入口，
+ * 之后每次渲染只需一次虚方法调用，不再重复反射查找</p>
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:01
+ */
+public abstract class MappingAccessor {
+
+    private final static MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private final static MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private final static ClassValue<ConcurrentMap<String, MappingAccessor>> ACCESSOR_CACHE =
+            new ClassValue<ConcurrentMap<String, MappingAccessor>>() {
+                @Override
+                protected ConcurrentMap<String, MappingAccessor> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    /**
+     * 访问器所属的类
+     */
+    private final Class targetClass;
+
+    protected MappingAccessor(Class targetClass) {
+        this.targetClass = targetClass;
+    }
+
+    public Class getTargetClass() {
+        return targetClass;
+    }
+
+    /**
+     * 调用访问器
+     * @param target 目标对象
+     * @param args 方法参数，属性访问时为 null
+     * @return 返回值
+     */
+    public abstract Object invoke(Object target, Object[] args);
+
+
+    /**
+     * 获取属性访问器，优先查找getter方法，找不到时查找与属性同名的方法
+     * @param targetClass 目标类
+     * @param propertyName 属性名
+     * @return 属性访问器
+     */
+    public static MappingAccessor getPropertyAccessor(Class targetClass, String propertyName) {
+        ConcurrentMap<String, MappingAccessor> accessors = ACCESSOR_CACHE.get(targetClass);
+        MappingAccessor accessor = accessors.get(propertyName);
+        if (accessor != null) {
+            return accessor;
+        }
+        return accessors.computeIfAbsent(propertyName, name -> {
+            String getterName = StringUtils.toGetterName(name);
+            Method method = findMethod(targetClass, getterName, 0);
+            if (method == null) {
+                method = findMethod(targetClass, name, 0);
+            }
+            if (method == null) {
+                throw new ForestRuntimeException(new NoSuchMethodException(targetClass.getName() + "." + getterName));
+            }
+            return createAccessor(targetClass, method);
+        });
+    }
+
+    /**
+     * 获取方法访问器
+     * @param targetClass 目标类
+     * @param methodName 方法名
+     * @param argCount 参数个数
+     * @return 方法访问器
+     */
+    public static MappingAccessor getMethodAccessor(Class targetClass, String methodName, int argCount) {
+        ConcurrentMap<String, MappingAccessor> accessors = ACCESSOR_CACHE.get(targetClass);
+        String key = methodName + "()" + argCount;
+        MappingAccessor accessor = accessors.get(key);
+        if (accessor != null) {
+            return accessor;
+        }
+        return accessors.computeIfAbsent(key, k -> {
+            Method method = findMethod(targetClass, methodName, argCount);
+            if (method == null) {
+                throw new ForestRuntimeException(new NoSuchMethodException(targetClass.getName() + "." + methodName));
+            }
+            return createAccessor(targetClass, method);
+        });
+    }
+
+    private static Method findMethod(Class targetClass, String name, int argCount) {
+        if (argCount == 0) {
+            try {
+                return targetClass.getDeclaredMethod(name);
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+        for (Method method : targetClass.getDeclaredMethods()) {
+            if (method.getName().equals(name) && method.getParameterCount() == argCount) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private static MappingAccessor createAccessor(Class targetClass, Method method) {
+        int argCount = method.getParameterCount();
+        if (argCount == 0) {
+            Function<Object, Object> function = createGetterFunction(method);
+            if (function != null) {
+                return new FunctionAccessor(targetClass, function);
+            }
+        }
+        MethodHandle handle;
+        try {
+            if (!method.isAccessible()) {
+                method.setAccessible(true);
+            }
+            handle = LOOKUP.unreflect(method);
+        } catch (IllegalAccessException | SecurityException e) {
+            throw new ForestRuntimeException(e);
+        }
+        handle = handle.asType(MethodType.genericMethodType(argCount + 1));
+        if (argCount == 0) {
+            return new GetterHandleAccessor(targetClass, handle);
+        }
+        return new MethodHandleAccessor(targetClass, handle.asSpreader(Object[].class, argCount));
+    }
+
+    /**
+     * 通过 {@link LambdaMetafactory} 为公开的无参方法生成 {@link Function} 实现
+     * <p>生成的类定义在Forest所在的类加载器中，因此只处理从该类加载器可见的公开类，
+     * 其他情况返回 null，由 {@link MethodHandle} 处理</p>
+     */
+    private static Function<Object, Object> createGetterFunction(Method method) {
+        Class declaringClass = method.getDeclaringClass();
+        if (!Modifier.isPublic(declaringClass.getModifiers())
+                || !Modifier.isPublic(method.getModifiers())
+                || Modifier.isStatic(method.getModifiers())
+                || method.getReturnType() == void.class
+                || !isVisible(declaringClass)) {
+            return null;
+        }
+        try {
+            MethodHandle handle = LOOKUP.unreflect(method);
+            CallSite callSite = LambdaMetafactory.metafactory(
+                    LOOKUP,
+                    "apply",
+                    MethodType.methodType(Function.class),
+                    GETTER_TYPE,
+                    handle,
+                    MethodType.methodType(box(method.getReturnType()), declaringClass));
+            return (Function<Object, Object>) callSite.getTarget().invokeExact();
+        } catch (Throwable th) {
+            return null;
+        }
+    }
+
+    private static boolean isVisible(Class clazz) {
+        ClassLoader loader = MappingAccessor.class.getClassLoader();
+        try {
+            return Class.forName(clazz.getName(), false, loader) == clazz;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static Class box(Class type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+        return MethodType.methodType(type).wrap().returnType();
+    }
+
+
+    private static class FunctionAccessor extends MappingAccessor {
+        private final Function<Object, Object> function;
+
+        FunctionAccessor(Class targetClass, Function<Object, Object> function) {
+            super(targetClass);
+            this.function = function;
+        }
+
+        @Override
+        public Object invoke(Object target, Object[] args) {
+            try {
+                return function.apply(target);
+            } catch (ForestRuntimeException e) {
+                throw e;
+            } catch (Throwable th) {
+                throw new ForestRuntimeException(th);
+            }
+        }
+    }
+
+    private static class GetterHandleAccessor extends MappingAccessor {
+        private final MethodHandle handle;
+
+        GetterHandleAccessor(Class targetClass, MethodHandle handle) {
+            super(targetClass);
+            this.handle = handle;
+        }
+
+        @Override
+        public Object invoke(Object target, Object[] args) {
+            try {
+                return (Object) handle.invokeExact(target);
+            } catch (ForestRuntimeException e) {
+                throw e;
+            } catch (Throwable th) {
+                throw new ForestRuntimeException(th);
+            }
+        }
+    }
+
+    private static class MethodHandleAccessor extends MappingAccessor {
+        private final MethodHandle handle;
+
+        MethodHandleAccessor(Class targetClass, MethodHandle handle) {
+            super(targetClass);
+            this.handle = handle;
+        }
+
+        @Override
+        public Object invoke(Object target, Object[] args) {
+            try {
+                return (Object) handle.invokeExact(target, args);
+            } catch (ForestRuntimeException e) {
+                throw e;
+            } catch (Throwable th) {
+                throw new ForestRuntimeException(th);
+            }
+        }
+    }
+}
@@ -1,11 +1,6 @@
 package com.dtflys.forest.mapping;
 
 import com.dtflys.forest.config.VariableScope;
-import com.dtflys.forest.exceptions.ForestRuntimeException;
-import com.dtflys.forest.utils.StringUtils;
-
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 
 /**
  * @author gongjun
@@ -28,30 +23,20 @@ public class MappingDot extends MappingExpr {
     }
 
 
+    /**
+     * 单态内联缓存，同一表达式在绝大多数情况下只会遇到同一种类型的对象
+     */
+    private volatile MappingAccessor cachedAccessor;
+
     public Object render(Object[] args) {
         Object obj = left.render(args);
-        String getterName = StringUtils.toGetterName(right.getName());
-        Method method = null;
-        try {
-            method = obj.getClass().getDeclaredMethod(getterName);
-        } catch (NoSuchMethodException e) {
-            try {
-                method = obj.getClass().getDeclaredMethod(right.getName());
-            } catch (NoSuchMethodException e1) {
-                throw new ForestRuntimeException(e1);
-            }
-        }
-        if (method == null) {
-            throw new ForestRuntimeException(new NoSuchMethodException(getterName));
-        }
-        try {
-            Object result = method.invoke(obj);
-            return result;
-        } catch (InvocationTargetException e) {
-            throw new ForestRuntimeException(e);
-        } catch (IllegalAccessException e) {
-            throw new ForestRuntimeException(e);
+        Class clazz = obj.getClass();
+        MappingAccessor accessor = cachedAccessor;
+        if (accessor == null || accessor.getTargetClass() != clazz) {
+            accessor = MappingAccessor.getPropertyAccessor(clazz, right.getName());
+            cachedAccessor = accessor;
         }
+        return accessor.invoke(obj, null);
     }
 
     @Override
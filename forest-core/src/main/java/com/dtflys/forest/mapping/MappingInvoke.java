@@ -1,10 +1,6 @@
 package com.dtflys.forest.mapping;
 
 import com.dtflys.forest.config.VariableScope;
-import com.dtflys.forest.exceptions.ForestRuntimeException;
-
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.List;
 
 /**
@@ -28,33 +24,30 @@ public class MappingInvoke extends MappingDot {
         return argList;
     }
 
+    /**
+     * 单态内联缓存
+     */
+    private volatile MappingAccessor cachedAccessor;
+
     @Override
     public Object render(Object[] args) {
         Object obj = left.render(args);
-        String methodName = right.getName();
-        try {
-            Method method = obj.getClass().getDeclaredMethod(methodName);
-            Object result = null;
-            if (argList == null || argList.isEmpty()) {
-                result = method.invoke(obj);
-            }
-            else {
-                Object[] renderArgs = new Object[argList.size()];
-                for (int i = 0, len = argList.size(); i < len; i++) {
-                    MappingExpr expr = argList.get(i);
-                    renderArgs[i] = expr.render(args);
-                }
-                result = method.invoke(obj, renderArgs);
-            }
-            return result;
-        } catch (NoSuchMethodException e) {
-            throw new ForestRuntimeException(e);
-        } catch (InvocationTargetException e) {
-            throw new ForestRuntimeException(e);
-        } catch (IllegalAccessException e) {
-            throw new ForestRuntimeException(e);
+        Class clazz = obj.getClass();
+        int argCount = argList == null ? 0 : argList.size();
+        MappingAccessor accessor = cachedAccessor;
+        if (accessor == null || accessor.getTargetClass() != clazz) {
+            accessor = MappingAccessor.getMethodAccessor(clazz, right.getName(), argCount);
+            cachedAccessor = accessor;
         }
-
+        if (argCount == 0) {
+            return accessor.invoke(obj, null);
+        }
+        Object[] renderArgs = new Object[argCount];
+        for (int i = 0; i < argCount; i++) {
+            MappingExpr expr = argList.get(i);
+            renderArgs[i] = expr.render(args);
+        }
+        return accessor.invoke(obj, renderArgs);
     }
 
     @Override
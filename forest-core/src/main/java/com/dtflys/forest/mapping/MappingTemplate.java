@@ -18,6 +18,35 @@ public class MappingTemplate {
     private List<MappingExpr> exprList;
     private VariableScope variableScope;
 
+    private final static byte SLOT_STRING = 0;
+    private final static byte SLOT_INDEX = 1;
+    private final static byte SLOT_EXPR = 2;
+
+    /**
+     * 编译后的扁平渲染数组，每个位置的类型由 {@link #slotTypes} 决定
+     */
+    private byte[] slotTypes;
+    private String[] slotTexts;
+    private int[] slotIndexes;
+    private MappingExpr[] slotExprs;
+
+    /**
+     * 只包含字符串常量时的渲染结果
+     */
+    private String constantText;
+
+    /**
+     * 所有字符串常量的总长度
+     */
+    private int literalLength;
+
+    /**
+     * 输出缓冲区的预估大小，根据之前的渲染结果调整
+     */
+    private volatile int sizeHint;
+
+    private final static int MAX_SIZE_HINT = 8192;
+
     int readIndex = -1;
 
     private boolean isEnd() {
@@ -112,6 +141,50 @@ public class MappingTemplate {
             MappingString str = new MappingString(buffer.toString());
             exprList.add(str);
         }
+        compileSlots();
+    }
+
+    /**
+     * 将表达式列表编译为扁平的渲染数组
+     */
+    private void compileSlots() {
+        int len = exprList.size();
+        slotTypes = new byte[len];
+        slotTexts = new String[len];
+        slotIndexes = new int[len];
+        slotExprs = new MappingExpr[len];
+        literalLength = 0;
+        int valueSlotCount = 0;
+        boolean constant = true;
+        for (int i = 0; i < len; i++) {
+            MappingExpr expr = exprList.get(i);
+            if (expr instanceof MappingString) {
+                String text = ((MappingString) expr).getText();
+                slotTypes[i] = SLOT_STRING;
+                slotTexts[i] = text;
+                literalLength += text.length();
+            } else if (expr instanceof MappingIndex) {
+                slotTypes[i] = SLOT_INDEX;
+                slotIndexes[i] = ((MappingIndex) expr).getIndex();
+                valueSlotCount++;
+                constant = false;
+            } else {
+                slotTypes[i] = SLOT_EXPR;
+                slotExprs[i] = expr;
+                valueSlotCount++;
+                constant = false;
+            }
+        }
+        if (constant) {
+            StringBuilder builder = new StringBuilder(literalLength);
+            for (int i = 0; i < len; i++) {
+                builder.append(slotTexts[i]);
+            }
+            constantText = builder.toString();
+        } else {
+            constantText = null;
+        }
+        sizeHint = literalLength + 16 * valueSlotCount;
     }
 
 
@@ -331,35 +404,77 @@ public class MappingTemplate {
     }
 
 
-    public String render(Object[] args) {
-        ForestJsonConverter jsonConverter = variableScope.getConfiguration().getJsonConverter();
-        int len = exprList.size();
+    /**
+     * 模板中是否只包含字符串常量，不含任何表达式
+     * @return 是否为常量模板
+     */
+    public boolean isConstant() {
+        return constantText != null;
+    }
+
+    /**
+     * 获取模板开头第一个表达式之前的字符串常量，每次渲染的结果都以它开头
+     * @return 开头的字符串常量，模板以表达式开头时为空字符串
+     */
+    public String getConstantPrefix() {
+        if (constantText != null) {
+            return constantText;
+        }
         StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < slotTypes.length && slotTypes[i] == SLOT_STRING; i++) {
+            builder.append(slotTexts[i]);
+        }
+        return builder.toString();
+    }
+
+    public String render(Object[] args) {
+        if (constantText != null) {
+            return constantText;
+        }
+        int len = slotTypes.length;
+        // 只有一个表达式时直接返回该表达式的值，不需要拼接
+        if (len == 1) {
+            return getParameterValue(renderSlot(0, args));
+        }
+        StringBuilder builder = new StringBuilder(sizeHint);
         for (int i = 0; i < len; i++) {
-            MappingExpr expr = exprList.get(i);
-            Object val = null;
-            if (expr instanceof MappingString) {
-                builder.append(((MappingString) expr).getText());
-            }
-            else if (expr instanceof MappingIndex) {
-                try {
-                    val = args[((MappingIndex) expr).getIndex()];
-                } catch (Exception ex) {
-                }
-                if (val != null) {
-                    builder.append(getParameterValue(jsonConverter, val));
-                }
-            }
-            else {
-                val = expr.render(args);
+            if (slotTypes[i] == SLOT_STRING) {
+                builder.append(slotTexts[i]);
+            } else {
+                Object val = renderSlot(i, args);
                 if (val != null) {
-                    builder.append(getParameterValue(jsonConverter, val));
+                    builder.append(getParameterValue(val));
                 }
             }
         }
+        int size = builder.length();
+        if (size > sizeHint && size <= MAX_SIZE_HINT) {
+            sizeHint = size;
+        }
         return builder.toString();
     }
 
+    private Object renderSlot(int i, Object[] args) {
+        if (slotTypes[i] == SLOT_INDEX) {
+            int index = slotIndexes[i];
+            if (args == null || index < 0 || index >= args.length) {
+                return null;
+            }
+            return args[index];
+        }
+        return slotExprs[i].render(args);
+    }
+
+    /**
+     * 只有在需要将 Map 或 Collection 转换为JSON时才获取JSON转换器
+     */
+    private String getParameterValue(Object obj) {
+        if (obj instanceof Map || obj instanceof Collection) {
+            return getParameterValue(variableScope.getConfiguration().getJsonConverter(), obj);
+        }
+        return getParameterValue(null, obj);
+    }
+
     public static String getParameterValue(ForestJsonConverter jsonConverter, Object obj) {
         if (obj == null) {
             return "";
@@ -0,0 +1,29 @@
+package com.dtflys.forest.metrics;
+
+/**
+ * 连接池状态，每次调用都会读取连接池的当前值
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:13
+ */
+public interface ForestConnectionPoolMetrics {
+
+    /**
+     * @return 正在使用中的连接数
+     */
+    int getLeasedConnections();
+
+    /**
+     * @return 空闲连接数
+     */
+    int getIdleConnections();
+
+    /**
+     * @return 等待连接的请求数
+     */
+    int getPendingRequests();
+
+    /**
+     * @return 最大连接数
+     */
+    int getMaxConnections();
+}
@@ -0,0 +1,105 @@
+package com.dtflys.forest.metrics;
+
+import com.dtflys.forest.bulkhead.ForestBulkhead;
+import com.dtflys.forest.cache.ResponseCacheResult;
+import com.dtflys.forest.circuitbreaker.CircuitBreakerState;
+import com.dtflys.forest.circuitbreaker.ForestCircuitBreaker;
+import com.dtflys.forest.config.ForestConfiguration;
+import com.dtflys.forest.http.ForestRequest;
+import com.dtflys.forest.http.ForestResponse;
+import com.dtflys.forest.limiter.ForestAdaptiveLimiter;
+
+/**
+ * Forest请求指标收集接口
+ * <p>通过 {@link ForestConfiguration#setMetrics(ForestMetrics)} 设置，
+ * 默认为不做任何事情的 {@link NoneForestMetrics}</p>
+ * <p>每次实际发出的HTTP请求（包括重试）都会调用一次 {@link #recordRequest}，
+ * 可以通过 {@link ForestRequest#getMethod()} 得到请求所属的接口和方法</p>
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:13
+ */
+public interface ForestMetrics {
+
+    /**
+     * 是否需要收集指标，为 false 时后端会跳过请求体大小等额外的统计
+     * @return 是否启用
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * 绑定到Forest配置，可以在此注册连接池等需要定时采集的指标
+     * @param configuration Forest配置
+     */
+    default void bind(ForestConfiguration configuration) {
+    }
+
+    /**
+     * 记录一次HTTP请求
+     * @param request Forest请求对象
+     * @param response Forest响应对象，网络错误时可能为 null 或不带状态码
+     * @param error 网络异常，请求成功返回响应时为 null
+     * @param durationNanos 请求耗时（纳秒）
+     * @param requestBytes 请求体字节数，未知时为 -1
+     * @param responseBytes 响应体字节数，未知时为 -1
+     */
+    void recordRequest(ForestRequest request, ForestResponse response, Throwable error,
+                       long durationNanos, long requestBytes, long responseBytes);
+
+    /**
+     * 记录一次重试
+     * @param request Forest请求对象
+     * @param retryCount 当前是第几次重试
+     */
+    void recordRetry(ForestRequest request, int retryCount);
+
+    /**
+     * 记录熔断器状态变化
+     * @param circuitBreaker 熔断器
+     * @param fromState 原状态
+     * @param toState 新状态
+     */
+    default void recordCircuitBreakerStateChange(ForestCircuitBreaker circuitBreaker,
+                                                 CircuitBreakerState fromState, CircuitBreakerState toState) {
+    }
+
+    /**
+     * 记录一次因熔断器打开而直接失败的请求
+     * @param request Forest请求对象
+     * @param circuitBreaker 熔断器
+     */
+    default void recordCircuitBreakerRejected(ForestRequest request, ForestCircuitBreaker circuitBreaker) {
+    }
+
+    /**
+     * 记录一次因舱壁已满或超出自适应并发上限而被拒绝的请求
+     * @param request Forest请求对象
+     * @param bulkhead 舱壁
+     */
+    default void recordBulkheadRejected(ForestRequest request, ForestBulkhead bulkhead) {
+    }
+
+    /**
+     * 绑定新创建的自适应并发限流器，用于导出当前的并发上限
+     * @param limiter 自适应并发限流器
+     */
+    default void bindAdaptiveLimiter(ForestAdaptiveLimiter limiter) {
+    }
+
+    /**
+     * 记录一次发送了对冲请求的调用
+     * @param request Forest请求对象
+     * @param won {@code true} 对冲请求先返回，{@code false} 首个请求先返回
+     */
+    default void recordHedge(ForestRequest request, boolean won) {
+    }
+
+    /**
+     * 记录一次响应缓存的查找或重新验证
+     * @param request Forest请求对象
+     * @param result 查找结果
+     */
+    default void recordResponseCache(ForestRequest request, ResponseCacheResult result) {
+    }
+}
@@ -0,0 +1,31 @@
+package com.dtflys.forest.metrics;
+
+/**
+ * 没有连接池时的连接池状态，所有值都为 0
+ * @author agent[agent@local]
+ * @since 2026-10-17 18:00
+ */
+public class NoneConnectionPoolMetrics implements ForestConnectionPoolMetrics {
+
+    public final static NoneConnectionPoolMetrics INSTANCE = new NoneConnectionPoolMetrics();
+
+    @Override
+    public int getLeasedConnections() {
+        return 0;
+    }
+
+    @Override
+    public int getIdleConnections() {
+        return 0;
+    }
+
+    @Override
+    public int getPendingRequests() {
+        return 0;
+    }
+
+    @Override
+    public int getMaxConnections() {
+        return 0;
+    }
+}
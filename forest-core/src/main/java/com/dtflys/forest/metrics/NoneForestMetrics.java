@@ -0,0 +1,28 @@
+package com.dtflys.forest.metrics;
+
+import com.dtflys.forest.http.ForestRequest;
+import com.dtflys.forest.http.ForestResponse;
+
+/**
+ * 不收集任何指标的默认实现
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:13
+ */
+public class NoneForestMetrics implements ForestMetrics {
+
+    public final static NoneForestMetrics INSTANCE = new NoneForestMetrics();
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    @Override
+    public void recordRequest(ForestRequest request, ForestResponse response, Throwable error,
+                              long durationNanos, long requestBytes, long responseBytes) {
+    }
+
+    @Override
+    public void recordRetry(ForestRequest request, int retryCount) {
+    }
+}
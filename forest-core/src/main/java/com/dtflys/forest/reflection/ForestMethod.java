@@ -1,6 +1,7 @@
 package com.dtflys.forest.reflection;
 
 import com.dtflys.forest.annotation.*;
+import com.dtflys.forest.cache.ForestResultCache;
 import com.dtflys.forest.callback.OnError;
 import com.dtflys.forest.callback.OnProgress;
 import com.dtflys.forest.callback.OnSuccess;
@@ -13,6 +14,7 @@ import com.dtflys.forest.exceptions.ForestRuntimeException;
 import com.dtflys.forest.filter.Filter;
 import com.dtflys.forest.http.ForestRequest;
 import com.dtflys.forest.http.ForestRequestType;
+import com.dtflys.forest.http.ForestURL;
 import com.dtflys.forest.interceptor.Interceptor;
 import com.dtflys.forest.interceptor.InterceptorAttributes;
 import com.dtflys.forest.interceptor.InterceptorFactory;
@@ -31,9 +33,11 @@ import com.dtflys.forest.utils.*;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.*;
-import java.net.MalformedURLException;
-import java.net.URL;
 import java.util.*;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
 
 import static com.dtflys.forest.backend.body.AbstractBodyBuilder.TYPE_MULTIPART_FORM_DATA;
 import static com.dtflys.forest.mapping.MappingParameter.*;
@@ -45,6 +49,11 @@ import static com.dtflys.forest.mapping.MappingParameter.*;
  */
 public class ForestMethod<T> implements VariableScope {
 
+    /**
+     * 重试器构造方法缓存
+     */
+    private final static Map<Class, Constructor> RETRYER_CONSTRUCTOR_CACHE = new ConcurrentHashMap<>();
+
     private final InterfaceProxyHandler interfaceProxyHandler;
     private final ForestConfiguration configuration;
     private InterceptorFactory interceptorFactory;
@@ -54,6 +63,8 @@ public class ForestMethod<T> implements VariableScope {
     private MetaRequest metaRequest;
     private MappingTemplate baseUrlTemplate;
     private MappingTemplate urlTemplate;
+    private ForestURL staticURL;
+    private ForestURL urlOrigin;
     private MappingTemplate typeTemplate;
     private MappingTemplate dataTypeTemplate;
     private Integer baseTimeout = null;
@@ -76,6 +87,7 @@ public class ForestMethod<T> implements VariableScope {
     private String sslKeyStoreId;
     private MappingTemplate[] dataTemplateArray;
     private MappingTemplate[] headerTemplateArray;
+    private MappingTemplate[] baseHeaderTemplateArray;
     private MappingParameter[] parameterTemplateArray;
     private List<MappingParameter> namedParameters = new ArrayList<>();
     private List<ForestMultipartFactory> multipartFactories = new ArrayList<>();
@@ -92,6 +104,11 @@ public class ForestMethod<T> implements VariableScope {
     private boolean async = false;
     private boolean logEnable = true;
 
+    /**
+     * 调用结果的缓存，没有结果缓存注解时为 null
+     */
+    private volatile ForestResultCache resultCache;
+
     public ForestMethod(InterfaceProxyHandler interfaceProxyHandler, ForestConfiguration configuration, Method method) {
         this.interfaceProxyHandler = interfaceProxyHandler;
         this.configuration = configuration;
@@ -148,6 +165,13 @@ public class ForestMethod<T> implements VariableScope {
         if (StringUtils.isNotBlank(baseCharset)) {
             baseCharsetTemplate = makeTemplate(baseCharset);
         }
+        String[] baseHeaders = baseMetaRequest.getHeaders();
+        if (baseHeaders != null && baseHeaders.length > 0) {
+            baseHeaderTemplateArray = new MappingTemplate[baseHeaders.length];
+            for (int j = 0; j < baseHeaders.length; j++) {
+                baseHeaderTemplateArray[j] = makeTemplate(baseHeaders[j]);
+            }
+        }
         baseTimeout = baseMetaRequest.getTimeout();
         baseRetryerClass = baseMetaRequest.getRetryer();
         baseRetryCount = baseMetaRequest.getRetryCount();
@@ -288,6 +312,14 @@ public class ForestMethod<T> implements VariableScope {
         return metaRequest;
     }
 
+    public ForestResultCache getResultCache() {
+        return resultCache;
+    }
+
+    public void setResultCache(ForestResultCache resultCache) {
+        this.resultCache = resultCache;
+    }
+
 
     /**
      * 处理接口中定义的方法
@@ -310,6 +342,26 @@ public class ForestMethod<T> implements VariableScope {
         Parameter[] parameters = method.getParameters();
 
         urlTemplate = makeTemplate(metaRequest.getUrl());
+        staticURL = null;
+        urlOrigin = null;
+        String urlPrefix = urlTemplate.getConstantPrefix();
+        boolean absolute = URLUtils.hasProtocol(urlPrefix);
+        if (absolute || baseUrlTemplate == null || baseUrlTemplate.isConstant()) {
+            Object[] emptyArgs = new Object[0];
+            // 带协议的URL不使用baseURL
+            String baseUrl = absolute || baseUrlTemplate == null ? null : baseUrlTemplate.render(emptyArgs);
+            try {
+                if (urlTemplate.isConstant()) {
+                    // URL中不含变量时，只在初始化时解析一次
+                    staticURL = ForestURL.parse(URLUtils.getValidURL(baseUrl, urlPrefix));
+                } else {
+                    // 协议、主机和端口在常量部分中时预先解析，调用时只拆分路径和查询参数
+                    urlOrigin = ForestURL.parse(URLUtils.getValidURL(baseUrl, urlPrefix));
+                }
+            } catch (ForestRuntimeException e) {
+                // 非法的URL留到调用时再抛出异常
+            }
+        }
         typeTemplate = makeTemplate(metaRequest.getType());
         dataTypeTemplate = makeTemplate(metaRequest.getDataType());
         if (StringUtils.isNotEmpty(metaRequest.getContentType())) {
@@ -324,7 +376,11 @@ public class ForestMethod<T> implements VariableScope {
         }
         charsetTemplate = makeTemplate(metaRequest.getCharset());
         progressStep = metaRequest.getProgressStep();
-        async = metaRequest.isAsync();
+        // 返回类型为Future或CompletionStage时总是异步执行
+        Class methodReturnClass = method.getReturnType();
+        async = metaRequest.isAsync()
+                || Future.class.isAssignableFrom(methodReturnClass)
+                || CompletionStage.class.isAssignableFrom(methodReturnClass);
         retryerClass = metaRequest.getRetryer();
         Class decoderClass = metaRequest.getDecoder();
         String[] dataArray = metaRequest.getData();
@@ -476,7 +532,11 @@ public class ForestMethod<T> implements VariableScope {
 
     private void setRetryerToRequest(Class retryerClass, ForestRequest request) {
         try {
-            Constructor constructor = retryerClass.getConstructor(ForestRequest.class);
+            Constructor constructor = RETRYER_CONSTRUCTOR_CACHE.get(retryerClass);
+            if (constructor == null) {
+                constructor = retryerClass.getConstructor(ForestRequest.class);
+                RETRYER_CONSTRUCTOR_CACHE.put(retryerClass, constructor);
+            }
             Retryer retryer = (Retryer) constructor.newInstance(request);
             request.setRetryer(retryer);
         } catch (NoSuchMethodException e) {
@@ -518,12 +578,15 @@ public class ForestMethod<T> implements VariableScope {
      * @return
      */
     private ForestRequest makeRequest(Object[] args) {
-        MetaRequest baseMetaRequest = interfaceProxyHandler.getBaseMetaRequest();
-        String baseUrl = null;
-        if (baseUrlTemplate != null) {
-            baseUrl = baseUrlTemplate.render(args);
+        ForestURL forestURL = staticURL;
+        if (forestURL == null) {
+            String baseUrl = null;
+            if (baseUrlTemplate != null) {
+                baseUrl = baseUrlTemplate.render(args);
+            }
+            String renderedUrl = URLUtils.getValidURL(baseUrl, urlTemplate.render(args));
+            forestURL = urlOrigin == null ? ForestURL.parse(renderedUrl) : urlOrigin.resolve(renderedUrl);
         }
-        String renderedUrl = urlTemplate.render(args);
         ForestRequestType type = type(args);
         String baseContentEncoding = null;
         if (baseEncodeTemplate != null) {
@@ -539,7 +602,7 @@ public class ForestMethod<T> implements VariableScope {
             baseContentType = baseContentTypeTemplate.render(args);
         }
         String baseUserAgent = null;
-        if (baseUserAgent != null) {
+        if (baseUserAgentTemplate != null) {
             baseUserAgent = baseUserAgentTemplate.render(args);
         }
         String charset = null;
@@ -562,72 +625,20 @@ public class ForestMethod<T> implements VariableScope {
         if (userAgentTemplate != null) {
             renderedUserAgent = userAgentTemplate.render(args).trim();
         }
-        String newUrl = "";
         List<RequestNameValue> nameValueList = new ArrayList<>();
         List<Object> bodyList = new ArrayList<>();
-        String [] headerArray = baseMetaRequest.getHeaders();
-        MappingTemplate[] baseHeaders = null;
-        if (headerArray != null && headerArray.length > 0) {
-            baseHeaders = new MappingTemplate[headerArray.length];
-            for (int j = 0; j < baseHeaders.length; j++) {
-                MappingTemplate header = new MappingTemplate(headerArray[j], this);
-                baseHeaders[j] = header;
-            }
-        }
-
-        renderedUrl = URLUtils.getValidURL(baseUrl, renderedUrl);
-        String query = "";
-        String protocol = "";
-        try {
-            URL u = new URL(renderedUrl);
-            query = u.getQuery();
-            if (StringUtils.isNotEmpty(query)) {
-                String[] params = query.split("&");
-                StringBuilder queryBuilder = new StringBuilder();
-                if (params.length > 0) {
-                    queryBuilder.append("?");
-                }
-                for (int i = 0; i < params.length; i++) {
-                    String p = params[i];
-                    String[] nameValue = p.split("=");
-                    String name = nameValue[0];
-                    queryBuilder.append(name);
-                    RequestNameValue requestNameValue = new RequestNameValue(name, TARGET_QUERY);
-                    nameValueList.add(requestNameValue);
-                    if (nameValue.length > 1) {
-                        String value = nameValue[1];
-                        queryBuilder.append("=");
-                        queryBuilder.append(value);
-                        requestNameValue.setValue(value);
-                    }
-                    if (i < params.length - 1) {
-                        queryBuilder.append("&");
-                    }
-                }
-            }
-            protocol = u.getProtocol();
-            int port = u.getPort();
-            newUrl = protocol + "://" + u.getHost();
-            if (port != 80 && port > -1) {
-                newUrl += ":" + port;
-            }
-            String path = u.getPath();
-            if (StringUtils.isNotEmpty(path)) {
-                newUrl += path;
-            }
 
-        } catch (MalformedURLException e) {
-            throw new ForestRuntimeException(e);
-        }
+        forestURL.addQueryTo(nameValueList);
 
         // createExecutor and initialize http instance
         ForestRequest<T> request = new ForestRequest(configuration, args);
-        request.setProtocol(protocol)
-                .setUrl(newUrl)
+        request.setProtocol(forestURL.getProtocol())
+                .setUrl(forestURL.getUrl())
                 .setType(type)
                 .setCharset(charset)
                 .setLogEnable(logEnable)
-                .setAsync(async);
+                .setAsync(async)
+                .setMethod(this);
 
         if (StringUtils.isNotEmpty(renderedContentType)) {
             request.setContentType(renderedContentType);
@@ -781,8 +792,8 @@ public class ForestMethod<T> implements VariableScope {
         if (configuration.getDefaultParameters() != null) {
             request.addData(configuration.getDefaultParameters());
         }
-        if (baseHeaders != null && baseHeaders.length > 0) {
-            for (MappingTemplate baseHeader : baseHeaders) {
+        if (baseHeaderTemplateArray != null) {
+            for (MappingTemplate baseHeader : baseHeaderTemplateArray) {
                 String headerText = baseHeader.render(args);
                 String[] headerNameValue = headerText.split(":");
                 if (headerNameValue.length > 1) {
@@ -908,7 +919,8 @@ public class ForestMethod<T> implements VariableScope {
 
         if (interceptorAttributesList != null && interceptorAttributesList.size() > 0) {
             for (InterceptorAttributes attributes : interceptorAttributesList) {
-                request.addInterceptorAttributes(attributes.getInterceptorClass(), attributes);
+                // 每个请求使用独立的属性对象，避免并发请求之间共享渲染结果
+                request.addInterceptorAttributes(attributes.getInterceptorClass(), attributes.clone());
                 request.getInterceptorAttributes(attributes.getInterceptorClass()).render(args);
             }
         }
@@ -990,7 +1002,20 @@ public class ForestMethod<T> implements VariableScope {
      * @param args
      * @return
      */
-    public Object invoke(Object[] args) {
+    public Object invoke(final Object[] args) {
+        ForestResultCache resultCache = this.resultCache;
+        if (resultCache != null) {
+            return resultCache.get(args, new Supplier<Object>() {
+                @Override
+                public Object get() {
+                    return doInvoke(args);
+                }
+            });
+        }
+        return doInvoke(args);
+    }
+
+    private Object doInvoke(Object[] args) {
         ForestRequest request = makeRequest(args);
         MethodLifeCycleHandler<T> lifeCycleHandler = new MethodLifeCycleHandler<>(
                 this, onSuccessClassGenericType);
@@ -14,6 +14,7 @@ import com.dtflys.forest.utils.ForestProgress;
 import com.dtflys.forest.utils.ReflectUtils;
 
 import java.lang.reflect.Type;
+import java.util.concurrent.Future;
 
 /**
  * 请求方法生命周期处理器
@@ -32,6 +33,11 @@ public class MethodLifeCycleHandler<T> implements LifeCycleHandler {
 
     private volatile T resultData;
 
+    /**
+     * 异步请求返回给调用方的Future，不会被回调线程中的结果覆盖
+     */
+    private volatile Object resultFuture;
+
     public MethodLifeCycleHandler(ForestMethod method, Type onSuccessClassGenericType) {
         this.onSuccessClassGenericType = onSuccessClassGenericType;
         this.returnType = method.getReturnType();
@@ -145,6 +151,10 @@ public class MethodLifeCycleHandler<T> implements LifeCycleHandler {
 
     @Override
     public Object handleResult(Object resultData) {
+        if (resultData instanceof Future && returnClass.isInstance(resultData)) {
+            this.resultFuture = resultData;
+            return resultData;
+        }
         this.resultData = (T) resultData;
         return resultData;
     }
@@ -156,6 +166,9 @@ public class MethodLifeCycleHandler<T> implements LifeCycleHandler {
     }
 
     public T getResultData() {
+        if (resultFuture != null) {
+            return (T) resultFuture;
+        }
         return resultData;
     }
 
@@ -26,8 +26,21 @@ public class BackOffRetryer implements Retryer {
 
     @Override
     public void canRetry(ForestRetryException ex) throws Throwable {
+        long interval = nextRetryDelay(ex);
+        if (interval > 0) {
+            try {
+                Thread.sleep(interval);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw ex;
+            }
+        }
+    }
+
+    @Override
+    public long nextRetryDelay(ForestRetryException ex) throws Throwable {
         int currentCount = ex.getCurrentRetryCount();
-        if (currentCount >= maxRetryCount) {
+        if (currentCount >= maxRetryCount || !acquireRetry(ex)) {
             if (currentCount == 0) {
                 throw ex.getCause();
             }
@@ -37,15 +50,20 @@ public class BackOffRetryer implements Retryer {
         if (interval > maxRetryInterval) {
             interval = maxRetryInterval;
         }
-        if (interval > 0) {
-            try {
-                Thread.sleep(interval);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw ex;
-            }
+        if (interval < 0) {
+            interval = 0;
         }
         this.waitedTime += interval;
+        return interval;
+    }
+
+    /**
+     * 在重试次数未超出时判断本次是否允许重试，子类可以在此加入额外的限制
+     * @param ex 重试异常
+     * @return {@code true} 允许重试
+     */
+    protected boolean acquireRetry(ForestRetryException ex) {
+        return true;
     }
 
     protected long nextInterval(int currentCount) {
@@ -0,0 +1,37 @@
+package com.dtflys.forest.retryer;
+
+import com.dtflys.forest.http.ForestRequest;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 去相关抖动（Decorrelated Jitter）重试器
+ * <p>每次的等待时间在 [1000, 上次等待时间 * 3] 毫秒之间随机选择，并且不超过 maxRetryInterval，
+ * 等待时间整体随重试次数增长，但不同请求之间互不同步</p>
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:45
+ */
+public class DecorrelatedJitterRetryer extends BackOffRetryer {
+
+    /**
+     * 基础等待时间（毫秒）
+     */
+    protected final static long BASE_INTERVAL = 1000;
+
+    protected long lastInterval = BASE_INTERVAL;
+
+    public DecorrelatedJitterRetryer(ForestRequest request) {
+        super(request);
+    }
+
+    @Override
+    protected long nextInterval(int currentCount) {
+        long upper = Math.max(lastInterval * 3, BASE_INTERVAL);
+        long interval = BASE_INTERVAL + ThreadLocalRandom.current().nextLong(upper - BASE_INTERVAL + 1);
+        if (maxRetryInterval >= 0 && interval > maxRetryInterval) {
+            interval = maxRetryInterval;
+        }
+        lastInterval = interval;
+        return interval;
+    }
+}
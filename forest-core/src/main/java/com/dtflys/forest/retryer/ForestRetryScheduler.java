@@ -0,0 +1,129 @@
+package com.dtflys.forest.retryer;
+
+import com.dtflys.forest.exceptions.ForestRuntimeException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 异步请求的重试调度器
+ * <p>每个全局配置共用一个调度线程，等待时间结束后在调度线程中重新发送请求，
+ * 重新发送异步请求本身不会阻塞，所以一个线程即可承担所有请求的重试</p>
+ * <p>调度器关闭时，还在等待的重试任务不再执行，而是通过 {@link Task#abort(ForestRuntimeException)} 以异常结束请求</p>
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:41
+ */
+public class ForestRetryScheduler {
+
+    private final static AtomicInteger THREAD_COUNT = new AtomicInteger(0);
+
+    private volatile ScheduledThreadPoolExecutor executor;
+
+    /**
+     * 已经提交但还未执行的重试任务
+     */
+    private final Set<Task> pendingTasks = Collections.newSetFromMap(new ConcurrentHashMap<Task, Boolean>());
+
+    private volatile boolean closed = false;
+
+    /**
+     * 在等待 delay 毫秒后执行重试任务，delay 不大于 0 时在当前线程直接执行
+     * <p>调度器已经关闭时不执行任务，直接调用任务的 {@link Task#abort(ForestRuntimeException)}</p>
+     * @param task 重试任务
+     * @param delay 等待的毫秒数
+     */
+    public void schedule(final Task task, long delay) {
+        if (delay <= 0) {
+            task.run();
+            return;
+        }
+        pendingTasks.add(task);
+        try {
+            getExecutor().schedule(new Runnable() {
+                @Override
+                public void run() {
+                    // 与 close() 竞争，任务只会被执行或者被中止其中一次
+                    if (pendingTasks.remove(task)) {
+                        task.run();
+                    }
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            if (pendingTasks.remove(task)) {
+                task.abort(closedException());
+            }
+        }
+    }
+
+    /**
+     * 获取调度线程池
+     * @return 调度线程池
+     * @throws RejectedExecutionException 调度器已经关闭
+     */
+    public ScheduledExecutorService getExecutor() {
+        if (executor == null) {
+            synchronized (this) {
+                if (closed) {
+                    throw new RejectedExecutionException("Forest retry scheduler has been closed");
+                }
+                if (executor == null) {
+                    ScheduledThreadPoolExecutor scheduledExecutor = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+                        @Override
+                        public Thread newThread(Runnable runnable) {
+                            Thread thread = new Thread(runnable, "forest-retry-" + THREAD_COUNT.incrementAndGet());
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                    });
+                    scheduledExecutor.setRemoveOnCancelPolicy(true);
+                    executor = scheduledExecutor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    private static ForestRuntimeException closedException() {
+        return new ForestRuntimeException("[Forest] retry scheduler has been closed, the request will not be retried");
+    }
+
+    /**
+     * 关闭调度线程，还未执行的重试任务不再执行，而是以异常结束
+     */
+    public void close() {
+        synchronized (this) {
+            closed = true;
+            if (executor != null) {
+                executor.shutdownNow();
+                executor = null;
+            }
+        }
+        List<Task> tasks = new ArrayList<>(pendingTasks);
+        for (Task task : tasks) {
+            if (pendingTasks.remove(task)) {
+                task.abort(closedException());
+            }
+        }
+    }
+
+    /**
+     * 重试任务
+     */
+    public interface Task extends Runnable {
+
+        /**
+         * 调度器关闭时，任务不会再执行，而是调用该方法以异常结束请求
+         * @param e 调度器已关闭的异常
+         */
+        void abort(ForestRuntimeException e);
+    }
+}
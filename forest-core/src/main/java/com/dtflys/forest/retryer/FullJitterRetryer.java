@@ -0,0 +1,28 @@
+package com.dtflys.forest.retryer;
+
+import com.dtflys.forest.http.ForestRequest;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 全抖动（Full Jitter）重试器
+ * <p>在 [0, min(maxRetryInterval, 2^n * 1000)] 毫秒之间随机选择等待时间，
+ * 避免下游短暂故障时所有实例在同一时刻集中重试</p>
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:45
+ */
+public class FullJitterRetryer extends BackOffRetryer {
+
+    public FullJitterRetryer(ForestRequest request) {
+        super(request);
+    }
+
+    @Override
+    protected long nextInterval(int currentCount) {
+        long ceiling = super.nextInterval(currentCount);
+        if (ceiling <= 0) {
+            return 0;
+        }
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+}
@@ -0,0 +1,72 @@
+package com.dtflys.forest.retryer;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 基于令牌桶的重试预算
+ * <p>每个请求存入 ratio 个令牌，每次重试取出 1 个令牌，令牌不足时不再重试。
+ * 令牌数量不超过 maxTokens，所以长期来看重试请求最多只占正常请求的 ratio 比例，另外允许 maxTokens 次的突发重试</p>
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:45
+ */
+public class RetryBudget {
+
+    /**
+     * 令牌以千分之一为单位保存，避免浮点数的并发更新
+     */
+    private final static long UNIT = 1000;
+
+    private final long depositAmount;
+
+    private final long maxBalance;
+
+    private final AtomicLong balance;
+
+    /**
+     * @param ratio 每个请求存入的令牌数，如 0.1 表示重试最多增加 10% 的请求量
+     * @param maxTokens 令牌桶的容量，同时也是初始的令牌数
+     */
+    public RetryBudget(double ratio, int maxTokens) {
+        this.depositAmount = Math.max(0, Math.round(ratio * UNIT));
+        this.maxBalance = Math.max(0, maxTokens) * UNIT;
+        this.balance = new AtomicLong(maxBalance);
+    }
+
+    /**
+     * 发送一个新请求时存入令牌
+     */
+    public void deposit() {
+        long current;
+        long next;
+        do {
+            current = balance.get();
+            if (current >= maxBalance) {
+                return;
+            }
+            next = Math.min(maxBalance, current + depositAmount);
+        } while (!balance.compareAndSet(current, next));
+    }
+
+    /**
+     * 重试前取出一个令牌
+     * @return {@code true} 取出成功，可以重试
+     */
+    public boolean tryWithdraw() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < UNIT) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - UNIT));
+        return true;
+    }
+
+    /**
+     * 获取当前剩余的令牌数
+     * @return 令牌数
+     */
+    public double getTokens() {
+        return (double) balance.get() / UNIT;
+    }
+}
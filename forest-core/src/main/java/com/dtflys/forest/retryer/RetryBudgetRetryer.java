@@ -0,0 +1,31 @@
+package com.dtflys.forest.retryer;
+
+import com.dtflys.forest.exceptions.ForestRetryException;
+import com.dtflys.forest.http.ForestRequest;
+
+/**
+ * 带重试预算的重试器
+ * <p>在全抖动重试的基础上，每次重试都需要从 {@link RetryBudget} 中取出令牌，
+ * 预算由同一个全局配置（或同一个主机）下的所有请求共享，令牌用完后请求直接失败，不再重试</p>
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:45
+ */
+public class RetryBudgetRetryer extends FullJitterRetryer {
+
+    protected final RetryBudget budget;
+
+    public RetryBudgetRetryer(ForestRequest request) {
+        super(request);
+        this.budget = request.getConfiguration().getRetryBudget(request);
+        this.budget.deposit();
+    }
+
+    @Override
+    protected boolean acquireRetry(ForestRetryException ex) {
+        return budget.tryWithdraw();
+    }
+
+    public RetryBudget getBudget() {
+        return budget;
+    }
+}
@@ -9,4 +9,17 @@ public interface Retryer {
 
     void canRetry(ForestRetryException ex) throws Throwable;
 
+    /**
+     * 判断是否可以重试，并返回下次重试前需要等待的毫秒数，不能重试时抛出异常
+     * <p>异步请求通过该方法获取等待时间，再由 {@link ForestRetryScheduler} 在等待结束后重新发送请求，不会阻塞I/O线程</p>
+     * <p>默认实现直接调用 {@link #canRetry(ForestRetryException)} 并返回 0，兼容原有的重试器</p>
+     * @param ex 重试异常
+     * @return 等待的毫秒数
+     * @throws Throwable 不能重试时抛出的异常
+     */
+    default long nextRetryDelay(ForestRetryException ex) throws Throwable {
+        canRetry(ex);
+        return 0;
+    }
+
 }
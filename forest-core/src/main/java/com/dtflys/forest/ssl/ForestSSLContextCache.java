@@ -0,0 +1,158 @@
+package com.dtflys.forest.ssl;
+
+import com.dtflys.forest.config.ForestConfiguration;
+import com.dtflys.forest.exceptions.ForestRuntimeException;
+import com.dtflys.forest.http.ForestRequest;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
+import javax.net.ssl.SSLSocketFactory;
+import java.security.KeyManagementException;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SSL上下文缓存，每个全局配置一个，按SSL证书ID和SSL协议缓存SSL上下文和SSLSocketFactory
+ * <p>同一个证书的请求共用一个SSL上下文，从而共用其客户端会话缓存，重新建立连接时可以复用TLS会话，省去完整的握手过程；
+ * 会话缓存大小和超时时间在每次获取时检查，修改配置后对已缓存的SSL上下文同样生效</p>
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:15
+ */
+public class ForestSSLContextCache {
+
+    private final ForestConfiguration configuration;
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    public ForestSSLContextCache(ForestConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    /**
+     * 获取请求对应的SSL上下文，第一次获取时创建
+     * @param request Forest请求对象
+     * @return SSL上下文
+     */
+    public SSLContext getSSLContext(ForestRequest request) {
+        return getEntry(request).sslContext;
+    }
+
+    /**
+     * 获取请求对应的SSLSocketFactory，第一次获取时创建
+     * @param request Forest请求对象
+     * @return SSLSocketFactory
+     */
+    public SSLSocketFactory getSSLSocketFactory(ForestRequest request) {
+        return getEntry(request).socketFactory;
+    }
+
+    private Entry getEntry(ForestRequest request) {
+        SSLKeyStore keyStore = request.getKeyStore();
+        Key key = new Key(keyStore == null ? null : keyStore.getId(), configuration.getSslProtocol());
+        Entry entry = entries.get(key);
+        // 相同ID的证书重新注册后需要重新创建SSL上下文
+        if (entry == null || entry.keyStore != keyStore) {
+            synchronized (this) {
+                entry = entries.get(key);
+                if (entry == null || entry.keyStore != keyStore) {
+                    entry = createEntry(request, keyStore);
+                    entries.put(key, entry);
+                }
+            }
+        }
+        // 会话缓存设置修改后应用到已缓存的SSL上下文，保留其中已有的TLS会话
+        entry.applySessionSettings(configuration.getSslSessionCacheSize(), configuration.getSslSessionTimeout());
+        return entry;
+    }
+
+    private Entry createEntry(ForestRequest request, SSLKeyStore keyStore) {
+        SSLContext sslContext;
+        try {
+            sslContext = SSLUtils.getSSLContext(request);
+        } catch (KeyManagementException e) {
+            throw new ForestRuntimeException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new ForestRuntimeException(e);
+        }
+        if (sslContext == null) {
+            throw new ForestRuntimeException("SSL context cannot be initialized.");
+        }
+        return new Entry(keyStore, sslContext);
+    }
+
+    /**
+     * 删除已缓存的SSL上下文，下次请求时重新创建
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static class Key {
+        private final String keyStoreId;
+        private final String sslProtocol;
+
+        Key(String keyStoreId, String sslProtocol) {
+            this.keyStoreId = keyStoreId;
+            this.sslProtocol = sslProtocol;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key that = (Key) o;
+            return Objects.equals(keyStoreId, that.keyStoreId)
+                    && Objects.equals(sslProtocol, that.sslProtocol);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(keyStoreId, sslProtocol);
+        }
+    }
+
+    private static class Entry {
+        private final SSLKeyStore keyStore;
+        private final SSLContext sslContext;
+        private final SSLSocketFactory socketFactory;
+        private volatile Integer sessionCacheSize;
+        private volatile Integer sessionTimeout;
+
+        Entry(SSLKeyStore keyStore, SSLContext sslContext) {
+            this.keyStore = keyStore;
+            this.sslContext = sslContext;
+            this.socketFactory = sslContext.getSocketFactory();
+        }
+
+        /**
+         * 将会话缓存大小和超时时间设置到客户端会话上下文，与上次设置的值相同时跳过
+         * <p>值为 null 时不修改会话上下文中的设置</p>
+         * @param cacheSize 会话缓存大小
+         * @param timeout 会话超时时间（秒）
+         */
+        void applySessionSettings(Integer cacheSize, Integer timeout) {
+            if (Objects.equals(cacheSize, sessionCacheSize) && Objects.equals(timeout, sessionTimeout)) {
+                return;
+            }
+            synchronized (this) {
+                SSLSessionContext sessionContext = sslContext.getClientSessionContext();
+                if (sessionContext != null) {
+                    if (cacheSize != null && !cacheSize.equals(sessionCacheSize)) {
+                        sessionContext.setSessionCacheSize(cacheSize);
+                    }
+                    if (timeout != null && !timeout.equals(sessionTimeout)) {
+                        sessionContext.setSessionTimeout(timeout);
+                    }
+                }
+                sessionCacheSize = cacheSize;
+                sessionTimeout = timeout;
+            }
+        }
+    }
+}
@@ -110,21 +110,17 @@ public class SSLUtils {
         return SSLUtils.customSSL(request);
     }
 
+    /**
+     * 获取请求对应的SSLSocketFactory
+     * <p>SSL上下文按SSL证书和SSL协议缓存在全局配置中，不会每次请求都重新创建</p>
+     * @param request
+     * @return
+     */
     public static SSLSocketFactory getSSLSocketFactory(ForestRequest request) {
         if (request == null) {
             return null;
         }
-        try {
-            SSLContext sslContext = SSLUtils.getSSLContext(request);
-            if (sslContext == null) {
-                throw new ForestRuntimeException("SSL context cannot be initialized.");
-            }
-            return sslContext.getSocketFactory();
-        } catch (KeyManagementException e) {
-            throw new ForestRuntimeException(e);
-        } catch (NoSuchAlgorithmException e) {
-            throw new ForestRuntimeException(e);
-        }
+        return request.getConfiguration().getSslContextCache().getSSLSocketFactory(request);
     }
 
 /*
@@ -2,6 +2,9 @@ package com.dtflys.forest.utils;
 
 import com.dtflys.forest.exceptions.ForestRuntimeException;
 
+import java.net.MalformedURLException;
+import java.net.URL;
+
 /**
  * @author gongjun[jun.gong@thebeastshop.com]
  * @since 2017-05-17 16:35
@@ -21,6 +24,24 @@ public final class URLUtils {
         }
     }
 
+    /**
+     * 获取URL的主机标识，格式为 协议://主机名:端口，未指定端口时使用协议的默认端口
+     * @param url URL字符串
+     * @return 主机标识，URL为空或格式错误时返回 null
+     */
+    public static String getHostKey(String url) {
+        if (url == null) {
+            return null;
+        }
+        try {
+            URL u = new URL(url);
+            int port = u.getPort() < 0 ? u.getDefaultPort() : u.getPort();
+            return u.getProtocol() + "://" + u.getHost() + ":" + port;
+        } catch (MalformedURLException e) {
+            return null;
+        }
+    }
+
     public static String getValidBaseURL(String baseUrl) {
         if (baseUrl.endsWith("/")) {
             int i = baseUrl.length() - 1;
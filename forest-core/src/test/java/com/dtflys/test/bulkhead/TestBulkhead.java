@@ -0,0 +1,71 @@
+package com.dtflys.test.bulkhead;
+
+import com.dtflys.forest.bulkhead.BulkheadAdmission;
+import com.dtflys.forest.bulkhead.ForestBulkhead;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent[agent@local]
+ * @since 2026-10-17 16:03
+ */
+public class TestBulkhead {
+
+    @Test
+    public void testSyncWait() throws InterruptedException {
+        final ForestBulkhead bulkhead = new ForestBulkhead("test", 1, 0, 2000);
+        assertTrue(bulkhead.tryAcquire());
+        Thread releaser = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                }
+                bulkhead.release();
+            }
+        });
+        releaser.start();
+        assertTrue(bulkhead.tryAcquire());
+        assertEquals(1, bulkhead.getActiveCalls());
+        bulkhead.release();
+        assertEquals(0, bulkhead.getActiveCalls());
+    }
+
+    @Test
+    public void testSyncReject() throws InterruptedException {
+        ForestBulkhead bulkhead = new ForestBulkhead("test", 1, 0, 0);
+        assertTrue(bulkhead.tryAcquire());
+        assertFalse(bulkhead.tryAcquire());
+    }
+
+    @Test
+    public void testQueueDrainInOrder() {
+        final ForestBulkhead bulkhead = new ForestBulkhead("test", 1, 3, 0);
+        final List<Integer> executed = new ArrayList<>();
+        assertEquals(BulkheadAdmission.ACQUIRED, bulkhead.acquireOrEnqueue(null));
+        for (int i = 0; i < 3; i++) {
+            final int index = i;
+            Runnable task = new Runnable() {
+                @Override
+                public void run() {
+                    executed.add(index);
+                    // 队列中的任务同步完成时立即释放许可
+                    bulkhead.release();
+                }
+            };
+            assertEquals(BulkheadAdmission.QUEUED, bulkhead.acquireOrEnqueue(task));
+        }
+        assertEquals(BulkheadAdmission.REJECTED, bulkhead.acquireOrEnqueue(null));
+        bulkhead.release();
+        assertEquals(3, executed.size());
+        assertEquals(Integer.valueOf(0), executed.get(0));
+        assertEquals(Integer.valueOf(2), executed.get(2));
+        assertEquals(0, bulkhead.getActiveCalls());
+        assertEquals(0, bulkhead.getQueueSize());
+    }
+}
@@ -0,0 +1,163 @@
+package com.dtflys.test.cache;
+
+import com.dtflys.forest.cache.DiskResponseCacheStore;
+import com.dtflys.forest.cache.ForestCacheEntry;
+import com.dtflys.forest.cache.MemoryResponseCacheStore;
+import com.dtflys.forest.config.ForestConfiguration;
+import com.dtflys.forest.http.ForestHeaderMap;
+import com.dtflys.forest.http.ForestRequest;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:11
+ */
+public class TestResponseCache {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final ForestRequest request = new ForestRequest(ForestConfiguration.configuration());
+
+    private ForestCacheEntry createEntry(String key, int bodySize, String... headers) {
+        ForestHeaderMap headerMap = new ForestHeaderMap();
+        for (int i = 0; i < headers.length; i += 2) {
+            headerMap.addHeader(headers[i], headers[i + 1]);
+        }
+        return ForestCacheEntry.create(key, request, 200, headerMap, new byte[bodySize], 1000000, 0);
+    }
+
+    @Test
+    public void testFreshness() {
+        ForestCacheEntry entry = createEntry("a", 1, "Cache-Control", "public, max-age=60", "Age", "10");
+        assertTrue(entry.isFresh(1000000 + 49000));
+        assertFalse(entry.isFresh(1000000 + 50000));
+        entry = createEntry("a", 1,
+                "Date", "Sun, 16 Aug 2020 10:00:00 GMT", "Expires", "Sun, 16 Aug 2020 10:00:30 GMT");
+        assertEquals(1000000 + 30000, entry.getExpiresAt());
+        entry = createEntry("a", 1, "Cache-Control", "no-cache", "ETag", "\"1\"");
+        assertFalse(entry.isFresh(1000000));
+        assertTrue(entry.canRevalidate());
+    }
+
+    @Test
+    public void testNotStorable() {
+        assertNull(createEntry("a", 1, "Cache-Control", "no-store, max-age=60"));
+        assertNull(createEntry("a", 1, "Cache-Control", "max-age=60", "Vary", "*"));
+        // 不新鲜且无法重新验证
+        assertNull(createEntry("a", 1, "Cache-Control", "max-age=0"));
+    }
+
+    @Test
+    public void testPrivateNotStorable() {
+        assertNull(createEntry("a", 1, "Cache-Control", "private, max-age=60"));
+    }
+
+    @Test
+    public void testRequestWithCredentials() {
+        ForestRequest authRequest = new ForestRequest(ForestConfiguration.configuration())
+                .addHeader("Authorization", "Bearer token");
+        ForestHeaderMap headers = new ForestHeaderMap();
+        headers.addHeader("Cache-Control", "max-age=60");
+        assertNull(ForestCacheEntry.create("a", authRequest, 200, headers, new byte[1], 1000000, 0));
+        ForestRequest cookieRequest = new ForestRequest(ForestConfiguration.configuration())
+                .addHeader("Cookie", "session=1");
+        assertNull(ForestCacheEntry.create("a", cookieRequest, 200, headers, new byte[1], 1000000, 0));
+
+        // 没有身份凭证的请求缓存的响应，不能返回给带有身份凭证的请求
+        ForestCacheEntry entry = createEntry("a", 1, "Cache-Control", "max-age=60");
+        assertTrue(entry.matches(request));
+        assertFalse(entry.matches(authRequest));
+
+        headers = new ForestHeaderMap();
+        headers.addHeader("Cache-Control", "public, max-age=60");
+        entry = ForestCacheEntry.create("a", authRequest, 200, headers, new byte[1], 1000000, 0);
+        assertNotNull(entry);
+        assertTrue(entry.matches(authRequest));
+        headers = new ForestHeaderMap();
+        headers.addHeader("Cache-Control", "max-age=60, s-maxage=60");
+        entry = ForestCacheEntry.create("a", authRequest, 200, headers, new byte[1], 1000000, 0);
+        assertNotNull(entry);
+        assertTrue(entry.matches(authRequest));
+    }
+
+    @Test
+    public void testRevalidated() {
+        ForestCacheEntry entry = createEntry("a", 1, "Cache-Control", "no-cache", "ETag", "\"1\"");
+        ForestHeaderMap headers = new ForestHeaderMap();
+        headers.addHeader("Cache-Control", "max-age=10");
+        ForestCacheEntry revalidated = entry.revalidated(headers, 2000000, 0);
+        assertTrue(revalidated.isFresh(2000000 + 9000));
+        assertEquals("\"1\"", revalidated.getETag());
+        assertSame(entry.getBody(), revalidated.getBody());
+    }
+
+    @Test
+    public void testMemoryLru() {
+        MemoryResponseCacheStore store = new MemoryResponseCacheStore(1000, 2);
+        store.put(createEntry("a", 10, "ETag", "1"));
+        store.put(createEntry("b", 10, "ETag", "1"));
+        assertNotNull(store.get("a"));
+        store.put(createEntry("c", 10, "ETag", "1"));
+        assertNull(store.get("b"));
+        assertNotNull(store.get("a"));
+        store.put(createEntry("d", 990, "ETag", "1"));
+        assertEquals(1, store.size());
+        assertNotNull(store.get("d"));
+    }
+
+    @Test
+    public void testDiskStore() throws Exception {
+        File dir = folder.newFolder("cache");
+        DiskResponseCacheStore store = new DiskResponseCacheStore(dir, 1024 * 1024);
+        store.put(createEntry("a", 100, "ETag", "\"1\""));
+        assertEquals(1, store.size());
+        store = new DiskResponseCacheStore(dir, 1024 * 1024);
+        ForestCacheEntry entry = store.get("a");
+        assertNotNull(entry);
+        assertEquals("\"1\"", entry.getETag());
+        assertEquals(100, entry.getBody().length);
+        store.remove("a");
+        assertNull(store.get("a"));
+    }
+
+    @Test
+    public void testDiskStoreFormat() throws Exception {
+        File dir = folder.newFolder("cache");
+        DiskResponseCacheStore store = new DiskResponseCacheStore(dir, 1024 * 1024);
+        ForestRequest varyRequest = new ForestRequest(ForestConfiguration.configuration())
+                .addHeader("Accept", "application/json");
+        ForestHeaderMap headers = new ForestHeaderMap();
+        headers.addHeader("Cache-Control", "max-age=60");
+        headers.addHeader("Vary", "Accept, Accept-Language");
+        headers.addHeader("Content-Type", "application/json");
+        ForestCacheEntry entry = ForestCacheEntry.create(
+                "GET http://localhost/a?\u4e2d", varyRequest, 200, headers, "{}".getBytes(), 1000000, 0);
+        store.put(entry);
+        ForestCacheEntry read = new DiskResponseCacheStore(dir, 1024 * 1024).get(entry.getKey());
+        assertNotNull(read);
+        assertEquals(entry.getStatusCode(), read.getStatusCode());
+        assertEquals(entry.getExpiresAt(), read.getExpiresAt());
+        assertEquals(entry.getResponseTime(), read.getResponseTime());
+        assertEquals("application/json", read.getContentType());
+        assertArrayEquals(entry.getBody(), read.getBody());
+        assertTrue(read.matches(varyRequest));
+        assertFalse(read.matches(request));
+
+        // 无法识别的文件被丢弃
+        File[] files = dir.listFiles();
+        assertNotNull(files);
+        assertEquals(1, files.length);
+        Files.write(files[0].toPath(), new byte[] {(byte) 0xAC, (byte) 0xED, 0, 5, 1, 2, 3});
+        store = new DiskResponseCacheStore(dir, 1024 * 1024);
+        assertNull(store.get(entry.getKey()));
+        assertEquals(0, store.size());
+    }
+}
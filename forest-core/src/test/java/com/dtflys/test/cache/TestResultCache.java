@@ -0,0 +1,168 @@
+package com.dtflys.test.cache;
+
+import com.dtflys.forest.cache.ForestCacheRefreshExecutor;
+import com.dtflys.forest.cache.ForestResultCache;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:14
+ */
+public class TestResultCache {
+
+    private final ForestCacheRefreshExecutor refreshExecutor = new ForestCacheRefreshExecutor();
+
+    @After
+    public void tearDown() {
+        refreshExecutor.close();
+    }
+
+    private Supplier<Object> counter(final AtomicInteger calls) {
+        return new Supplier<Object>() {
+            @Override
+            public Object get() {
+                return "result-" + calls.incrementAndGet();
+            }
+        };
+    }
+
+    @Test
+    public void testTtlAndArrayArguments() throws InterruptedException {
+        ForestResultCache cache = new ForestResultCache(refreshExecutor, "test", null, 50, 10, 0);
+        AtomicInteger calls = new AtomicInteger(0);
+        Object[] args = new Object[] {"a", new int[] {1, 2}};
+        assertEquals("result-1", cache.get(args, counter(calls)));
+        assertEquals("result-1", cache.get(new Object[] {"a", new int[] {1, 2}}, counter(calls)));
+        assertEquals("result-2", cache.get(new Object[] {"a", new int[] {1, 3}}, counter(calls)));
+        Thread.sleep(80);
+        assertEquals("result-3", cache.get(args, counter(calls)));
+    }
+
+    @Test
+    public void testMaxSize() {
+        ForestResultCache cache = new ForestResultCache(refreshExecutor, "test", null, 10000, 2, 0);
+        AtomicInteger calls = new AtomicInteger(0);
+        cache.get(new Object[] {1}, counter(calls));
+        cache.get(new Object[] {2}, counter(calls));
+        cache.get(new Object[] {1}, counter(calls));
+        cache.get(new Object[] {3}, counter(calls));
+        assertEquals(2, cache.size());
+        assertEquals("result-1", cache.get(new Object[] {1}, counter(calls)));
+        assertEquals("result-4", cache.get(new Object[] {2}, counter(calls)));
+    }
+
+    @Test
+    public void testNullNotCached() {
+        ForestResultCache cache = new ForestResultCache(refreshExecutor, "test", null, 10000, 10, 0);
+        final AtomicInteger calls = new AtomicInteger(0);
+        Supplier<Object> loader = new Supplier<Object>() {
+            @Override
+            public Object get() {
+                calls.incrementAndGet();
+                return null;
+            }
+        };
+        assertNull(cache.get(new Object[0], loader));
+        assertNull(cache.get(new Object[0], loader));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void testStaleWhileRevalidate() throws InterruptedException {
+        ForestResultCache cache = new ForestResultCache(refreshExecutor, "test", null, 50, 10, 10000);
+        final AtomicInteger calls = new AtomicInteger(0);
+        final CountDownLatch refreshed = new CountDownLatch(2);
+        Supplier<Object> loader = new Supplier<Object>() {
+            @Override
+            public Object get() {
+                refreshed.countDown();
+                return "result-" + calls.incrementAndGet();
+            }
+        };
+        assertEquals("result-1", cache.get(new Object[0], loader));
+        Thread.sleep(80);
+        // 过期后先返回旧的结果，同时在后台刷新
+        assertEquals("result-1", cache.get(new Object[0], loader));
+        assertTrue(refreshed.await(5, TimeUnit.SECONDS));
+        Thread.sleep(20);
+        assertEquals("result-2", cache.get(new Object[0], loader));
+    }
+
+    @Test
+    public void testRefreshAgainAfterNullResult() throws InterruptedException {
+        ForestResultCache cache = new ForestResultCache(refreshExecutor, "test", null, 50, 10, 10000);
+        assertEquals("result", cache.get(new Object[0], constant("result", null)));
+        Thread.sleep(80);
+        // 后台刷新得到 null，保留旧的结果
+        CountDownLatch nullRefreshed = new CountDownLatch(1);
+        assertEquals("result", cache.get(new Object[0], constant(null, nullRefreshed)));
+        assertTrue(nullRefreshed.await(5, TimeUnit.SECONDS));
+        Thread.sleep(20);
+        // 下次调用仍然可以再次刷新
+        CountDownLatch refreshed = new CountDownLatch(1);
+        assertEquals("result", cache.get(new Object[0], constant("new-result", refreshed)));
+        assertTrue(refreshed.await(5, TimeUnit.SECONDS));
+        Thread.sleep(20);
+        assertEquals("new-result", cache.get(new Object[0], constant("other", null)));
+    }
+
+    @Test
+    public void testNoRefreshAfterClose() throws InterruptedException {
+        ForestResultCache cache = new ForestResultCache(refreshExecutor, "test", null, 50, 10, 10000);
+        assertEquals("result", cache.get(new Object[0], constant("result", null)));
+        refreshExecutor.close();
+        Thread.sleep(80);
+        CountDownLatch refreshed = new CountDownLatch(1);
+        assertEquals("result", cache.get(new Object[0], constant("new-result", refreshed)));
+        assertFalse(refreshed.await(100, TimeUnit.MILLISECONDS));
+    }
+
+    private Supplier<Object> constant(final Object value, final CountDownLatch latch) {
+        return new Supplier<Object>() {
+            @Override
+            public Object get() {
+                if (latch != null) {
+                    latch.countDown();
+                }
+                return value;
+            }
+        };
+    }
+
+    @Test
+    public void testConcurrentMissLoadsOnce() throws InterruptedException {
+        final ForestResultCache cache = new ForestResultCache(refreshExecutor, "test", null, 10000, 10, 0);
+        final AtomicInteger calls = new AtomicInteger(0);
+        final CountDownLatch loading = new CountDownLatch(1);
+        final Supplier<Object> loader = new Supplier<Object>() {
+            @Override
+            public Object get() {
+                loading.countDown();
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                }
+                return "result-" + calls.incrementAndGet();
+            }
+        };
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                cache.get(new Object[0], loader);
+            }
+        });
+        thread.start();
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        assertEquals("result-1", cache.get(new Object[0], loader));
+        thread.join();
+        assertEquals(1, calls.get());
+    }
+}
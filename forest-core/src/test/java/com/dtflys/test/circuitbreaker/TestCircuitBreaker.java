@@ -0,0 +1,161 @@
+package com.dtflys.test.circuitbreaker;
+
+import com.dtflys.forest.circuitbreaker.CircuitBreakerState;
+import com.dtflys.forest.circuitbreaker.ForestCircuitBreaker;
+import com.dtflys.forest.circuitbreaker.ForestCircuitBreakerConfig;
+import com.dtflys.forest.circuitbreaker.ForestCircuitBreakerPermit;
+import com.dtflys.forest.circuitbreaker.ForestCircuitBreakerRegistry;
+import com.dtflys.forest.callback.OnError;
+import com.dtflys.forest.config.ForestConfiguration;
+import com.dtflys.forest.http.ForestRequest;
+import com.dtflys.forest.http.SyntheticForestResponse;
+import com.dtflys.test.http.client.CircuitBreakerClient;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:54
+ */
+public class TestCircuitBreaker {
+
+    private ForestCircuitBreaker createCircuitBreaker(long openDuration) {
+        ForestCircuitBreakerConfig config = new ForestCircuitBreakerConfig()
+                .setEnabled(true)
+                .setWindowSize(4)
+                .setMinimumCalls(4)
+                .setFailureRateThreshold(50)
+                .setOpenDuration(openDuration)
+                .setHalfOpenProbes(2);
+        return new ForestCircuitBreaker("test", ForestConfiguration.configuration(), config);
+    }
+
+    @Test
+    public void testOpenOnFailureRate() {
+        ForestCircuitBreaker circuitBreaker = createCircuitBreaker(60000);
+        circuitBreaker.onResult(true, 1);
+        circuitBreaker.onResult(false, 1);
+        circuitBreaker.onResult(true, 1);
+        assertEquals(CircuitBreakerState.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquire());
+        circuitBreaker.onResult(false, 1);
+        assertEquals(CircuitBreakerState.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    public void testSlidingWindow() {
+        ForestCircuitBreaker circuitBreaker = createCircuitBreaker(60000);
+        circuitBreaker.onResult(true, 1);
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onResult(false, 1);
+        }
+        assertEquals(0f, circuitBreaker.getFailureRate(), 0.001f);
+        assertEquals(CircuitBreakerState.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    public void testOpenOnSlowCallRate() {
+        ForestCircuitBreakerConfig config = new ForestCircuitBreakerConfig()
+                .setEnabled(true)
+                .setWindowSize(2)
+                .setMinimumCalls(2)
+                .setSlowCallDuration(100)
+                .setSlowCallRateThreshold(100);
+        ForestCircuitBreaker circuitBreaker = new ForestCircuitBreaker(
+                "slow", ForestConfiguration.configuration(), config);
+        circuitBreaker.onResult(false, 50);
+        circuitBreaker.onResult(false, 200);
+        assertEquals(CircuitBreakerState.CLOSED, circuitBreaker.getState());
+        circuitBreaker.onResult(false, 300);
+        assertEquals(CircuitBreakerState.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    public void testHalfOpen() throws InterruptedException {
+        ForestCircuitBreaker circuitBreaker = createCircuitBreaker(50);
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onResult(true, 1);
+        }
+        assertEquals(CircuitBreakerState.OPEN, circuitBreaker.getState());
+        Thread.sleep(100);
+        assertTrue(circuitBreaker.tryAcquire());
+        assertEquals(CircuitBreakerState.HALF_OPEN, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquire());
+        assertFalse(circuitBreaker.tryAcquire());
+        circuitBreaker.release();
+        assertTrue(circuitBreaker.tryAcquire());
+        circuitBreaker.onResult(false, 1);
+        circuitBreaker.onResult(false, 1);
+        assertEquals(CircuitBreakerState.CLOSED, circuitBreaker.getState());
+        assertEquals(0f, circuitBreaker.getFailureRate(), 0.001f);
+    }
+
+    @Test
+    public void testHalfOpenFailure() throws InterruptedException {
+        ForestCircuitBreaker circuitBreaker = createCircuitBreaker(50);
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onResult(true, 1);
+        }
+        Thread.sleep(100);
+        assertTrue(circuitBreaker.tryAcquire());
+        circuitBreaker.onResult(true, 1);
+        assertEquals(CircuitBreakerState.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    public void testPermitRecordsLastAttemptOnce() {
+        ForestCircuitBreaker circuitBreaker = createCircuitBreaker(60000);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(circuitBreaker.tryAcquire());
+            ForestCircuitBreakerPermit permit = new ForestCircuitBreakerPermit(circuitBreaker);
+            permit.onAttempt(null, new IOException("reset"), 1000000L);
+            permit.onAttempt(null, new IOException("reset"), 1000000L);
+            permit.finish();
+            permit.finish();
+        }
+        assertEquals(CircuitBreakerState.CLOSED, circuitBreaker.getState());
+        assertEquals(100f, circuitBreaker.getFailureRate(), 0.001f);
+
+        // 重试后成功的调用只记录最后的成功结果
+        ForestCircuitBreakerPermit permit = new ForestCircuitBreakerPermit(circuitBreaker);
+        permit.onAttempt(null, new IOException("reset"), 1000000L);
+        ForestConfiguration configuration = ForestConfiguration.configuration();
+        permit.onAttempt(new SyntheticForestResponse(new ForestRequest(configuration), 200, null), null, 1000000L);
+        permit.finish();
+        assertEquals(CircuitBreakerState.OPEN, circuitBreaker.getState());
+        assertEquals(75f, circuitBreaker.getFailureRate(), 0.001f);
+    }
+
+    @Test
+    public void testPermitWithoutAttemptReleasesProbe() throws InterruptedException {
+        ForestCircuitBreaker circuitBreaker = createCircuitBreaker(50);
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onResult(true, 1);
+        }
+        Thread.sleep(100);
+        assertTrue(circuitBreaker.tryAcquire());
+        assertTrue(circuitBreaker.tryAcquire());
+        assertFalse(circuitBreaker.tryAcquire());
+        new ForestCircuitBreakerPermit(circuitBreaker).finish();
+        assertTrue(circuitBreaker.tryAcquire());
+        ForestCircuitBreakerPermit cancelled = new ForestCircuitBreakerPermit(circuitBreaker);
+        cancelled.cancel();
+        cancelled.finish();
+        assertTrue(circuitBreaker.tryAcquire());
+        assertEquals(CircuitBreakerState.HALF_OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    public void testMethodKeyWithOverloads() throws NoSuchMethodException {
+        String key1 = ForestCircuitBreakerRegistry.getMethodKey(CircuitBreakerClient.class.getMethod("fail"));
+        String key2 = ForestCircuitBreakerRegistry.getMethodKey(
+                CircuitBreakerClient.class.getMethod("fail", OnError.class));
+        assertEquals(CircuitBreakerClient.class.getName() + "#fail()", key1);
+        assertEquals(CircuitBreakerClient.class.getName() + "#fail(" + OnError.class.getName() + ")", key2);
+    }
+}
@@ -11,6 +11,11 @@ import com.dtflys.forest.converter.json.ForestFastjsonConverter;
 import com.dtflys.forest.exceptions.ForestRuntimeException;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -144,6 +149,22 @@ public class TestForestFastjsonConverter {
         assertEquals("[100,10]", text);
     }
 
+    @Test
+    public void testConvertToJsonStream() throws IOException {
+        ForestFastjsonConverter fastjsonConverter = new ForestFastjsonConverter();
+        Map map = new LinkedHashMap();
+        map.put("name", "中文");
+        map.put("value", 100);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        fastjsonConverter.encodeToStream(map, out, StandardCharsets.UTF_8);
+        assertEquals(fastjsonConverter.encodeToString(map), new String(out.toByteArray(), StandardCharsets.UTF_8));
+
+        Charset gbk = Charset.forName("GBK");
+        out = new ByteArrayOutputStream();
+        fastjsonConverter.encodeToStream(map, out, gbk);
+        assertEquals(fastjsonConverter.encodeToString(map), new String(out.toByteArray(), gbk));
+    }
+
     @Test
     public void testConvertToJsonError() {
         ForestFastjsonConverter forestFastjsonConverter = new ForestFastjsonConverter();
@@ -182,6 +203,21 @@ public class TestForestFastjsonConverter {
     }
 
 
+    @Test
+    public void testConvertToJavaFromReader() {
+        String jsonText = "{\"a\":1, \"b\":2}";
+        ForestFastjsonConverter forestFastjsonConverter = new ForestFastjsonConverter();
+        Map result = forestFastjsonConverter.convertToJavaObject(new StringReader(jsonText), Map.class);
+        assertNotNull(result);
+        assertEquals(1, result.get("a"));
+        assertEquals(2, result.get("b"));
+
+        result = forestFastjsonConverter.convertToJavaObject(new StringReader(jsonText), new TypeReference<Map>() {}.getType());
+        assertNotNull(result);
+        assertEquals(1, result.get("a"));
+    }
+
+
     @Test
     public void testConvertToJavaError() {
         String badJsonText = "{\"a\":1";
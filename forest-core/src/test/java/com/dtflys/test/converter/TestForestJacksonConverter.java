@@ -9,7 +9,13 @@ import com.dtflys.forest.converter.json.ForestJacksonConverter;
 import com.dtflys.forest.exceptions.ForestRuntimeException;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -37,6 +43,22 @@ public class TestForestJacksonConverter {
         Assert.assertEquals("[100,10]", text);
     }
 
+    @Test
+    public void testConvertToJsonStream() throws IOException {
+        ForestJacksonConverter jacksonConverter = new ForestJacksonConverter();
+        Map map = new LinkedHashMap();
+        map.put("name", "中文");
+        map.put("value", 100);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        jacksonConverter.encodeToStream(map, out, StandardCharsets.UTF_8);
+        assertEquals(jacksonConverter.encodeToString(map), new String(out.toByteArray(), StandardCharsets.UTF_8));
+
+        Charset gbk = Charset.forName("GBK");
+        out = new ByteArrayOutputStream();
+        jacksonConverter.encodeToStream(map, out, gbk);
+        assertEquals(jacksonConverter.encodeToString(map), new String(out.toByteArray(), gbk));
+    }
+
     @Test
     public void testConvertToJsonError() {
         ForestJacksonConverter forestJacksonConverter = new ForestJacksonConverter();
@@ -70,6 +92,17 @@ public class TestForestJacksonConverter {
     }
 
 
+    @Test
+    public void testConvertToJavaFromReader() {
+        String jsonText = "{\"a\":1, \"b\":2}";
+        ForestJacksonConverter forestJacksonConverter = new ForestJacksonConverter();
+        Map result = forestJacksonConverter.convertToJavaObject(new StringReader(jsonText), Map.class);
+        assertNotNull(result);
+        assertEquals(1, result.get("a"));
+        assertEquals(2, result.get("b"));
+    }
+
+
     @Test
     public void testConvertToJavaError() {
         String jsonText = "{\"a\":1, ";
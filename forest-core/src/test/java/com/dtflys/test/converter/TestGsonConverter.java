@@ -8,6 +8,12 @@ import com.dtflys.forest.converter.json.ForestGsonConverter;
 import com.dtflys.forest.exceptions.ForestRuntimeException;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -28,6 +34,22 @@ public class TestGsonConverter {
         Assert.assertEquals("[100,10]", text);
     }
 
+    @Test
+    public void testConvertToJsonStream() throws IOException {
+        ForestGsonConverter gsonConverter = new ForestGsonConverter();
+        Map map = new LinkedHashMap();
+        map.put("name", "中文");
+        map.put("value", 100);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        gsonConverter.encodeToStream(map, out, StandardCharsets.UTF_8);
+        assertEquals(gsonConverter.encodeToString(map), new String(out.toByteArray(), StandardCharsets.UTF_8));
+
+        Charset gbk = Charset.forName("GBK");
+        out = new ByteArrayOutputStream();
+        gsonConverter.encodeToStream(map, out, gbk);
+        assertEquals(gsonConverter.encodeToString(map), new String(out.toByteArray(), gbk));
+    }
+
 
     public static class Data {
         private Integer a;
@@ -99,6 +121,25 @@ public class TestGsonConverter {
     }
 
 
+    @Test
+    public void testConvertToJavaFromReader() {
+        String jsonText = "{\"a\":1, \"b\":2}";
+        ForestGsonConverter gsonConverter = new ForestGsonConverter();
+        Map result = gsonConverter.convertToJavaObject(new StringReader(jsonText), Map.class);
+        assertNotNull(result);
+        assertEquals(1, result.get("a"));
+        assertEquals(2, result.get("b"));
+
+        List list = gsonConverter.convertToJavaObject(new StringReader("[1, 2, 3]"), List.class);
+        assertEquals(3, list.size());
+        assertEquals(3, list.get(2));
+
+        Data data = gsonConverter.convertToJavaObject(new StringReader(jsonText), Data.class);
+        assertEquals(Integer.valueOf(1), data.getA());
+        assertEquals(Integer.valueOf(2), data.getB());
+    }
+
+
     @Test
     public void testConvertToJavaError() {
         String jsonText = "{\"a\":1, ";
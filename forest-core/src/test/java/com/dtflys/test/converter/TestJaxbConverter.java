@@ -6,6 +6,7 @@ import com.dtflys.forest.exceptions.ForestRuntimeException;
 import org.junit.Test;
 
 import javax.xml.bind.annotation.*;
+import java.io.StringReader;
 
 import static junit.framework.Assert.*;
 
@@ -56,6 +57,20 @@ public class TestJaxbConverter {
         assertEquals(Integer.valueOf(32), user.getAge());
     }
 
+    @Test
+    public void convertToJavaObjectFromReader() {
+        ForestJaxbConverter forestJaxbConverter = new ForestJaxbConverter();
+        String xmlText = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                "<user>\n" +
+                "<name>Peter</name>\n" +
+                "<age>32</age>\n" +
+                "</user>";
+        User user = forestJaxbConverter.convertToJavaObject(new StringReader(xmlText), User.class);
+        assertNotNull(user);
+        assertEquals("Peter", user.getName());
+        assertEquals(Integer.valueOf(32), user.getAge());
+    }
+
     @Test
     public void convertToJavaObjectError() {
         ForestJaxbConverter forestJaxbConverter = new ForestJaxbConverter();
@@ -0,0 +1,114 @@
+package com.dtflys.test.converter;
+
+import com.dtflys.forest.backend.body.JsonBodyWriter;
+import com.dtflys.forest.backend.httpclient.body.HttpclientJsonEntity;
+import com.dtflys.forest.config.ForestConfiguration;
+import com.dtflys.forest.converter.json.ForestJacksonConverter;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:19
+ */
+public class TestJsonBodyWriter {
+
+    @Test
+    public void testWriteAndContentLength() throws IOException {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("name", "中文");
+        map.put("value", 100);
+        ForestJacksonConverter converter = new ForestJacksonConverter();
+        byte[] expected = converter.encodeToString(map).getBytes(StandardCharsets.UTF_8);
+
+        JsonBodyWriter chunkedWriter = new JsonBodyWriter(converter, map, StandardCharsets.UTF_8, false);
+        assertEquals(-1, chunkedWriter.getContentLength());
+
+        JsonBodyWriter bodyWriter = new JsonBodyWriter(converter, map, StandardCharsets.UTF_8, true);
+        assertEquals(expected.length, bodyWriter.getContentLength());
+        // 计算长度后请求体被修改，写出的仍然是计算长度时的内容
+        map.put("value", 100000);
+        // 可以重复写出
+        for (int i = 0; i < 2; i++) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            bodyWriter.writeTo(out);
+            assertArrayEquals(expected, out.toByteArray());
+        }
+    }
+
+    @Test
+    public void testExceedBufferSize() throws IOException {
+        char[] chars = new char[JsonBodyWriter.MAX_BUFFER_SIZE];
+        Arrays.fill(chars, 'a');
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("value", new String(chars));
+        CountingConverter converter = new CountingConverter();
+        JsonBodyWriter bodyWriter = new JsonBodyWriter(converter, map, StandardCharsets.UTF_8, true);
+        // 超过缓冲区大小时使用分块传输编码
+        assertEquals(-1, bodyWriter.getContentLength());
+        assertEquals(-1, bodyWriter.getContentLength());
+        assertEquals(1, converter.count);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bodyWriter.writeTo(out);
+        assertArrayEquals(converter.encodeToString(map).getBytes(StandardCharsets.UTF_8), out.toByteArray());
+    }
+
+    @Test
+    public void testEntityDefersContentLength() throws IOException {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("value", 100);
+        CountingConverter converter = new CountingConverter();
+        HttpclientJsonEntity entity = new HttpclientJsonEntity(
+                new JsonBodyWriter(converter, map, StandardCharsets.UTF_8, true));
+        // 创建请求实体时不序列化
+        assertEquals(0, converter.count);
+        assertFalse(entity.isChunked());
+        assertEquals(1, converter.count);
+        assertEquals(converter.encodeToString(map).length(), entity.getContentLength());
+        assertEquals(1, converter.count);
+        // 写出时复用计算长度时序列化的内容
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        entity.writeTo(out);
+        assertEquals(entity.getContentLength(), out.size());
+        assertEquals(1, converter.count);
+
+        entity = new HttpclientJsonEntity(new JsonBodyWriter(converter, map, StandardCharsets.UTF_8, false));
+        assertTrue(entity.isChunked());
+        assertEquals(-1, entity.getContentLength());
+    }
+
+    @Test
+    public void testChunkedByDefault() {
+        assertFalse(ForestConfiguration.configuration().isJsonBodyContentLength());
+    }
+
+    @Test(expected = IOException.class)
+    public void testEncodeError() throws IOException {
+        Map map = new HashMap();
+        map.put("ref", map);
+        new JsonBodyWriter(new ForestJacksonConverter(), map, StandardCharsets.UTF_8, false)
+                .writeTo(new ByteArrayOutputStream());
+    }
+
+    private static class CountingConverter extends ForestJacksonConverter {
+
+        private int count;
+
+        @Override
+        public void encodeToStream(Object obj, OutputStream out, Charset charset) throws IOException {
+            count++;
+            super.encodeToStream(obj, out, charset);
+        }
+    }
+}
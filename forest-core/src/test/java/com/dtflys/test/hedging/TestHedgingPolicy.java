@@ -0,0 +1,177 @@
+package com.dtflys.test.hedging;
+
+import com.dtflys.forest.backend.httpclient.request.HttpclientHedgedCall;
+import com.dtflys.forest.config.ForestConfiguration;
+import com.dtflys.forest.hedging.ForestHedgingPolicy;
+import com.dtflys.forest.hedging.HedgedCall;
+import com.dtflys.forest.http.ForestRequest;
+import com.dtflys.forest.http.ForestRequestType;
+import com.dtflys.forest.ssl.SSLKeyStore;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:07
+ */
+public class TestHedgingPolicy {
+
+    private final static long MS = 1000000L;
+
+    private static class RecordingPolicy extends ForestHedgingPolicy {
+
+        private final List<Long> latencies = new CopyOnWriteArrayList<>();
+
+        public RecordingPolicy() {
+            super("test", 20, 95, 0, 1);
+        }
+
+        @Override
+        public void recordLatency(long durationNanos) {
+            latencies.add(durationNanos);
+        }
+    }
+
+    private static class ManualHedgedCall extends HedgedCall<String> {
+
+        private final CountDownLatch hedged = new CountDownLatch(1);
+
+        private final boolean[] cancelled = new boolean[MAX_ATTEMPTS];
+
+        public ManualHedgedCall(ForestRequest request) {
+            super(request);
+        }
+
+        @Override
+        protected String executeAttempt(int attempt) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected void startAttempt(int attempt) {
+            if (attempt > 0) {
+                hedged.countDown();
+            }
+        }
+
+        @Override
+        protected void cancelAttempt(int attempt) {
+            cancelled[attempt] = true;
+        }
+
+        @Override
+        protected boolean isAcceptable(String response) {
+            return !"error".equals(response);
+        }
+
+        @Override
+        protected void discard(String response) {
+        }
+
+        public void complete(int attempt, String response) {
+            onAttemptResult(attempt, response, null);
+        }
+
+        public void fail(int attempt) {
+            onAttemptResult(attempt, null, new Exception("failed"));
+        }
+    }
+
+    @Test
+    public void testFixedDelay() {
+        ForestHedgingPolicy policy = new ForestHedgingPolicy("test", 80, 95, 0.1, 10);
+        assertEquals(80, policy.getHedgeDelay());
+        policy.recordLatency(500 * MS);
+        assertEquals(80, policy.getHedgeDelay());
+    }
+
+    @Test
+    public void testPercentileDelay() {
+        ForestHedgingPolicy policy = new ForestHedgingPolicy("test", 0, 95, 0.1, 10);
+        for (int i = 1; i < ForestHedgingPolicy.MIN_SAMPLES; i++) {
+            policy.recordLatency(i * MS);
+        }
+        // 样本不足时不对冲
+        assertEquals(-1, policy.getHedgeDelay());
+        policy.recordLatency(ForestHedgingPolicy.MIN_SAMPLES * MS);
+        assertEquals(19, policy.getHedgeDelay());
+    }
+
+    @Test
+    public void testBudget() {
+        ForestHedgingPolicy policy = new ForestHedgingPolicy("test", 10, 95, 0.5, 1);
+        assertTrue(policy.tryHedge());
+        assertFalse(policy.tryHedge());
+        policy.onCall();
+        assertFalse(policy.tryHedge());
+        policy.onCall();
+        assertTrue(policy.tryHedge());
+    }
+
+    @Test
+    public void testHedgeable() {
+        assertTrue(ForestHedgingPolicy.isHedgeable(ForestRequestType.GET));
+        assertTrue(ForestHedgingPolicy.isHedgeable(ForestRequestType.HEAD));
+        assertTrue(ForestHedgingPolicy.isHedgeable(ForestRequestType.OPTIONS));
+        assertFalse(ForestHedgingPolicy.isHedgeable(ForestRequestType.POST));
+        assertFalse(ForestHedgingPolicy.isHedgeable(ForestRequestType.PUT));
+    }
+
+    @Test
+    public void testHttpclientSyncHedgeable() {
+        ForestConfiguration configuration = ForestConfiguration.configuration();
+        configuration.registerKeyStore(new SSLKeyStore("ssl_client", "ssl_client.keystore", "client", "456789"));
+        ForestHedgingPolicy policy = new ForestHedgingPolicy("test", 10, 95, 0.1, 10);
+        assertFalse(HttpclientHedgedCall.isSyncHedgeable(new ForestRequest(configuration)));
+        assertTrue(HttpclientHedgedCall.isSyncHedgeable(new ForestRequest(configuration).setHedgingPolicy(policy)));
+        // 带有SSL证书的同步请求不对冲
+        assertFalse(HttpclientHedgedCall.isSyncHedgeable(new ForestRequest(configuration)
+                .setHedgingPolicy(policy)
+                .setKeyStore(configuration.getKeyStore("ssl_client"))));
+    }
+
+    @Test
+    public void testLosingAttemptLatencyRecorded() throws Exception {
+        ForestConfiguration configuration = ForestConfiguration.configuration();
+        RecordingPolicy policy = new RecordingPolicy();
+        ManualHedgedCall call = new ManualHedgedCall(new ForestRequest(configuration).setHedgingPolicy(policy));
+        CompletableFuture<String> result = call.executeAsync();
+        assertTrue(call.hedged.await(5, TimeUnit.SECONDS));
+        call.complete(1, "fast");
+        assertEquals("fast", result.get());
+        // 胜出的对冲请求和被取消的首个请求都记录耗时，首个请求的耗时不短于对冲等待时间
+        assertTrue(call.cancelled[0]);
+        assertEquals(2, policy.latencies.size());
+        assertTrue(policy.latencies.get(1) >= 20 * MS);
+        // 被取消的请求迟到的结果不再重复记录
+        call.fail(0);
+        call.complete(0, "slow");
+        assertEquals(2, policy.latencies.size());
+        configuration.close();
+    }
+
+    @Test
+    public void testUnacceptableAttemptLatencyRecorded() throws Exception {
+        ForestConfiguration configuration = ForestConfiguration.configuration();
+        RecordingPolicy policy = new RecordingPolicy();
+        ManualHedgedCall call = new ManualHedgedCall(new ForestRequest(configuration).setHedgingPolicy(policy));
+        CompletableFuture<String> result = call.executeAsync();
+        assertTrue(call.hedged.await(5, TimeUnit.SECONDS));
+        // 不可接受的响应等待仍在进行中的对冲请求，也记录耗时
+        call.complete(0, "error");
+        assertEquals(1, policy.latencies.size());
+        assertFalse(result.isDone());
+        call.complete(1, "ok");
+        assertEquals("ok", result.get());
+        assertFalse(call.cancelled[0]);
+        assertEquals(2, policy.latencies.size());
+        configuration.close();
+    }
+}
@@ -8,6 +8,7 @@ import com.dtflys.forest.backend.HttpBackend;
 import com.dtflys.forest.backend.httpclient.HttpclientBackend;
 import com.dtflys.forest.backend.okhttp3.OkHttp3Backend;
 import com.dtflys.forest.config.ForestConfiguration;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
@@ -27,12 +28,40 @@ public abstract class BaseClientTest {
 
     protected HttpBackend backend;
 
+    protected final ForestConfiguration configuration;
+
+    /**
+     * 配置是否由当前测试实例创建，是的话在测试结束后关闭
+     */
+    private final boolean ownConfiguration;
+
+    /**
+     * 每个测试实例使用独立的全局配置和后端，测试之间不会共享连接池以及熔断、限流、缓存等状态
+     * @param backend HTTP后端，只用它的名称为配置创建新的后端
+     */
+    public BaseClientTest(HttpBackend backend) {
+        this.backend = backend;
+        this.configuration = ForestConfiguration.configuration();
+        this.ownConfiguration = true;
+        configuration.setCacheEnabled(false);
+        configuration.setBackendName(backend.getName());
+    }
+
     public BaseClientTest(HttpBackend backend, ForestConfiguration configuration) {
         this.backend = backend;
+        this.configuration = configuration;
+        this.ownConfiguration = false;
         configuration.setCacheEnabled(false);
         configuration.setBackend(backend);
     }
 
+    @After
+    public void closeConfiguration() {
+        if (ownConfiguration) {
+            configuration.close();
+        }
+    }
+
     @Parameterized.Parameters
     public static Collection backendList() {
         return Arrays.asList(
@@ -0,0 +1,91 @@
+package com.dtflys.test.http;
+
+import com.dtflys.forest.backend.HttpBackend;
+import com.dtflys.forest.exceptions.ForestConcurrencyLimitException;
+import com.dtflys.forest.exceptions.ForestRuntimeException;
+import com.dtflys.forest.limiter.ForestAdaptiveLimitConfig;
+import com.dtflys.forest.limiter.ForestAdaptiveLimiter;
+import com.dtflys.test.http.client.AdaptiveLimitClient;
+import com.dtflys.test.mock.AdaptiveLimitMockServer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent[agent@local]
+ * @since 2026-10-17 16:11
+ */
+public class TestAdaptiveLimitClient extends BaseClientTest {
+
+    private final static String HOST = "http://localhost:" + AdaptiveLimitMockServer.port;
+
+    @Rule
+    public AdaptiveLimitMockServer server = new AdaptiveLimitMockServer(this);
+
+    private final AdaptiveLimitClient adaptiveLimitClient;
+
+    public TestAdaptiveLimitClient(HttpBackend backend) {
+        super(backend);
+        configuration.setVariableValue("port", AdaptiveLimitMockServer.port);
+        configuration.setLogEnabled(false);
+        configuration.setTimeout(5000);
+        configuration.setAdaptiveLimitConfig(new ForestAdaptiveLimitConfig()
+                .setEnabled(true)
+                .setInitialLimit(1)
+                .setMaxLimit(4)
+                .setMaxQueueSize(1));
+        adaptiveLimitClient = configuration.createInstance(AdaptiveLimitClient.class);
+    }
+
+    @Before
+    public void prepareMockServer() {
+        server.initServer();
+    }
+
+    private ForestAdaptiveLimiter getLimiter() {
+        return configuration.getAdaptiveLimiterRegistry().getLimiter(HOST);
+    }
+
+    @Test
+    public void testAsyncQueueAndShed() throws Exception {
+        CompletableFuture<String> future1 = adaptiveLimitClient.asyncSlow();
+        CompletableFuture<String> future2 = adaptiveLimitClient.asyncSlow();
+        CompletableFuture<String> future3 = adaptiveLimitClient.asyncSlow();
+        assertTrue(future3.isCompletedExceptionally());
+        try {
+            future3.get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof ForestConcurrencyLimitException);
+            ForestConcurrencyLimitException limitException = (ForestConcurrencyLimitException) e.getCause();
+            assertEquals(HOST, limitException.getBulkheadName());
+            assertEquals(1, limitException.getLimit());
+        }
+        assertEquals(AdaptiveLimitMockServer.EXPECTED, future1.get());
+        assertEquals(AdaptiveLimitMockServer.EXPECTED, future2.get());
+        ForestAdaptiveLimiter limiter = getLimiter();
+        assertNotNull(limiter);
+        assertEquals(0, limiter.getActiveCalls());
+        assertEquals(0, limiter.getQueueSize());
+    }
+
+    @Test
+    public void testLimitAdapts() {
+        assertEquals(AdaptiveLimitMockServer.EXPECTED, adaptiveLimitClient.slow());
+        assertEquals(AdaptiveLimitMockServer.EXPECTED, adaptiveLimitClient.slow());
+        ForestAdaptiveLimiter limiter = getLimiter();
+        assertEquals(3, limiter.getLimit());
+        try {
+            adaptiveLimitClient.busy();
+            fail();
+        } catch (ForestRuntimeException e) {
+        }
+        assertEquals(2, limiter.getLimit());
+        assertEquals(0, limiter.getActiveCalls());
+    }
+}
@@ -27,11 +27,16 @@ import org.junit.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.Assert.*;
 
@@ -166,4 +171,55 @@ public class TestAsyncGetClient extends BaseClientTest {
 
     }
 
+
+    @Test
+    public void testAsyncCompletableFuture() throws ExecutionException, InterruptedException {
+        CompletableFuture<String> future = getClient.asyncCompletableGet();
+        assertNotNull(future);
+        assertFalse(future.isDone());
+        String threadName = Thread.currentThread().getName();
+        AtomicReference<String> callbackThread = new AtomicReference<>();
+        CompletableFuture<Integer> lengthFuture = future.thenApply(data -> {
+            callbackThread.set(Thread.currentThread().getName());
+            return data.length();
+        });
+        assertEquals(Integer.valueOf(AsyncGetMockServer.EXPECTED.length()), lengthFuture.get());
+        assertEquals(AsyncGetMockServer.EXPECTED, future.get());
+        assertNotEquals(threadName, callbackThread.get());
+    }
+
+    @Test
+    public void testAsyncCompletionStageFanOut() throws ExecutionException, InterruptedException, TimeoutException {
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            futures.add(getClient.asyncCompletionStageGet("foo").toCompletableFuture());
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+        for (CompletableFuture<String> future : futures) {
+            assertEquals(AsyncGetMockServer.EXPECTED, future.getNow(null));
+        }
+    }
+
+    @Test
+    public void testAsyncCompletionStageError() throws InterruptedException, TimeoutException {
+        CompletableFuture<String> future = getClient.asyncCompletionStageGet("bar").toCompletableFuture();
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(String.valueOf(e.getCause()), e.getCause() instanceof ForestNetworkException);
+            assertEquals(Integer.valueOf(404), ((ForestNetworkException) e.getCause()).getStatusCode());
+        }
+        assertTrue(future.isCompletedExceptionally());
+    }
+
+    @Test
+    public void testAsyncCompletableFutureCancel() throws InterruptedException {
+        CompletableFuture<String> future = getClient.asyncCompletableGet();
+        assertTrue(future.cancel(true));
+        assertTrue(future.isCancelled());
+        Thread.sleep(1500L);
+        assertTrue(future.isCancelled());
+    }
+
 }
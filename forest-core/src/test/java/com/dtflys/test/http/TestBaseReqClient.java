@@ -2,6 +2,7 @@ package com.dtflys.test.http;
 
 import com.dtflys.forest.backend.HttpBackend;
 import com.dtflys.forest.config.ForestConfiguration;
+import com.dtflys.forest.http.ForestResponse;
 import com.dtflys.test.http.client.BaseReqClient;
 import com.dtflys.test.mock.GetMockServer;
 import org.junit.Before;
@@ -60,4 +61,12 @@ public class TestBaseReqClient extends BaseClientTest {
     }
 
 
+    @Test
+    public void testBaseUserAgentAndHeaders() {
+        ForestResponse<String> response = baseReqClient.simpleGetWithResponse();
+        assertEquals(GetMockServer.EXPECTED, response.getResult());
+        assertEquals("forest-base-agent", response.getRequest().getUserAgent());
+        assertEquals("text/plain", response.getRequest().getHeader("Accept").getValue());
+    }
+
 }
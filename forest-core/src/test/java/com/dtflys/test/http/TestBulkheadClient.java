@@ -0,0 +1,102 @@
+package com.dtflys.test.http;
+
+import com.dtflys.forest.backend.HttpBackend;
+import com.dtflys.forest.bulkhead.ForestBulkhead;
+import com.dtflys.forest.bulkhead.ForestBulkheadFuture;
+import com.dtflys.forest.exceptions.ForestBulkheadFullException;
+import com.dtflys.test.http.client.BulkheadClient;
+import com.dtflys.test.mock.BulkheadMockServer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent[agent@local]
+ * @since 2026-10-17 16:03
+ */
+public class TestBulkheadClient extends BaseClientTest {
+
+    @Rule
+    public BulkheadMockServer server = new BulkheadMockServer(this);
+
+    private final BulkheadClient bulkheadClient;
+
+    public TestBulkheadClient(HttpBackend backend) {
+        super(backend);
+        configuration.setVariableValue("port", BulkheadMockServer.port);
+        configuration.setLogEnabled(false);
+        configuration.setTimeout(5000);
+        bulkheadClient = configuration.createInstance(BulkheadClient.class);
+    }
+
+    @Before
+    public void prepareMockServer() {
+        server.initServer();
+    }
+
+    private ForestBulkhead getInterfaceBulkhead() {
+        return configuration.getBulkheadRegistry().getBulkhead(BulkheadClient.class.getName());
+    }
+
+    @Test
+    public void testAsyncQueueAndReject() throws Exception {
+        CompletableFuture<String> future1 = bulkheadClient.asyncSlow();
+        CompletableFuture<String> future2 = bulkheadClient.asyncSlow();
+        CompletableFuture<String> future3 = bulkheadClient.asyncSlow();
+        assertTrue((Object) future2 instanceof ForestBulkheadFuture);
+        assertTrue(future3.isCompletedExceptionally());
+        try {
+            future3.get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof ForestBulkheadFullException);
+        }
+        assertEquals(BulkheadMockServer.EXPECTED, future1.get());
+        assertEquals(BulkheadMockServer.EXPECTED, future2.get());
+        ForestBulkhead bulkhead = getInterfaceBulkhead();
+        assertEquals(0, bulkhead.getActiveCalls());
+        assertEquals(0, bulkhead.getQueueSize());
+    }
+
+    @Test
+    public void testSyncReject() throws Exception {
+        CompletableFuture<String> future = bulkheadClient.asyncSlow();
+        try {
+            bulkheadClient.slow();
+            fail();
+        } catch (ForestBulkheadFullException e) {
+            assertEquals(BulkheadClient.class.getName(), e.getBulkheadName());
+        }
+        assertEquals(BulkheadMockServer.EXPECTED, future.get());
+        assertEquals(0, getInterfaceBulkhead().getActiveCalls());
+    }
+
+    @Test
+    public void testCancelQueued() throws Exception {
+        CompletableFuture<String> future1 = bulkheadClient.asyncSlow();
+        CompletableFuture<String> future2 = bulkheadClient.asyncSlow();
+        ForestBulkhead bulkhead = getInterfaceBulkhead();
+        assertEquals(1, bulkhead.getQueueSize());
+        assertTrue(future2.cancel(true));
+        assertEquals(0, bulkhead.getQueueSize());
+        assertEquals(BulkheadMockServer.EXPECTED, future1.get());
+        assertEquals(0, bulkhead.getActiveCalls());
+    }
+
+    @Test
+    public void testMethodBulkhead() throws Exception {
+        CompletableFuture<String> future = bulkheadClient.asyncSlow();
+        assertEquals(BulkheadMockServer.EXPECTED, bulkheadClient.slowWithOwnBulkhead());
+        assertEquals(BulkheadMockServer.EXPECTED, future.get());
+        ForestBulkhead bulkhead = configuration.getBulkheadRegistry()
+                .getBulkhead(BulkheadClient.class.getName() + "#slowWithOwnBulkhead");
+        assertNotNull(bulkhead);
+        assertEquals(2, bulkhead.getMaxConcurrentCalls());
+        assertEquals(0, bulkhead.getActiveCalls());
+    }
+}
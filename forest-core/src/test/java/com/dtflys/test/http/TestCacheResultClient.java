@@ -0,0 +1,61 @@
+package com.dtflys.test.http;
+
+import com.dtflys.forest.backend.HttpBackend;
+import com.dtflys.forest.exceptions.ForestNetworkException;
+import com.dtflys.test.http.client.CacheResultClient;
+import com.dtflys.test.mock.CacheResultMockServer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:14
+ */
+public class TestCacheResultClient extends BaseClientTest {
+
+    @Rule
+    public CacheResultMockServer server = new CacheResultMockServer(this);
+
+    private final CacheResultClient cacheResultClient;
+
+    public TestCacheResultClient(HttpBackend backend) {
+        super(backend);
+        configuration.setVariableValue("port", CacheResultMockServer.port);
+        configuration.setLogEnabled(false);
+        cacheResultClient = configuration.createInstance(CacheResultClient.class);
+    }
+
+    @Before
+    public void prepareMockServer() {
+        server.initServer();
+    }
+
+    @Test
+    public void testCacheByArguments() {
+        Map user = cacheResultClient.getUser("foo");
+        assertEquals("ok", user.get("status"));
+        // 服务端只响应一次，相同参数的调用返回同一个缓存的结果
+        assertSame(user, cacheResultClient.getUser("foo"));
+        assertEquals("ok", cacheResultClient.getUser("bar").get("status"));
+    }
+
+    @Test
+    public void testKeyTemplateAndTtl() throws InterruptedException {
+        String result = cacheResultClient.getUserByName("foo", "t1");
+        assertEquals(CacheResultMockServer.EXPECTED, result);
+        // 缓存键只包含用户名
+        assertEquals(result, cacheResultClient.getUserByName("foo", "t2"));
+        Thread.sleep(150);
+        try {
+            cacheResultClient.getUserByName("foo", "t1");
+            fail();
+        } catch (ForestNetworkException e) {
+            assertEquals(Integer.valueOf(404), e.getStatusCode());
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.dtflys.test.http;
+
+import com.dtflys.forest.backend.HttpBackend;
+import com.dtflys.forest.callback.OnError;
+import com.dtflys.forest.circuitbreaker.CircuitBreakerState;
+import com.dtflys.forest.circuitbreaker.ForestCircuitBreaker;
+import com.dtflys.forest.circuitbreaker.ForestCircuitBreakerConfig;
+import com.dtflys.forest.exceptions.ForestCircuitBreakerOpenException;
+import com.dtflys.forest.exceptions.ForestNetworkException;
+import com.dtflys.forest.exceptions.ForestRuntimeException;
+import com.dtflys.forest.http.ForestRequest;
+import com.dtflys.forest.http.ForestResponse;
+import com.dtflys.test.http.client.CircuitBreakerClient;
+import com.dtflys.test.mock.CircuitBreakerMockServer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:54
+ */
+public class TestCircuitBreakerClient extends BaseClientTest {
+
+    @Rule
+    public CircuitBreakerMockServer server = new CircuitBreakerMockServer(this);
+
+    private final CircuitBreakerClient circuitBreakerClient;
+
+    public TestCircuitBreakerClient(HttpBackend backend) {
+        super(backend);
+        configuration.setVariableValue("port", CircuitBreakerMockServer.port);
+        configuration.setLogEnabled(false);
+        configuration.setRetryCount(0);
+        configuration.setCircuitBreakerConfig(new ForestCircuitBreakerConfig()
+                .setEnabled(true)
+                .setWindowSize(4)
+                .setMinimumCalls(4)
+                .setFailureRateThreshold(50)
+                .setOpenDuration(60000));
+        circuitBreakerClient = configuration.createInstance(CircuitBreakerClient.class);
+    }
+
+    @Before
+    public void prepareMockServer() {
+        server.initServer();
+    }
+
+    private void openCircuitBreaker() {
+        for (int i = 0; i < 4; i++) {
+            try {
+                circuitBreakerClient.fail();
+                fail();
+            } catch (ForestNetworkException e) {
+                assertEquals(Integer.valueOf(500), e.getStatusCode());
+            }
+        }
+        ForestCircuitBreaker circuitBreaker = configuration.getCircuitBreakerRegistry()
+                .getCircuitBreaker("http://localhost:" + CircuitBreakerMockServer.port);
+        assertNotNull(circuitBreaker);
+        assertEquals(CircuitBreakerState.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    public void testFastFail() {
+        openCircuitBreaker();
+        try {
+            circuitBreakerClient.ok();
+            fail();
+        } catch (ForestCircuitBreakerOpenException e) {
+            assertEquals("http://localhost:" + CircuitBreakerMockServer.port, e.getCircuitBreakerName());
+        }
+    }
+
+    @Test
+    public void testSuccessKeepsClosed() {
+        for (int i = 0; i < 8; i++) {
+            assertEquals(CircuitBreakerMockServer.EXPECTED, circuitBreakerClient.ok());
+        }
+        ForestCircuitBreaker circuitBreaker = configuration.getCircuitBreakerRegistry()
+                .getCircuitBreaker("http://localhost:" + CircuitBreakerMockServer.port);
+        assertEquals(CircuitBreakerState.CLOSED, circuitBreaker.getState());
+        assertEquals(0f, circuitBreaker.getFailureRate(), 0.001f);
+    }
+
+    @Test
+    public void testFastFailOnError() {
+        openCircuitBreaker();
+        final AtomicReference<ForestRuntimeException> error = new AtomicReference<>();
+        final AtomicReference<ForestResponse> errorResponse = new AtomicReference<>();
+        circuitBreakerClient.fail(new OnError() {
+            @Override
+            public void onError(ForestRuntimeException ex, ForestRequest request, ForestResponse response) {
+                error.set(ex);
+                errorResponse.set(response);
+            }
+        });
+        assertTrue(error.get() instanceof ForestCircuitBreakerOpenException);
+        assertEquals(503, errorResponse.get().getStatusCode());
+    }
+
+    @Test
+    public void testAsyncFastFail() throws InterruptedException {
+        openCircuitBreaker();
+        try {
+            circuitBreakerClient.asyncFail().get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof ForestCircuitBreakerOpenException);
+        }
+    }
+
+    @Test
+    public void testAsyncRetriesCountedOnce() throws InterruptedException {
+        ForestCircuitBreaker circuitBreaker = null;
+        for (int i = 0; i < 3; i++) {
+            try {
+                circuitBreakerClient.asyncFailWithRetry().get();
+                fail();
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof ForestNetworkException);
+            }
+            circuitBreaker = configuration.getCircuitBreakerRegistry()
+                    .getCircuitBreaker("http://localhost:" + CircuitBreakerMockServer.port);
+            // 每次调用重试了2次，但只计为一次失败，窗口中的调用数还不够最小调用数
+            assertEquals(CircuitBreakerState.CLOSED, circuitBreaker.getState());
+        }
+        try {
+            circuitBreakerClient.asyncFailWithRetry().get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof ForestNetworkException);
+        }
+        assertEquals(CircuitBreakerState.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    public void testAbortedProbeReleased() throws InterruptedException {
+        configuration.setCircuitBreakerConfig(new ForestCircuitBreakerConfig()
+                .setEnabled(true)
+                .setWindowSize(4)
+                .setMinimumCalls(4)
+                .setFailureRateThreshold(50)
+                .setOpenDuration(200)
+                .setHalfOpenProbes(1));
+        openCircuitBreaker();
+        Thread.sleep(300);
+        // 半开状态下唯一的探测请求被拦截器中止，许可被释放，下一个请求仍然可以作为探测请求
+        assertNull(circuitBreakerClient.aborted());
+        assertEquals(CircuitBreakerMockServer.EXPECTED, circuitBreakerClient.ok());
+        ForestCircuitBreaker circuitBreaker = configuration.getCircuitBreakerRegistry()
+                .getCircuitBreaker("http://localhost:" + CircuitBreakerMockServer.port);
+        assertEquals(CircuitBreakerState.CLOSED, circuitBreaker.getState());
+    }
+}
@@ -0,0 +1,146 @@
+package com.dtflys.test.http;
+
+import com.dtflys.forest.backend.ForestConnectionManager;
+import com.dtflys.forest.backend.HttpBackend;
+import com.dtflys.forest.backend.httpclient.HttpclientBackend;
+import com.dtflys.forest.backend.httpclient.conn.HttpclientConnectionManager;
+import com.dtflys.forest.backend.okhttp3.OkHttp3Backend;
+import com.dtflys.forest.backend.okhttp3.conn.OkHttp3ConnectionManager;
+import com.dtflys.forest.config.ForestConfiguration;
+import com.dtflys.forest.exceptions.ForestRuntimeException;
+import com.dtflys.forest.http.ForestRequest;
+import com.dtflys.forest.metrics.ForestConnectionPoolMetrics;
+import okhttp3.OkHttpClient;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.junit.Test;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertNotSame;
+import static junit.framework.TestCase.assertSame;
+import static junit.framework.TestCase.assertTrue;
+import static junit.framework.TestCase.fail;
+
+/**
+ * @author agent[agent@local]
+ * @since 2026-10-17 14:27
+ */
+public class TestConnectionManager {
+
+    @Test
+    public void testOkHttp3ClientReuse() {
+        ForestConfiguration configuration = ForestConfiguration.configuration();
+        OkHttp3ConnectionManager connectionManager = new OkHttp3ConnectionManager();
+        connectionManager.init(configuration);
+
+        ForestRequest request1 = new ForestRequest(configuration);
+        request1.setProtocol("http");
+        ForestRequest request2 = new ForestRequest(configuration);
+        request2.setProtocol("http");
+        OkHttpClient client1 = connectionManager.getClient(request1, null);
+        OkHttpClient client2 = connectionManager.getClient(request2, null);
+        assertSame(client1, client2);
+
+        ForestRequest request3 = new ForestRequest(configuration);
+        request3.setProtocol("http");
+        request3.setTimeout(5000);
+        OkHttpClient client3 = connectionManager.getClient(request3, null);
+        assertNotSame(client1, client3);
+        assertEquals(5000, client3.readTimeoutMillis());
+        assertSame(client1.connectionPool(), client3.connectionPool());
+        assertSame(client1.dispatcher(), client3.dispatcher());
+        assertEquals(configuration.getMaxRouteConnections().intValue(),
+                client1.dispatcher().getMaxRequestsPerHost());
+    }
+
+    @Test
+    public void testHttpclientAsyncClientReuse() {
+        ForestConfiguration configuration = ForestConfiguration.configuration();
+        HttpclientConnectionManager connectionManager = new HttpclientConnectionManager();
+        connectionManager.init(configuration);
+
+        ForestRequest request = new ForestRequest(configuration);
+        CloseableHttpAsyncClient client1 = connectionManager.getHttpAsyncClient(request);
+        CloseableHttpAsyncClient client2 = connectionManager.getHttpAsyncClient(request);
+        assertSame(client1, client2);
+        assertTrue(client1.isRunning());
+
+        connectionManager.close();
+        assertFalse(client1.isRunning());
+    }
+
+    @Test
+    public void testConfigurationClose() {
+        ForestConfiguration configuration1 = ForestConfiguration.configuration();
+        configuration1.setBackend(new HttpclientBackend());
+        configuration1.close();
+
+        ForestConfiguration configuration2 = ForestConfiguration.configuration();
+        configuration2.setBackend(new OkHttp3Backend());
+        configuration2.close();
+    }
+
+    @Test
+    public void testBackendSharedByConfigurations() {
+        assertBackendNotShared(new HttpclientBackend());
+        assertBackendNotShared(new OkHttp3Backend());
+    }
+
+    private void assertBackendNotShared(HttpBackend backend) {
+        ForestConfiguration configuration1 = ForestConfiguration.configuration();
+        configuration1.setMaxConnections(10);
+        configuration1.setBackend(backend);
+
+        // 同一个后端设置给第二个配置时换成新的后端，连接池按第二个配置的设置创建
+        ForestConfiguration configuration2 = ForestConfiguration.configuration();
+        configuration2.setMaxConnections(20);
+        configuration2.setBackend(backend);
+        assertSame(backend, configuration1.getBackend());
+        assertNotSame(backend, configuration2.getBackend());
+        assertSame(backend.getClass(), configuration2.getBackend().getClass());
+
+        int maxConnections1 = configuration1.getBackend().getConnectionPoolMetrics().getMaxConnections();
+        int maxConnections2 = configuration2.getBackend().getConnectionPoolMetrics().getMaxConnections();
+        assertTrue(maxConnections1 > 0);
+        assertEquals(maxConnections1 * 2, maxConnections2);
+
+        // 关闭第二个配置不会关闭第一个配置的连接池
+        configuration2.close();
+        assertEquals(0, configuration2.getBackend().getConnectionPoolMetrics().getMaxConnections());
+        assertEquals(maxConnections1, configuration1.getBackend().getConnectionPoolMetrics().getMaxConnections());
+        configuration1.close();
+    }
+
+    @Test
+    public void testInitByAnotherConfiguration() {
+        HttpclientBackend backend = new HttpclientBackend();
+        backend.init(ForestConfiguration.configuration());
+        try {
+            backend.init(ForestConfiguration.configuration());
+            fail();
+        } catch (ForestRuntimeException e) {
+            assertTrue(e.getMessage().contains("another configuration"));
+        }
+        backend.close();
+        // 关闭后可以由其它配置重新初始化
+        backend.init(ForestConfiguration.configuration());
+        backend.close();
+    }
+
+    @Test
+    public void testDefaultMethods() {
+        // 只实现了 init 的连接管理器也可以关闭和获取连接池状态
+        ForestConnectionManager connectionManager = new ForestConnectionManager() {
+            @Override
+            public void init(ForestConfiguration configuration) {
+            }
+        };
+        connectionManager.close();
+        ForestConnectionPoolMetrics metrics = connectionManager.getPoolMetrics();
+        assertEquals(0, metrics.getLeasedConnections());
+        assertEquals(0, metrics.getIdleConnections());
+        assertEquals(0, metrics.getPendingRequests());
+        assertEquals(0, metrics.getMaxConnections());
+    }
+
+}
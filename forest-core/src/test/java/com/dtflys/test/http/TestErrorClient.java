@@ -3,9 +3,13 @@ package com.dtflys.test.http;
 import com.dtflys.forest.backend.HttpBackend;
 import com.dtflys.forest.config.ForestConfiguration;
 import com.dtflys.forest.exceptions.ForestNetworkException;
+import com.dtflys.forest.exceptions.ForestRetryException;
 import com.dtflys.forest.exceptions.ForestRuntimeException;
+import com.dtflys.forest.http.ForestRequest;
 import com.dtflys.forest.http.ForestResponse;
 import com.dtflys.forest.retryer.BackOffRetryer;
+import com.dtflys.forest.retryer.FullJitterRetryer;
+import com.dtflys.forest.retryer.Retryer;
 import com.dtflys.test.http.client.GetClient;
 import com.dtflys.test.mock.ErrorMockServer;
 import com.dtflys.test.mock.GetMockServer;
@@ -17,6 +21,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.Assert.*;
@@ -111,5 +119,60 @@ public class TestErrorClient extends BaseClientTest {
         assertEquals(1000 + 2000 + 4000, retryer.getWaitedTime());
     }
 
+    @Test
+    public void testAsyncErrorGetWithRetry() throws Exception {
+        AtomicReference<BackOffRetryer> retryerAtomicReference = new AtomicReference<>(null);
+        CountDownLatch latch = new CountDownLatch(1);
+        long startTime = System.currentTimeMillis();
+        CompletableFuture<String> future = getClient.asyncErrorGetWithRetry((ex, request, response) -> {
+            retryerAtomicReference.set((BackOffRetryer) request.getRetryer());
+            latch.countDown();
+        });
+        assertTrue(System.currentTimeMillis() - startTime < 1000);
+        try {
+            future.get(10, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof ForestNetworkException);
+        }
+        assertTrue(System.currentTimeMillis() - startTime >= 1000 + 2000);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        BackOffRetryer retryer = retryerAtomicReference.get();
+        assertNotNull(retryer);
+        assertEquals(1000 + 2000, retryer.getWaitedTime());
+    }
+
+    @Test
+    public void testErrorGetWithJitterRetry() {
+        AtomicReference<Retryer> retryerAtomicReference = new AtomicReference<>(null);
+        getClient.errorGetWithJitterRetry((ex, request, response) -> {
+            retryerAtomicReference.set(request.getRetryer());
+        });
+        Retryer retryer = retryerAtomicReference.get();
+        assertTrue(retryer instanceof FullJitterRetryer);
+        assertTrue(((FullJitterRetryer) retryer).getWaitedTime() <= 10 + 10);
+    }
+
+    @Test
+    public void testBackOffRetryerDelay() throws Throwable {
+        ForestRequest request = new ForestRequest(configuration)
+                .setRetryCount(3)
+                .setMaxRetryInterval(3000);
+        BackOffRetryer retryer = new BackOffRetryer(request);
+        RuntimeException cause = new RuntimeException("error");
+        long startTime = System.currentTimeMillis();
+        assertEquals(1000, retryer.nextRetryDelay(new ForestRetryException(cause, request, 3, 0)));
+        assertEquals(2000, retryer.nextRetryDelay(new ForestRetryException(cause, request, 3, 1)));
+        assertEquals(3000, retryer.nextRetryDelay(new ForestRetryException(cause, request, 3, 2)));
+        assertTrue(System.currentTimeMillis() - startTime < 1000);
+        assertEquals(6000, retryer.getWaitedTime());
+        try {
+            retryer.nextRetryDelay(new ForestRetryException(cause, request, 3, 3));
+            fail();
+        } catch (ForestRetryException e) {
+            assertSame(cause, e.getCause());
+        }
+    }
+
 
 }
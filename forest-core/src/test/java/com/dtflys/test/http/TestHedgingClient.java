@@ -0,0 +1,92 @@
+package com.dtflys.test.http;
+
+import com.dtflys.forest.backend.HttpBackend;
+import com.dtflys.forest.hedging.ForestHedgingPolicy;
+import com.dtflys.test.http.client.HedgingClient;
+import com.dtflys.test.mock.HedgingMockServer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockserver.client.server.MockServerClient;
+import org.mockserver.verify.VerificationTimes;
+
+import static org.junit.Assert.*;
+import static org.mockserver.model.HttpRequest.request;
+
+/**
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:07
+ */
+public class TestHedgingClient extends BaseClientTest {
+
+    @Rule
+    public HedgingMockServer server = new HedgingMockServer(this);
+
+    private final HedgingClient hedgingClient;
+
+    public TestHedgingClient(HttpBackend backend) {
+        super(backend);
+        configuration.setVariableValue("port", HedgingMockServer.port);
+        configuration.setLogEnabled(false);
+        configuration.setTimeout(5000);
+        hedgingClient = configuration.createInstance(HedgingClient.class);
+    }
+
+    @Before
+    public void prepareMockServer() {
+        server.initServer();
+    }
+
+    private ForestHedgingPolicy getPolicy(String methodName) {
+        String name = HedgingClient.class.getName();
+        if (methodName != null) {
+            name += "#" + methodName;
+        }
+        return configuration.getHedgingRegistry().getPolicy(name);
+    }
+
+    @Test
+    public void testSyncHedge() {
+        ForestHedgingPolicy policy = getPolicy(null);
+        assertEquals(1, policy.getBudget().getTokens(), 0);
+        assertEquals(HedgingMockServer.EXPECTED, hedgingClient.slow());
+        assertEquals(0, policy.getBudget().getTokens(), 0);
+        // 预算用完后不再对冲
+        assertEquals(HedgingMockServer.EXPECTED, hedgingClient.slow());
+        assertEquals(0, policy.getBudget().getTokens(), 0);
+    }
+
+    @Test
+    public void testAsyncHedge() throws Exception {
+        ForestHedgingPolicy policy = getPolicy("asyncSlow");
+        assertEquals(HedgingMockServer.EXPECTED, hedgingClient.asyncSlow().get());
+        assertEquals(0, policy.getBudget().getTokens(), 0);
+        assertEquals(1, getPolicy(null).getBudget().getTokens(), 0);
+    }
+
+    @Test
+    public void testNonIdempotentNotHedged() {
+        assertEquals(HedgingMockServer.EXPECTED, hedgingClient.postSlow());
+        assertEquals(1, getPolicy("postSlow").getBudget().getTokens(), 0);
+    }
+
+    @Test
+    public void testSyncFasterResponseWins() {
+        long start = System.currentTimeMillis();
+        assertEquals(HedgingMockServer.FAST, hedgingClient.hedge());
+        assertTrue(System.currentTimeMillis() - start < 2000);
+        new MockServerClient("localhost", HedgingMockServer.port)
+                .verify(request().withPath("/hedge"), VerificationTimes.exactly(2));
+        assertEquals(0, getPolicy("hedge").getBudget().getTokens(), 0);
+    }
+
+    @Test
+    public void testAsyncFasterResponseWins() throws Exception {
+        long start = System.currentTimeMillis();
+        assertEquals(HedgingMockServer.FAST, hedgingClient.asyncHedge().get());
+        assertTrue(System.currentTimeMillis() - start < 2000);
+        new MockServerClient("localhost", HedgingMockServer.port)
+                .verify(request().withPath("/hedge"), VerificationTimes.exactly(2));
+        assertEquals(0, getPolicy("asyncHedge").getBudget().getTokens(), 0);
+    }
+}
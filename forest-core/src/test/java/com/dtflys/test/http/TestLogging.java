@@ -0,0 +1,106 @@
+package com.dtflys.test.http;
+
+import com.dtflys.forest.backend.HttpBackend;
+import com.dtflys.forest.config.ForestConfiguration;
+import com.dtflys.forest.http.ForestResponse;
+import com.dtflys.forest.logging.RequestLogMessage;
+import com.dtflys.test.http.client.LoggingClient;
+import com.dtflys.test.mock.LoggingMockServer;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:37
+ */
+public class TestLogging extends BaseClientTest {
+
+    @Rule
+    public LoggingMockServer server = new LoggingMockServer(this);
+
+    private static ForestConfiguration configuration;
+
+    private LoggingClient loggingClient;
+
+    @BeforeClass
+    public static void prepareClient() {
+        configuration = ForestConfiguration.configuration();
+        configuration.setVariableValue("port", LoggingMockServer.port);
+        configuration.setLogEnabled(false);
+        configuration.setLogBodyMaxBytes(16);
+    }
+
+    public TestLogging(HttpBackend backend) {
+        super(backend, configuration);
+        loggingClient = configuration.createInstance(LoggingClient.class);
+    }
+
+    @Before
+    public void prepareMockServer() {
+        server.initServer();
+        configuration.setLogAsync(false);
+    }
+
+    private static String repeat(char ch, int count) {
+        StringBuilder builder = new StringBuilder(count);
+        for (int i = 0; i < count; i++) {
+            builder.append(ch);
+        }
+        return builder.toString();
+    }
+
+    @Test
+    public void testBodyCapped() {
+        String body = repeat('a', 10) + "\n" + repeat('b', 4000);
+        ForestResponse<String> response = loggingClient.postText(body);
+        assertEquals(LoggingMockServer.EXPECTED, response.getResult());
+        RequestLogMessage logMessage = response.getRequest().getRequestLogMessage();
+        assertNotNull(logMessage);
+        assertTrue(logMessage.isLogged());
+        String content = logMessage.toString();
+        assertTrue(content, content.contains("POST http://localhost:" + LoggingMockServer.port + "/log"));
+        assertTrue(content, content.contains("Body: " + repeat('a', 10) + " bbbbb...[4011 bytes]"));
+        assertFalse(content, content.contains(repeat('b', 6)));
+    }
+
+    @Test
+    public void testBodyNotCapped() {
+        ForestResponse<String> response = loggingClient.postText("foo=bar");
+        RequestLogMessage logMessage = response.getRequest().getRequestLogMessage();
+        assertNotNull(logMessage);
+        assertTrue(logMessage.toString(), logMessage.toString().endsWith("Body: foo=bar"));
+    }
+
+    @Test
+    public void testWithoutBody() {
+        ForestResponse<String> response = loggingClient.get();
+        assertEquals(LoggingMockServer.EXPECTED, response.getResult());
+        RequestLogMessage logMessage = response.getRequest().getRequestLogMessage();
+        assertNotNull(logMessage);
+        assertTrue(logMessage.isLogged());
+        assertFalse(logMessage.toString().contains("Body:"));
+    }
+
+    @Test
+    public void testLogDisabled() {
+        ForestResponse<String> response = loggingClient.postTextWithoutLog(repeat('a', 100));
+        assertEquals(LoggingMockServer.EXPECTED, response.getResult());
+        assertNull(response.getRequest().getRequestLogMessage());
+    }
+
+    @Test
+    public void testAsyncLog() {
+        configuration.setLogAsync(true);
+        String body = repeat('c', 100);
+        ForestResponse<String> response = loggingClient.postText(body);
+        assertEquals(LoggingMockServer.EXPECTED, response.getResult());
+        RequestLogMessage logMessage = response.getRequest().getRequestLogMessage();
+        assertNotNull(logMessage);
+        assertTrue(logMessage.isLogged());
+        assertTrue(logMessage.toString(), logMessage.toString().endsWith("Body: " + repeat('c', 16) + "...[100 bytes]"));
+    }
+}
@@ -0,0 +1,140 @@
+package com.dtflys.test.http;
+
+import com.dtflys.forest.backend.HttpBackend;
+import com.dtflys.forest.config.ForestConfiguration;
+import com.dtflys.forest.http.ForestRequest;
+import com.dtflys.forest.http.ForestResponse;
+import com.dtflys.forest.metrics.ForestConnectionPoolMetrics;
+import com.dtflys.forest.metrics.ForestMetrics;
+import com.dtflys.forest.metrics.NoneForestMetrics;
+import com.dtflys.test.http.client.MetricsClient;
+import com.dtflys.test.mock.GetMockServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:13
+ */
+public class TestMetrics extends BaseClientTest {
+
+    @Rule
+    public GetMockServer server = new GetMockServer(this);
+
+    private static ForestConfiguration configuration;
+
+    private final RecordingMetrics metrics = new RecordingMetrics();
+
+    private MetricsClient metricsClient;
+
+    private static class RecordingMetrics implements ForestMetrics {
+
+        private final List<Integer> statusList = new CopyOnWriteArrayList<>();
+
+        private final List<String> methodList = new CopyOnWriteArrayList<>();
+
+        private final AtomicInteger retries = new AtomicInteger(0);
+
+        private volatile long lastDuration = -1;
+
+        private volatile long lastResponseBytes = -1;
+
+        private ForestConfiguration boundConfiguration;
+
+        @Override
+        public void bind(ForestConfiguration configuration) {
+            this.boundConfiguration = configuration;
+        }
+
+        @Override
+        public void recordRequest(ForestRequest request, ForestResponse response, Throwable error,
+                                  long durationNanos, long requestBytes, long responseBytes) {
+            statusList.add(response == null ? -1 : response.getStatusCode());
+            methodList.add(request.getMethod().getMethod().getDeclaringClass().getSimpleName()
+                    + "." + request.getMethod().getMethodName());
+            lastDuration = durationNanos;
+            lastResponseBytes = responseBytes;
+        }
+
+        @Override
+        public void recordRetry(ForestRequest request, int retryCount) {
+            retries.incrementAndGet();
+        }
+    }
+
+    @BeforeClass
+    public static void prepareClient() {
+        configuration = ForestConfiguration.configuration();
+        configuration.setVariableValue("port", GetMockServer.port);
+    }
+
+    public TestMetrics(HttpBackend backend) {
+        super(backend, configuration);
+        metricsClient = configuration.createInstance(MetricsClient.class);
+    }
+
+    @Before
+    public void prepareMockServer() {
+        server.initServer();
+        configuration.setMetrics(metrics);
+    }
+
+    @After
+    public void resetMetrics() {
+        configuration.setMetrics(null);
+    }
+
+    @Test
+    public void testRecordRequest() {
+        assertSame(configuration, metrics.boundConfiguration);
+        String result = metricsClient.simpleGet();
+        assertEquals(GetMockServer.EXPECTED, result);
+        assertEquals(1, metrics.statusList.size());
+        assertEquals(200, metrics.statusList.get(0).intValue());
+        assertEquals("MetricsClient.simpleGet", metrics.methodList.get(0));
+        assertTrue(metrics.lastDuration > 0);
+        assertEquals(GetMockServer.EXPECTED.length(), metrics.lastResponseBytes);
+        assertEquals(0, metrics.retries.get());
+    }
+
+    @Test
+    public void testRecordRetry() {
+        AtomicInteger errorCount = new AtomicInteger(0);
+        metricsClient.notFound((ex, request, response) -> errorCount.incrementAndGet());
+        assertEquals(1, errorCount.get());
+        assertEquals(3, metrics.statusList.size());
+        for (Integer status : metrics.statusList) {
+            assertEquals(404, status.intValue());
+        }
+        assertEquals(2, metrics.retries.get());
+    }
+
+    @Test
+    public void testPoolMetrics() {
+        metricsClient.simpleGet();
+        ForestConnectionPoolMetrics poolMetrics = configuration.getBackend().getConnectionPoolMetrics();
+        assertNotNull(poolMetrics);
+        assertTrue(poolMetrics.getMaxConnections() > 0);
+        assertTrue(poolMetrics.getLeasedConnections() >= 0);
+        assertTrue(poolMetrics.getIdleConnections() >= 0);
+        assertEquals(0, poolMetrics.getPendingRequests());
+    }
+
+    @Test
+    public void testNoneMetrics() {
+        configuration.setMetrics(null);
+        assertSame(NoneForestMetrics.INSTANCE, configuration.getMetrics());
+        assertFalse(configuration.getMetrics().isEnabled());
+        metricsClient.simpleGet();
+        assertEquals(0, metrics.statusList.size());
+    }
+}
@@ -0,0 +1,89 @@
+package com.dtflys.test.http;
+
+import com.dtflys.forest.backend.HttpBackend;
+import com.dtflys.forest.exceptions.ForestRuntimeException;
+import com.dtflys.forest.utils.ForestProgress;
+import com.dtflys.test.http.client.RangeDownloadClient;
+import com.dtflys.test.mock.RangeDownloadMockServer;
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:26
+ */
+public class TestRangeDownloadClient extends BaseClientTest {
+
+    @Rule
+    public RangeDownloadMockServer server = new RangeDownloadMockServer(this);
+
+    private final RangeDownloadClient rangeDownloadClient;
+
+    private final String dir = Thread.currentThread().getContextClassLoader().getResource("").getPath() + "TestRangeDownload";
+
+    public TestRangeDownloadClient(HttpBackend backend) {
+        super(backend);
+        configuration.setVariableValue("port", RangeDownloadMockServer.port);
+        configuration.setLogEnabled(false);
+        rangeDownloadClient = configuration.createInstance(RangeDownloadClient.class);
+    }
+
+    @Before
+    public void prepareMockServer() {
+        server.initServer();
+    }
+
+    @Test
+    public void testDownloadByRanges() throws IOException {
+        final AtomicReference<ForestProgress> lastProgress = new AtomicReference<>();
+        File file = rangeDownloadClient.downloadByRanges(dir, progress -> {
+            assertEquals(RangeDownloadMockServer.CONTENT.length(), progress.getTotalBytes());
+            lastProgress.set(progress);
+        });
+        assertNotNull(file);
+        // 第一段之外的三段并发下载，其中一段失败后重试
+        assertEquals(RangeDownloadMockServer.CONTENT, FileUtils.readFileToString(file, StandardCharsets.UTF_8));
+        assertNotNull(lastProgress.get());
+        assertTrue(lastProgress.get().isDone());
+        assertEquals(RangeDownloadMockServer.CONTENT.length(), lastProgress.get().getCurrentBytes());
+    }
+
+    @Test
+    public void testServerWithoutRanges() throws IOException {
+        File file = rangeDownloadClient.downloadWithoutRanges(dir);
+        assertNotNull(file);
+        assertEquals(RangeDownloadMockServer.CONTENT, FileUtils.readFileToString(file, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testFileChangedDuringDownload() {
+        try {
+            rangeDownloadClient.downloadChangedFile(dir);
+            fail();
+        } catch (ForestRuntimeException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("changed during download"));
+        }
+        assertFalse(new File(dir, "changed.txt").exists());
+    }
+
+    @Test
+    public void testFileChangedAfterOtherPartsFailed() {
+        try {
+            rangeDownloadClient.downloadChangingFile(dir);
+            fail();
+        } catch (ForestRuntimeException e) {
+            // 另外两段重试后失败，但文件已经变化才是下载失败的原因
+            assertTrue(e.getMessage(), e.getMessage().contains("changed during download"));
+        }
+        assertFalse(new File(dir, "changing.txt").exists());
+    }
+}
@@ -0,0 +1,86 @@
+package com.dtflys.test.http;
+
+import com.dtflys.forest.backend.HttpBackend;
+import com.dtflys.forest.http.ForestResponse;
+import com.dtflys.test.http.client.ResponseCacheClient;
+import com.dtflys.test.mock.ResponseCacheMockServer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:11
+ */
+public class TestResponseCacheClient extends BaseClientTest {
+
+    @Rule
+    public ResponseCacheMockServer server = new ResponseCacheMockServer(this);
+
+    private final ResponseCacheClient responseCacheClient;
+
+    public TestResponseCacheClient(HttpBackend backend) {
+        super(backend);
+        configuration.setVariableValue("port", ResponseCacheMockServer.port);
+        configuration.setLogEnabled(false);
+        responseCacheClient = configuration.createInstance(ResponseCacheClient.class);
+    }
+
+    @Before
+    public void prepareMockServer() {
+        server.initServer();
+    }
+
+    @Test
+    public void testFreshHit() throws Exception {
+        assertEquals(ResponseCacheMockServer.EXPECTED, responseCacheClient.fresh());
+        // 服务端只响应一次，之后的请求都由缓存返回
+        assertEquals(ResponseCacheMockServer.EXPECTED, responseCacheClient.fresh());
+        assertEquals(ResponseCacheMockServer.EXPECTED, responseCacheClient.asyncFresh().get());
+        assertEquals(404, responseCacheClient.freshWithoutCache().getStatusCode());
+    }
+
+    @Test
+    public void testInvalidateByPost() {
+        assertEquals(ResponseCacheMockServer.EXPECTED, responseCacheClient.fresh());
+        assertEquals(ResponseCacheMockServer.EXPECTED, responseCacheClient.postFresh());
+        try {
+            responseCacheClient.fresh();
+            fail();
+        } catch (Exception e) {
+        }
+    }
+
+    @Test
+    public void testRevalidate() {
+        ForestResponse<String> response = responseCacheClient.etag();
+        assertEquals(200, response.getStatusCode());
+        assertEquals(ResponseCacheMockServer.EXPECTED, response.getContent());
+        response = responseCacheClient.etag();
+        assertEquals(200, response.getStatusCode());
+        assertEquals(ResponseCacheMockServer.EXPECTED, response.getContent());
+        assertEquals(ResponseCacheMockServer.ETAG, response.getHeaderValue("ETag"));
+    }
+
+    @Test
+    public void testAuthorizedNotCached() {
+        // 带有 Authorization 的请求不缓存没有 public 的响应，两次请求都到达服务端
+        assertEquals(ResponseCacheMockServer.EXPECTED, responseCacheClient.authorized().getContent());
+        assertEquals(ResponseCacheMockServer.EXPECTED, responseCacheClient.authorized().getContent());
+        assertEquals(404, responseCacheClient.authorized().getStatusCode());
+    }
+
+    @Test
+    public void testAuthorizedPublicCached() {
+        assertEquals(ResponseCacheMockServer.EXPECTED, responseCacheClient.authorizedPublic().getContent());
+        assertEquals(ResponseCacheMockServer.EXPECTED, responseCacheClient.authorizedPublic().getContent());
+    }
+
+    @Test
+    public void testNoStore() {
+        assertEquals(200, responseCacheClient.noStore().getStatusCode());
+        assertEquals(404, responseCacheClient.noStore().getStatusCode());
+    }
+}
@@ -0,0 +1,116 @@
+package com.dtflys.test.http;
+
+import com.dtflys.forest.backend.HttpBackend;
+import com.dtflys.forest.config.ForestConfiguration;
+import com.dtflys.forest.converter.json.ForestJacksonConverter;
+import com.dtflys.forest.http.ForestResponse;
+import com.dtflys.test.http.client.StreamResponseClient;
+import com.dtflys.test.mock.StreamResponseMockServer;
+import org.apache.commons.io.IOUtils;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:28
+ */
+public class TestStreamResponse extends BaseClientTest {
+
+    @Rule
+    public StreamResponseMockServer server = new StreamResponseMockServer(this);
+
+    private static ForestConfiguration configuration;
+
+    private static RecordingJsonConverter jsonConverter;
+
+    private StreamResponseClient streamResponseClient;
+
+    private static class RecordingJsonConverter extends ForestJacksonConverter {
+
+        private final AtomicInteger readerCount = new AtomicInteger(0);
+
+        private final AtomicInteger stringCount = new AtomicInteger(0);
+
+        @Override
+        public <T> T convertToJavaObject(Reader source, Type targetType) {
+            readerCount.incrementAndGet();
+            return super.convertToJavaObject(source, targetType);
+        }
+
+        @Override
+        public <T> T convertToJavaObject(String source, Type targetType) {
+            stringCount.incrementAndGet();
+            return super.convertToJavaObject(source, targetType);
+        }
+    }
+
+    @BeforeClass
+    public static void prepareClient() {
+        configuration = ForestConfiguration.configuration();
+        configuration.setVariableValue("port", StreamResponseMockServer.port);
+        jsonConverter = new RecordingJsonConverter();
+        configuration.setJsonConverter(jsonConverter);
+    }
+
+    public TestStreamResponse(HttpBackend backend) {
+        super(backend, configuration);
+        configuration.setLogEnabled(false);
+        streamResponseClient = configuration.createInstance(StreamResponseClient.class);
+    }
+
+    @Before
+    public void prepareMockServer() {
+        server.initServer();
+        jsonConverter.readerCount.set(0);
+        jsonConverter.stringCount.set(0);
+    }
+
+    @Test
+    public void testStreamDecode() {
+        Map<String, Object> user = streamResponseClient.getUser();
+        assertNotNull(user);
+        assertEquals("foo", user.get("name"));
+        assertEquals(12, user.get("age"));
+        assertEquals(1, jsonConverter.readerCount.get());
+        assertEquals(0, jsonConverter.stringCount.get());
+    }
+
+    @Test
+    public void testOnSuccessKeepsContent() {
+        final StringBuilder content = new StringBuilder();
+        Map<String, Object> user = streamResponseClient.getUser((data, request, response) -> {
+            content.append(response.getContent());
+        });
+        assertNotNull(user);
+        assertEquals("foo", user.get("name"));
+        assertEquals(StreamResponseMockServer.EXPECTED, content.toString());
+        assertEquals(0, jsonConverter.readerCount.get());
+    }
+
+    @Test
+    public void testResponseKeepsContent() {
+        ForestResponse<Map<String, Object>> response = streamResponseClient.getUserResponse();
+        assertNotNull(response);
+        assertEquals(StreamResponseMockServer.EXPECTED, response.getContent());
+        assertEquals("foo", response.getResult().get("name"));
+        assertEquals(0, jsonConverter.readerCount.get());
+    }
+
+    @Test
+    public void testInputStream() throws Exception {
+        try (InputStream in = streamResponseClient.getUserStream()) {
+            assertNotNull(in);
+            assertEquals(StreamResponseMockServer.EXPECTED, IOUtils.toString(in, "UTF-8"));
+        }
+    }
+}
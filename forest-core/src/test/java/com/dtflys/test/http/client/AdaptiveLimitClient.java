@@ -0,0 +1,21 @@
+package com.dtflys.test.http.client;
+
+import com.dtflys.forest.annotation.Get;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * @author agent[agent@local]
+ * @since 2026-10-17 16:11
+ */
+public interface AdaptiveLimitClient {
+
+    @Get(url = "http://localhost:${port}/slow")
+    String slow();
+
+    @Get(url = "http://localhost:${port}/slow", async = true)
+    CompletableFuture<String> asyncSlow();
+
+    @Get(url = "http://localhost:${port}/busy")
+    String busy();
+}
@@ -14,6 +14,7 @@ import com.dtflys.test.mock.GetMockServer;
 @BaseRequest(
         baseURL = "http://localhost:${port}",
         headers = {"Accept:text/plain"},
+        userAgent = "forest-base-agent",
         timeout = 2000
 )
 public interface BaseReqClient {
@@ -34,5 +35,10 @@ public interface BaseReqClient {
     )
     String simpleGet2();
 
+    @Request(
+            url = "/hello/user?username=foo"
+    )
+    ForestResponse<String> simpleGetWithResponse();
+
 
 }
@@ -0,0 +1,24 @@
+package com.dtflys.test.http.client;
+
+import com.dtflys.forest.annotation.Get;
+import com.dtflys.forest.extensions.Bulkhead;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * @author agent[agent@local]
+ * @since 2026-10-17 16:03
+ */
+@Bulkhead(maxConcurrentCalls = 1, maxQueueSize = 1)
+public interface BulkheadClient {
+
+    @Get(url = "http://localhost:${port}/slow")
+    String slow();
+
+    @Get(url = "http://localhost:${port}/slow", async = true)
+    CompletableFuture<String> asyncSlow();
+
+    @Bulkhead(maxConcurrentCalls = 2)
+    @Get(url = "http://localhost:${port}/slow")
+    String slowWithOwnBulkhead();
+}
@@ -0,0 +1,22 @@
+package com.dtflys.test.http.client;
+
+import com.dtflys.forest.annotation.DataParam;
+import com.dtflys.forest.annotation.Get;
+import com.dtflys.forest.extensions.CacheResult;
+
+import java.util.Map;
+
+/**
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:14
+ */
+@CacheResult
+public interface CacheResultClient {
+
+    @Get(url = "http://localhost:${port}/user")
+    Map getUser(@DataParam("username") String username);
+
+    @CacheResult(key = "${0}", ttl = 100)
+    @Get(url = "http://localhost:${port}/user")
+    String getUserByName(@DataParam("username") String username, @DataParam("token") String token);
+}
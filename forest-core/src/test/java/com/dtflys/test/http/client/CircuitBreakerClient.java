@@ -0,0 +1,53 @@
+package com.dtflys.test.http.client;
+
+import com.dtflys.forest.annotation.Get;
+import com.dtflys.forest.callback.OnError;
+import com.dtflys.forest.exceptions.ForestRuntimeException;
+import com.dtflys.forest.http.ForestRequest;
+import com.dtflys.forest.http.ForestResponse;
+import com.dtflys.forest.interceptor.Interceptor;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:54
+ */
+public interface CircuitBreakerClient {
+
+    @Get(url = "http://localhost:${port}/fail")
+    String fail();
+
+    @Get(url = "http://localhost:${port}/fail")
+    String fail(OnError onError);
+
+    @Get(url = "http://localhost:${port}/ok")
+    String ok();
+
+    @Get(url = "http://localhost:${port}/fail", async = true)
+    CompletableFuture<String> asyncFail();
+
+    @Get(url = "http://localhost:${port}/fail", async = true, retryCount = 2)
+    CompletableFuture<String> asyncFailWithRetry();
+
+    @Get(url = "http://localhost:${port}/ok", interceptor = AbortInterceptor.class)
+    String aborted();
+
+    /**
+     * 在发送请求前中止请求的拦截器
+     */
+    class AbortInterceptor implements Interceptor {
+        @Override
+        public boolean beforeExecute(ForestRequest request) {
+            return false;
+        }
+
+        @Override
+        public void onError(ForestRuntimeException ex, ForestRequest request, ForestResponse response) {
+        }
+
+        @Override
+        public void onSuccess(Object data, ForestRequest request, ForestResponse response) {
+        }
+    }
+}
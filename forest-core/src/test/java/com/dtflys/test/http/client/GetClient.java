@@ -7,10 +7,13 @@ import com.dtflys.forest.annotation.DataParam;
 import com.dtflys.forest.annotation.DataVariable;
 import com.dtflys.forest.annotation.Request;
 import com.dtflys.forest.http.ForestResponse;
+import com.dtflys.forest.retryer.FullJitterRetryer;
 import com.dtflys.test.http.model.JsonTestUser;
 import com.dtflys.test.model.TestResult;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Future;
 
 /**
@@ -64,6 +67,24 @@ public interface GetClient {
     )
     String errorGetWithRetry(OnError onError);
 
+    @Request(
+            url = "http://localhost:${port}/hello/user?username=foo",
+            async = true,
+            retryCount = 2,
+            maxRetryInterval = 50000,
+            headers = {"Accept:text/plain"}
+    )
+    CompletableFuture<String> asyncErrorGetWithRetry(OnError onError);
+
+    @Request(
+            url = "http://localhost:${port}/hello/user?username=foo",
+            retryer = FullJitterRetryer.class,
+            retryCount = 2,
+            maxRetryInterval = 10,
+            headers = {"Accept:text/plain"}
+    )
+    String errorGetWithJitterRetry(OnError onError);
+
 
     @Request(
             url = "http://localhost:${port}/hello/user",
@@ -160,6 +181,21 @@ public interface GetClient {
     )
     Future<String> asyncVarParamGet(@DataVariable("username") String username, OnSuccess<String> onSuccess, OnError onError);
 
+    @Request(
+            url = "http://localhost:5000/hello/user?username=foo",
+            headers = {"Accept:text/plain"}
+    )
+    CompletableFuture<String> asyncCompletableGet();
+
+    @Request(
+            url = "http://localhost:5000/hello/user?username=${username}",
+            headers = {"Accept:text/plain"},
+            timeout = 3000,
+            retryCount = 1,
+            maxRetryInterval = 10
+    )
+    CompletionStage<String> asyncCompletionStageGet(@DataVariable("username") String username);
+
 
 
 }
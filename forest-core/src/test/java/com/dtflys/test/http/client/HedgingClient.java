@@ -0,0 +1,34 @@
+package com.dtflys.test.http.client;
+
+import com.dtflys.forest.annotation.Get;
+import com.dtflys.forest.annotation.Post;
+import com.dtflys.forest.extensions.Hedging;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:07
+ */
+@Hedging(delay = 50, budgetRatio = 0, budgetMaxTokens = 1)
+public interface HedgingClient {
+
+    @Get(url = "http://localhost:${port}/slow")
+    String slow();
+
+    @Hedging(delay = 50, budgetRatio = 0, budgetMaxTokens = 1)
+    @Get(url = "http://localhost:${port}/slow", async = true)
+    CompletableFuture<String> asyncSlow();
+
+    @Hedging(delay = 50, budgetRatio = 0, budgetMaxTokens = 1)
+    @Get(url = "http://localhost:${port}/hedge")
+    String hedge();
+
+    @Hedging(delay = 50, budgetRatio = 0, budgetMaxTokens = 1)
+    @Get(url = "http://localhost:${port}/hedge", async = true)
+    CompletableFuture<String> asyncHedge();
+
+    @Hedging(delay = 50, budgetRatio = 0, budgetMaxTokens = 1)
+    @Post(url = "http://localhost:${port}/slow")
+    String postSlow();
+}
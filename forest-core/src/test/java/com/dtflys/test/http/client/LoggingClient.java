@@ -0,0 +1,30 @@
+package com.dtflys.test.http.client;
+
+import com.dtflys.forest.annotation.Get;
+import com.dtflys.forest.annotation.Post;
+import com.dtflys.forest.http.ForestResponse;
+
+/**
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:37
+ */
+public interface LoggingClient {
+
+    @Post(
+            url = "http://localhost:${port}/log",
+            data = "${0}",
+            contentType = "text/plain",
+            logEnabled = true
+    )
+    ForestResponse<String> postText(String body);
+
+    @Get(url = "http://localhost:${port}/log", logEnabled = true)
+    ForestResponse<String> get();
+
+    @Post(
+            url = "http://localhost:${port}/log",
+            data = "${0}",
+            contentType = "text/plain"
+    )
+    ForestResponse<String> postTextWithoutLog(String body);
+}
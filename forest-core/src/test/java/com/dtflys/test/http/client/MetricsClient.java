@@ -0,0 +1,22 @@
+package com.dtflys.test.http.client;
+
+import com.dtflys.forest.annotation.Get;
+import com.dtflys.forest.callback.OnError;
+
+/**
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:13
+ */
+public interface MetricsClient {
+
+    @Get(url = "http://localhost:${port}/hello/user?username=foo",
+            headers = {"Accept:text/plain"}
+    )
+    String simpleGet();
+
+    @Get(url = "http://localhost:${port}/not_found",
+            retryCount = 2,
+            maxRetryInterval = 10
+    )
+    String notFound(OnError onError);
+}
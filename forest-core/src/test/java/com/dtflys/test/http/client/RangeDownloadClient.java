@@ -0,0 +1,32 @@
+package com.dtflys.test.http.client;
+
+import com.dtflys.forest.annotation.DataVariable;
+import com.dtflys.forest.annotation.Get;
+import com.dtflys.forest.callback.OnProgress;
+import com.dtflys.forest.extensions.DownloadFile;
+
+import java.io.File;
+
+/**
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:26
+ */
+public interface RangeDownloadClient {
+
+    @Get(url = "http://localhost:${port}/download/range")
+    @DownloadFile(dir = "${dir}", filename = "range.txt", threads = 3, chunkSize = 100)
+    File downloadByRanges(@DataVariable("dir") String dir, OnProgress onProgress);
+
+    @Get(url = "http://localhost:${port}/download/changed")
+    @DownloadFile(dir = "${dir}", filename = "changed.txt", threads = 3, chunkSize = 100)
+    File downloadChangedFile(@DataVariable("dir") String dir);
+
+    @Get(url = "http://localhost:${port}/download/changing")
+    @DownloadFile(dir = "${dir}", filename = "changing.txt", threads = 3, chunkSize = 100)
+    File downloadChangingFile(@DataVariable("dir") String dir);
+
+    @Get(url = "http://localhost:${port}/download/whole")
+    @DownloadFile(dir = "${dir}", filename = "whole.txt", threads = 3, chunkSize = 100)
+    File downloadWithoutRanges(@DataVariable("dir") String dir);
+
+}
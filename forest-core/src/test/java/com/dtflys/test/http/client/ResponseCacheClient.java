@@ -0,0 +1,41 @@
+package com.dtflys.test.http.client;
+
+import com.dtflys.forest.annotation.Get;
+import com.dtflys.forest.annotation.Post;
+import com.dtflys.forest.extensions.ResponseCache;
+import com.dtflys.forest.http.ForestResponse;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:11
+ */
+@ResponseCache
+public interface ResponseCacheClient {
+
+    @Get(url = "http://localhost:${port}/fresh")
+    String fresh();
+
+    @Get(url = "http://localhost:${port}/fresh", async = true)
+    CompletableFuture<String> asyncFresh();
+
+    @Post(url = "http://localhost:${port}/fresh")
+    String postFresh();
+
+    @Get(url = "http://localhost:${port}/etag")
+    ForestResponse<String> etag();
+
+    @Get(url = "http://localhost:${port}/no-store")
+    ForestResponse<String> noStore();
+
+    @Get(url = "http://localhost:${port}/private", headers = {"Authorization: Bearer token"})
+    ForestResponse<String> authorized();
+
+    @Get(url = "http://localhost:${port}/public", headers = {"Authorization: Bearer token"})
+    ForestResponse<String> authorizedPublic();
+
+    @ResponseCache(enabled = false)
+    @Get(url = "http://localhost:${port}/fresh")
+    ForestResponse<String> freshWithoutCache();
+}
@@ -0,0 +1,27 @@
+package com.dtflys.test.http.client;
+
+import com.dtflys.forest.annotation.Get;
+import com.dtflys.forest.callback.OnSuccess;
+import com.dtflys.forest.http.ForestResponse;
+
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:28
+ */
+public interface StreamResponseClient {
+
+    @Get(url = "http://localhost:${port}/stream/user")
+    Map<String, Object> getUser();
+
+    @Get(url = "http://localhost:${port}/stream/user", dataType = "json")
+    Map<String, Object> getUser(OnSuccess<Map<String, Object>> onSuccess);
+
+    @Get(url = "http://localhost:${port}/stream/user")
+    ForestResponse<Map<String, Object>> getUserResponse();
+
+    @Get(url = "http://localhost:${port}/stream/user")
+    InputStream getUserStream();
+}
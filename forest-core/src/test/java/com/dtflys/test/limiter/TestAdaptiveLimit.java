@@ -0,0 +1,92 @@
+package com.dtflys.test.limiter;
+
+import com.dtflys.forest.bulkhead.BulkheadAdmission;
+import com.dtflys.forest.limiter.AimdLimitAlgorithm;
+import com.dtflys.forest.limiter.ForestAdaptiveLimitConfig;
+import com.dtflys.forest.limiter.ForestAdaptiveLimiter;
+import com.dtflys.forest.limiter.VegasLimitAlgorithm;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent[agent@local]
+ * @since 2026-10-17 16:11
+ */
+public class TestAdaptiveLimit {
+
+    private final static long MS = 1000000L;
+
+    @Test
+    public void testAimd() {
+        AimdLimitAlgorithm algorithm = new AimdLimitAlgorithm(new ForestAdaptiveLimitConfig()
+                .setInitialLimit(10)
+                .setMinLimit(2)
+                .setMaxLimit(11)
+                .setTimeout(100));
+        // 进行中的请求不足上限一半时不增加
+        algorithm.onSample(10 * MS, 4, false);
+        assertEquals(10, algorithm.getLimit());
+        algorithm.onSample(10 * MS, 5, false);
+        assertEquals(11, algorithm.getLimit());
+        algorithm.onSample(10 * MS, 10, false);
+        assertEquals(11, algorithm.getLimit());
+        algorithm.onSample(10 * MS, 10, true);
+        assertEquals(9, algorithm.getLimit());
+        algorithm.onSample(200 * MS, 1, false);
+        assertEquals(8, algorithm.getLimit());
+        for (int i = 0; i < 20; i++) {
+            algorithm.onSample(10 * MS, 1, true);
+        }
+        assertEquals(2, algorithm.getLimit());
+    }
+
+    @Test
+    public void testVegas() {
+        VegasLimitAlgorithm algorithm = new VegasLimitAlgorithm(new ForestAdaptiveLimitConfig()
+                .setInitialLimit(10)
+                .setMaxLimit(100));
+        // 没有排队时快速增大
+        algorithm.onSample(10 * MS, 10, false);
+        assertEquals(16, algorithm.getLimit());
+        algorithm.onSample(10 * MS, 16, false);
+        assertEquals(22, algorithm.getLimit());
+        // RTT翻倍，估算排队数为 limit / 2，超过 6 * log10(limit)
+        algorithm.onSample(20 * MS, 22, false);
+        assertEquals(21, algorithm.getLimit());
+        algorithm.onSample(10 * MS, 21, true);
+        assertEquals(20, algorithm.getLimit());
+        // 进行中的请求不足上限一半时不变
+        algorithm.onSample(10 * MS, 5, false);
+        assertEquals(20, algorithm.getLimit());
+    }
+
+    @Test
+    public void testLimiterFollowsLimit() throws InterruptedException {
+        final AimdLimitAlgorithm algorithm = new AimdLimitAlgorithm(new ForestAdaptiveLimitConfig()
+                .setInitialLimit(1)
+                .setMaxLimit(2));
+        final ForestAdaptiveLimiter limiter = new ForestAdaptiveLimiter("test", algorithm, 2, 0);
+        final AtomicInteger executed = new AtomicInteger(0);
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                executed.incrementAndGet();
+            }
+        };
+        assertEquals(BulkheadAdmission.ACQUIRED, limiter.acquireOrEnqueue(null));
+        assertEquals(BulkheadAdmission.QUEUED, limiter.acquireOrEnqueue(task));
+        assertEquals(BulkheadAdmission.QUEUED, limiter.acquireOrEnqueue(task));
+        assertEquals(BulkheadAdmission.REJECTED, limiter.acquireOrEnqueue(task));
+        // 上限增大后，释放一个许可可以让两个排队的任务同时进入
+        algorithm.onSample(MS, 1, false);
+        assertEquals(2, limiter.getLimit());
+        limiter.release();
+        assertEquals(2, executed.get());
+        assertEquals(2, limiter.getActiveCalls());
+        assertEquals(0, limiter.getQueueSize());
+        assertFalse(limiter.tryAcquire());
+    }
+}
@@ -0,0 +1,102 @@
+package com.dtflys.test.mapping;
+
+import com.dtflys.forest.exceptions.ForestRuntimeException;
+import com.dtflys.forest.mapping.MappingAccessor;
+import com.dtflys.forest.mapping.MappingDot;
+import com.dtflys.forest.mapping.MappingExpr;
+import com.dtflys.forest.mapping.MappingIdentity;
+import com.dtflys.forest.mapping.MappingInteger;
+import com.dtflys.forest.mapping.MappingInvoke;
+import com.dtflys.forest.mapping.MappingReference;
+import com.dtflys.forest.mapping.MappingVariable;
+import com.dtflys.forest.reflection.ForestMethod;
+import com.dtflys.test.model.Coordinate;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+
+import static junit.framework.Assert.*;
+
+/**
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:01
+ */
+public class TestMappingDot {
+
+    private static class User {
+        private final String name;
+
+        User(String name) {
+            this.name = name;
+        }
+
+        private String getName() {
+            return name;
+        }
+
+        private String greet(String word, Integer times) {
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < times; i++) {
+                builder.append(word);
+            }
+            return builder.append(name).toString();
+        }
+    }
+
+    private MappingReference createReference() {
+        ForestMethod forestMethod = Mockito.mock(ForestMethod.class);
+        MappingVariable variable = new MappingVariable("obj", Object.class);
+        variable.setIndex(0);
+        Mockito.when(forestMethod.getVariable("obj")).thenReturn(variable);
+        return new MappingReference(forestMethod, "obj");
+    }
+
+    @Test
+    public void testDot() {
+        MappingDot dot = new MappingDot(null, createReference(), new MappingIdentity("longitude"));
+        assertEquals("120", dot.render(new Object[] {new Coordinate("120", "30")}));
+        assertEquals("121", dot.render(new Object[] {new Coordinate("121", "31")}));
+
+        MappingDot nameDot = new MappingDot(null, createReference(), new MappingIdentity("name"));
+        assertEquals("Peter", nameDot.render(new Object[] {new User("Peter")}));
+        // 同一表达式遇到不同类型的对象
+        assertEquals(120, nameDot.render(new Object[] {new Object() {
+            public int getName() {
+                return 120;
+            }
+        }}));
+        assertEquals("Marry", nameDot.render(new Object[] {new User("Marry")}));
+    }
+
+    @Test
+    public void testDotNotFound() {
+        MappingDot dot = new MappingDot(null, createReference(), new MappingIdentity("foo"));
+        boolean exception = false;
+        try {
+            dot.render(new Object[] {new Coordinate("120", "30")});
+        } catch (ForestRuntimeException e) {
+            exception = true;
+        }
+        assertTrue(exception);
+    }
+
+    @Test
+    public void testInvoke() {
+        MappingInvoke invoke = new MappingInvoke(null, createReference(), new MappingIdentity("getLatitude"), null);
+        assertEquals("30", invoke.render(new Object[] {new Coordinate("120", "30")}));
+
+        MappingInvoke greet = new MappingInvoke(null, createReference(), new MappingIdentity("greet"),
+                Arrays.<MappingExpr>asList(new MappingIdentity("Hi "), new MappingInteger(2)));
+        assertEquals("Hi Hi Peter", greet.render(new Object[] {new User("Peter")}));
+    }
+
+    @Test
+    public void testAccessorCache() {
+        MappingAccessor accessor1 = MappingAccessor.getPropertyAccessor(Coordinate.class, "longitude");
+        MappingAccessor accessor2 = MappingAccessor.getPropertyAccessor(Coordinate.class, "longitude");
+        assertSame(accessor1, accessor2);
+        assertSame(Coordinate.class, accessor1.getTargetClass());
+        assertNotSame(accessor1, MappingAccessor.getPropertyAccessor(Coordinate.class, "latitude"));
+    }
+}
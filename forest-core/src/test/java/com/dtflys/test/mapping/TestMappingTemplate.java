@@ -0,0 +1,89 @@
+package com.dtflys.test.mapping;
+
+import com.dtflys.forest.config.ForestConfiguration;
+import com.dtflys.forest.config.VariableScope;
+import com.dtflys.forest.mapping.MappingTemplate;
+import com.dtflys.forest.mapping.MappingVariable;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static junit.framework.Assert.*;
+
+/**
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:01
+ */
+public class TestMappingTemplate {
+
+    private VariableScope createScope() {
+        VariableScope scope = Mockito.mock(VariableScope.class);
+        MappingVariable nameVar = new MappingVariable("name", String.class);
+        nameVar.setIndex(1);
+        Mockito.when(scope.getVariable("name")).thenReturn(nameVar);
+        return scope;
+    }
+
+    @Test
+    public void testConstantTemplate() {
+        VariableScope scope = createScope();
+        MappingTemplate template = new MappingTemplate("http://localhost/test", scope);
+        assertTrue(template.isConstant());
+        String result = template.render(new Object[0]);
+        assertEquals("http://localhost/test", result);
+        assertSame(result, template.render(new Object[0]));
+        assertEquals("", new MappingTemplate("", scope).render(new Object[0]));
+        Mockito.verify(scope, Mockito.never()).getConfiguration();
+    }
+
+    @Test
+    public void testIndexOnlyTemplate() {
+        VariableScope scope = createScope();
+        MappingTemplate template = new MappingTemplate("${0}", scope);
+        assertFalse(template.isConstant());
+        assertEquals("foo", template.render(new Object[] {"foo"}));
+        assertEquals("12", template.render(new Object[] {12}));
+        assertEquals("", template.render(new Object[] {null}));
+        assertEquals("", template.render(new Object[0]));
+        Date date = new Date();
+        assertEquals(String.valueOf(date.getTime()), template.render(new Object[] {date}));
+        Mockito.verify(scope, Mockito.never()).getConfiguration();
+    }
+
+    @Test
+    public void testMixedTemplate() {
+        VariableScope scope = createScope();
+        Mockito.when(scope.getConfiguration()).thenReturn(ForestConfiguration.configuration());
+        MappingTemplate template = new MappingTemplate("http://localhost/${0}/user?name=${name}", scope);
+        assertEquals("http://localhost/a/user?name=foo", template.render(new Object[] {"a", "foo"}));
+        assertEquals("http://localhost//user?name=", template.render(new Object[] {null, null}));
+        StringBuilder longName = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            longName.append('x');
+        }
+        assertEquals("http://localhost/b/user?name=" + longName,
+                template.render(new Object[] {"b", longName.toString()}));
+        Mockito.verify(scope, Mockito.never()).getConfiguration();
+
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("a", 1);
+        assertEquals("http://localhost/[1,2]/user?name={\"a\":1}",
+                template.render(new Object[] {Arrays.asList(1, 2), map}));
+    }
+
+    @Test
+    public void testConstantPrefix() {
+        VariableScope scope = createScope();
+        assertEquals("http://localhost/test",
+                new MappingTemplate("http://localhost/test", scope).getConstantPrefix());
+        assertEquals("http://localhost:8080/user/",
+                new MappingTemplate("http://localhost:8080/user/${0}", scope).getConstantPrefix());
+        assertEquals("http://localhost:",
+                new MappingTemplate("http://localhost:${0}/user?name=${name}", scope).getConstantPrefix());
+        assertEquals("", new MappingTemplate("${0}/user", scope).getConstantPrefix());
+    }
+}
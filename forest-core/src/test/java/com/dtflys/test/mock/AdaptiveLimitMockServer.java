@@ -0,0 +1,51 @@
+package com.dtflys.test.mock;
+
+import org.mockserver.client.server.MockServerClient;
+import org.mockserver.junit.MockServerRule;
+import org.mockserver.model.Header;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+/**
+ * @author agent[agent@local]
+ * @since 2026-10-17 16:11
+ */
+public class AdaptiveLimitMockServer extends MockServerRule {
+
+    public final static String EXPECTED = "ok";
+
+    public final static Integer port = 5057;
+
+    public AdaptiveLimitMockServer(Object target) {
+        super(target, port);
+    }
+
+    public void initServer() {
+        MockServerClient mockClient = new MockServerClient("localhost", port);
+        mockClient.when(
+                request()
+                        .withPath("/slow")
+                        .withMethod("GET")
+        )
+        .respond(
+                response()
+                        .withStatusCode(200)
+                        .withHeader(new Header("Content-Type", "text/plain; charset=utf-8"))
+                        .withBody(EXPECTED)
+                        .withDelay(TimeUnit.MILLISECONDS, 300)
+        );
+        mockClient.when(
+                request()
+                        .withPath("/busy")
+                        .withMethod("GET")
+        )
+        .respond(
+                response()
+                        .withStatusCode(503)
+        );
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.dtflys.test.mock;
+
+import org.mockserver.client.server.MockServerClient;
+import org.mockserver.junit.MockServerRule;
+import org.mockserver.matchers.Times;
+import org.mockserver.model.Header;
+
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+/**
+ * 每个用户只响应一次，再次请求时返回404，以此验证调用是否使用了缓存的结果
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:14
+ */
+public class CacheResultMockServer extends MockServerRule {
+
+    public final static String EXPECTED = "{\"status\": \"ok\"}";
+
+    public final static Integer port = 5060;
+
+    public CacheResultMockServer(Object target) {
+        super(target, port);
+    }
+
+    public void initServer() {
+        MockServerClient mockClient = new MockServerClient("localhost", port);
+        for (String username : new String[] {"foo", "bar"}) {
+            mockClient.when(
+                    request()
+                            .withPath("/user")
+                            .withMethod("GET")
+                            .withQueryStringParameter("username", username),
+                    Times.exactly(1)
+            )
+            .respond(
+                    response()
+                            .withStatusCode(200)
+                            .withHeader(new Header("Content-Type", "application/json"))
+                            .withBody(EXPECTED)
+            );
+        }
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.dtflys.test.mock;
+
+import org.mockserver.client.server.MockServerClient;
+import org.mockserver.junit.MockServerRule;
+import org.mockserver.matchers.Times;
+import org.mockserver.model.Header;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+/**
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:07
+ */
+public class HedgingMockServer extends MockServerRule {
+
+    public final static String EXPECTED = "ok";
+
+    public final static String SLOW = "slow";
+
+    public final static String FAST = "fast";
+
+    public final static Integer port = 5058;
+
+    public HedgingMockServer(Object target) {
+        super(target, port);
+    }
+
+    public void initServer() {
+        MockServerClient mockClient = new MockServerClient("localhost", port);
+        mockClient.when(
+                request()
+                        .withPath("/slow")
+        )
+        .respond(
+                response()
+                        .withStatusCode(200)
+                        .withHeader(new Header("Content-Type", "text/plain; charset=utf-8"))
+                        .withBody(EXPECTED)
+                        .withDelay(TimeUnit.MILLISECONDS, 300)
+        );
+        // 首个请求很慢，之后的对冲请求立即返回
+        mockClient.when(
+                request()
+                        .withPath("/hedge"),
+                Times.exactly(1)
+        )
+        .respond(
+                response()
+                        .withStatusCode(200)
+                        .withHeader(new Header("Content-Type", "text/plain; charset=utf-8"))
+                        .withBody(SLOW)
+                        .withDelay(TimeUnit.MILLISECONDS, 2000)
+        );
+        mockClient.when(
+                request()
+                        .withPath("/hedge")
+        )
+        .respond(
+                response()
+                        .withStatusCode(200)
+                        .withHeader(new Header("Content-Type", "text/plain; charset=utf-8"))
+                        .withBody(FAST)
+        );
+    }
+
+}
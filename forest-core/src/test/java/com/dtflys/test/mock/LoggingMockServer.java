@@ -0,0 +1,50 @@
+package com.dtflys.test.mock;
+
+import org.mockserver.client.server.MockServerClient;
+import org.mockserver.junit.MockServerRule;
+import org.mockserver.model.Header;
+
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+/**
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:37
+ */
+public class LoggingMockServer extends MockServerRule {
+
+    public final static String EXPECTED = "ok";
+
+    public final static Integer port = 5054;
+
+    public LoggingMockServer(Object target) {
+        super(target, port);
+    }
+
+    public void initServer() {
+        MockServerClient mockClient = new MockServerClient("localhost", port);
+        mockClient.when(
+                request()
+                        .withPath("/log")
+                        .withMethod("POST")
+        )
+        .respond(
+                response()
+                        .withStatusCode(200)
+                        .withHeader(new Header("Content-Type", "text/plain; charset=utf-8"))
+                        .withBody(EXPECTED)
+        );
+        mockClient.when(
+                request()
+                        .withPath("/log")
+                        .withMethod("GET")
+        )
+        .respond(
+                response()
+                        .withStatusCode(200)
+                        .withHeader(new Header("Content-Type", "text/plain; charset=utf-8"))
+                        .withBody(EXPECTED)
+        );
+    }
+
+}
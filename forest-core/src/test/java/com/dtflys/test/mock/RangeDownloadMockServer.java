@@ -0,0 +1,155 @@
+package com.dtflys.test.mock;
+
+import org.mockserver.client.server.MockServerClient;
+import org.mockserver.junit.MockServerRule;
+import org.mockserver.matchers.Times;
+import org.mockserver.model.Header;
+import org.mockserver.model.HttpRequest;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+/**
+ * 按 Range 请求头返回文件的各段，其中一段第一次请求时返回500，以此验证分段的重试；
+ * /download/changed 在第一段之后文件发生变化；/download/changing 在其它段失败之后才返回变化后的文件
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:26
+ */
+public class RangeDownloadMockServer extends MockServerRule {
+
+    public final static String CONTENT;
+
+    static {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            builder.append(i % 10).append("abcdefgh").append('\n');
+        }
+        CONTENT = builder.toString();
+    }
+
+    public final static String ETAG = "\"v1\"";
+
+    public final static Integer port = 5061;
+
+    public RangeDownloadMockServer(Object target) {
+        super(target, port);
+    }
+
+    public void initServer() {
+        MockServerClient mockClient = new MockServerClient("localhost", port);
+        mockClient.when(
+                request()
+                        .withPath("/download/range")
+                        .withMethod("GET")
+                        .withHeader("Range", "bytes=400-699"),
+                Times.exactly(1)
+        )
+        .respond(
+                response()
+                        .withStatusCode(500)
+        );
+        for (int[] range : new int[][] {{0, 99}, {100, 399}, {400, 699}, {700, 999}}) {
+            HttpRequest rangeRequest = request()
+                    .withPath("/download/range")
+                    .withMethod("GET")
+                    .withHeader("Range", "bytes=" + range[0] + "-" + range[1]);
+            if (range[0] > 0) {
+                // 其余段必须带上第一个响应的 ETag
+                rangeRequest.withHeader("If-Range", ETAG);
+            }
+            mockClient.when(rangeRequest, Times.exactly(1))
+            .respond(
+                    response()
+                            .withStatusCode(206)
+                            .withHeader(new Header("Content-Type", "application/octet-stream"))
+                            .withHeader(new Header("ETag", ETAG))
+                            .withHeader(new Header("Content-Range",
+                                    "bytes " + range[0] + "-" + range[1] + "/" + CONTENT.length()))
+                            .withBody(CONTENT.substring(range[0], range[1] + 1))
+            );
+        }
+        mockClient.when(
+                request()
+                        .withPath("/download/changed")
+                        .withMethod("GET")
+                        .withHeader("Range", "bytes=0-99"),
+                Times.exactly(1)
+        )
+        .respond(
+                response()
+                        .withStatusCode(206)
+                        .withHeader(new Header("Content-Type", "application/octet-stream"))
+                        .withHeader(new Header("ETag", ETAG))
+                        .withHeader(new Header("Content-Range", "bytes 0-99/" + CONTENT.length()))
+                        .withBody(CONTENT.substring(0, 100))
+        );
+        // 文件已经变化，If-Range 不匹配，返回整个新文件
+        mockClient.when(
+                request()
+                        .withPath("/download/changed")
+                        .withMethod("GET")
+        )
+        .respond(
+                response()
+                        .withStatusCode(200)
+                        .withHeader(new Header("Content-Type", "application/octet-stream"))
+                        .withHeader(new Header("ETag", "\"v2\""))
+                        .withBody(CONTENT.toUpperCase())
+        );
+        // /download/changing：前两段每次都在 100ms 后失败，最后一段在它们重试失败之后才返回变化后的整个文件
+        mockClient.when(
+                request()
+                        .withPath("/download/changing")
+                        .withMethod("GET")
+                        .withHeader("Range", "bytes=0-99"),
+                Times.exactly(1)
+        )
+        .respond(
+                response()
+                        .withStatusCode(206)
+                        .withHeader(new Header("Content-Type", "application/octet-stream"))
+                        .withHeader(new Header("ETag", ETAG))
+                        .withHeader(new Header("Content-Range", "bytes 0-99/" + CONTENT.length()))
+                        .withBody(CONTENT.substring(0, 100))
+        );
+        mockClient.when(
+                request()
+                        .withPath("/download/changing")
+                        .withMethod("GET")
+                        .withHeader("Range", "bytes=700-999")
+        )
+        .respond(
+                response()
+                        .withStatusCode(200)
+                        .withDelay(TimeUnit.MILLISECONDS, 800)
+                        .withHeader(new Header("Content-Type", "application/octet-stream"))
+                        .withHeader(new Header("ETag", "\"v2\""))
+                        .withBody(CONTENT.toUpperCase())
+        );
+        mockClient.when(
+                request()
+                        .withPath("/download/changing")
+                        .withMethod("GET")
+        )
+        .respond(
+                response()
+                        .withStatusCode(500)
+                        .withDelay(TimeUnit.MILLISECONDS, 100)
+        );
+        mockClient.when(
+                request()
+                        .withPath("/download/whole")
+                        .withMethod("GET"),
+                Times.exactly(1)
+        )
+        .respond(
+                response()
+                        .withStatusCode(200)
+                        .withHeader(new Header("Content-Type", "application/octet-stream"))
+                        .withBody(CONTENT)
+        );
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.dtflys.test.mock;
+
+import org.mockserver.client.server.MockServerClient;
+import org.mockserver.junit.MockServerRule;
+import org.mockserver.matchers.Times;
+import org.mockserver.model.Header;
+
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+/**
+ * 每个可缓存的响应只返回一次，再次请求时返回404，以此验证请求是否使用了缓存
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:11
+ */
+public class ResponseCacheMockServer extends MockServerRule {
+
+    public final static String EXPECTED = "{\"status\": \"ok\"}";
+
+    public final static String ETAG = "\"v1\"";
+
+    public final static Integer port = 5059;
+
+    public ResponseCacheMockServer(Object target) {
+        super(target, port);
+    }
+
+    public void initServer() {
+        MockServerClient mockClient = new MockServerClient("localhost", port);
+        mockClient.when(
+                request()
+                        .withPath("/fresh")
+                        .withMethod("GET"),
+                Times.exactly(1)
+        )
+        .respond(
+                response()
+                        .withStatusCode(200)
+                        .withHeader(new Header("Content-Type", "application/json"))
+                        .withHeader(new Header("Cache-Control", "max-age=60"))
+                        .withBody(EXPECTED)
+        );
+        mockClient.when(
+                request()
+                        .withPath("/etag")
+                        .withMethod("GET")
+                        .withHeader(new Header("If-None-Match", ETAG))
+        )
+        .respond(
+                response()
+                        .withStatusCode(304)
+                        .withHeader(new Header("ETag", ETAG))
+        );
+        mockClient.when(
+                request()
+                        .withPath("/etag")
+                        .withMethod("GET"),
+                Times.exactly(1)
+        )
+        .respond(
+                response()
+                        .withStatusCode(200)
+                        .withHeader(new Header("Content-Type", "application/json"))
+                        .withHeader(new Header("Cache-Control", "no-cache"))
+                        .withHeader(new Header("ETag", ETAG))
+                        .withBody(EXPECTED)
+        );
+        mockClient.when(
+                request()
+                        .withPath("/no-store")
+                        .withMethod("GET"),
+                Times.exactly(1)
+        )
+        .respond(
+                response()
+                        .withStatusCode(200)
+                        .withHeader(new Header("Content-Type", "application/json"))
+                        .withHeader(new Header("Cache-Control", "no-store"))
+                        .withBody(EXPECTED)
+        );
+        mockClient.when(
+                request()
+                        .withPath("/private")
+                        .withMethod("GET")
+                        .withHeader(new Header("Authorization", "Bearer token")),
+                Times.exactly(2)
+        )
+        .respond(
+                response()
+                        .withStatusCode(200)
+                        .withHeader(new Header("Content-Type", "application/json"))
+                        .withHeader(new Header("Cache-Control", "max-age=60"))
+                        .withBody(EXPECTED)
+        );
+        mockClient.when(
+                request()
+                        .withPath("/public")
+                        .withMethod("GET")
+                        .withHeader(new Header("Authorization", "Bearer token")),
+                Times.exactly(1)
+        )
+        .respond(
+                response()
+                        .withStatusCode(200)
+                        .withHeader(new Header("Content-Type", "application/json"))
+                        .withHeader(new Header("Cache-Control", "public, max-age=60"))
+                        .withBody(EXPECTED)
+        );
+        mockClient.when(
+                request()
+                        .withPath("/fresh")
+                        .withMethod("POST")
+        )
+        .respond(
+                response()
+                        .withStatusCode(200)
+                        .withHeader(new Header("Content-Type", "application/json"))
+                        .withBody(EXPECTED)
+        );
+    }
+
+}
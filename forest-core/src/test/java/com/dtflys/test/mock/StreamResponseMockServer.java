@@ -0,0 +1,39 @@
+package com.dtflys.test.mock;
+
+import org.mockserver.client.server.MockServerClient;
+import org.mockserver.junit.MockServerRule;
+import org.mockserver.model.Header;
+
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+/**
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:28
+ */
+public class StreamResponseMockServer extends MockServerRule {
+
+    public final static String EXPECTED = "{\"name\": \"foo\", \"age\": 12}";
+
+    public final static Integer port = 5053;
+
+    public StreamResponseMockServer(Object target) {
+        super(target, port);
+    }
+
+    public void initServer() {
+        MockServerClient mockClient = new MockServerClient("localhost", port);
+        mockClient.when(
+                request()
+                        .withPath("/stream/user")
+                        .withMethod("GET")
+        )
+        .respond(
+                response()
+                        .withStatusCode(200)
+                        .withHeader(new Header("Content-Type", "application/json; charset=utf-8"))
+                        .withBody(EXPECTED)
+        );
+    }
+
+}
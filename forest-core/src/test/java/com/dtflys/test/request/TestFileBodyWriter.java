@@ -0,0 +1,136 @@
+package com.dtflys.test.request;
+
+import com.dtflys.forest.backend.body.FileBodyWriter;
+import com.dtflys.forest.config.ForestConfiguration;
+import com.dtflys.forest.http.ForestRequest;
+import com.dtflys.forest.reflection.NoneLifeCycleHandler;
+import com.dtflys.forest.utils.ForestProgress;
+import okio.Buffer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:21
+ */
+public class TestFileBodyWriter {
+
+    private final List<File> files = new ArrayList<>();
+
+    private ProgressHandler handler;
+
+    private ForestRequest request;
+
+    @Before
+    public void setUp() {
+        handler = new ProgressHandler();
+        request = new ForestRequest(ForestConfiguration.configuration())
+                .setProgressStep(64 * 1024);
+    }
+
+    @After
+    public void tearDown() {
+        for (File file : files) {
+            file.delete();
+        }
+    }
+
+    private File createFile(int size) throws IOException {
+        File file = File.createTempFile("forest-upload", ".dat");
+        files.add(file);
+        byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        Files.write(file.toPath(), bytes);
+        return file;
+    }
+
+    private void assertProgress(long size) {
+        assertFalse(handler.doneList.isEmpty());
+        assertTrue(handler.beginList.get(0));
+        for (int i = 1; i < handler.beginList.size(); i++) {
+            assertFalse(handler.beginList.get(i));
+        }
+        int last = handler.doneList.size() - 1;
+        for (int i = 0; i < last; i++) {
+            assertFalse(handler.doneList.get(i));
+        }
+        assertTrue(handler.doneList.get(last));
+        assertEquals(size, handler.lastBytes);
+    }
+
+    @Test
+    public void testWriteSmallFile() throws IOException {
+        File file = createFile(100 * 1024);
+        FileBodyWriter bodyWriter = new FileBodyWriter(request, file, handler);
+        assertEquals(file.length(), bodyWriter.getContentLength());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bodyWriter.writeTo(out);
+        assertArrayEquals(Files.readAllBytes(file.toPath()), out.toByteArray());
+        assertProgress(file.length());
+        assertEquals(2, handler.doneList.size());
+    }
+
+    @Test
+    public void testWriteMappedFile() throws IOException {
+        File file = createFile(9 * 1024 * 1024 + 123);
+        FileBodyWriter bodyWriter = new FileBodyWriter(request, file, handler);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bodyWriter.writeTo(out);
+        assertArrayEquals(Files.readAllBytes(file.toPath()), out.toByteArray());
+        assertProgress(file.length());
+
+        // 重新发送时从头写出，进度重新计算
+        handler = new ProgressHandler();
+        bodyWriter = new FileBodyWriter(request, file, handler);
+        out = new ByteArrayOutputStream();
+        bodyWriter.writeTo(out);
+        bodyWriter.writeTo(out);
+        assertEquals(file.length() * 2, out.size());
+        assertEquals(file.length(), handler.lastBytes);
+    }
+
+    @Test
+    public void testWriteToOkHttpSink() throws IOException {
+        // OkHttp后端写出到 BufferedSink
+        File file = createFile(2 * 1024 * 1024 + 17);
+        FileBodyWriter bodyWriter = new FileBodyWriter(request, file, handler);
+        Buffer sink = new Buffer();
+        bodyWriter.writeTo(sink);
+        assertArrayEquals(Files.readAllBytes(file.toPath()), sink.readByteArray());
+        assertProgress(file.length());
+    }
+
+    @Test(expected = FileNotFoundException.class)
+    public void testFileNotFound() throws IOException {
+        File file = new File("forest-upload-not-exists.dat");
+        new FileBodyWriter(request, file, handler).writeTo(new ByteArrayOutputStream());
+    }
+
+    private static class ProgressHandler extends NoneLifeCycleHandler {
+
+        private final List<Boolean> beginList = new ArrayList<>();
+
+        private final List<Boolean> doneList = new ArrayList<>();
+
+        private long lastBytes;
+
+        @Override
+        public void handleProgress(ForestRequest request, ForestProgress progress) {
+            beginList.add(progress.isBegin());
+            doneList.add(progress.isDone());
+            lastBytes = progress.getCurrentBytes();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.dtflys.test.retryer;
+
+import com.dtflys.forest.config.ForestConfiguration;
+import com.dtflys.forest.exceptions.ForestRetryException;
+import com.dtflys.forest.exceptions.ForestRuntimeException;
+import com.dtflys.forest.http.ForestRequest;
+import com.dtflys.forest.retryer.DecorrelatedJitterRetryer;
+import com.dtflys.forest.retryer.ForestRetryScheduler;
+import com.dtflys.forest.retryer.FullJitterRetryer;
+import com.dtflys.forest.retryer.RetryBudget;
+import com.dtflys.forest.retryer.RetryBudgetRetryer;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:45
+ */
+public class TestRetryer {
+
+    private final RuntimeException cause = new RuntimeException("error");
+
+    private ForestRequest createRequest(ForestConfiguration configuration, String url) {
+        return new ForestRequest(configuration)
+                .setUrl(url)
+                .setRetryCount(5)
+                .setMaxRetryInterval(5000);
+    }
+
+    @Test
+    public void testFullJitter() throws Throwable {
+        ForestRequest request = createRequest(ForestConfiguration.configuration(), "http://localhost/test");
+        boolean distinct = false;
+        long first = -1;
+        for (int i = 0; i < 50; i++) {
+            FullJitterRetryer retryer = new FullJitterRetryer(request);
+            long delay0 = retryer.nextRetryDelay(new ForestRetryException(cause, request, 5, 0));
+            long delay3 = retryer.nextRetryDelay(new ForestRetryException(cause, request, 5, 3));
+            assertTrue(delay0 >= 0 && delay0 <= 1000);
+            assertTrue(delay3 >= 0 && delay3 <= 5000);
+            if (first < 0) {
+                first = delay3;
+            } else if (first != delay3) {
+                distinct = true;
+            }
+        }
+        assertTrue(distinct);
+    }
+
+    @Test
+    public void testDecorrelatedJitter() throws Throwable {
+        ForestRequest request = createRequest(ForestConfiguration.configuration(), "http://localhost/test");
+        for (int i = 0; i < 50; i++) {
+            DecorrelatedJitterRetryer retryer = new DecorrelatedJitterRetryer(request);
+            long last = 1000;
+            for (int count = 0; count < 5; count++) {
+                long delay = retryer.nextRetryDelay(new ForestRetryException(cause, request, 5, count));
+                assertTrue(delay >= 1000);
+                assertTrue(delay <= Math.min(5000, last * 3));
+                last = delay;
+            }
+        }
+    }
+
+    @Test
+    public void testRetryBudget() {
+        RetryBudget budget = new RetryBudget(0.5, 2);
+        assertTrue(budget.tryWithdraw());
+        assertTrue(budget.tryWithdraw());
+        assertFalse(budget.tryWithdraw());
+        budget.deposit();
+        assertFalse(budget.tryWithdraw());
+        budget.deposit();
+        assertTrue(budget.tryWithdraw());
+        for (int i = 0; i < 10; i++) {
+            budget.deposit();
+        }
+        assertEquals(2.0, budget.getTokens(), 0.0001);
+    }
+
+    @Test
+    public void testRetryBudgetRetryer() throws Throwable {
+        ForestConfiguration configuration = ForestConfiguration.configuration();
+        configuration.setRetryBudgetRatio(0.1);
+        configuration.setRetryBudgetMaxTokens(1);
+        configuration.setMaxRetryInterval(0);
+        ForestRequest request = createRequest(configuration, "http://localhost/test");
+        RetryBudgetRetryer retryer = new RetryBudgetRetryer(request);
+        assertSame(retryer.getBudget(), configuration.getRetryBudget(request));
+        retryer.nextRetryDelay(new ForestRetryException(cause, request, 5, 0));
+        try {
+            retryer.nextRetryDelay(new ForestRetryException(cause, request, 5, 1));
+            fail();
+        } catch (ForestRetryException e) {
+            assertSame(cause, e.getCause());
+        }
+        // 另一个请求共享同一个预算
+        RetryBudgetRetryer retryer2 = new RetryBudgetRetryer(createRequest(configuration, "http://127.0.0.1/test"));
+        assertSame(retryer.getBudget(), retryer2.getBudget());
+    }
+
+    @Test
+    public void testRetryBudgetPerHost() {
+        ForestConfiguration configuration = ForestConfiguration.configuration();
+        configuration.setRetryBudgetPerHost(true);
+        RetryBudget budget1 = configuration.getRetryBudget(createRequest(configuration, "http://localhost:8080/a"));
+        RetryBudget budget2 = configuration.getRetryBudget(createRequest(configuration, "http://localhost:8080/b"));
+        RetryBudget budget3 = configuration.getRetryBudget(createRequest(configuration, "http://127.0.0.1:8080/a"));
+        assertSame(budget1, budget2);
+        assertNotSame(budget1, budget3);
+    }
+
+    @Test
+    public void testSchedulerCloseAbortsPendingTasks() throws Exception {
+        ForestRetryScheduler scheduler = new ForestRetryScheduler();
+        final CompletableFuture<String> future = new CompletableFuture<>();
+        scheduler.schedule(new ForestRetryScheduler.Task() {
+            @Override
+            public void run() {
+                future.complete("retried");
+            }
+
+            @Override
+            public void abort(ForestRuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        }, 60000);
+        scheduler.close();
+        assertTrue(future.isCompletedExceptionally());
+
+        // 关闭后提交的任务直接中止
+        final CompletableFuture<String> lateFuture = new CompletableFuture<>();
+        scheduler.schedule(new ForestRetryScheduler.Task() {
+            @Override
+            public void run() {
+                lateFuture.complete("retried");
+            }
+
+            @Override
+            public void abort(ForestRuntimeException e) {
+                lateFuture.completeExceptionally(e);
+            }
+        }, 100);
+        assertTrue(lateFuture.isCompletedExceptionally());
+    }
+}
@@ -0,0 +1,178 @@
+package com.dtflys.test.ssl;
+
+import com.dtflys.forest.backend.httpclient.conn.ForestSSLConnectionFactory;
+import com.dtflys.forest.config.ForestConfiguration;
+import com.dtflys.forest.exceptions.ForestRuntimeException;
+import com.dtflys.forest.http.ForestRequest;
+import com.dtflys.forest.ssl.SSLKeyStore;
+import org.apache.http.client.protocol.HttpClientContext;
+import com.dtflys.test.mock.SSLMockServer;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.LayeredConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.util.EntityUtils;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.Socket;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:16
+ */
+public class TestSSLConnectionFactory {
+
+    @Rule
+    public SSLMockServer server = new SSLMockServer(this);
+
+    private SSLKeyStore createKeyStore() {
+        return new SSLKeyStore(
+                "ssl_client",
+                "ssl_client.keystore",
+                "client",
+                "456789");
+    }
+
+    @Test
+    public void testSocketFactoryPerKeyStore() {
+        ForestConfiguration configuration = ForestConfiguration.configuration();
+        configuration.registerKeyStore(createKeyStore());
+        ForestSSLConnectionFactory connectionFactory = new ForestSSLConnectionFactory();
+
+        ForestRequest request = new ForestRequest(configuration)
+                .setKeyStore(configuration.getKeyStore("ssl_client"));
+        LayeredConnectionSocketFactory socketFactory = connectionFactory.getSocketFactory(request);
+        assertSame(socketFactory, connectionFactory.getSocketFactory(
+                new ForestRequest(configuration).setKeyStore(configuration.getKeyStore("ssl_client"))));
+
+        LayeredConnectionSocketFactory trustAllFactory = connectionFactory.getSocketFactory(new ForestRequest(configuration));
+        assertNotSame(socketFactory, trustAllFactory);
+        assertEquals(2, connectionFactory.size());
+
+        configuration.registerKeyStore(createKeyStore());
+        assertNotSame(socketFactory, connectionFactory.getSocketFactory(
+                new ForestRequest(configuration).setKeyStore(configuration.getKeyStore("ssl_client"))));
+        assertEquals(2, connectionFactory.size());
+    }
+
+    @Test
+    public void testSetupContext() {
+        ForestConfiguration configuration = ForestConfiguration.configuration();
+        configuration.registerKeyStore(createKeyStore());
+        ForestSSLConnectionFactory connectionFactory = new ForestSSLConnectionFactory();
+
+        ForestRequest request = new ForestRequest(configuration)
+                .setKeyStore(configuration.getKeyStore("ssl_client"));
+        HttpClientContext context = HttpClientContext.create();
+        connectionFactory.setupContext(request, context);
+        assertSame(connectionFactory.getSocketFactory(request),
+                context.getAttribute(ForestSSLConnectionFactory.SOCKET_FACTORY_ATTRIBUTE));
+        Object userToken = context.getUserToken();
+        assertNotNull(userToken);
+        assertEquals(userToken, setupContext(connectionFactory,
+                new ForestRequest(configuration).setKeyStore(configuration.getKeyStore("ssl_client"))).getUserToken());
+
+        HttpClientContext trustAllContext = setupContext(connectionFactory, new ForestRequest(configuration));
+        assertNotNull(trustAllContext.getAttribute(ForestSSLConnectionFactory.SOCKET_FACTORY_ATTRIBUTE));
+        assertNotNull(trustAllContext.getUserToken());
+        assertNotEquals(userToken, trustAllContext.getUserToken());
+
+        // 相同ID的证书重新注册后不复用原来的连接
+        configuration.registerKeyStore(createKeyStore());
+        assertNotEquals(userToken, setupContext(connectionFactory,
+                new ForestRequest(configuration).setKeyStore(configuration.getKeyStore("ssl_client"))).getUserToken());
+    }
+
+    @Test
+    public void testSocketFactoryPerConfiguration() {
+        ForestConfiguration configuration1 = ForestConfiguration.configuration();
+        ForestConfiguration configuration2 = ForestConfiguration.configuration();
+        configuration1.registerKeyStore(createKeyStore());
+        configuration2.registerKeyStore(createKeyStore());
+        ForestSSLConnectionFactory connectionFactory = new ForestSSLConnectionFactory();
+
+        // 不同全局配置中相同ID的证书使用各自的SSL上下文，SocketFactory 和用户标识都不相同
+        HttpClientContext context1 = setupContext(connectionFactory,
+                new ForestRequest(configuration1).setKeyStore(configuration1.getKeyStore("ssl_client")));
+        HttpClientContext context2 = setupContext(connectionFactory,
+                new ForestRequest(configuration2).setKeyStore(configuration2.getKeyStore("ssl_client")));
+        assertNotSame(context1.getAttribute(ForestSSLConnectionFactory.SOCKET_FACTORY_ATTRIBUTE),
+                context2.getAttribute(ForestSSLConnectionFactory.SOCKET_FACTORY_ATTRIBUTE));
+        assertNotEquals(context1.getUserToken(), context2.getUserToken());
+        assertEquals(2, connectionFactory.size());
+
+        // 交替使用时不会互相替换
+        assertSame(context1.getAttribute(ForestSSLConnectionFactory.SOCKET_FACTORY_ATTRIBUTE),
+                connectionFactory.getSocketFactory(
+                        new ForestRequest(configuration1).setKeyStore(configuration1.getKeyStore("ssl_client"))));
+        assertEquals(2, connectionFactory.size());
+    }
+
+    private static HttpClientContext setupContext(ForestSSLConnectionFactory connectionFactory, ForestRequest request) {
+        HttpClientContext context = HttpClientContext.create();
+        connectionFactory.setupContext(request, context);
+        return context;
+    }
+
+    @Test
+    public void testMixedRequestsOnOneRoute() throws Exception {
+        ForestConfiguration configuration = ForestConfiguration.configuration();
+        configuration.registerKeyStore(createKeyStore());
+        CountingConnectionFactory connectionFactory = new CountingConnectionFactory();
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(
+                RegistryBuilder.<ConnectionSocketFactory>create().register("https", connectionFactory).build());
+        String url = "https://localhost:" + SSLMockServer.port + "/hello/user";
+        try (CloseableHttpClient client = HttpClients.custom().setConnectionManager(connectionManager).build()) {
+            ForestRequest trustAllRequest = new ForestRequest(configuration);
+            execute(client, url, connectionFactory, trustAllRequest);
+            assertEquals(1, connectionFactory.count);
+
+            // 带证书的请求不能复用没有客户端证书的连接，需要建立新的连接（服务端不信任该证书，握手失败不影响判断）
+            ForestRequest keyStoreRequest = new ForestRequest(configuration)
+                    .setKeyStore(configuration.getKeyStore("ssl_client"));
+            try {
+                execute(client, url, connectionFactory, keyStoreRequest);
+            } catch (IOException e) {
+            }
+            assertEquals(2, connectionFactory.count);
+
+            // 没有证书的请求仍然复用原来的连接
+            execute(client, url, connectionFactory, trustAllRequest);
+            assertEquals(2, connectionFactory.count);
+        }
+    }
+
+    private void execute(CloseableHttpClient client, String url, ForestSSLConnectionFactory connectionFactory,
+                         ForestRequest request) throws IOException {
+        HttpClientContext context = HttpClientContext.create();
+        connectionFactory.setupContext(request, context);
+        try (CloseableHttpResponse response = client.execute(new HttpGet(url), context)) {
+            EntityUtils.consume(response.getEntity());
+        }
+    }
+
+    private static class CountingConnectionFactory extends ForestSSLConnectionFactory {
+
+        private int count;
+
+        @Override
+        public Socket createSocket(HttpContext context) throws IOException {
+            count++;
+            return super.createSocket(context);
+        }
+    }
+
+    @Test(expected = ForestRuntimeException.class)
+    public void testWithoutContext() throws IOException {
+        new ForestSSLConnectionFactory().createSocket(HttpClientContext.create());
+    }
+}
@@ -0,0 +1,96 @@
+package com.dtflys.test.ssl;
+
+import com.dtflys.forest.config.ForestConfiguration;
+import com.dtflys.forest.http.ForestRequest;
+import com.dtflys.forest.ssl.ForestSSLContextCache;
+import com.dtflys.forest.ssl.SSLKeyStore;
+import com.dtflys.forest.ssl.SSLUtils;
+import org.junit.Test;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
+import javax.net.ssl.SSLSocketFactory;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent[agent@local]
+ * @since 2026-10-17 17:15
+ */
+public class TestSSLContextCache {
+
+    private SSLKeyStore createKeyStore() {
+        return new SSLKeyStore(
+                "ssl_client",
+                "ssl_client.keystore",
+                "client",
+                "456789");
+    }
+
+    @Test
+    public void testCachePerKeyStore() {
+        ForestConfiguration configuration = ForestConfiguration.configuration();
+        configuration.registerKeyStore(createKeyStore());
+        ForestSSLContextCache cache = configuration.getSslContextCache();
+
+        ForestRequest request = new ForestRequest(configuration)
+                .setKeyStore(configuration.getKeyStore("ssl_client"));
+        SSLSocketFactory socketFactory = SSLUtils.getSSLSocketFactory(request);
+        assertNotNull(socketFactory);
+        assertSame(socketFactory, SSLUtils.getSSLSocketFactory(
+                new ForestRequest(configuration).setKeyStore(configuration.getKeyStore("ssl_client"))));
+
+        SSLSocketFactory trustAllFactory = SSLUtils.getSSLSocketFactory(new ForestRequest(configuration));
+        assertNotSame(socketFactory, trustAllFactory);
+        assertSame(trustAllFactory, SSLUtils.getSSLSocketFactory(new ForestRequest(configuration)));
+        assertEquals(2, cache.size());
+
+        // 重新注册相同ID的证书后重新创建
+        configuration.registerKeyStore(createKeyStore());
+        SSLSocketFactory newFactory = SSLUtils.getSSLSocketFactory(
+                new ForestRequest(configuration).setKeyStore(configuration.getKeyStore("ssl_client")));
+        assertNotSame(socketFactory, newFactory);
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testCachePerProtocol() {
+        ForestConfiguration configuration = ForestConfiguration.configuration();
+        SSLSocketFactory socketFactory = SSLUtils.getSSLSocketFactory(new ForestRequest(configuration));
+        configuration.setSslProtocol(SSLUtils.TLSv1_1);
+        assertNotSame(socketFactory, SSLUtils.getSSLSocketFactory(new ForestRequest(configuration)));
+        assertEquals(2, configuration.getSslContextCache().size());
+    }
+
+    @Test
+    public void testSessionContext() {
+        ForestConfiguration configuration = ForestConfiguration.configuration();
+        configuration.setSslSessionCacheSize(100);
+        configuration.setSslSessionTimeout(600);
+        SSLContext sslContext = configuration.getSslContextCache()
+                .getSSLContext(new ForestRequest(configuration));
+        SSLSessionContext sessionContext = sslContext.getClientSessionContext();
+        assertEquals(100, sessionContext.getSessionCacheSize());
+        assertEquals(600, sessionContext.getSessionTimeout());
+    }
+
+    @Test
+    public void testSessionSettingsChanged() {
+        ForestConfiguration configuration = ForestConfiguration.configuration();
+        ForestSSLContextCache cache = configuration.getSslContextCache();
+        SSLContext sslContext = cache.getSSLContext(new ForestRequest(configuration));
+        configuration.setSslSessionCacheSize(50);
+        configuration.setSslSessionTimeout(300);
+        // 修改会话设置后复用已缓存的SSL上下文，新的设置同样生效
+        assertSame(sslContext, cache.getSSLContext(new ForestRequest(configuration)));
+        SSLSessionContext sessionContext = sslContext.getClientSessionContext();
+        assertEquals(50, sessionContext.getSessionCacheSize());
+        assertEquals(300, sessionContext.getSessionTimeout());
+
+        configuration.setSslSessionTimeout(900);
+        SSLUtils.getSSLSocketFactory(new ForestRequest(configuration));
+        assertEquals(50, sessionContext.getSessionCacheSize());
+        assertEquals(900, sessionContext.getSessionTimeout());
+        assertEquals(1, cache.size());
+    }
+}
@@ -43,6 +43,7 @@ public class ForestConfigurationBeanDefinitionParser implements BeanDefinitionPa
         beanDefinition.setBeanClass(configurationBeanClass);
         beanDefinition.setLazyInit(false);
         beanDefinition.setFactoryMethodName("configuration");
+        beanDefinition.setDestroyMethodName("close");
         String id = element.getAttribute("id");
         id = ClientFactoryBeanUtils.getBeanId(id, configurationBeanClass, parserContext);
         if (id != null && id.length() > 0) {
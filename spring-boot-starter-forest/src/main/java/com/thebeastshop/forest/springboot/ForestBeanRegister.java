@@ -58,13 +58,26 @@ public class ForestBeanRegister implements ResourceLoaderAware, BeanPostProcesso
                 .addPropertyValue("retryer", forestConfigurationProperties.getRetryer())
                 .addPropertyValue("retryCount", forestConfigurationProperties.getRetryCount())
                 .addPropertyValue("maxRetryInterval", forestConfigurationProperties.getMaxRetryInterval())
+                .addPropertyValue("retryBudgetRatio", forestConfigurationProperties.getRetryBudgetRatio())
+                .addPropertyValue("retryBudgetMaxTokens", forestConfigurationProperties.getRetryBudgetMaxTokens())
+                .addPropertyValue("retryBudgetPerHost", forestConfigurationProperties.isRetryBudgetPerHost())
+                .addPropertyValue("circuitBreakerConfig", forestConfigurationProperties.getCircuitBreaker().toCircuitBreakerConfig())
+                .addPropertyValue("adaptiveLimitConfig", forestConfigurationProperties.getAdaptiveLimit().toAdaptiveLimitConfig())
+                .addPropertyValue("responseCacheConfig", forestConfigurationProperties.getResponseCache().toResponseCacheConfig())
                 .addPropertyValue("logEnabled", forestConfigurationProperties.isLogEnabled())
+                .addPropertyValue("logBodyMaxBytes", forestConfigurationProperties.getLogBodyMaxBytes())
+                .addPropertyValue("logAsync", forestConfigurationProperties.isLogAsync())
                 .addPropertyValue("backendName", forestConfigurationProperties.getBackend())
                 .addPropertyValue("interceptors", forestConfigurationProperties.getInterceptors())
                 .addPropertyValue("sslProtocol", forestConfigurationProperties.getSslProtocol())
+                .addPropertyValue("sslSessionCacheSize", forestConfigurationProperties.getSslSessionCacheSize())
+                .addPropertyValue("sslSessionTimeout", forestConfigurationProperties.getSslSessionTimeout())
+                .addPropertyValue("jsonBodyContentLength", forestConfigurationProperties.isJsonBodyContentLength())
+                .addPropertyValue("maxDownloadThreads", forestConfigurationProperties.getMaxDownloadThreads())
                 .addPropertyValue("variables", forestConfigurationProperties.getVariables())
                 .setLazyInit(false)
-                .setFactoryMethod("configuration");
+                .setFactoryMethod("configuration")
+                .setDestroyMethodName("close");
 
         BeanDefinition interceptorFactoryBeanDefinition = registerInterceptorFactoryBean();
         beanDefinitionBuilder.addPropertyValue("interceptorFactory", interceptorFactoryBeanDefinition);
@@ -0,0 +1,44 @@
+package com.thebeastshop.forest.springboot.metrics;
+
+import com.dtflys.forest.config.ForestConfiguration;
+import com.thebeastshop.forest.springboot.ForestAutoConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+
+import java.util.Map;
+
+/**
+ * 存在Micrometer的 {@link MeterRegistry} 时，为所有Forest配置启用指标收集
+ * <p>可以通过 forest.metrics.enabled=false 关闭</p>
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:13
+ */
+@Configuration
+@ConditionalOnClass(MeterRegistry.class)
+@ConditionalOnBean(MeterRegistry.class)
+@ConditionalOnProperty(prefix = "forest.metrics", name = "enabled", matchIfMissing = true)
+@AutoConfigureAfter(
+        value = ForestAutoConfiguration.class,
+        name = {
+                "org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration",
+                "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration",
+                "org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration"
+        })
+public class ForestMetricsAutoConfiguration {
+
+    @Bean
+    @DependsOn("forestBeanRegister")
+    public MicrometerForestMetrics forestMetrics(MeterRegistry registry, Map<String, ForestConfiguration> configurations) {
+        MicrometerForestMetrics metrics = new MicrometerForestMetrics(registry);
+        for (ForestConfiguration configuration : configurations.values()) {
+            configuration.setMetrics(metrics);
+        }
+        return metrics;
+    }
+}
@@ -0,0 +1,235 @@
+package com.thebeastshop.forest.springboot.metrics;
+
+import com.dtflys.forest.bulkhead.ForestBulkhead;
+import com.dtflys.forest.cache.ResponseCacheResult;
+import com.dtflys.forest.circuitbreaker.CircuitBreakerState;
+import com.dtflys.forest.circuitbreaker.ForestCircuitBreaker;
+import com.dtflys.forest.config.ForestConfiguration;
+import com.dtflys.forest.http.ForestRequest;
+import com.dtflys.forest.http.ForestResponse;
+import com.dtflys.forest.limiter.ForestAdaptiveLimiter;
+import com.dtflys.forest.metrics.ForestConnectionPoolMetrics;
+import com.dtflys.forest.metrics.ForestMetrics;
+import com.dtflys.forest.reflection.ForestMethod;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * 基于Micrometer的Forest指标收集器
+ * <ul>
+ *     <li>forest.requests: 请求耗时，按接口、方法、HTTP方法、状态码和异常分组</li>
+ *     <li>forest.request.size / forest.response.size: 请求体和响应体字节数</li>
+ *     <li>forest.retries: 重试次数</li>
+ *     <li>forest.connections.*: 连接池中使用中、空闲、等待和最大连接数，每次采样时读取全局配置当前的后端的连接池，
+ *     更换后端后反映的是新后端的连接池</li>
+ *     <li>forest.circuit.breaker.*: 熔断器状态（0 关闭、1 打开、2 半开）、状态变化次数和被熔断的请求数</li>
+ *     <li>forest.bulkhead.rejected: 因舱壁已满或超出自适应并发上限被拒绝的请求数</li>
+ *     <li>forest.concurrency.limit / forest.concurrency.inflight: 每个主机当前的自适应并发上限和进行中的请求数</li>
+ *     <li>forest.hedges: 发送了对冲请求的调用次数，按对冲请求是否胜出分组</li>
+ *     <li>forest.response.cache: 响应缓存的查找结果（命中、未命中、过期、重新验证）次数</li>
+ * </ul>
+ * <p>每次记录时只需要按标签的取值从缓存中取出已注册的计量器，不再每次都通过构建器向注册表查找</p>
+ * @author agent[agent@local]
+ * @since 2026-10-17 15:13
+ */
+public class MicrometerForestMetrics implements ForestMetrics {
+
+    private final static String UNKNOWN = "UNKNOWN";
+
+    private final MeterRegistry registry;
+
+    /**
+     * 已注册的计量器，键为指标名和决定各个标签取值的对象
+     */
+    private final ConcurrentMap<MeterKey, Meter> meters = new ConcurrentHashMap<>();
+
+    public MicrometerForestMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void bind(ForestConfiguration configuration) {
+        Tags tags = Tags.of("configuration", configuration.getId());
+        registerPoolGauge("forest.connections.leased", configuration, tags,
+                ForestConnectionPoolMetrics::getLeasedConnections);
+        registerPoolGauge("forest.connections.idle", configuration, tags,
+                ForestConnectionPoolMetrics::getIdleConnections);
+        registerPoolGauge("forest.connections.pending", configuration, tags,
+                ForestConnectionPoolMetrics::getPendingRequests);
+        registerPoolGauge("forest.connections.max", configuration, tags,
+                ForestConnectionPoolMetrics::getMaxConnections);
+    }
+
+    private void registerPoolGauge(String name, ForestConfiguration configuration, Tags tags,
+                                   ToIntFunction<ForestConnectionPoolMetrics> function) {
+        Gauge.builder(name, configuration, config -> {
+            ForestConnectionPoolMetrics poolMetrics = config.getBackend().getConnectionPoolMetrics();
+            return poolMetrics == null ? 0 : function.applyAsInt(poolMetrics);
+        }).tags(tags).register(registry);
+    }
+
+    @Override
+    public void recordRequest(ForestRequest request, ForestResponse response, Throwable error,
+                              long durationNanos, long requestBytes, long responseBytes) {
+        ForestMethod method = request.getMethod();
+        int statusCode = response == null ? 0 : response.getStatusCode();
+        Class<?> errorType = error == null ? null : error.getClass();
+        String httpMethod = request.getType() == null ? UNKNOWN : request.getType().getName();
+        Timer timer = getMeter(() -> Timer.builder("forest.requests")
+                .tags(getMethodTags(method))
+                .tag("http.method", httpMethod)
+                .tag("status", statusCode <= 0 ? "IO_ERROR" : String.valueOf(statusCode))
+                .tag("exception", errorType == null ? "None" : errorType.getSimpleName())
+                .publishPercentileHistogram()
+                .register(registry), "forest.requests", method, httpMethod, Math.max(statusCode, 0), errorType);
+        timer.record(durationNanos, TimeUnit.NANOSECONDS);
+        if (requestBytes >= 0) {
+            getSizeSummary("forest.request.size", method).record(requestBytes);
+        }
+        if (responseBytes >= 0) {
+            getSizeSummary("forest.response.size", method).record(responseBytes);
+        }
+    }
+
+    private DistributionSummary getSizeSummary(String name, ForestMethod method) {
+        return getMeter(() -> DistributionSummary.builder(name)
+                .baseUnit("bytes")
+                .tags(getMethodTags(method))
+                .register(registry), name, method);
+    }
+
+    @Override
+    public void recordRetry(ForestRequest request, int retryCount) {
+        ForestMethod method = request.getMethod();
+        this.<Counter>getMeter(() -> Counter.builder("forest.retries")
+                .tags(getMethodTags(method))
+                .register(registry), "forest.retries", method).increment();
+    }
+
+    @Override
+    public void recordCircuitBreakerStateChange(ForestCircuitBreaker circuitBreaker,
+                                                CircuitBreakerState fromState, CircuitBreakerState toState) {
+        Tags tags = Tags.of("name", circuitBreaker.getName());
+        Gauge.builder("forest.circuit.breaker.state", circuitBreaker, cb -> cb.getState().ordinal())
+                .tags(tags)
+                .register(registry);
+        this.<Counter>getMeter(() -> Counter.builder("forest.circuit.breaker.transitions")
+                .tags(tags)
+                .tag("from", fromState.name())
+                .tag("to", toState.name())
+                .register(registry), "forest.circuit.breaker.transitions", circuitBreaker.getName(), fromState, toState)
+                .increment();
+    }
+
+    @Override
+    public void recordCircuitBreakerRejected(ForestRequest request, ForestCircuitBreaker circuitBreaker) {
+        ForestMethod method = request.getMethod();
+        this.<Counter>getMeter(() -> Counter.builder("forest.circuit.breaker.rejected")
+                .tags(getMethodTags(method))
+                .tag("name", circuitBreaker.getName())
+                .register(registry), "forest.circuit.breaker.rejected", method, circuitBreaker.getName())
+                .increment();
+    }
+
+    @Override
+    public void recordBulkheadRejected(ForestRequest request, ForestBulkhead bulkhead) {
+        ForestMethod method = request.getMethod();
+        this.<Counter>getMeter(() -> Counter.builder("forest.bulkhead.rejected")
+                .tags(getMethodTags(method))
+                .tag("name", bulkhead.getName())
+                .register(registry), "forest.bulkhead.rejected", method, bulkhead.getName())
+                .increment();
+    }
+
+    @Override
+    public void bindAdaptiveLimiter(ForestAdaptiveLimiter limiter) {
+        Tags tags = Tags.of("host", limiter.getName());
+        Gauge.builder("forest.concurrency.limit", limiter, ForestAdaptiveLimiter::getLimit)
+                .tags(tags)
+                .register(registry);
+        Gauge.builder("forest.concurrency.inflight", limiter, ForestAdaptiveLimiter::getActiveCalls)
+                .tags(tags)
+                .register(registry);
+    }
+
+    @Override
+    public void recordHedge(ForestRequest request, boolean won) {
+        ForestMethod method = request.getMethod();
+        this.<Counter>getMeter(() -> Counter.builder("forest.hedges")
+                .tags(getMethodTags(method))
+                .tag("won", String.valueOf(won))
+                .register(registry), "forest.hedges", method, won)
+                .increment();
+    }
+
+    @Override
+    public void recordResponseCache(ForestRequest request, ResponseCacheResult result) {
+        ForestMethod method = request.getMethod();
+        this.<Counter>getMeter(() -> Counter.builder("forest.response.cache")
+                .tags(getMethodTags(method))
+                .tag("result", result.name())
+                .register(registry), "forest.response.cache", method, result)
+                .increment();
+    }
+
+    /**
+     * 从缓存中获取计量器，第一次获取时注册
+     * @param builder 注册计量器
+     * @param name 指标名
+     * @param tagValues 决定各个标签取值的对象
+     * @return 计量器
+     */
+    @SuppressWarnings("unchecked")
+    private <M extends Meter> M getMeter(Supplier<M> builder, String name, Object... tagValues) {
+        MeterKey key = new MeterKey(name, tagValues);
+        Meter meter = meters.get(key);
+        if (meter == null) {
+            meter = meters.computeIfAbsent(key, k -> builder.get());
+        }
+        return (M) meter;
+    }
+
+    private static Tags getMethodTags(ForestMethod method) {
+        if (method == null) {
+            return Tags.of("client", UNKNOWN, "method", UNKNOWN);
+        }
+        return Tags.of(
+                "client", method.getMethod().getDeclaringClass().getName(),
+                "method", method.getMethodName());
+    }
+
+    private static class MeterKey {
+        private final String name;
+        private final Object[] tagValues;
+
+        MeterKey(String name, Object[] tagValues) {
+            this.name = name;
+            this.tagValues = tagValues;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof MeterKey)) return false;
+            MeterKey that = (MeterKey) o;
+            return name.equals(that.name) && Arrays.equals(tagValues, that.tagValues);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * name.hashCode() + Arrays.hashCode(tagValues);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.thebeastshop.forest.springboot.properties;
+
+import com.dtflys.forest.limiter.AdaptiveLimitAlgorithm;
+import com.dtflys.forest.limiter.ForestAdaptiveLimitConfig;
+
+public class ForestAdaptiveLimitProperties {
+
+    /**
+     * Enable adaptive concurrency limit per host
+     */
+    protected boolean enabled = false;
+
+    /**
+     * Limit algorithm, AIMD or VEGAS
+     */
+    protected AdaptiveLimitAlgorithm algorithm = AdaptiveLimitAlgorithm.AIMD;
+
+    /**
+     * Initial concurrency limit
+     */
+    protected int initialLimit = 20;
+
+    /**
+     * Minimum concurrency limit
+     */
+    protected int minLimit = 1;
+
+    /**
+     * Maximum concurrency limit
+     */
+    protected int maxLimit = 200;
+
+    /**
+     * Max count of queued async calls beyond the limit
+     */
+    protected int maxQueueSize = 0;
+
+    /**
+     * Max time (milliseconds) that a sync call would wait beyond the limit
+     */
+    protected long maxWaitTime = 0;
+
+    /**
+     * Ratio of decreasing limit in AIMD algorithm
+     */
+    protected double backoffRatio = 0.9;
+
+    /**
+     * Duration (milliseconds) above which a call is treated as dropped in AIMD algorithm, 0 means disabled
+     */
+    protected long timeout = 0;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public AdaptiveLimitAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public void setAlgorithm(AdaptiveLimitAlgorithm algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public void setInitialLimit(int initialLimit) {
+        this.initialLimit = initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public void setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    public void setMaxQueueSize(int maxQueueSize) {
+        this.maxQueueSize = maxQueueSize;
+    }
+
+    public long getMaxWaitTime() {
+        return maxWaitTime;
+    }
+
+    public void setMaxWaitTime(long maxWaitTime) {
+        this.maxWaitTime = maxWaitTime;
+    }
+
+    public double getBackoffRatio() {
+        return backoffRatio;
+    }
+
+    public void setBackoffRatio(double backoffRatio) {
+        this.backoffRatio = backoffRatio;
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+
+    public ForestAdaptiveLimitConfig toAdaptiveLimitConfig() {
+        return new ForestAdaptiveLimitConfig()
+                .setEnabled(enabled)
+                .setAlgorithm(algorithm)
+                .setInitialLimit(initialLimit)
+                .setMinLimit(minLimit)
+                .setMaxLimit(maxLimit)
+                .setMaxQueueSize(maxQueueSize)
+                .setMaxWaitTime(maxWaitTime)
+                .setBackoffRatio(backoffRatio)
+                .setTimeout(timeout);
+    }
+}
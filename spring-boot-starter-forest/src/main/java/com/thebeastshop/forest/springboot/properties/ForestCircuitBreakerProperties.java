@@ -0,0 +1,137 @@
+package com.thebeastshop.forest.springboot.properties;
+
+import com.dtflys.forest.circuitbreaker.CircuitBreakerKeyType;
+import com.dtflys.forest.circuitbreaker.ForestCircuitBreakerConfig;
+
+public class ForestCircuitBreakerProperties {
+
+    /**
+     * Enable circuit breaker
+     */
+    protected boolean enabled = false;
+
+    /**
+     * Key of circuit breaker, HOST or METHOD
+     */
+    protected CircuitBreakerKeyType keyType = CircuitBreakerKeyType.HOST;
+
+    /**
+     * Count of recent calls in the sliding window
+     */
+    protected int windowSize = 100;
+
+    /**
+     * Minimum calls in the window before failure rate is evaluated
+     */
+    protected int minimumCalls = 20;
+
+    /**
+     * Failure rate threshold in percentage
+     */
+    protected int failureRateThreshold = 50;
+
+    /**
+     * Duration (milliseconds) above which a call is slow, 0 means disabled
+     */
+    protected long slowCallDuration = 0;
+
+    /**
+     * Slow call rate threshold in percentage
+     */
+    protected int slowCallRateThreshold = 100;
+
+    /**
+     * Duration (milliseconds) of open state before half open
+     */
+    protected long openDuration = 30000;
+
+    /**
+     * Count of probe calls in half open state
+     */
+    protected int halfOpenProbes = 5;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public CircuitBreakerKeyType getKeyType() {
+        return keyType;
+    }
+
+    public void setKeyType(CircuitBreakerKeyType keyType) {
+        this.keyType = keyType;
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    public void setWindowSize(int windowSize) {
+        this.windowSize = windowSize;
+    }
+
+    public int getMinimumCalls() {
+        return minimumCalls;
+    }
+
+    public void setMinimumCalls(int minimumCalls) {
+        this.minimumCalls = minimumCalls;
+    }
+
+    public int getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    public void setFailureRateThreshold(int failureRateThreshold) {
+        this.failureRateThreshold = failureRateThreshold;
+    }
+
+    public long getSlowCallDuration() {
+        return slowCallDuration;
+    }
+
+    public void setSlowCallDuration(long slowCallDuration) {
+        this.slowCallDuration = slowCallDuration;
+    }
+
+    public int getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+
+    public void setSlowCallRateThreshold(int slowCallRateThreshold) {
+        this.slowCallRateThreshold = slowCallRateThreshold;
+    }
+
+    public long getOpenDuration() {
+        return openDuration;
+    }
+
+    public void setOpenDuration(long openDuration) {
+        this.openDuration = openDuration;
+    }
+
+    public int getHalfOpenProbes() {
+        return halfOpenProbes;
+    }
+
+    public void setHalfOpenProbes(int halfOpenProbes) {
+        this.halfOpenProbes = halfOpenProbes;
+    }
+
+    public ForestCircuitBreakerConfig toCircuitBreakerConfig() {
+        return new ForestCircuitBreakerConfig()
+                .setEnabled(enabled)
+                .setKeyType(keyType)
+                .setWindowSize(windowSize)
+                .setMinimumCalls(minimumCalls)
+                .setFailureRateThreshold(failureRateThreshold)
+                .setSlowCallDuration(slowCallDuration)
+                .setSlowCallRateThreshold(slowCallRateThreshold)
+                .setOpenDuration(openDuration)
+                .setHalfOpenProbes(halfOpenProbes);
+    }
+}
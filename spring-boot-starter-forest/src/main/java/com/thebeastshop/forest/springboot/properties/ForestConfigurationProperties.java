@@ -1,5 +1,6 @@
 package com.thebeastshop.forest.springboot.properties;
 
+import com.dtflys.forest.logging.ForestLogger;
 import com.dtflys.forest.retryer.BackOffRetryer;
 import com.dtflys.forest.ssl.SSLUtils;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -50,10 +51,25 @@ public class ForestConfigurationProperties {
     private String charset = "UTF-8";
 
     /**
-     * Class of retryer
+     * Class of retryer, e.g. BackOffRetryer, FullJitterRetryer, DecorrelatedJitterRetryer, RetryBudgetRetryer
      */
     private Class retryer = BackOffRetryer.class;
 
+    /**
+     * Tokens deposited into the retry budget by every request, 0.1 means retries add at most 10% extra load
+     */
+    private double retryBudgetRatio = 0.1;
+
+    /**
+     * Capacity of the retry budget, the number of retries allowed in a burst
+     */
+    private int retryBudgetMaxTokens = 10;
+
+    /**
+     * Keep a separate retry budget for every host
+     */
+    private boolean retryBudgetPerHost = false;
+
     /**
      * count of retry times
      */
@@ -69,11 +85,41 @@ public class ForestConfigurationProperties {
      */
     private boolean logEnabled = true;
 
+    /**
+     * max bytes of request body printed in log
+     */
+    private int logBodyMaxBytes = ForestLogger.DEFAULT_BODY_MAX_BYTES;
+
+    /**
+     * Print log of request in a separate thread
+     */
+    private boolean logAsync = false;
+
     /**
      * default SSL protocol for https requests
      */
     private String sslProtocol = SSLUtils.TLSv1_2;
 
+    /**
+     * Send Content-Length with JSON request bodies by buffering them before sending (chunked transfer encoding by default)
+     */
+    private boolean jsonBodyContentLength = false;
+
+    /**
+     * max number of cached SSL client sessions, use the JDK default if not set
+     */
+    private Integer sslSessionCacheSize;
+
+    /**
+     * timeout in seconds of cached SSL client sessions, use the JDK default if not set
+     */
+    private Integer sslSessionTimeout;
+
+    /**
+     * max number of threads shared by all ranged file downloads
+     */
+    private int maxDownloadThreads = 64;
+
     /**
      * backend of forest: httpclient, okhttp3
      */
@@ -94,6 +140,21 @@ public class ForestConfigurationProperties {
      */
     private List<ForestSSLKeyStoreProperties> sslKeyStores = new ArrayList<>();
 
+    /**
+     * Circuit breaker
+     */
+    private ForestCircuitBreakerProperties circuitBreaker = new ForestCircuitBreakerProperties();
+
+    /**
+     * Adaptive concurrency limit per host
+     */
+    private ForestAdaptiveLimitProperties adaptiveLimit = new ForestAdaptiveLimitProperties();
+
+    /**
+     * Storage of the HTTP response cache
+     */
+    private ForestResponseCacheProperties responseCache = new ForestResponseCacheProperties();
+
 /*
     public boolean isEnabled() {
         return enabled;
@@ -160,6 +221,30 @@ public class ForestConfigurationProperties {
         this.retryer = retryer;
     }
 
+    public double getRetryBudgetRatio() {
+        return retryBudgetRatio;
+    }
+
+    public void setRetryBudgetRatio(double retryBudgetRatio) {
+        this.retryBudgetRatio = retryBudgetRatio;
+    }
+
+    public int getRetryBudgetMaxTokens() {
+        return retryBudgetMaxTokens;
+    }
+
+    public void setRetryBudgetMaxTokens(int retryBudgetMaxTokens) {
+        this.retryBudgetMaxTokens = retryBudgetMaxTokens;
+    }
+
+    public boolean isRetryBudgetPerHost() {
+        return retryBudgetPerHost;
+    }
+
+    public void setRetryBudgetPerHost(boolean retryBudgetPerHost) {
+        this.retryBudgetPerHost = retryBudgetPerHost;
+    }
+
     public int getRetryCount() {
         return retryCount;
     }
@@ -184,6 +269,22 @@ public class ForestConfigurationProperties {
         this.logEnabled = logEnabled;
     }
 
+    public int getLogBodyMaxBytes() {
+        return logBodyMaxBytes;
+    }
+
+    public void setLogBodyMaxBytes(int logBodyMaxBytes) {
+        this.logBodyMaxBytes = logBodyMaxBytes;
+    }
+
+    public boolean isLogAsync() {
+        return logAsync;
+    }
+
+    public void setLogAsync(boolean logAsync) {
+        this.logAsync = logAsync;
+    }
+
     public String getSslProtocol() {
         return sslProtocol;
     }
@@ -192,6 +293,38 @@ public class ForestConfigurationProperties {
         this.sslProtocol = sslProtocol;
     }
 
+    public boolean isJsonBodyContentLength() {
+        return jsonBodyContentLength;
+    }
+
+    public void setJsonBodyContentLength(boolean jsonBodyContentLength) {
+        this.jsonBodyContentLength = jsonBodyContentLength;
+    }
+
+    public Integer getSslSessionCacheSize() {
+        return sslSessionCacheSize;
+    }
+
+    public void setSslSessionCacheSize(Integer sslSessionCacheSize) {
+        this.sslSessionCacheSize = sslSessionCacheSize;
+    }
+
+    public Integer getSslSessionTimeout() {
+        return sslSessionTimeout;
+    }
+
+    public void setSslSessionTimeout(Integer sslSessionTimeout) {
+        this.sslSessionTimeout = sslSessionTimeout;
+    }
+
+    public int getMaxDownloadThreads() {
+        return maxDownloadThreads;
+    }
+
+    public void setMaxDownloadThreads(int maxDownloadThreads) {
+        this.maxDownloadThreads = maxDownloadThreads;
+    }
+
     public String getBackend() {
         return backend;
     }
@@ -223,4 +356,28 @@ public class ForestConfigurationProperties {
     public void setSslKeyStores(List<ForestSSLKeyStoreProperties> sslKeyStores) {
         this.sslKeyStores = sslKeyStores;
     }
+
+    public ForestCircuitBreakerProperties getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public void setCircuitBreaker(ForestCircuitBreakerProperties circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    public ForestAdaptiveLimitProperties getAdaptiveLimit() {
+        return adaptiveLimit;
+    }
+
+    public void setAdaptiveLimit(ForestAdaptiveLimitProperties adaptiveLimit) {
+        this.adaptiveLimit = adaptiveLimit;
+    }
+
+    public ForestResponseCacheProperties getResponseCache() {
+        return responseCache;
+    }
+
+    public void setResponseCache(ForestResponseCacheProperties responseCache) {
+        this.responseCache = responseCache;
+    }
 }
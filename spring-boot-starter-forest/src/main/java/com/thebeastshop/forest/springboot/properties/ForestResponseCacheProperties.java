@@ -0,0 +1,80 @@
+package com.thebeastshop.forest.springboot.properties;
+
+import com.dtflys.forest.cache.ForestResponseCacheConfig;
+
+public class ForestResponseCacheProperties {
+
+    /**
+     * Max total bytes of the in-memory response cache
+     */
+    protected long memoryMaxSize = 10 * 1024 * 1024;
+
+    /**
+     * Max count of entries in the in-memory response cache
+     */
+    protected int memoryMaxEntries = 1000;
+
+    /**
+     * Directory of the disk response cache, empty means the disk cache is disabled
+     */
+    protected String diskDirectory;
+
+    /**
+     * Max total bytes of the disk response cache
+     */
+    protected long diskMaxSize = 100 * 1024 * 1024;
+
+    /**
+     * Max bytes of a single cached response body, larger responses are not cached
+     */
+    protected long maxEntrySize = 1024 * 1024;
+
+    public long getMemoryMaxSize() {
+        return memoryMaxSize;
+    }
+
+    public void setMemoryMaxSize(long memoryMaxSize) {
+        this.memoryMaxSize = memoryMaxSize;
+    }
+
+    public int getMemoryMaxEntries() {
+        return memoryMaxEntries;
+    }
+
+    public void setMemoryMaxEntries(int memoryMaxEntries) {
+        this.memoryMaxEntries = memoryMaxEntries;
+    }
+
+    public String getDiskDirectory() {
+        return diskDirectory;
+    }
+
+    public void setDiskDirectory(String diskDirectory) {
+        this.diskDirectory = diskDirectory;
+    }
+
+    public long getDiskMaxSize() {
+        return diskMaxSize;
+    }
+
+    public void setDiskMaxSize(long diskMaxSize) {
+        this.diskMaxSize = diskMaxSize;
+    }
+
+    public long getMaxEntrySize() {
+        return maxEntrySize;
+    }
+
+    public void setMaxEntrySize(long maxEntrySize) {
+        this.maxEntrySize = maxEntrySize;
+    }
+
+    public ForestResponseCacheConfig toResponseCacheConfig() {
+        return new ForestResponseCacheConfig()
+                .setMemoryMaxSize(memoryMaxSize)
+                .setMemoryMaxEntries(memoryMaxEntries)
+                .setDiskDirectory(diskDirectory)
+                .setDiskMaxSize(diskMaxSize)
+                .setMaxEntrySize(maxEntrySize);
+    }
+}
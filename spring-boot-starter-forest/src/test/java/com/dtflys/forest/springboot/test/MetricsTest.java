@@ -0,0 +1,73 @@
+package com.dtflys.forest.springboot.test;
+
+import com.dtflys.forest.config.ForestConfiguration;
+import com.dtflys.forest.http.ForestRequest;
+import com.dtflys.forest.http.ForestRequestType;
+import com.thebeastshop.forest.springboot.annotation.ForestScan;
+import com.thebeastshop.forest.springboot.metrics.MicrometerForestMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+@RunWith(SpringRunner.class)
+@ActiveProfiles("test1")
+@SpringBootTest(classes = MetricsTest.MetricsConfiguration.class)
+public class MetricsTest {
+
+    @Configuration
+    @ForestScan("com.dtflys.forest.springboot.test.client1")
+    @EnableAutoConfiguration
+    public static class MetricsConfiguration {
+
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ForestConfiguration forestConfiguration;
+
+    @Test
+    public void testMicrometerMetrics() {
+        assertTrue(forestConfiguration.getMetrics() instanceof MicrometerForestMetrics);
+        assertEquals(5000, meterRegistry.get("forest.connections.max").gauge().value(), 0);
+
+        ForestRequest request = new ForestRequest(forestConfiguration);
+        request.setType(ForestRequestType.GET);
+        forestConfiguration.getMetrics().recordRequest(
+                request, null, new IOException(), TimeUnit.MILLISECONDS.toNanos(15), 0, -1);
+        forestConfiguration.getMetrics().recordRequest(
+                request, null, new IOException(), TimeUnit.MILLISECONDS.toNanos(5), 0, -1);
+        forestConfiguration.getMetrics().recordRetry(request, 1);
+
+        Timer timer = meterRegistry.get("forest.requests")
+                .tag("status", "IO_ERROR")
+                .tag("exception", "IOException")
+                .tag("http.method", "GET")
+                .timer();
+        // 相同标签的请求记录到同一个计量器
+        assertEquals(2, timer.count());
+        assertEquals(20, timer.totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(1, meterRegistry.get("forest.retries").counter().count(), 0);
+        assertEquals(2, meterRegistry.get("forest.request.size").summary().count());
+        assertNull(meterRegistry.find("forest.response.size").summary());
+    }
+}
@@ -1,8 +1,14 @@
 package com.dtflys.forest.springboot.test;
 
 import com.thebeastshop.forest.springboot.annotation.ForestScan;
+import com.dtflys.forest.cache.ForestResponseCacheConfig;
 import com.dtflys.forest.config.ForestConfiguration;
 import com.dtflys.forest.interceptor.SpringInterceptorFactory;
+import com.dtflys.forest.circuitbreaker.CircuitBreakerKeyType;
+import com.dtflys.forest.circuitbreaker.ForestCircuitBreakerConfig;
+import com.dtflys.forest.limiter.AdaptiveLimitAlgorithm;
+import com.dtflys.forest.limiter.ForestAdaptiveLimitConfig;
+import com.dtflys.forest.retryer.RetryBudgetRetryer;
 import com.dtflys.forest.springboot.test.client2.GiteeClient;
 import com.dtflys.forest.springboot.test.interceptor.GlobalInterceptor;
 import org.junit.Test;
@@ -39,6 +45,28 @@ public class Test2 {
         assertEquals(Integer.valueOf(6000), forestConfiguration.getTimeout());
         assertEquals(Integer.valueOf(5000), forestConfiguration.getConnectTimeout());
         assertEquals(Integer.valueOf(0), forestConfiguration.getRetryCount());
+        assertEquals(RetryBudgetRetryer.class, forestConfiguration.getRetryer());
+        assertEquals(0.2, forestConfiguration.getRetryBudgetRatio(), 0.0001);
+        assertEquals(5, forestConfiguration.getRetryBudgetMaxTokens());
+        assertTrue(forestConfiguration.isRetryBudgetPerHost());
+        assertEquals(Integer.valueOf(500), forestConfiguration.getSslSessionCacheSize());
+        assertEquals(16, forestConfiguration.getMaxDownloadThreads());
+        assertEquals(Integer.valueOf(3600), forestConfiguration.getSslSessionTimeout());
+        ForestCircuitBreakerConfig circuitBreakerConfig = forestConfiguration.getCircuitBreakerConfig();
+        assertTrue(circuitBreakerConfig.isEnabled());
+        assertEquals(CircuitBreakerKeyType.METHOD, circuitBreakerConfig.getKeyType());
+        assertEquals(50, circuitBreakerConfig.getWindowSize());
+        assertEquals(20, circuitBreakerConfig.getMinimumCalls());
+        assertEquals(10000, circuitBreakerConfig.getOpenDuration());
+        ForestAdaptiveLimitConfig adaptiveLimitConfig = forestConfiguration.getAdaptiveLimitConfig();
+        assertTrue(adaptiveLimitConfig.isEnabled());
+        assertEquals(AdaptiveLimitAlgorithm.VEGAS, adaptiveLimitConfig.getAlgorithm());
+        assertEquals(100, adaptiveLimitConfig.getMaxLimit());
+        assertEquals(20, adaptiveLimitConfig.getInitialLimit());
+        ForestResponseCacheConfig responseCacheConfig = forestConfiguration.getResponseCacheConfig();
+        assertEquals(200, responseCacheConfig.getMemoryMaxEntries());
+        assertEquals(65536, responseCacheConfig.getMaxEntrySize());
+        assertNull(responseCacheConfig.getDiskDirectory());
         assertTrue(forestConfiguration.isLogEnabled());
         assertEquals(SpringInterceptorFactory.class, forestConfiguration.getInterceptorFactory().getClass());
         assertEquals(1, forestConfiguration.getInterceptors().size());